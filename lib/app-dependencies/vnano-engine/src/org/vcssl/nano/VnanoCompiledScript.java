@@ -0,0 +1,155 @@
+/*
+ * Copyright(C) 2024 RINEARN
+ * This software is released under the MIT License.
+ */
+
+package org.vcssl.nano;
+
+import org.vcssl.nano.spec.AssemblyCode;
+import org.vcssl.nano.vm.VirtualMachine;
+
+/**
+ * The class of a handle of a script compiled by {@link VnanoEngine#compileScript(String) VnanoEngine.compileScript(String)},
+ * which can be executed repetitively with less overheads.
+ *
+ * Each instance has its own VM (and the caches of the VM object code in it),
+ * so multiple compiled scripts can be executed alternately, without recompiling them at every execution
+ * (in contrast, {@link VnanoEngine#executeScript(String) VnanoEngine.executeScript(String)}
+ * can skip recompilation only for the recently executed scripts, of which code are retained in the bounded cache
+ * specified by {@link org.vcssl.nano.spec.OptionKey#CODE_CACHE_SIZE CODE_CACHE_SIZE} option).
+ *
+ * Please note that, same as the engine, you must not execute an instance from multiple threads at the same time.
+ */
+public final class VnanoCompiledScript {
+
+	/** The engine by which this script has been compiled. */
+	private final VnanoEngine engine;
+
+	/** The script before compiled. */
+	private final String script;
+
+	/** The VM executing the compiled code, retaining the caches for re-executing it. */
+	private final VirtualMachine virtualMachine;
+
+	/** The compiled VRIL code (intermediate assembly code) in the structured form. */
+	private volatile AssemblyCode assemblyCode;
+
+	/**
+	 * The version of the state of the engine (connected plug-ins, options, and so on) when this script has been compiled.
+	 * If the state has been changed after that, this script will be recompiled before the next execution.
+	 */
+	private volatile long engineStateVersion;
+
+	/** The flag representing that the compiled code has been executed, and the VM has the caches for re-executing it. */
+	private volatile boolean executed;
+
+
+	/**
+	 * Creates a new handle of the compiled script.
+	 *
+	 * This constructor is called only by {@link VnanoEngine}.
+	 *
+	 * @param engine The engine by which the script has been compiled.
+	 * @param script The script before compiled.
+	 * @param assemblyCode The compiled VRIL code.
+	 * @param engineStateVersion The version of the state of the engine when the script has been compiled.
+	 */
+	VnanoCompiledScript(VnanoEngine engine, String script, AssemblyCode assemblyCode, long engineStateVersion) {
+		this.engine = engine;
+		this.script = script;
+		this.virtualMachine = new VirtualMachine();
+		this.assemblyCode = assemblyCode;
+		this.engineStateVersion = engineStateVersion;
+		this.executed = false;
+	}
+
+
+	/**
+	 * Executes this compiled script.
+	 *
+	 * From the second execution, the cached VM object code is re-executed directly,
+	 * without compiling/assembling the script again.
+	 *
+	 * @return
+	 *     The evaluated value of the expression, or the last expression statement in script code.
+	 *     If there is no evaluated value, returns null.
+	 *
+	 * @throws VnanoException Thrown when any error has detected for the processing of the script.
+	 */
+	public Object execute() throws VnanoException {
+		return this.engine.executeCompiledScript(this);
+	}
+
+
+	/**
+	 * Gets the script before compiled.
+	 *
+	 * @return The script before compiled.
+	 */
+	public String getScript() {
+		return this.script;
+	}
+
+
+	/**
+	 * Gets the VM executing the compiled code.
+	 *
+	 * @return The VM executing the compiled code.
+	 */
+	VirtualMachine getVirtualMachine() {
+		return this.virtualMachine;
+	}
+
+
+	/**
+	 * Gets the compiled VRIL code.
+	 *
+	 * @return The compiled VRIL code.
+	 */
+	AssemblyCode getAssemblyCode() {
+		return this.assemblyCode;
+	}
+
+
+	/**
+	 * Gets the version of the state of the engine when this script has been compiled.
+	 *
+	 * @return The version of the state of the engine.
+	 */
+	long getEngineStateVersion() {
+		return this.engineStateVersion;
+	}
+
+
+	/**
+	 * Replaces the compiled code, when this script has been recompiled because the state of the engine has been changed.
+	 *
+	 * @param assemblyCode The recompiled VRIL code.
+	 * @param engineStateVersion The version of the state of the engine when the script has been recompiled.
+	 */
+	void setRecompiledCode(AssemblyCode assemblyCode, long engineStateVersion) {
+		this.assemblyCode = assemblyCode;
+		this.engineStateVersion = engineStateVersion;
+		this.executed = false;
+	}
+
+
+	/**
+	 * Returns whether the compiled code has been executed, and the VM has the caches for re-executing it.
+	 *
+	 * @return Returns true if the compiled code has been executed.
+	 */
+	boolean isExecuted() {
+		return this.executed;
+	}
+
+
+	/**
+	 * Sets whether the compiled code has been executed, and the VM has the caches for re-executing it.
+	 *
+	 * @param executed Specify true if the compiled code has been executed.
+	 */
+	void setExecuted(boolean executed) {
+		this.executed = executed;
+	}
+}
@@ -5,6 +5,10 @@
 
 package org.vcssl.nano;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -15,11 +19,15 @@ import org.vcssl.connect.ConnectorException;
 import org.vcssl.nano.compiler.Compiler;
 import org.vcssl.nano.interconnect.Interconnect;
 import org.vcssl.nano.interconnect.MetaQualifiedFileLoader;
+import org.vcssl.nano.spec.AssemblyCode;
 import org.vcssl.nano.spec.ErrorType;
 import org.vcssl.nano.spec.OperationCode;
 import org.vcssl.nano.spec.OptionKey;
 import org.vcssl.nano.spec.PerformanceKey;
+import org.vcssl.nano.vm.ObjectCodeSerializer;
 import org.vcssl.nano.vm.VirtualMachine;
+import org.vcssl.nano.vm.VirtualMachineObjectCode;
+import org.vcssl.nano.vm.assembler.Assembler;
 
 /**
  * The class of the scripting engine of the Vnano (Vnano Engine).
@@ -32,14 +40,23 @@ public final class VnanoEngine {
 	/** Stores an object to mediate information/connections between components ("interconnect"). */
 	private Interconnect interconnect = null;
 
-	/** Stores the script which was executed last time. */
-	private String lastScript = null;
+	/**
+	 * The flag representing that "AUTOMATIC_ACTIVATION_ENABLED" option was enabled when the scripts cached in the VM were executed.
+	 * (The caches in the VM are discarded whenever the state of this engine is changed, so this flag is common for all of them.)
+	 */
+	private boolean lastAutoActivationIsEnabled = false;
 
-	/** The flag representing that this engine's state is the same with it of when "lastScript" was executed. */
-	private boolean lastStateIsSame = false;
+	/** The number of executions of scripts performed by re-executing the code cached in the VM. */
+	private volatile int codeCacheHitCount = 0;
 
-	/** The flag representing that "AUTOMATIC_ACTIVATION_ENABLED" option was enabled when "lastScript" was executed. */
-	private boolean lastAutoActivationIsEnabled = false;
+	/** The number of executions of scripts which have required compilations, because the code have not been cached in the VM. */
+	private volatile int codeCacheMissCount = 0;
+
+	/**
+	 * The version of the state of this engine (connected plug-ins, options, and so on),
+	 * incremented whenever the state is changed, for detecting that compiled scripts should be recompiled.
+	 */
+	private volatile long stateVersion = 0L;
 
 
 	/**
@@ -72,16 +89,15 @@ public final class VnanoEngine {
 			throw new NullPointerException();
 		}
 
-		// If the input script is the same with the last executed script, we can re-execute it with less overheads, using caches.
-		if (this.lastScript != null && this.lastStateIsSame) {
-
-			// When the references of two String variables are the same, their values are also the same.
-			// (Because they point to the same String instance.)
-			// Of course, their values can be the same when their references are different.
-			if (script == this.lastScript || script.equals(this.lastScript)) {
-				return this.reexecuteLastScript();
-			}
+		// If the input script has been executed recently and its code is cached in the VM,
+		// we can re-execute it with less overheads, using caches.
+		// (The caches are discarded whenever the state of this engine is changed, so they are always re-executable.)
+		String cacheKey = script;
+		if (this.virtualMachine.selectReexecutionCache(cacheKey)) {
+			this.codeCacheHitCount++;
+			return this.reexecuteLastScript();
 		}
+		this.codeCacheMissCount++;
 
 		try {
 
@@ -114,11 +130,12 @@ public final class VnanoEngine {
 			String[] scripts = this.interconnect.getScriptContents();
 			String[] paths   = this.interconnect.getScriptPaths();
 
-			// Translate scripts to a VRIL code (intermediate assembly code) by a compiler.
-			String assemblyCode = new Compiler().compile(scripts, paths, this.interconnect);
+			// Translate scripts to a VM object code by the compiler and the assembler,
+			// or load the stored one if the persistent cache of the VM object code is enabled.
+			VirtualMachineObjectCode objectCode = this.prepareObjectCode(scripts, paths);
 
-			// Execute the VRIL code on a VM.
-			Object evalValue = this.virtualMachine.executeAssemblyCode(assemblyCode, this.interconnect);
+			// Execute the VM object code on a VM, and cache the resources for re-executing it with the input script as the key.
+			Object evalValue = this.virtualMachine.executeObjectCode(objectCode, this.interconnect, cacheKey);
 
 			// Deactivate the interconnect.
 			// (All Connected plug-ins are finalized at this timing.)
@@ -126,10 +143,7 @@ public final class VnanoEngine {
 				this.interconnect.deactivate();
 			}
 
-			// Stores the input script, to detect that the same script is input again.
-			// Also, set some flags, to reduce overhead costs of re-executions of the same script.
-			this.lastScript = script;
-			this.lastStateIsSame = true;
+			// Set the flag, to reduce overhead costs of re-executions of the cached scripts.
 			this.lastAutoActivationIsEnabled = autoActivationIsEnabled;
 
 			return evalValue;
@@ -156,8 +170,197 @@ public final class VnanoEngine {
 
 
 	/**
-	 * Re-execute the script which was executed last time,
-	 * in less overhead way using cached resources in the VM.
+	 * Compiles an expression or script code specified as the argument, and returns the handle to execute it.
+	 *
+	 * The returned {@link VnanoCompiledScript} can be executed repetitively with less overheads,
+	 * and it is not affected by executions of other scripts (including other compiled scripts) on this engine.
+	 * Hence, it is suitable for calculating multiple expressions alternately, many times.
+	 *
+	 * Please note that,
+	 * {@link VnanoEngine#terminateScript()} does not affect to executions of compiled scripts.
+	 *
+	 * @param script An expression or script code to be compiled.
+	 * @return The handle to execute the compiled script.
+	 * @throws VnanoException Thrown when any error has detected for the content of the script.
+	 */
+	public VnanoCompiledScript compileScript(String script) throws VnanoException {
+		if (script == null) {
+			throw new NullPointerException();
+		}
+		long compiledStateVersion = this.stateVersion;
+		AssemblyCode assemblyCode = this.compileToAssemblyCode(script);
+		return new VnanoCompiledScript(this, script, assemblyCode, compiledStateVersion);
+	}
+
+
+	/**
+	 * Translates scripts to a VM object code, by compiling them to a VRIL code (intermediate assembly code)
+	 * and assembling it.
+	 *
+	 * If the directory is specified by {@link OptionKey#OBJECT_CODE_CACHE_DIRECTORY OBJECT_CODE_CACHE_DIRECTORY} option,
+	 * this method loads the VM object code stored in it instead of compiling the scripts, if the stored code is valid.
+	 * Otherwise this method compiles the scripts, and stores the VM object code to the directory.
+	 *
+	 * @param scripts The contents of all scripts (the main script and all library scripts).
+	 * @param paths The file paths (or names) of the scripts.
+	 * @return The VM object code.
+	 * @throws VnanoException Thrown when any error has detected for the content of the scripts.
+	 */
+	private VirtualMachineObjectCode prepareObjectCode(String[] scripts, String[] paths) throws VnanoException {
+		String cacheDirectoryPath = (String)this.interconnect.getOptionMap().get(OptionKey.OBJECT_CODE_CACHE_DIRECTORY);
+
+		// If the persistent cache is disabled, simply compile and assemble the scripts.
+		if (cacheDirectoryPath.isEmpty()) {
+			AssemblyCode assemblyCode = new Compiler().compileToAssemblyCode(scripts, paths, this.interconnect);
+			return new Assembler().assemble(assemblyCode, this.interconnect);
+		}
+
+		// Determine the file storing the VM object code by the hash value of the scripts,
+		// and compute the fingerprint of the current environment (plug-ins and so on), to check the validity of the stored code.
+		ObjectCodeSerializer serializer = new ObjectCodeSerializer();
+		byte[] contentHash = serializer.computeContentHash(scripts, paths);
+		byte[] fingerprint = serializer.computeFingerprint(this.interconnect);
+		File cacheDirectory = new File(cacheDirectoryPath);
+		File cacheFile = new File(cacheDirectory, serializer.getFileNameOf(contentHash));
+
+		// Load the stored VM object code. If it is not valid for the current environment (or broken), it is ignored.
+		if (cacheFile.isFile()) {
+			try {
+				byte[] data = Files.readAllBytes(cacheFile.toPath());
+				VirtualMachineObjectCode objectCode = serializer.deserialize(data, contentHash, fingerprint);
+				if (objectCode != null) {
+					return objectCode;
+				}
+			} catch (IOException ioe) {
+				// The file will be overwritten by the recompiled code in the following.
+			}
+		}
+
+		// Compile and assemble the scripts.
+		AssemblyCode assemblyCode = new Compiler().compileToAssemblyCode(scripts, paths, this.interconnect);
+		VirtualMachineObjectCode objectCode = new Assembler().assemble(assemblyCode, this.interconnect);
+
+		// Store the VM object code. It is written to a temporary file at first and then moved,
+		// to prevent other processes from loading incomplete data.
+		// Failures of storing the code are ignored, because they don't affect to the execution of the scripts.
+		File temporaryFile = null;
+		try {
+			cacheDirectory.mkdirs();
+			temporaryFile = File.createTempFile("vnobj", ".tmp", cacheDirectory);
+			Files.write(temporaryFile.toPath(), serializer.serialize(objectCode, contentHash, fingerprint));
+			Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			temporaryFile = null;
+		} catch (IOException ioe) {
+			if (temporaryFile != null) {
+				temporaryFile.delete();
+			}
+		}
+		return objectCode;
+	}
+
+
+	/**
+	 * Translates an expression or script code to a VRIL code (intermediate assembly code) in the structured form.
+	 *
+	 * @param script An expression or script code to be compiled.
+	 * @return The compiled VRIL code.
+	 * @throws VnanoException Thrown when any error has detected for the content of the script.
+	 */
+	private AssemblyCode compileToAssemblyCode(String script) throws VnanoException {
+		try {
+
+			// Remove the encoding declaration if exists, and normalize environment-dependent contents, and so on.
+			try {
+				script = MetaQualifiedFileLoader.postprocess(null, script); // The first arg is the file name to display in error messages.
+			} catch (VnanoException vne) {
+				String message = vne.getMessageWithoutLocation();
+				throw new ScriptException(message);
+			}
+
+			// Set the name/content of the main script to the interconnect, and compile all scripts (including library scripts).
+			String mainScriptName = (String)this.interconnect.getOptionMap().get(OptionKey.MAIN_SCRIPT_NAME);
+			this.interconnect.setMainScript(mainScriptName, script);
+			String[] scripts = this.interconnect.getScriptContents();
+			String[] paths   = this.interconnect.getScriptPaths();
+			return new Compiler().compileToAssemblyCode(scripts, paths, this.interconnect);
+
+		} catch (VnanoException e) {
+			Locale locale = (Locale)this.interconnect.getOptionMap().get(OptionKey.LOCALE); // Type was already checked.
+			e.setLocale(locale);
+			throw e;
+
+		// If unexpected exception is occurred, wrap it by the VnanoException and re-throw,
+		// to prevent the stall of the host-application.
+		} catch (Exception unexpectedException) {
+			throw new VnanoException(unexpectedException);
+		}
+	}
+
+
+	/**
+	 * Executes the compiled script, which is called from {@link VnanoCompiledScript#execute()}.
+	 *
+	 * @param compiledScript The compiled script to be executed.
+	 * @return
+	 *     The evaluated value of the expression, or the last expression statement in script code.
+	 *     If there is no evaluated value, returns null.
+	 *
+	 * @throws VnanoException Thrown when any error has detected for the processing of the script.
+	 */
+	Object executeCompiledScript(VnanoCompiledScript compiledScript) throws VnanoException {
+
+		// If the state of this engine has been changed after the script had been compiled, recompile it.
+		long currentStateVersion = this.stateVersion;
+		if (compiledScript.getEngineStateVersion() != currentStateVersion) {
+			compiledScript.setRecompiledCode(this.compileToAssemblyCode(compiledScript.getScript()), currentStateVersion);
+		}
+
+		try {
+			boolean autoActivationIsEnabled = (Boolean)this.interconnect.getOptionMap().get(OptionKey.AUTOMATIC_ACTIVATION_ENABLED);
+			if (autoActivationIsEnabled) {
+				this.interconnect.activate();
+			}
+
+			// Execute the compiled code on the VM of the compiled script.
+			// From the second execution, re-execute it using the caches in the VM (without assembling it again).
+			VirtualMachine compiledScriptVirtualMachine = compiledScript.getVirtualMachine();
+			Object evalValue = null;
+			if (compiledScript.isExecuted()) {
+				evalValue = compiledScriptVirtualMachine.reexecuteLastAssemblyCode(this.interconnect);
+			} else {
+				evalValue = compiledScriptVirtualMachine.executeAssemblyCode(compiledScript.getAssemblyCode(), this.interconnect, null);
+				compiledScript.setExecuted(true);
+			}
+
+			if (autoActivationIsEnabled) {
+				this.interconnect.deactivate();
+			}
+			return evalValue;
+
+		// If any error is occurred for the processing of the script,
+		// set the locale to switch the language of error messages, and re-throw the exception to upper layers.
+		} catch (VnanoException e) {
+			Locale locale = (Locale)this.interconnect.getOptionMap().get(OptionKey.LOCALE); // Type was already checked.
+			e.setLocale(locale);
+
+			if (e.getCause() instanceof ConnectorException && ((ConnectorException)e.getCause()).getMessage().startsWith("___")) {
+				this.handleSpecialConnectorException((ConnectorException)e.getCause(), e);
+				return null;
+			} else {
+				throw e;
+			}
+
+		// If unexpected exception is occurred, wrap it by the VnanoException and re-throw,
+		// to prevent the stall of the host-application.
+		} catch (Exception unexpectedException) {
+			throw new VnanoException(unexpectedException);
+		}
+	}
+
+
+	/**
+	 * Re-execute the script of which cached resources have been selected in the VM,
+	 * in less overhead way using the cached resources.
 	 *
 	 * @return
 	 *     The evaluated value of the expression, or the last expression statement in script code.
@@ -376,7 +579,8 @@ public final class VnanoEngine {
 		if (bindingName == null || plugin == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.connectPlugin(bindingName, plugin);
 	}
 
@@ -387,7 +591,8 @@ public final class VnanoEngine {
 	 * @throws VnanoException Thrown when an exception occurred on the finalization of the plug-in to be disconnected.
 	 */
 	public void disconnectAllPlugins() throws VnanoException {
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.disconnectAllPlugins();
 	}
 
@@ -403,7 +608,8 @@ public final class VnanoEngine {
 		if (libraryScriptPath == null || libraryScriptContent == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.addLibraryScript(libraryScriptPath, libraryScriptContent);
 	}
 
@@ -416,7 +622,8 @@ public final class VnanoEngine {
 	 *   but it requires to be "catch"-ed for keeping compatibility in future.
 	 */
 	public void unregisterAllLibraryScripts() throws VnanoException {
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.removeAllLibraryScripts();
 	}
 
@@ -440,7 +647,8 @@ public final class VnanoEngine {
 		if (optionMap == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.setOptionMap(optionMap);
 	}
 
@@ -494,7 +702,8 @@ public final class VnanoEngine {
 		if (permissionMap == null) {
 			throw new NullPointerException();
 		}
-		this.lastStateIsSame = false;
+		this.virtualMachine.clearReexecutionCaches();
+		this.stateVersion++;
 		this.interconnect.setPermissionMap(permissionMap);
 	}
 
@@ -580,6 +789,10 @@ public final class VnanoEngine {
 				}
 			}
 
+			// Store the counters of hits/misses of the cache of the code of executed scripts.
+			performanceMap.put(PerformanceKey.CODE_CACHE_HIT_COUNT_INT_VALUE, this.codeCacheHitCount);
+			performanceMap.put(PerformanceKey.CODE_CACHE_MISS_COUNT_INT_VALUE, this.codeCacheMissCount);
+
 			return performanceMap;
 		}
 	}
@@ -10,10 +10,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.vcssl.nano.VnanoException;
 import org.vcssl.nano.VnanoFatalException;
+import org.vcssl.nano.spec.AssemblyCode;
 import org.vcssl.nano.spec.AssemblyWord;
 import org.vcssl.nano.spec.DataType;
 import org.vcssl.nano.spec.DataTypeName;
@@ -378,6 +380,49 @@ public class CodeGenerator {
 	 * @return Intermediate code written in the VRIL.
 	 */
 	public String generate(AstNode inputAst) {
+		List<String> lineList = this.generateLines(inputAst);
+
+		StringBuilder codeBuilder = new StringBuilder();
+		for (String line: lineList) {
+			codeBuilder.append(line);
+			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+		}
+		return codeBuilder.toString();
+	}
+
+
+	/**
+	 * Generates intermediate code in the VRIL from the semantic-analyzed AST,
+	 * in the structured form which can be passed to the assembler directly,
+	 * without rendering the whole code as a text and parsing it again in the assembler.
+	 *
+	 * The content of the generated code is the same as the code generated by {@link CodeGenerator#generate(AstNode) generate(AstNode)}.
+	 *
+	 * @param inputAst The root node of the sematic-analyzed AST.
+	 * @return Intermediate code in the VRIL, in the structured form.
+	 */
+	public AssemblyCode generateAssemblyCode(AstNode inputAst) {
+		List<String> lineList = this.generateLines(inputAst);
+
+		AssemblyCode assemblyCode = new AssemblyCode();
+		for (String line: lineList) {
+			if (line.length() == 0) {
+				assemblyCode.addLine(new String[0]);
+			} else {
+				assemblyCode.appendText(line);
+			}
+		}
+		return assemblyCode;
+	}
+
+
+	/**
+	 * Generates lines of intermediate code written in the VRIL from the semantic-analyzed AST.
+	 *
+	 * @param inputAst The root node of the sematic-analyzed AST.
+	 * @return Lines of intermediate code written in the VRIL (blank lines are stored as empty strings).
+	 */
+	private List<String> generateLines(AstNode inputAst) {
 
 		// The buffer to which generated code will be stored/appended.
 		StringBuilder codeBuilder = new StringBuilder();
@@ -414,8 +459,8 @@ public class CodeGenerator {
 		String code = codeBuilder.toString();
 
 		// Arrange the form of code a little for readability.
-		String realignedCode = this.realign(code);
-		return realignedCode;
+		List<String> realignedLineList = this.realign(code);
+		return realignedLineList;
 	}
 
 
@@ -2590,13 +2635,13 @@ public class CodeGenerator {
 
 
 	/**
-	* Arranges (reshapes) the form of code for readability.
+	* Arranges (reshapes) the form of code for readability, and splits it into lines.
 	 *
 	 * @param code The original code.
 	 * @return The reshaped code.
 	 */
-	private String realign(String code) {
-		StringBuilder codeBuilder = new StringBuilder();
+	private List<String> realign(String code) {
+		List<String> lineList = new ArrayList<String>();
 
 		String[] lines = code.split(AssemblyWord.LINE_SEPARATOR_REGEX);
 		int lineLength = lines.length;
@@ -2610,15 +2655,14 @@ public class CodeGenerator {
 					|| lines[lineIndex].startsWith(AssemblyWord.SCRIPT_LANGUAGE_VERSION_DIRECTIVE)) {
 
 				languageDirectiveExist = true;
-				codeBuilder.append(lines[lineIndex]);
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add(lines[lineIndex]);
 				lines[lineIndex] = "";
 			}
 		}
 
 		// Insert a blank line.
 		if (languageDirectiveExist) {
-			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+			lineList.add("");
 		}
 
 		// Extract global function identifier directives, and relocate them.
@@ -2626,15 +2670,14 @@ public class CodeGenerator {
 		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
 			if (lines[lineIndex].startsWith(AssemblyWord.GLOBAL_FUNCTION_DIRECTIVE)) {
 				globalFunctionDirectiveExist = true;
-				codeBuilder.append(lines[lineIndex]);
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add(lines[lineIndex]);
 				lines[lineIndex] = "";
 			}
 		}
 
 		// Insert a blank line.
 		if (globalFunctionDirectiveExist) {
-			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+			lineList.add("");
 		}
 
 		// Extract local function identifier directives, and relocate them.
@@ -2642,15 +2685,14 @@ public class CodeGenerator {
 		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
 			if (lines[lineIndex].startsWith(AssemblyWord.LOCAL_FUNCTION_DIRECTIVE)) {
 				localFunctionDirectiveExist = true;
-				codeBuilder.append(lines[lineIndex]);
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add(lines[lineIndex]);
 				lines[lineIndex] = "";
 			}
 		}
 
 		// Insert a blank line.
 		if (localFunctionDirectiveExist) {
-			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+			lineList.add("");
 		}
 
 		// Extract global variable identifier directives, and relocate them.
@@ -2658,15 +2700,14 @@ public class CodeGenerator {
 		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
 			if (lines[lineIndex].startsWith(AssemblyWord.GLOBAL_VARIABLE_DIRECTIVE)) {
 				globalVariableDirectiveExist = true;
-				codeBuilder.append(lines[lineIndex]);
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add(lines[lineIndex]);
 				lines[lineIndex] = "";
 			}
 		}
 
 		// Insert a blank line.
 		if (globalVariableDirectiveExist) {
-			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+			lineList.add("");
 		}
 
 		// Extract local variable identifier directives, and relocate them.
@@ -2675,8 +2716,7 @@ public class CodeGenerator {
 		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
 			if (lines[lineIndex].startsWith(AssemblyWord.LOCAL_VARIABLE_DIRECTIVE)) {
 				localVariableDirectiveExist = true;
-				codeBuilder.append(lines[lineIndex]);
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add(lines[lineIndex]);
 				lines[lineIndex] = "";
 			}
 		}
@@ -2692,15 +2732,14 @@ public class CodeGenerator {
 
 			// Insert a blank line before a meta information directive.
 			if (lines[lineIndex].startsWith(AssemblyWord.META_DIRECTIVE)) {
-				codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+				lineList.add("");
 			}
 
-			codeBuilder.append(lines[lineIndex]);
-			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+			lineList.add(lines[lineIndex]);
 			lines[lineIndex] = "";
 		}
 
-		return codeBuilder.toString();
+		return lineList;
 	}
 
 
@@ -13,6 +13,7 @@ import java.util.Map;
 import org.vcssl.nano.VnanoException;
 import org.vcssl.nano.VnanoFatalException;
 import org.vcssl.nano.interconnect.Interconnect;
+import org.vcssl.nano.spec.AssemblyCode;
 import org.vcssl.nano.spec.DataTypeName;
 import org.vcssl.nano.spec.OptionKey;
 import org.vcssl.nano.spec.OptionValue;
@@ -46,6 +47,24 @@ public class Compiler {
 	public String compile(String[] scripts, String[] names, Interconnect interconnect)
 					throws VnanoException {
 
+		return this.compileToAssemblyCode(scripts, names, interconnect).toString();
+	}
+
+
+	/**
+	 * Compiles the script code written in the Vnano to VRIL code in the structured form,
+	 * which can be passed to the {@link org.vcssl.nano.vm.assembler.Assembler Assembler} directly
+	 * (without rendering it as a text and parsing it again).
+	 *
+	 * @param scripts Code of scripts to be compiled.
+	 * @param names Names of scripts.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @return The compiled VRIL code in the structured form.
+	 * @throws VnanoException Thrown when a syntax error will be detected for the content of the script.
+	 */
+	public AssemblyCode compileToAssemblyCode(String[] scripts, String[] names, Interconnect interconnect)
+					throws VnanoException {
+
 		if (scripts.length != names.length) {
 			throw new VnanoFatalException("Array-lengths of \"scripts\" and \"names\" arguments are mismatching.");
 		}
@@ -141,11 +160,11 @@ public class Compiler {
 
 
 		// By CodeGenerator, generate the intermediate assembly code (VRIL assembly code) processable on the VM.
-		String assemblyCode = new CodeGenerator().generate(analyzedAstRootNode);
+		AssemblyCode assemblyCode = new CodeGenerator().generateAssemblyCode(analyzedAstRootNode);
 
-		// Dump the VRIL assembly code.
+		// Dump the VRIL assembly code (it is rendered as a text only when it is dumped).
 		if (shouldDump && (dumpTargetIsAll || dumpTarget.equals(OptionValue.DUMPER_TARGET_ASSEMBLY_CODE)) ) {
-			this.dumpAssemblyCode(assemblyCode, dumpTargetIsAll, dumpStream);
+			this.dumpAssemblyCode(assemblyCode.toString(), dumpTargetIsAll, dumpStream);
 		}
 
 		return assemblyCode;
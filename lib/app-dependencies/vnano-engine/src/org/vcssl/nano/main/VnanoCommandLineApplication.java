@@ -199,6 +199,19 @@ public final class VnanoCommandLineApplication {
 		System.out.println("");
 		System.out.println("");
 
+		System.out.println("  --objectCodeCache <directoryPath>");
+		System.out.println("");
+		System.out.println("      Specify the directory to store the compiled VM object code of the script.");
+		System.out.println("      From the next execution, the stored code is loaded and executed without compiling the script,");
+		System.out.println("      unless the script, library scripts, plug-ins, or some options have been changed.");
+		System.out.println("      This option is not specified by default.");
+		System.out.println("");
+		System.out.println("    e.g.");
+		System.out.println("");
+		System.out.println("      java -jar Vnano.jar Example.vnano --objectCodeCache cache/");
+		System.out.println("");
+		System.out.println("");
+
 		System.out.println("  --terminator <enableOrDisable>");
 		System.out.println("");
 		System.out.println("      Specify whether you want to enable the terminator.");
@@ -486,6 +499,19 @@ public final class VnanoCommandLineApplication {
 		System.out.println("");
 		System.out.println("");
 
+		System.out.println("  --objectCodeCache ディレクトリパス");
+		System.out.println("");
+		System.out.println("      スクリプトをコンパイルした VM オブジェクトコードを保存するディレクトリを指定します。");
+		System.out.println("      次回以降の実行では、スクリプトやライブラリ、プラグイン、一部のオプションが変更されていない限り、");
+		System.out.println("      保存されたコードが読み込まれ、スクリプトをコンパイルせずに実行されます。");
+		System.out.println("      デフォルトでは、このオプションは指定されていません。");
+		System.out.println("");
+		System.out.println("    使用例");
+		System.out.println("");
+		System.out.println("      java -jar Vnano.jar Example.vnano --objectCodeCache cache/");
+		System.out.println("");
+		System.out.println("");
+
 		System.out.println("  --terminator 有効化するかどうか");
 		System.out.println("");
 		System.out.println("      スクリプトを途中終了させるための機能である、ターミネーターを有効化するかどうかを指定します。");
@@ -688,6 +714,9 @@ public final class VnanoCommandLineApplication {
 	/** The name of --optLevel option. */
 	private static final String COMMAND_OPTNAME_OPTLEVEL = "optLevel";
 
+	/** The name of --objectCodeCache option. */
+	private static final String COMMAND_OPTNAME_OBJECT_CODE_CACHE = "objectCodeCache";
+
 	/** The name of --encoding option. */
 	private static final String COMMAND_OPTNAME_ENCODING = "encoding";
 
@@ -1104,6 +1133,18 @@ public final class VnanoCommandLineApplication {
 				return true;
 			}
 
+			// --objectCodeCache option:
+			case COMMAND_OPTNAME_OBJECT_CODE_CACHE : {
+				if (optionValue == null) {
+					System.err.println(
+						"The value for " + COMMAND_OPTNAME_PREFIX + COMMAND_OPTNAME_OBJECT_CODE_CACHE + " should be a directory path."
+					);
+					return false;
+				}
+				this.engineOptionMap.put(OptionKey.OBJECT_CODE_CACHE_DIRECTORY, optionValue);
+				return true;
+			}
+
 			// --terminator option:
 			case COMMAND_OPTNAME_TERMINATOR : {
 				if (optionValue.equals("true") || optionValue.equals("false")) {
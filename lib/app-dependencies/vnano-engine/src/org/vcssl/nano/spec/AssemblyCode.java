@@ -0,0 +1,224 @@
+/*
+ * Copyright(C) 2024 RINEARN
+ * This software is released under the MIT License.
+ */
+
+package org.vcssl.nano.spec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * The class of the VRIL assembly code in the structured (already tokenized) form,
+ * handed from the compiler to the {@link org.vcssl.nano.vm.assembler.Assembler Assembler} without rendering/parsing it as a text.
+ *
+ * The code consists of lines, and each line consists of words of a directive or an instruction
+ * (e.g.: { "MOV", "int", "_x@0", "~int:1" }), in which string literals are stored as they are (quoted and escaped).
+ * A line having no words represents a blank line, which is retained only to render the code in the same layout
+ * as the VRIL code generated by the compiler, and is ignored by the assembler.
+ *
+ * The VRIL code written as a text can be converted to this form by {@link AssemblyCode#parse(String) parse(String)},
+ * and the inverse conversion can be performed by {@link AssemblyCode#toString() toString()}.
+ */
+public final class AssemblyCode {
+
+	/** The escape character in string literals (same as the one in the script code). */
+	private static final char STRING_LITERAL_ESCAPE = '\\';
+
+	/** The list storing words of all lines. */
+	private final List<String[]> lineList;
+
+
+	/**
+	 * Creates a new empty code.
+	 */
+	public AssemblyCode() {
+		this.lineList = new ArrayList<String[]>();
+	}
+
+
+	/**
+	 * Parses the VRIL code written as a text, and converts it to the structured form.
+	 *
+	 * @param assemblyCode The VRIL code written as a text.
+	 * @return The structured VRIL code.
+	 */
+	public static AssemblyCode parse(String assemblyCode) {
+		AssemblyCode code = new AssemblyCode();
+		code.appendText(assemblyCode);
+		return code;
+	}
+
+
+	/**
+	 * Appends a line to the end of this code.
+	 *
+	 * @param words Words of the directive or the instruction of the line (specify an empty array for a blank line).
+	 */
+	public void addLine(String[] words) {
+		this.lineList.add(words);
+	}
+
+
+	/**
+	 * Parses the VRIL code written as a text, and appends all lines in it to the end of this code.
+	 *
+	 * Statements are split at instruction separators (;), and words are split at spaces and tabs,
+	 * where the separators in string literals are not regarded as separators.
+	 * A line consisting of only spaces/tabs is appended as a blank line.
+	 *
+	 * @param assemblyCode The VRIL code written as a text.
+	 */
+	public void appendText(String assemblyCode) {
+		char[] chars = assemblyCode.toCharArray();
+		int charLength = chars.length;
+
+		List<String> wordList = new ArrayList<String>();
+		StringBuilder wordBuilder = new StringBuilder();
+
+		boolean inLiteral = false;
+		boolean previousIsEscapeChar = false;
+		boolean lineHasContent = false;
+
+		for (int i=0; i<charLength; i++) {
+			char c = chars[i];
+
+			// In a string literal, all characters (including separators) are parts of the word.
+			if (inLiteral) {
+				wordBuilder.append(c);
+				if (c == LiteralSyntax.STRING_LITERAL_QUOT && !previousIsEscapeChar) {
+					inLiteral = false;
+				}
+				previousIsEscapeChar = (c == STRING_LITERAL_ESCAPE && !previousIsEscapeChar);
+				continue;
+			}
+
+			switch (c) {
+				case ' ' :
+				case '\t' : {
+					this.flushWord(wordBuilder, wordList);
+					break;
+				}
+				case ';' : {
+					this.flushWord(wordBuilder, wordList);
+					this.flushLine(wordList);
+					lineHasContent = true;
+					break;
+				}
+				case '\r' :
+				case '\n' : {
+					this.flushWord(wordBuilder, wordList);
+					if (!wordList.isEmpty()) {
+						lineHasContent = true;
+					}
+					this.flushLine(wordList);
+
+					// Skip the LF of CR+LF, which does not begin a new line.
+					if (c == '\r' && i+1 < charLength && chars[i+1] == '\n') {
+						i++;
+					}
+					if (!lineHasContent) {
+						this.lineList.add(new String[0]);
+					}
+					lineHasContent = false;
+					break;
+				}
+				default : {
+					if (c == LiteralSyntax.STRING_LITERAL_QUOT) {
+						inLiteral = true;
+						previousIsEscapeChar = false;
+					}
+					wordBuilder.append(c);
+					break;
+				}
+			}
+		}
+
+		// Flush the last statement which is not terminated by the instruction separator.
+		this.flushWord(wordBuilder, wordList);
+		this.flushLine(wordList);
+	}
+
+
+	/**
+	 * Moves the content of the word buffer to the word list, if the buffer is not empty.
+	 *
+	 * @param wordBuilder The word buffer.
+	 * @param wordList The list of words of the current line.
+	 */
+	private void flushWord(StringBuilder wordBuilder, List<String> wordList) {
+		if (wordBuilder.length() != 0) {
+			wordList.add(wordBuilder.toString());
+			wordBuilder.setLength(0);
+		}
+	}
+
+
+	/**
+	 * Appends the words in the word list as a line, if the list is not empty, and clears the list.
+	 *
+	 * @param wordList The list of words of the current line.
+	 */
+	private void flushLine(List<String> wordList) {
+		if (!wordList.isEmpty()) {
+			this.lineList.add(wordList.toArray(new String[wordList.size()]));
+			wordList.clear();
+		}
+	}
+
+
+	/**
+	 * Gets the total number of lines (including blank lines) in this code.
+	 *
+	 * @return The total number of lines.
+	 */
+	public int getLineCount() {
+		return this.lineList.size();
+	}
+
+
+	/**
+	 * Gets words of the specified line.
+	 *
+	 * The returned array is the internal one, so please do not modify it.
+	 *
+	 * @param lineIndex The index of the line.
+	 * @return Words of the line (an empty array for a blank line).
+	 */
+	public String[] getWords(int lineIndex) {
+		return this.lineList.get(lineIndex);
+	}
+
+
+	/**
+	 * Renders this code as a text, in the same layout as the VRIL code generated by the compiler.
+	 *
+	 * @return The VRIL code written as a text.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder codeBuilder = new StringBuilder();
+		int lineCount = this.lineList.size();
+		for (int lineIndex=0; lineIndex<lineCount; lineIndex++) {
+			String[] words = this.lineList.get(lineIndex);
+			int wordLength = words.length;
+			if (wordLength != 0) {
+
+				// Instructions are indented, and directives are not.
+				if (words[0].charAt(0) != AssemblyWord.DIRECTIVE_PREFIX) {
+					codeBuilder.append(AssemblyWord.INDENT);
+				}
+				for (int wordIndex=0; wordIndex<wordLength; wordIndex++) {
+					if (wordIndex != 0) {
+						codeBuilder.append(AssemblyWord.WORD_SEPARATOR);
+					}
+					codeBuilder.append(words[wordIndex]);
+				}
+				codeBuilder.append(AssemblyWord.INSTRUCTION_SEPARATOR);
+			}
+			codeBuilder.append(AssemblyWord.LINE_SEPARATOR);
+		}
+		return codeBuilder.toString();
+	}
+}
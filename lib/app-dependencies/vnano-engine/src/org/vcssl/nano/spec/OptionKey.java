@@ -81,6 +81,35 @@ public class OptionKey {
 	public static final String ACCELERATOR_OPTIMIZATION_LEVEL = "ACCELERATOR_OPTIMIZATION_LEVEL";
 
 
+	/**
+	 * An option to specify the maximum number of scripts of which VM object code
+	 * (and resources for executing it on the VM) are cached in the engine.
+	 *
+	 * When a cached script is executed again, the cached code is re-executed directly,
+	 * without compiling/assembling the script again.
+	 * When the number of the cached scripts exceeds this value, the least recently executed one is discarded.
+	 * Specify 0 to disable the cache.
+	 *
+	 * The value of this option is "Integer" type, and it must not be negative.
+	 */
+	public static final String CODE_CACHE_SIZE = "CODE_CACHE_SIZE";
+
+
+	/**
+	 * An option to specify the directory in which the compiled VM object code of executed scripts are stored persistently.
+	 *
+	 * When a script is executed, the engine loads the stored VM object code of it from this directory if exists,
+	 * and executes it without compiling/assembling the script.
+	 * The stored code is used only when the contents of the scripts (including library scripts),
+	 * the options affecting to the compilation, and signatures of the connected plug-ins are the same
+	 * with them when the code was stored, otherwise the script is recompiled and the stored code is updated.
+	 * Specify an empty string to disable this feature.
+	 *
+	 * The value of this option is "String" type.
+	 */
+	public static final String OBJECT_CODE_CACHE_DIRECTORY = "OBJECT_CODE_CACHE_DIRECTORY";
+
+
 	/**
 	 * An option to enable/disable the feature for terminating a running script.
 	 *
@@ -159,6 +159,12 @@ public final class OptionValue {
 	public static final int ACCELERATOR_OPTIMIZATION_LEVEL_DEFAULT = ACCELERATOR_OPTIMIZATION_LEVEL_3;
 
 
+	/**
+	 * The default value of {@link OptionKey#CODE_CACHE_SIZE CODE_CACHE_SIZE} option.
+	 */
+	public static final int CODE_CACHE_SIZE_DEFAULT = 16;
+
+
 	/** A map contains default values of the option map. */
 	private static final Map<String, Object> DEFAULT_VALUE_MAP = new LinkedHashMap<String, Object>();
 	static {
@@ -168,6 +174,8 @@ public final class OptionValue {
 		DEFAULT_VALUE_MAP.put(OptionKey.LOCALE, Locale.getDefault());
 		DEFAULT_VALUE_MAP.put(OptionKey.ACCELERATOR_ENABLED, Boolean.TRUE);
 		DEFAULT_VALUE_MAP.put(OptionKey.ACCELERATOR_OPTIMIZATION_LEVEL, ACCELERATOR_OPTIMIZATION_LEVEL_DEFAULT);
+		DEFAULT_VALUE_MAP.put(OptionKey.CODE_CACHE_SIZE, CODE_CACHE_SIZE_DEFAULT);
+		DEFAULT_VALUE_MAP.put(OptionKey.OBJECT_CODE_CACHE_DIRECTORY, "");
 		DEFAULT_VALUE_MAP.put(OptionKey.TERMINATOR_ENABLED, Boolean.FALSE);
 		DEFAULT_VALUE_MAP.put(OptionKey.PERFORMANCE_MONITOR_ENABLED, Boolean.FALSE);
 		DEFAULT_VALUE_MAP.put(OptionKey.DUMPER_ENABLED, Boolean.FALSE);
@@ -275,6 +283,8 @@ public final class OptionValue {
 		checkValueOf(OptionKey.EVAL_ONLY_EXPRESSION, optionMap, Boolean.class);
 		checkValueOf(OptionKey.LOCALE, optionMap, Locale.class);
 		checkValueOf(OptionKey.ACCELERATOR_ENABLED, optionMap, Boolean.class);
+		checkValueOf(OptionKey.CODE_CACHE_SIZE, optionMap, Integer.class);
+		checkValueOf(OptionKey.OBJECT_CODE_CACHE_DIRECTORY, optionMap, String.class);
 		checkValueOf(OptionKey.TERMINATOR_ENABLED, optionMap, Boolean.class);
 		checkValueOf(OptionKey.PERFORMANCE_MONITOR_ENABLED, optionMap, Boolean.class);
 		checkValueOf(OptionKey.DUMPER_ENABLED, optionMap, Boolean.class);
@@ -291,6 +301,13 @@ public final class OptionValue {
 		checkValueOf(OptionKey.STDIN_STREAM, optionMap, InputStream.class);
 		checkValueOf(OptionKey.STDOUT_STREAM, optionMap, PrintStream.class);
 		checkValueOf(OptionKey.STDERR_STREAM, optionMap, PrintStream.class);
+
+		int codeCacheSize = (Integer)optionMap.get(OptionKey.CODE_CACHE_SIZE);
+		if (codeCacheSize < 0) {
+			throw new VnanoException(
+				ErrorType.INVALID_OPTION_VALUE_CONTENT, new String[] { OptionKey.CODE_CACHE_SIZE, Integer.toString(codeCacheSize) }
+			);
+		}
 	}
 
 
@@ -38,4 +38,26 @@ public class PerformanceKey {
 	 */
 	public static final String CURRENTLY_EXECUTED_OPERATION_CODE = "CURRENTLY_EXECUTED_OPERATION_CODE";
 
+
+	/**
+	 * The number of executions of scripts which have been performed by re-executing the cached VM object code,
+	 * without compiling/assembling the scripts again.
+	 *
+	 * The measured value of this monitoring item is "Integer" type.
+	 * For the size of the cache of the VM object code, see {@link OptionKey#CODE_CACHE_SIZE CODE_CACHE_SIZE} option.
+	 */
+	// Note: Don't remove _INT_, because maybe we will support _LONG_VALUE in future.
+	public static final String CODE_CACHE_HIT_COUNT_INT_VALUE = "CODE_CACHE_HIT_COUNT_INT_VALUE";
+
+
+	/**
+	 * The number of executions of scripts which have required compiling/assembling the scripts,
+	 * because the VM object code of them have not been cached.
+	 *
+	 * The measured value of this monitoring item is "Integer" type.
+	 * For the size of the cache of the VM object code, see {@link OptionKey#CODE_CACHE_SIZE CODE_CACHE_SIZE} option.
+	 */
+	// Note: Don't remove _INT_, because maybe we will support _LONG_VALUE in future.
+	public static final String CODE_CACHE_MISS_COUNT_INT_VALUE = "CODE_CACHE_MISS_COUNT_INT_VALUE";
+
 }
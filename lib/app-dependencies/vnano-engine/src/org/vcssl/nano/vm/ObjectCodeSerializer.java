@@ -0,0 +1,539 @@
+/*
+ * Copyright(C) 2024 RINEARN
+ * This software is released under the MIT License.
+ */
+
+package org.vcssl.nano.vm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.vcssl.nano.VnanoFatalException;
+import org.vcssl.nano.interconnect.AbstractFunction;
+import org.vcssl.nano.interconnect.AbstractVariable;
+import org.vcssl.nano.interconnect.Interconnect;
+import org.vcssl.nano.spec.DataType;
+import org.vcssl.nano.spec.EngineInformation;
+import org.vcssl.nano.spec.IdentifierSyntax;
+import org.vcssl.nano.spec.OperationCode;
+import org.vcssl.nano.spec.OptionKey;
+import org.vcssl.nano.vm.memory.DataContainer;
+import org.vcssl.nano.vm.memory.Memory;
+import org.vcssl.nano.vm.processor.Instruction;
+
+
+/**
+ * The class converting {@link VirtualMachineObjectCode VirtualMachineObjectCode} (VM object code)
+ * to/from the versioned binary format, for storing it persistently and loading it without recompilation.
+ *
+ * The binary data consists of the header and the body.
+ * The header contains the format version, the hash value of the contents of the compiled scripts,
+ * and the fingerprint of the environment in which the scripts have been compiled
+ * (the version of the engine, the options affecting to the compilation, and signatures of the connected plug-ins).
+ * The body contains the contents of the VM object code, and it is protected by the CRC32 checksum.
+ *
+ * The serialized data can be loaded only when the hash value and the fingerprint match with the current ones,
+ * because the VM object code depends on addresses of the connected plug-ins, and so on.
+ */
+public class ObjectCodeSerializer {
+
+	/** The magic number at the head of the serialized data ("VNOC" in ASCII). */
+	private static final int MAGIC_NUMBER = 0x564E4F43;
+
+	/** The version of the binary format. Increment this when the format is changed. */
+	private static final int FORMAT_VERSION = 1;
+
+	/** The name of the algorithm of the hash function, used for generating hash values and fingerprints. */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** The extension of the name of the file storing the serialized data. */
+	public static final String FILE_NAME_EXTENSION = ".vnobj";
+
+
+	/**
+	 * Create a new serializer.
+	 */
+	public ObjectCodeSerializer() {
+	}
+
+
+	/**
+	 * Computes the hash value of the contents of the scripts to be compiled.
+	 *
+	 * @param scripts The contents of all scripts (the main script and all library scripts).
+	 * @param paths The file paths (or names) of the scripts.
+	 * @return The hash value of the contents of the scripts.
+	 */
+	public byte[] computeContentHash(String[] scripts, String[] paths) {
+		MessageDigest digest = this.createMessageDigest();
+		this.updateDigest(digest, Integer.toString(scripts.length));
+		for (int i=0; i<scripts.length; i++) {
+			this.updateDigest(digest, paths[i]);
+			this.updateDigest(digest, scripts[i]);
+		}
+		return digest.digest();
+	}
+
+
+	/**
+	 * Computes the fingerprint of the environment in which scripts are compiled,
+	 * from the version of the engine, the options affecting to the compilation,
+	 * and the signatures (and addresses) of external variables/functions provided by the connected plug-ins.
+	 *
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @return The fingerprint of the environment.
+	 */
+	public byte[] computeFingerprint(Interconnect interconnect) {
+		MessageDigest digest = this.createMessageDigest();
+		this.updateDigest(digest, EngineInformation.ENGINE_VERSION);
+
+		Map<String, Object> optionMap = interconnect.getOptionMap();
+		this.updateDigest(digest, String.valueOf(optionMap.get(OptionKey.EVAL_INT_LITERAL_AS_FLOAT)));
+		this.updateDigest(digest, String.valueOf(optionMap.get(OptionKey.EVAL_ONLY_FLOAT)));
+		this.updateDigest(digest, String.valueOf(optionMap.get(OptionKey.EVAL_ONLY_EXPRESSION)));
+
+		// External variables: their indices in the table are used as the addresses in the GLOBAL partition.
+		AbstractVariable[] variables = interconnect.getExternalVariableTable().getVariables();
+		this.updateDigest(digest, Integer.toString(variables.length));
+		for (AbstractVariable variable: variables) {
+			this.updateDigest(digest, IdentifierSyntax.getAssemblyIdentifierOf(variable));
+			this.updateDigest(digest, variable.getDataTypeName());
+			this.updateDigest(digest, Integer.toString(variable.getArrayRank()));
+			this.updateDigest(digest, Boolean.toString(variable.isConstant()));
+		}
+
+		// External functions: their indices in the table are used as the function addresses.
+		AbstractFunction[] functions = interconnect.getExternalFunctionTable().getFunctions();
+		this.updateDigest(digest, Integer.toString(functions.length));
+		for (AbstractFunction function: functions) {
+			this.updateDigest(digest, IdentifierSyntax.getSignatureOf(function));
+			this.updateDigest(digest, Arrays.toString(function.getParameterReferencenesses()));
+			this.updateDigest(digest, Arrays.toString(function.getParameterConstantnesses()));
+			this.updateDigest(digest, Boolean.toString(function.isParameterCountArbitrary()));
+			this.updateDigest(digest, Boolean.toString(function.hasVariadicParameters()));
+			if (function.isReturnDataTypeArbitrary() || function.isReturnArrayRankArbitrary()) {
+				this.updateDigest(digest, "(arbitrary return type)");
+			} else {
+				String[] parameterDataTypeNames = function.getParameterDataTypeNames();
+				int[] parameterArrayRanks = function.getParameterArrayRanks();
+				this.updateDigest(digest, function.getReturnDataTypeName(parameterDataTypeNames, parameterArrayRanks));
+				this.updateDigest(digest, Integer.toString(function.getReturnArrayRank(parameterDataTypeNames, parameterArrayRanks)));
+			}
+		}
+		return digest.digest();
+	}
+
+
+	/**
+	 * Gets the name of the file storing the serialized data of the scripts having the specified hash value.
+	 *
+	 * @param contentHash The hash value of the contents of the scripts.
+	 * @return The name of the file.
+	 */
+	public String getFileNameOf(byte[] contentHash) {
+		StringBuilder fileNameBuilder = new StringBuilder();
+		for (byte b: contentHash) {
+			fileNameBuilder.append(Character.forDigit((b >> 4) & 0xF, 16));
+			fileNameBuilder.append(Character.forDigit(b & 0xF, 16));
+		}
+		fileNameBuilder.append(FILE_NAME_EXTENSION);
+		return fileNameBuilder.toString();
+	}
+
+
+	/**
+	 * Serializes the VM object code to the binary format.
+	 *
+	 * @param objectCode The VM object code to be serialized.
+	 * @param contentHash The hash value of the contents of the scripts from which the VM object code has been compiled.
+	 * @param fingerprint The fingerprint of the environment in which the scripts have been compiled.
+	 * @return The serialized data.
+	 */
+	public byte[] serialize(VirtualMachineObjectCode objectCode, byte[] contentHash, byte[] fingerprint) {
+		try {
+			byte[] body = this.serializeBody(objectCode);
+			CRC32 crc = new CRC32();
+			crc.update(body);
+
+			ByteArrayOutputStream byteStream = new ByteArrayOutputStream(body.length + 128);
+			DataOutputStream out = new DataOutputStream(byteStream);
+			out.writeInt(MAGIC_NUMBER);
+			out.writeInt(FORMAT_VERSION);
+			this.writeBytes(out, contentHash);
+			this.writeBytes(out, fingerprint);
+			out.writeLong(crc.getValue());
+			this.writeBytes(out, body);
+			out.flush();
+			return byteStream.toByteArray();
+
+		// Should not be thrown, because the above stream writes data to the memory.
+		} catch (IOException ioe) {
+			throw new VnanoFatalException(ioe);
+		}
+	}
+
+
+	/**
+	 * Deserializes the VM object code from the binary format.
+	 *
+	 * If the format version, the hash value, or the fingerprint stored in the data don't match
+	 * with the current ones, this method returns null, and then the scripts should be recompiled.
+	 *
+	 * @param data The serialized data.
+	 * @param contentHash The hash value of the contents of the current scripts.
+	 * @param fingerprint The fingerprint of the current environment.
+	 * @return The deserialized VM object code, or null if the data is not loadable in the current environment.
+	 * @throws IOException Thrown if the data is broken.
+	 */
+	public VirtualMachineObjectCode deserialize(byte[] data, byte[] contentHash, byte[] fingerprint) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		if (in.readInt() != MAGIC_NUMBER) {
+			throw new IOException("The data is not a serialized VM object code.");
+		}
+		if (in.readInt() != FORMAT_VERSION) {
+			return null;
+		}
+		if (!Arrays.equals(this.readBytes(in), contentHash) || !Arrays.equals(this.readBytes(in), fingerprint)) {
+			return null;
+		}
+
+		long storedChecksum = in.readLong();
+		byte[] body = this.readBytes(in);
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		if (crc.getValue() != storedChecksum) {
+			throw new IOException("The checksum of the serialized VM object code is mismatching.");
+		}
+
+		// Some invalid contents (e.g.: unknown names of enum elements) are detected as unchecked exceptions.
+		try {
+			return this.deserializeBody(body);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("The serialized VM object code is broken.", e);
+		}
+	}
+
+
+	/**
+	 * Serializes the contents of the VM object code.
+	 *
+	 * @param objectCode The VM object code to be serialized.
+	 * @return The serialized contents.
+	 * @throws IOException Thrown when an I/O error occurred (should not occur, because data is written to the memory).
+	 */
+	private byte[] serializeBody(VirtualMachineObjectCode objectCode) throws IOException {
+		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(byteStream);
+
+		out.writeInt(objectCode.getEvalValueAddress());
+		this.writeInts(out, objectCode.getRegisterAddresses());
+
+		// Constant data: all of them are scalars of the immediate values, or the meta information.
+		String[] immediateValues = objectCode.getConstantImmediateValues();
+		DataContainer<?>[] constantContainers = objectCode.getConstantDataContainers();
+		int[] constantAddresses = objectCode.getConstantDataAddresses();
+		out.writeInt(immediateValues.length);
+		for (int i=0; i<immediateValues.length; i++) {
+			this.writeString(out, immediateValues[i]);
+			out.writeInt(constantAddresses[i]);
+			DataType dataType = constantContainers[i].getDataType();
+			out.writeUTF(dataType.name());
+			switch (dataType) {
+				case INT64 : {
+					out.writeLong(constantContainers[i].getInt64ScalarData());
+					break;
+				}
+				case FLOAT64 : {
+					out.writeDouble(constantContainers[i].getFloat64ScalarData());
+					break;
+				}
+				case BOOL : {
+					out.writeBoolean(constantContainers[i].getBoolScalarData());
+					break;
+				}
+				case STRING : {
+					this.writeString(out, constantContainers[i].getStringScalarData());
+					break;
+				}
+				default : {
+					throw new VnanoFatalException("Unexpected data type of a constant data: " + dataType);
+				}
+			}
+		}
+
+		this.writeIdentifiers(out, objectCode.getLocalAssemblyIdentifiers(), objectCode.getLocalVariableAddresses());
+		this.writeIdentifiers(out, objectCode.getGlobalAssemblyIdentifiers(), objectCode.getGlobalVariableAddresses());
+		this.writeIdentifiers(out, objectCode.getFunctionAssemblyIdentifiers(), objectCode.getFunctionAddresses());
+		this.writeIdentifiers(out, objectCode.getLabelAssemblyIdentifiers(), objectCode.getLabelAddresses());
+
+		Instruction[] instructions = objectCode.getInstructions();
+		out.writeInt(instructions.length);
+		for (Instruction instruction: instructions) {
+			if (instruction.hasExtention()) {
+				throw new VnanoFatalException("Instructions having extensions can not be serialized: " + instruction);
+			}
+			out.writeUTF(instruction.getOperationCode().name());
+			DataType[] dataTypes = instruction.getDataTypes();
+			out.writeInt(dataTypes.length);
+			for (DataType dataType: dataTypes) {
+				out.writeUTF(dataType.name());
+			}
+			Memory.Partition[] operandPartitions = instruction.getOperandPartitions();
+			int[] operandAddresses = instruction.getOperandAddresses();
+			out.writeInt(operandPartitions.length);
+			for (int operandIndex=0; operandIndex<operandPartitions.length; operandIndex++) {
+				out.writeUTF(operandPartitions[operandIndex].name());
+				out.writeInt(operandAddresses[operandIndex]);
+			}
+			out.writeUTF(instruction.getMetaPartition().name());
+			out.writeInt(instruction.getMetaAddress());
+		}
+
+		out.flush();
+		return byteStream.toByteArray();
+	}
+
+
+	/**
+	 * Deserializes the contents of the VM object code.
+	 *
+	 * @param body The serialized contents.
+	 * @return The deserialized VM object code.
+	 * @throws IOException Thrown if the data is broken.
+	 */
+	private VirtualMachineObjectCode deserializeBody(byte[] body) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+		VirtualMachineObjectCode objectCode = new VirtualMachineObjectCode();
+
+		objectCode.setEvalValueAddress(in.readInt());
+		for (int registerAddress: this.readInts(in)) {
+			objectCode.addRegister(registerAddress);
+		}
+
+		int constantCount = in.readInt();
+		for (int i=0; i<constantCount; i++) {
+			String immediateValue = this.readString(in);
+			int address = in.readInt();
+			DataType dataType = DataType.valueOf(in.readUTF());
+			switch (dataType) {
+				case INT64 : {
+					DataContainer<long[]> container = new DataContainer<long[]>();
+					container.setInt64ScalarData(in.readLong());
+					objectCode.addConstantData(immediateValue, container, address);
+					break;
+				}
+				case FLOAT64 : {
+					DataContainer<double[]> container = new DataContainer<double[]>();
+					container.setFloat64ScalarData(in.readDouble());
+					objectCode.addConstantData(immediateValue, container, address);
+					break;
+				}
+				case BOOL : {
+					DataContainer<boolean[]> container = new DataContainer<boolean[]>();
+					container.setBoolScalarData(in.readBoolean());
+					objectCode.addConstantData(immediateValue, container, address);
+					break;
+				}
+				case STRING : {
+					DataContainer<String[]> container = new DataContainer<String[]>();
+					container.setStringScalarData(this.readString(in));
+					objectCode.addConstantData(immediateValue, container, address);
+					break;
+				}
+				default : {
+					throw new IOException("Unexpected data type of a constant data: " + dataType);
+				}
+			}
+		}
+
+		int localCount = in.readInt();
+		for (int i=0; i<localCount; i++) {
+			objectCode.addLocalVariable(this.readString(in), in.readInt());
+		}
+		int globalCount = in.readInt();
+		for (int i=0; i<globalCount; i++) {
+			objectCode.addGlobalVariable(this.readString(in), in.readInt());
+		}
+		int functionCount = in.readInt();
+		for (int i=0; i<functionCount; i++) {
+			objectCode.addFunction(this.readString(in), in.readInt());
+		}
+		int labelCount = in.readInt();
+		for (int i=0; i<labelCount; i++) {
+			objectCode.addLabel(this.readString(in), in.readInt());
+		}
+
+		int instructionCount = in.readInt();
+		for (int i=0; i<instructionCount; i++) {
+			OperationCode operationCode = OperationCode.valueOf(in.readUTF());
+			DataType[] dataTypes = new DataType[ in.readInt() ];
+			for (int dataTypeIndex=0; dataTypeIndex<dataTypes.length; dataTypeIndex++) {
+				dataTypes[dataTypeIndex] = DataType.valueOf(in.readUTF());
+			}
+			int operandLength = in.readInt();
+			Memory.Partition[] operandPartitions = new Memory.Partition[operandLength];
+			int[] operandAddresses = new int[operandLength];
+			for (int operandIndex=0; operandIndex<operandLength; operandIndex++) {
+				operandPartitions[operandIndex] = Memory.Partition.valueOf(in.readUTF());
+				operandAddresses[operandIndex] = in.readInt();
+			}
+			Memory.Partition metaPartition = Memory.Partition.valueOf(in.readUTF());
+			int metaAddress = in.readInt();
+			objectCode.addInstruction(
+				new Instruction(operationCode, dataTypes, operandPartitions, operandAddresses, metaPartition, metaAddress)
+			);
+		}
+
+		if (in.available() != 0) {
+			throw new IOException("Unexpected data exists at the end of the serialized VM object code.");
+		}
+		return objectCode;
+	}
+
+
+	/**
+	 * Writes identifiers and corresponding addresses.
+	 *
+	 * @param out The stream to which the data will be written.
+	 * @param identifiers The identifiers.
+	 * @param addresses The addresses, in the same order as the identifiers.
+	 * @throws IOException Thrown when an I/O error occurred.
+	 */
+	private void writeIdentifiers(DataOutputStream out, String[] identifiers, int[] addresses) throws IOException {
+		out.writeInt(identifiers.length);
+		for (int i=0; i<identifiers.length; i++) {
+			this.writeString(out, identifiers[i]);
+			out.writeInt(addresses[i]);
+		}
+	}
+
+
+	/**
+	 * Writes a string, in UTF-8 with its length.
+	 * (DataOutputStream.writeUTF(String) can not write long strings, so we don't use it for string literals.)
+	 *
+	 * @param out The stream to which the data will be written.
+	 * @param string The string to be written.
+	 * @throws IOException Thrown when an I/O error occurred.
+	 */
+	private void writeString(DataOutputStream out, String string) throws IOException {
+		this.writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * Reads a string written by {@link ObjectCodeSerializer#writeString writeString(...)} method.
+	 *
+	 * @param in The stream from which the data will be read.
+	 * @return The read string.
+	 * @throws IOException Thrown when an I/O error occurred.
+	 */
+	private String readString(DataInputStream in) throws IOException {
+		return new String(this.readBytes(in), StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Writes a byte array with its length.
+	 *
+	 * @param out The stream to which the data will be written.
+	 * @param bytes The byte array to be written.
+	 * @throws IOException Thrown when an I/O error occurred.
+	 */
+	private void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+
+	/**
+	 * Reads a byte array written by {@link ObjectCodeSerializer#writeBytes writeBytes(...)} method.
+	 *
+	 * @param in The stream from which the data will be read.
+	 * @return The read byte array.
+	 * @throws IOException Thrown when an I/O error occurred, or an invalid length has been read.
+	 */
+	private byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || in.available() < length) {
+			throw new IOException("Invalid length of data: " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+
+	/**
+	 * Writes an int array with its length.
+	 *
+	 * @param out The stream to which the data will be written.
+	 * @param values The int array to be written.
+	 * @throws IOException Thrown when an I/O error occurred.
+	 */
+	private void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value: values) {
+			out.writeInt(value);
+		}
+	}
+
+
+	/**
+	 * Reads an int array written by {@link ObjectCodeSerializer#writeInts writeInts(...)} method.
+	 *
+	 * @param in The stream from which the data will be read.
+	 * @return The read int array.
+	 * @throws IOException Thrown when an I/O error occurred, or an invalid length has been read.
+	 */
+	private int[] readInts(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || in.available() < length * 4L) {
+			throw new IOException("Invalid length of data: " + length);
+		}
+		int[] values = new int[length];
+		for (int i=0; i<length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+
+	/**
+	 * Creates the instance of the hash function.
+	 *
+	 * @return The instance of the hash function.
+	 */
+	private MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+
+		// SHA-256 is always supported by Java platforms, so this exception should not be thrown.
+		} catch (NoSuchAlgorithmException nsae) {
+			throw new VnanoFatalException(nsae);
+		}
+	}
+
+
+	/**
+	 * Inputs a string to the hash function, with its length for separating it from the next string.
+	 *
+	 * @param digest The instance of the hash function.
+	 * @param string The string to be input.
+	 */
+	private void updateDigest(MessageDigest digest, String string) {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		int length = bytes.length;
+		digest.update(new byte[] { (byte)(length >>> 24), (byte)(length >>> 16), (byte)(length >>> 8), (byte)length });
+		digest.update(bytes);
+	}
+}
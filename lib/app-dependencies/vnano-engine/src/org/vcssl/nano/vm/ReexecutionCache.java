@@ -6,6 +6,7 @@
 package org.vcssl.nano.vm;
 
 import org.vcssl.nano.interconnect.DataConverter;
+import org.vcssl.nano.vm.accelerator.Accelerator;
 import org.vcssl.nano.vm.memory.DataContainer;
 import org.vcssl.nano.vm.memory.Memory;
 import org.vcssl.nano.vm.processor.Instruction;
@@ -31,6 +32,9 @@ public class ReexecutionCache {
 	/** The flag representing whether the accelerator is enabled. */
 	private boolean acceleratorEnabled = false;
 
+	/** The resources (execution nodes and so on) generated by the accelerator for processing the last code. */
+	private volatile Accelerator.ReprocessingCache acceleratorReprocessingCache = null;
+
 
 	/**
 	 * Create an empty instance storing nothing.
@@ -133,4 +137,23 @@ public class ReexecutionCache {
 	public boolean isAcceleratorEnabled() {
 		return this.acceleratorEnabled;
 	}
+
+
+	/**
+	 * Sets the resources (execution nodes and so on) generated by the accelerator for processing the last code.
+	 *
+	 * @param acceleratorReprocessingCache The resources generated by the accelerator.
+	 */
+	public void setAcceleratorReprocessingCache(Accelerator.ReprocessingCache acceleratorReprocessingCache) {
+		this.acceleratorReprocessingCache = acceleratorReprocessingCache;
+	}
+
+	/**
+	 * Gets the resources (execution nodes and so on) generated by the accelerator for processing the last code.
+	 *
+	 * @return The resources generated by the accelerator (null if the accelerator is disabled).
+	 */
+	public Accelerator.ReprocessingCache getAcceleratorReprocessingCache() {
+		return this.acceleratorReprocessingCache;
+	}
 }
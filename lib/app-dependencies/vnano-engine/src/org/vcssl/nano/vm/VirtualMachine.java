@@ -6,12 +6,15 @@
 package org.vcssl.nano.vm;
 
 import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.vcssl.nano.VnanoException;
 import org.vcssl.nano.VnanoFatalException;
 import org.vcssl.nano.interconnect.DataConverter;
 import org.vcssl.nano.interconnect.Interconnect;
+import org.vcssl.nano.spec.AssemblyCode;
 import org.vcssl.nano.spec.ErrorType;
 import org.vcssl.nano.spec.OptionKey;
 import org.vcssl.nano.spec.OptionValue;
@@ -44,6 +47,13 @@ public class VirtualMachine {
 	/** Stores the generated resources for the last execution, to accelerate the re-executions of the same code. */
 	private ReexecutionCache reexecutionCache = null;
 
+	/**
+	 * Stores the generated resources for the recent executions of multiple code, with the keys specified by the caller.
+	 * The order of the entries is the order of accesses, so the first entry is the least recently used one.
+	 */
+	private final LinkedHashMap<Object, ReexecutionCache> reexecutionCacheMap
+		= new LinkedHashMap<Object, ReexecutionCache>(16, 0.75f, true);
+
 	/**
 	 * The counter for counting the number of executed instructions.
 	 * For details, see {@link VirtualMachine#getExecutedInstructionCountIntValue()} method.
@@ -83,23 +93,100 @@ public class VirtualMachine {
 	public Object executeAssemblyCode(String assemblyCode, Interconnect interconnect)
 			throws VnanoException {
 
+		return this.executeAssemblyCode(assemblyCode, interconnect, null);
+	}
+
+
+	/**
+	 * Executes virtual assembly code written in VRIL (VRIL code),
+	 * and caches the generated resources for re-executing it with the specified key.
+	 *
+	 * The cached resources can be selected later by
+	 * {@link VirtualMachine#selectReexecutionCache(Object) selectReexecutionCache(Object)} method,
+	 * even if other code have been executed after this code.
+	 * The maximum number of the cached code is specified by
+	 * {@link org.vcssl.nano.spec.OptionKey#CODE_CACHE_SIZE CODE_CACHE_SIZE} option,
+	 * and the least recently used one is discarded when the number exceeds it.
+	 *
+	 * @param assemblyCode Virtual assembly code written in VRIL (VRIL code) to be executed.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @param cacheKey The key of the cache (specify null for caching resources only for the last execution).
+	 * @return
+	 *   The value specified by {@link org.vcssl.nano.spec.OperationCode#END END} instruction at the end of VRIL code.
+	 *   If no value is specified, returns null.
+	 *
+	 * @throws VnanoException Thrown when a runtime error is occurred.
+	 */
+	public Object executeAssemblyCode(String assemblyCode, Interconnect interconnect, Object cacheKey)
+			throws VnanoException {
+
+		return this.executeAssemblyCode(AssemblyCode.parse(assemblyCode), interconnect, cacheKey);
+	}
+
+
+	/**
+	 * Executes virtual assembly code in the structured form, generated by the compiler,
+	 * and caches the generated resources for re-executing it with the specified key.
+	 *
+	 * For details of the cache, see the description of
+	 * {@link VirtualMachine#executeAssemblyCode(String, Interconnect, Object) executeAssemblyCode(String, Interconnect, Object)}
+	 * method.
+	 *
+	 * @param assemblyCode Virtual assembly code in the structured form to be executed.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @param cacheKey The key of the cache (specify null for caching resources only for the last execution).
+	 * @return
+	 *   The value specified by {@link org.vcssl.nano.spec.OperationCode#END END} instruction at the end of VRIL code.
+	 *   If no value is specified, returns null.
+	 *
+	 * @throws VnanoException Thrown when a runtime error is occurred.
+	 */
+	public Object executeAssemblyCode(AssemblyCode assemblyCode, Interconnect interconnect, Object cacheKey)
+			throws VnanoException {
+
+		// Convert the VRIL assembly code to the VM object code, which can run on the Processor/Accelerator directly.
+		Assembler assembler = new Assembler();
+		VirtualMachineObjectCode vmObjectCode = assembler.assemble(assemblyCode, interconnect);
+
+		return this.executeObjectCode(vmObjectCode, interconnect, cacheKey);
+	}
+
+
+	/**
+	 * Executes the VM object code, which has been assembled from VRIL code (or loaded from the serialized data),
+	 * and caches the generated resources for re-executing it with the specified key.
+	 *
+	 * For details of the cache, see the description of
+	 * {@link VirtualMachine#executeAssemblyCode(String, Interconnect, Object) executeAssemblyCode(String, Interconnect, Object)}
+	 * method.
+	 *
+	 * @param vmObjectCode The VM object code to be executed.
+	 * @param interconnect The interconnect to which external functions/variables are connected.
+	 * @param cacheKey The key of the cache (specify null for caching resources only for the last execution).
+	 * @return
+	 *   The value specified by {@link org.vcssl.nano.spec.OperationCode#END END} instruction at the end of VRIL code.
+	 *   If no value is specified, returns null.
+	 *
+	 * @throws VnanoException Thrown when a runtime error is occurred.
+	 */
+	public Object executeObjectCode(VirtualMachineObjectCode vmObjectCode, Interconnect interconnect, Object cacheKey)
+			throws VnanoException {
+
 		// Extract some option values.
 		boolean acceleratorEnabled, shouldDump, dumpTargetIsAll;
+		int codeCacheSize;
 		String dumpTarget;
 		PrintStream dumpStream = null;
 		synchronized (this) {
 			Map<String, Object> optionMap = interconnect.getOptionMap();
 			acceleratorEnabled = (Boolean)optionMap.get(OptionKey.ACCELERATOR_ENABLED);
+			codeCacheSize = (Integer)optionMap.get(OptionKey.CODE_CACHE_SIZE);
 			shouldDump = (Boolean)optionMap.get(OptionKey.DUMPER_ENABLED);
 			dumpTarget = (String)optionMap.get(OptionKey.DUMPER_TARGET);
 			dumpTargetIsAll = dumpTarget.equals(OptionValue.DUMPER_TARGET_ALL);
 			dumpStream = (PrintStream)optionMap.get(OptionKey.DUMPER_STREAM);
 		}
 
-		// Convert the VRIL assembly code to the VM object code, which can run on the Processor/Accelerator directly.
-		Assembler assembler = new Assembler();
-		VirtualMachineObjectCode vmObjectCode = assembler.assemble(assemblyCode, interconnect);
-
 		// Dump the VM object code.
 		if (shouldDump && (dumpTargetIsAll || dumpTarget.equals(OptionValue.DUMPER_TARGET_OBJECT_CODE)) ) {
 			if (dumpTargetIsAll) {
@@ -136,6 +223,9 @@ public class VirtualMachine {
 		this.reexecutionCache.setLastObjectCode(vmObjectCode);
 		this.reexecutionCache.setMemory(memory);
 		this.reexecutionCache.setAcceleratorEnabled(acceleratorEnabled);
+		if (acceleratorEnabled) {
+			this.reexecutionCache.setAcceleratorReprocessingCache(this.accelerator.getReprocessingCache());
+		}
 
 		// Convert the data-type of the result value (from the internal data-type to the external one), and return it.
 		Object returnValue = null;
@@ -147,10 +237,56 @@ public class VirtualMachine {
 			returnValue = converter.convertToExternalObject(resultDataContainer);
 			this.reexecutionCache.setResultDataResources(resultDataContainer, converter);
 		}
+
+		// Register the above cache with the specified key, and discard the least recently used ones if the cache is full.
+		if (cacheKey != null && 0 < codeCacheSize) {
+			synchronized (this) {
+				this.reexecutionCacheMap.put(cacheKey, this.reexecutionCache);
+				Iterator<Object> keyIterator = this.reexecutionCacheMap.keySet().iterator();
+				while (codeCacheSize < this.reexecutionCacheMap.size()) {
+					keyIterator.next();
+					keyIterator.remove();
+				}
+			}
+		}
 		return returnValue;
 	}
 
 
+	/**
+	 * Selects the cached resources registered with the specified key,
+	 * as the target of {@link VirtualMachine#reexecuteLastAssemblyCode(Interconnect) reexecuteLastAssemblyCode(Interconnect)} method.
+	 *
+	 * @param cacheKey The key specified when the code had been executed.
+	 * @return Returns true if the cache has been found and selected, or false if it has not been cached (or already discarded).
+	 */
+	public boolean selectReexecutionCache(Object cacheKey) {
+		ReexecutionCache cache = null;
+		synchronized (this) {
+			cache = this.reexecutionCacheMap.get(cacheKey); // This also updates the order of accesses.
+		}
+		if (cache == null) {
+			return false;
+		}
+		this.reexecutionCache = cache;
+		if (cache.isAcceleratorEnabled()) {
+			this.accelerator.setReprocessingCache(cache.getAcceleratorReprocessingCache());
+		}
+		return true;
+	}
+
+
+	/**
+	 * Discards all the cached resources registered with keys,
+	 * e.g.: when the connected plug-ins or options have been changed and the cached code can not be re-executed.
+	 */
+	public void clearReexecutionCaches() {
+		synchronized (this) {
+			this.reexecutionCacheMap.clear();
+		}
+	}
+
+
 	/**
 	 * Re-executes the assembly code, which was executed by executeAssemblyCode() method last time.
 	 *
@@ -31,23 +31,33 @@ public class Accelerator {
 	/**
 	 * The container class for caching some resources,
 	 * to reduce overheads when this accelerator processes the same code repetitively.
+	 *
+	 * The content of this class is accessible only from the accelerator,
+	 * but instances can be detached/attached by getReprocessingCache()/setReprocessingCache(...) methods,
+	 * for retaining the caches of multiple code.
 	 */
-	private class ReprocessingCache {
+	public static final class ReprocessingCache {
 
 		/** Stores the execution nodes created for the last processed code. */
-		public volatile AcceleratorExecutionNode[] lastExecutionNodes;
+		private volatile AcceleratorExecutionNode[] lastExecutionNodes;
 
 		/** Stores the data management unit created for the last processed code. */
-		public volatile AcceleratorDataManagementUnit lastDataManager;
+		private volatile AcceleratorDataManagementUnit lastDataManager;
 
 		/** Stores the value of "RUNNING_ENABLED" option of when the last code was processed. */
-		public volatile boolean lastRunningEnabled;
+		private volatile boolean lastRunningEnabled;
 
 		/** Stores the value of "TERMINATOR_ENABLED" option of when the last code was processed. */
-		public volatile boolean lastTerminatorEnabled;
+		private volatile boolean lastTerminatorEnabled;
 
 		/** Stores the value of "PERFORMANCE_MONITOR_ENABLED" option of when the last code was processed. */
-		public volatile boolean lastPerformanceMonitorEnabled;
+		private volatile boolean lastPerformanceMonitorEnabled;
+
+		/**
+		 * Create an empty instance storing nothing.
+		 */
+		private ReprocessingCache() {
+		}
 	}
 
 	/** Stores some cached resources, to reduce overheads when this accelerator processes the same code repetitively. */
@@ -257,6 +267,31 @@ public class Accelerator {
 	}
 
 
+	/**
+	 * Gets the cached resources for re-processing the last processed instructions.
+	 *
+	 * @return The cached resources (null if no instructions have been processed yet).
+	 */
+	public ReprocessingCache getReprocessingCache() {
+		return this.reprocessingCache;
+	}
+
+
+	/**
+	 * Sets the cached resources for re-processing instructions,
+	 * which have been gotten by {@link Accelerator#getReprocessingCache() getReprocessingCache()} method
+	 * after processing the instructions.
+	 *
+	 * After calling this method, {@link Accelerator#reprocess reprocess(...)} method re-processes
+	 * the instructions corresponding to the specified cache.
+	 *
+	 * @param reprocessingCache The cached resources for re-processing instructions.
+	 */
+	public void setReprocessingCache(ReprocessingCache reprocessingCache) {
+		this.reprocessingCache = reprocessingCache;
+	}
+
+
 	/**
 	 * Re-processes the last processed instructions.
 	 *
@@ -5,6 +5,9 @@
 
 package org.vcssl.nano.vm.assembler;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.vcssl.nano.VnanoFatalException;
 import org.vcssl.nano.VnanoException;
 import org.vcssl.nano.interconnect.AbstractFunction;
@@ -12,6 +15,7 @@ import org.vcssl.nano.interconnect.AbstractVariable;
 import org.vcssl.nano.interconnect.FunctionTable;
 import org.vcssl.nano.interconnect.Interconnect;
 import org.vcssl.nano.interconnect.VariableTable;
+import org.vcssl.nano.spec.AssemblyCode;
 import org.vcssl.nano.spec.AssemblyWord;
 import org.vcssl.nano.spec.DataType;
 import org.vcssl.nano.spec.DataTypeName;
@@ -45,31 +49,44 @@ public class Assembler {
 	 * Convert the VRIL assembly code to the instance of
 	 * {@link org.vcssl.nano.vm.VirtualMachineObjectCode VirtualMachineObjectCode}(VM object code).
 	 *
+	 * The code is parsed into the structured form at first, and then converted by
+	 * {@link Assembler#assemble(AssemblyCode, Interconnect) assemble(AssemblyCode, Interconnect)}.
+	 *
 	 * @param assemblyCode The VRIL assembly code to be converted.
 	 * @param Intterconnect The interconnect having external variables/functions referred from the VRIL assembly code.
 	 * @return The generated VM object code.
 	 * @throws VnanoException Thrown when any error in the content of the VRIL assembly code has been detected.
 	 */
 	public VirtualMachineObjectCode assemble(String assemblyCode, Interconnect interconnect) throws VnanoException {
+		return this.assemble(AssemblyCode.parse(assemblyCode), interconnect);
+	}
 
-		// Replace all string literals in the code to the numberized literal: "1", "2", ...
-		String[] stringLiteralExtractResult = LiteralSyntax.extractStringLiterals(assemblyCode);
-		assemblyCode = stringLiteralExtractResult[0]; // [0] 番に置き換え済みコードが格納されている（1番以降はリテラル内容）
+
+	/**
+	 * Convert the VRIL assembly code in the structured form to the instance of
+	 * {@link org.vcssl.nano.vm.VirtualMachineObjectCode VirtualMachineObjectCode}(VM object code).
+	 *
+	 * @param assemblyCode The VRIL assembly code to be converted.
+	 * @param Intterconnect The interconnect having external variables/functions referred from the VRIL assembly code.
+	 * @return The generated VM object code.
+	 * @throws VnanoException Thrown when any error in the content of the VRIL assembly code has been detected.
+	 */
+	public VirtualMachineObjectCode assemble(AssemblyCode assemblyCode, Interconnect interconnect) throws VnanoException {
 
 		// Put LABEL instructions at locations of labels and CALL instructions, for making optimization easy.
-		assemblyCode = this.appendLabelInstructions(assemblyCode);
+		// (Blank lines are also removed here.)
+		List<String[]> lineList = this.appendLabelInstructions(assemblyCode);
 
 		// Get variable/function tables from the interconnect.
 		VariableTable globalVariableTable = interconnect.getExternalVariableTable();
 		FunctionTable functionTable = interconnect.getExternalFunctionTable();
 
-		VirtualMachineObjectCode vmObjectCode = this.preprocessDirectives(assemblyCode, globalVariableTable, functionTable);
+		VirtualMachineObjectCode vmObjectCode = this.preprocessDirectives(lineList, globalVariableTable, functionTable);
 		int registerMaxAddress = 0;
 
 		int constantAddress = 0;
 
-		String[] lines = assemblyCode.split(AssemblyWord.INSTRUCTION_SEPARATOR_REGEX);
-		int lineLength = lines.length;
+		int lineLength = lineList.size();
 
 		int metaAddress = -1;
 
@@ -78,20 +95,11 @@ public class Assembler {
 
 		for (int i=0; i<lineLength; i++) {
 
-			String line = lines[i].trim();
-			if (line.length() == 0) {
-				continue;
-			}
-
-			String[] words = line.split(AssemblyWord.WORD_SEPARATOR_REGEX);
+			String[] words = lineList.get(i);
 			int wordLength = words.length;
 
 			// Meta directive: generate constant data storing the meta information.
-			if (line.startsWith(AssemblyWord.META_DIRECTIVE)) {
-
-				// Recover the content of the string literal from the numberized literal.
-				int stringLiteralIndex = LiteralSyntax.getIndexOfNumberedStringLiteral(words[1].trim());
-				String originalStringLiteral = stringLiteralExtractResult[ stringLiteralIndex ];
+			if (words[0].equals(AssemblyWord.META_DIRECTIVE)) {
 
 				// Store the content of the string literal to a data container,
 				// and register it as a constant data to the vmObjectCode.
@@ -99,14 +107,14 @@ public class Assembler {
 					= Character.toString(AssemblyWord.IMMEDIATE_OPERAND_PREFIX)
 					+ DataTypeName.getDataTypeNameOf(DataType.STRING)
 					+ AssemblyWord.VALUE_SEPARATOR
-					+ originalStringLiteral;
+					+ words[1];
 				DataContainer<?> dataContainer = this.parseImmediateValue(metaImmediateValue);
 				vmObjectCode.addConstantData(metaImmediateValue, dataContainer, constantAddress);
 				metaAddress = constantAddress;
 				constantAddress++;
 				continue;
 
-			} else if (line.startsWith(Character.toString(AssemblyWord.DIRECTIVE_PREFIX))) {
+			} else if (words[0].charAt(0) == AssemblyWord.DIRECTIVE_PREFIX) {
 				continue;
 			}
 
@@ -136,29 +144,33 @@ public class Assembler {
 
 				// Data operands begin with the 2nd word.
 				int wordIndex = operandIndex + 2;
-				String word = words[wordIndex].trim();
+				String word = words[wordIndex];
 
 				// The head character represents the kind of operand (register, variable identifier, immediate value, ...).
 				char prefix = word.charAt(0);
 
 				if (prefix == AssemblyWord.IMMEDIATE_OPERAND_PREFIX) {
-						if (vmObjectCode.containsConstantData(word)) {
-							operandAddresses[operandIndex] = vmObjectCode.getConstantDataAddress(word);
-						} else {
 
-							// String-type immediate value: recover the content of the string literal from the numberized literal.
-							if (this.getDataTypeOfImmediateValueLiteral(word) == DataType.STRING) {
-								String literalValue = this.getValuePartOfImmediateValueLiteral(word);
-								int stringLiteralIndex = LiteralSyntax.getIndexOfNumberedStringLiteral(literalValue);
-								literalValue = stringLiteralExtractResult[stringLiteralIndex];
-								literalValue = LiteralSyntax.decodeEscapeSequences(literalValue);
-								word = this.replaceImmediateValue(word, literalValue);
-							}
+						// String-type immediate value: decode escape sequences in the literal,
+						// and store it as a new constant data (they are not shared, as string literals are not the same in general).
+						if (this.getDataTypeOfImmediateValueLiteral(word) == DataType.STRING) {
+							String literalValue = this.getValuePartOfImmediateValueLiteral(word);
+							literalValue = LiteralSyntax.decodeEscapeSequences(literalValue);
+							word = this.replaceImmediateValue(word, literalValue);
 
 							operandAddresses[operandIndex] = constantAddress;
 							DataContainer<?> dataContainer = this.parseImmediateValue(word);
 							vmObjectCode.addConstantData(word, dataContainer, constantAddress);
 							constantAddress++;
+
+						} else if (vmObjectCode.containsConstantData(word)) {
+							operandAddresses[operandIndex] = vmObjectCode.getConstantDataAddress(word);
+
+						} else {
+							operandAddresses[operandIndex] = constantAddress;
+							DataContainer<?> dataContainer = this.parseImmediateValue(word);
+							vmObjectCode.addConstantData(word, dataContainer, constantAddress);
+							constantAddress++;
 						}
 						operandAddressTypes[operandIndex] = Memory.Partition.CONSTANT;
 
@@ -252,54 +264,36 @@ public class Assembler {
 	 * but it makes optimization easy, by making it explicit that processing flow may jumps to there.
 	 *
 	 * @param assemblyCode The VRIL assembly code.
-	 * @return The VRIL assembly code to which LABEL instructions have been appended.
+	 * @return The list of words of lines, to which LABEL instructions have been appended (blank lines are excluded).
 	 */
-	private String appendLabelInstructions(String assemblyCode) {
-
-		StringBuilder codeBuilder = new StringBuilder();
+	private List<String[]> appendLabelInstructions(AssemblyCode assemblyCode) {
 
-		String[] lines = assemblyCode.split(AssemblyWord.INSTRUCTION_SEPARATOR_REGEX);
-		int lineLength = lines.length;
+		int lineCount = assemblyCode.getLineCount();
+		List<String[]> lineList = new ArrayList<String[]>(lineCount + lineCount / 4);
 
-		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
+		for (int lineIndex=0; lineIndex<lineCount; lineIndex++) {
 
-			String line = lines[lineIndex];
-			codeBuilder.append(line);
-			codeBuilder.append(AssemblyWord.INSTRUCTION_SEPARATOR);
-
-			line = line.trim();
-			String labelCode
-				= AssemblyWord.LINE_SEPARATOR
-				+ AssemblyWord.WORD_SEPARATOR
-				+ OperationCode.LABEL.name()
-				+ AssemblyWord.WORD_SEPARATOR
-				+ DataTypeName.VOID
-				+ AssemblyWord.WORD_SEPARATOR
-				+ AssemblyWord.PLACEHOLDER_OPERAND_PREFIX
-				+ AssemblyWord.INSTRUCTION_SEPARATOR
-				;
+			String[] words = assemblyCode.getWords(lineIndex);
 
 			// An empty line:
-			if (line.length() == 0) {
-				continue;
-			}
-
-			// Put a LABEL instruction at the label directive.
-			if (line.startsWith(AssemblyWord.LABEL_DIRECTIVE)) {
-				codeBuilder.append(labelCode);
+			if (words.length == 0) {
 				continue;
 			}
 
-			String[] words = line.split(AssemblyWord.WORD_SEPARATOR_REGEX);
-			String operationCode = words[0];
+			lineList.add(words);
 
-			// Put a LABEL instruction just after a CALL instruction,
+			// Put a LABEL instruction at the label directive.
+			// Also, put a LABEL instruction just after a CALL instruction,
 			// because processing flow jumps to there when it when it has returned from the callee function.
-			if (operationCode.equals(OperationCode.CALL.name())) {
-				codeBuilder.append(labelCode);
+			if (words[0].equals(AssemblyWord.LABEL_DIRECTIVE) || words[0].equals(OperationCode.CALL.name())) {
+				lineList.add(new String[] {
+					OperationCode.LABEL.name(),
+					DataTypeName.VOID,
+					Character.toString(AssemblyWord.PLACEHOLDER_OPERAND_PREFIX)
+				});
 			}
 		}
-		return codeBuilder.toString();
+		return lineList;
 	}
 
 
@@ -430,37 +424,33 @@ public class Assembler {
 	 * Note that, the returned VM object code is incomplete,
 	 *  so it is necessary to append information (instructions and so on) in the latter steps.
 	 *
-	 * @param assemblyCode The VRIL assembly code.
+	 * @param lineList The list of words of lines of the VRIL assembly code (blank lines must be excluded).
 	 * @return The VM object code having information of variables/functions/labels, declared by directives in the VRIL assembly code.
 	 */
-	private VirtualMachineObjectCode preprocessDirectives(String assemblyCode, VariableTable globalVariableTable, FunctionTable functionTable) {
+	private VirtualMachineObjectCode preprocessDirectives(List<String[]> lineList, VariableTable globalVariableTable, FunctionTable functionTable) {
 
 		VirtualMachineObjectCode vmObjectCode = new VirtualMachineObjectCode();
 
 		int localAddress = 0;
 
-		String[] lines = assemblyCode.split(AssemblyWord.INSTRUCTION_SEPARATOR_REGEX);
-		int lineLength = lines.length;
+		int lineLength = lineList.size();
 
 		int instructionIndex = 0;
 
 		for (int lineIndex=0; lineIndex<lineLength; lineIndex++) {
 
-			String line = lines[lineIndex].trim();
-			if (line.length() == 0) {
-				continue;
-			}
-			String[] words = line.split(AssemblyWord.WORD_SEPARATOR_REGEX);
+			String[] words = lineList.get(lineIndex);
+			String head = words[0];
 
 			// Local variable directive:
-			if (line.startsWith(AssemblyWord.LOCAL_VARIABLE_DIRECTIVE)) {
+			if (head.equals(AssemblyWord.LOCAL_VARIABLE_DIRECTIVE)) {
 				String identifier = words[1];
 				vmObjectCode.addLocalVariable(identifier, localAddress);
 				localAddress++;
 			}
 
 			// Global variable directive:
-			if (line.startsWith(AssemblyWord.GLOBAL_VARIABLE_DIRECTIVE)) {
+			if (head.equals(AssemblyWord.GLOBAL_VARIABLE_DIRECTIVE)) {
 				String identifier = words[1];
 				AbstractVariable variable = globalVariableTable.getVariableByAssemblyIdentifier(identifier);
 				int globalAddress = globalVariableTable.getIndexOf(variable);
@@ -468,7 +458,7 @@ public class Assembler {
 			}
 
 			// Function directive:
-			if (line.startsWith(AssemblyWord.GLOBAL_FUNCTION_DIRECTIVE)) {
+			if (head.equals(AssemblyWord.GLOBAL_FUNCTION_DIRECTIVE)) {
 				String identifier = words[1];
 				String signature = identifier.substring(1, identifier.length()); // Remove the first char because it is a prefix.
 				AbstractFunction function = functionTable.getFunctionBySignature(signature);
@@ -477,12 +467,12 @@ public class Assembler {
 			}
 
 			// Label directive:
-			if (line.startsWith(AssemblyWord.LABEL_DIRECTIVE)) {
+			if (head.equals(AssemblyWord.LABEL_DIRECTIVE)) {
 				String identifier = words[1];
 				vmObjectCode.addLabel(identifier, instructionIndex);
 			}
 
-			if (!line.startsWith(Character.toString(AssemblyWord.DIRECTIVE_PREFIX))) {
+			if (head.charAt(0) != AssemblyWord.DIRECTIVE_PREFIX) {
 				instructionIndex++;
 			}
 		}
@@ -1,6 +1,8 @@
 package com.rinearn.graph3d;
 
 import com.rinearn.graph3d.model.Model;
+import com.rinearn.graph3d.model.dataseries.StreamingDataSeries;
+import com.rinearn.graph3d.model.dataseries.BinaryDataFileLayout;
 import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -377,6 +379,7 @@ public class RinearnGraph3D {
 	 *   </span>
 	 */
 	public synchronized Image getImage() {
+		this.presenter.dataArrayHandler.awaitPlotting();
 		return this.presenter.renderingLoop.getImage();
 	}
 
@@ -414,6 +417,7 @@ public class RinearnGraph3D {
 	 *   </span>
 	 */
 	public synchronized void exportImageFile(File file, double quality) throws IOException {
+		this.presenter.dataArrayHandler.awaitPlotting();
 		this.presenter.renderingLoop.exportImageFile(file, quality);
 	}
 
@@ -705,6 +709,203 @@ public class RinearnGraph3D {
 	}
 
 
+	/**
+	 * <span class="lang-en">
+	 * Sets the data stored in the specified binary data file, to be plotted
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたバイナリデータファイルに格納されたデータを, プロット対象として設定します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The layout of the data file (the header length, the columns, the element type, the byte order, and the grid shape)
+	 * is described in the layout file, in the format of java.util.Properties (see BinaryDataFileLayout).
+	 * The data file is memory-mapped and read lazily when it is plotted,
+	 * so this method returns immediately regardless of the size of the file,
+	 * and the files larger than the physical memory can be plotted.
+	 * Please note that, the currently registered data series are cleared.
+	 * </span>
+	 * <span class="lang-ja">
+	 * データファイルのレイアウト（ヘッダ長, 列, 要素の型, バイトオーダー, 格子の形状）は,
+	 * java.util.Properties 形式のレイアウトファイルに記述します（BinaryDataFileLayout を参照）.
+	 * データファイルはメモリにマップされ, プロット時に必要な部分のみが読み込まれるため,
+	 * このメソッドはファイルのサイズによらず即座に処理を返し, 物理メモリよりも大きいファイルもプロットできます.
+	 * なお, 現在登録されているデータ系列はクリアされます.
+	 * </span>
+	 *
+	 * @param dataFile
+	 *   <span class="lang-en">The binary data file</span>
+	 *   <span class="lang-ja">バイナリデータファイル</span>
+	 * @param layoutFile
+	 *   <span class="lang-en">The file describing the layout of the data file</span>
+	 *   <span class="lang-ja">データファイルのレイアウトを記述したファイル</span>
+	 * @throws IOException
+	 *   <span class="lang-en">Thrown if failed to access the files</span>
+	 *   <span class="lang-ja">ファイルへのアクセスに失敗した場合にスローされます</span>
+	 */
+	public synchronized void setDataFile(File dataFile, File layoutFile) throws IOException {
+		this.presenter.dataArrayHandler.setDataFile(dataFile, BinaryDataFileLayout.load(layoutFile));
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data stored in the specified binary data file, to the currently plotted data
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたバイナリデータファイルに格納されたデータを, 現在プロットされているデータに追加します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * For details of the data file and the layout file, see setDataFile(File, File).
+	 * </span>
+	 * <span class="lang-ja">
+	 * データファイルとレイアウトファイルの詳細は, setDataFile(File, File) を参照してください.
+	 * </span>
+	 *
+	 * @param dataFile
+	 *   <span class="lang-en">The binary data file</span>
+	 *   <span class="lang-ja">バイナリデータファイル</span>
+	 * @param layoutFile
+	 *   <span class="lang-en">The file describing the layout of the data file</span>
+	 *   <span class="lang-ja">データファイルのレイアウトを記述したファイル</span>
+	 * @throws IOException
+	 *   <span class="lang-en">Thrown if failed to access the files</span>
+	 *   <span class="lang-ja">ファイルへのアクセスに失敗した場合にスローされます</span>
+	 */
+	public synchronized void appendDataFile(File dataFile, File layoutFile) throws IOException {
+		this.presenter.dataArrayHandler.appendDataFile(dataFile, BinaryDataFileLayout.load(layoutFile));
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Sets the data stored in the specified text data file (CSV/TSV), to be plotted
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたテキストデータファイル（CSV/TSV）に格納されたデータを, プロット対象として設定します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * Each line of the file stores X/Y/Z coordinate values of a point, separated by commas, tabs, or spaces.
+	 * A blank line separates the rows of a grid (mesh), and two or more consecutive blank lines separate the data series.
+	 * The file is parsed in parallel, so large files can be loaded quickly on multi-core CPUs.
+	 * Please note that, the currently registered data series are cleared.
+	 * </span>
+	 * <span class="lang-ja">
+	 * ファイルの各行には, 点の X/Y/Z 座標値を, カンマ, タブ, または空白区切りで記述します.
+	 * 空白行は格子（メッシュ）の行の区切りを, 2 行以上連続する空白行はデータ系列の区切りを表します.
+	 * ファイルは並列に解析されるため, マルチコア CPU 上では大きなファイルも高速に読み込めます.
+	 * なお, 現在登録されているデータ系列はクリアされます.
+	 * </span>
+	 *
+	 * @param dataFile
+	 *   <span class="lang-en">The text data file</span>
+	 *   <span class="lang-ja">テキストデータファイル</span>
+	 * @throws IOException
+	 *   <span class="lang-en">Thrown if failed to read the file</span>
+	 *   <span class="lang-ja">ファイルの読み込みに失敗した場合にスローされます</span>
+	 */
+	public synchronized void setTextDataFile(File dataFile) throws IOException {
+		this.presenter.dataArrayHandler.setTextDataFile(dataFile);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the data stored in the specified text data file (CSV/TSV), to the currently plotted data
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたテキストデータファイル（CSV/TSV）に格納されたデータを, 現在プロットされているデータに追加します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * For details of the format of the file, see setTextDataFile(File).
+	 * </span>
+	 * <span class="lang-ja">
+	 * ファイルの形式の詳細は, setTextDataFile(File) を参照してください.
+	 * </span>
+	 *
+	 * @param dataFile
+	 *   <span class="lang-en">The text data file</span>
+	 *   <span class="lang-ja">テキストデータファイル</span>
+	 * @throws IOException
+	 *   <span class="lang-en">Thrown if failed to read the file</span>
+	 *   <span class="lang-ja">ファイルの読み込みに失敗した場合にスローされます</span>
+	 */
+	public synchronized void appendTextDataFile(File dataFile) throws IOException {
+		this.presenter.dataArrayHandler.appendTextDataFile(dataFile);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Creates a new streaming data series having the specified capacity, and registers it to be plotted
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定された容量を持つ, ストリーミング用のデータ系列を生成し, プロット対象として登録します
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * The points appended to the returned data series by appendStreamingData(...) method are plotted as a line or points.
+	 * When the number of the points exceeds the capacity, the oldest points are evicted,
+	 * so the memory usage does not grow however many points are appended (e.g.: for plotting live telemetry).
+	 * </span>
+	 * <span class="lang-ja">
+	 * 返されたデータ系列に appendStreamingData(...) メソッドで追加した点が, 線や点としてプロットされます.
+	 * 点の数が容量を超えると, 古い点から順に破棄されるため, 点をいくら追加し続けてもメモリ使用量は増加しません
+	 * （リアルタイムの計測データのプロットなどに使用できます）.
+	 * </span>
+	 *
+	 * @param capacity
+	 *   <span class="lang-en">The maximum number of the points retained in the data series</span>
+	 *   <span class="lang-ja">データ系列が保持する点の最大数</span>
+	 * @return
+	 *   <span class="lang-en">The created streaming data series</span>
+	 *   <span class="lang-ja">生成されたストリーミング用のデータ系列</span>
+	 */
+	public synchronized StreamingDataSeries addStreamingData(int capacity) {
+		return this.presenter.dataArrayHandler.addStreamingData(capacity);
+	}
+
+
+	/**
+	 * <span class="lang-en">
+	 * Appends the points to the specified streaming data series, and re-plots the graph
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたストリーミング用のデータ系列に点を追加し, グラフを再プロットします
+	 * </span>
+	 * .
+	 * <span class="lang-en">
+	 * This method can be called from multiple threads (e.g.: producer threads of sensor data) concurrently.
+	 * This method returns immediately (regardless of the asynchronous plotting feature) without waiting for the re-plotting,
+	 * and re-plottings requested by continuous calls of this method are coalesced.
+	 * </span>
+	 * <span class="lang-ja">
+	 * このメソッドは, 複数のスレッド（計測データを生成するスレッドなど）から並行して呼び出す事ができます.
+	 * このメソッドは（非同期プロット機能の設定によらず）再プロットを待たずに即座に処理を返し,
+	 * 連続的な呼び出しによる再プロットの要求は, まとめて処理されます.
+	 * </span>
+	 *
+	 * @param streamingDataSeries
+	 *   <span class="lang-en">The streaming data series created by addStreamingData(int) method</span>
+	 *   <span class="lang-ja">addStreamingData(int) メソッドで生成した, ストリーミング用のデータ系列</span>
+	 * @param x
+	 *   <span class="lang-en">The array storing the X-coordinates of the points to be appended</span>
+	 *   <span class="lang-ja">追加する点の X 値を格納する配列</span>
+	 * @param y
+	 *   <span class="lang-en">The array storing the Y-coordinates of the points to be appended</span>
+	 *   <span class="lang-ja">追加する点の Y 値を格納する配列</span>
+	 * @param z
+	 *   <span class="lang-en">The array storing the Z-coordinates of the points to be appended</span>
+	 *   <span class="lang-ja">追加する点の Z 値を格納する配列</span>
+	 */
+	public void appendStreamingData(StreamingDataSeries streamingDataSeries, double[] x, double[] y, double[] z) {
+		this.presenter.dataArrayHandler.appendStreamingData(streamingDataSeries, x, y, z);
+	}
+
+
 	/**
 	 * <span class="lang-en">
 	 * Enables/disables the asynchronous plotting feature
@@ -716,7 +917,10 @@ public class RinearnGraph3D {
 	 * <span class="lang-en">
 	 * If this feature is disabled (default),
 	 * when you plot the data by calling setData(double[], double[], double[]) method,
-	 * the processing flow returns to the called-side after when the plotting has competed.
+	 * the processing flow returns to the called-side after when the data has been registered,
+	 * and the plotting is started immediately on the other thread.
+	 * getImage() and exportImageFile(File, double) methods wait until this plotting has completed,
+	 * so the exported image surely contains the passed data.
 	 * In the contrast, if this feature is enabled, the processing flow returns from
 	 * setData(double[], double[], double[]) method to the caller-side immediately with storing the data to the buffer.
 	 * Then, the plotting will be performed asynchronously on the other thread, at a suitable timing.
@@ -726,8 +930,9 @@ public class RinearnGraph3D {
 	 * <span class="lang-ja">
 	 * この機能の有効・無効は, setData(double[], double[], double[]) メソッドなどを連続的に呼び出し続けて,
 	 * 大量の座標値データをグラフにプロットさせ続ける場合の振る舞いに影響します.
-	 * この機能が無効の場合は, 座標値データを渡した際, それがグラフにプロットされた後に, 呼び出し元に処理が戻ります.
-	 * 渡したデータが確実にプロットされるため, プロット結果を画像ファイルに出力するような場合に適しています.
+	 * この機能が無効の場合は, 座標値データを渡した際, それが登録された後に呼び出し元に処理が戻り, 直ちに別スレッドでプロットが開始されます.
+	 * getImage() や exportImageFile(File, double) メソッドは, そのプロットの完了を待ってから処理を行うため,
+	 * 渡したデータが確実にプロットされた状態で画像を取得できます. 従って, プロット結果を画像ファイルに出力するような場合に適しています.
 	 * それに対して, この機能が有効の場合は, 座標値データは一時的なバッファ領域に控えられるだけで, すぐに呼び出し元に処理が戻ります.
 	 * そして, バッファされたデータは, 後の適当なタイミングでグラフにプロットされます.
 	 * そのため, データを繰り返し高頻度で渡して, グラフをアニメーションさせてたいような場合には, この機能を有効化するのが適しています.
@@ -845,6 +1050,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of X axis.
 	 *
+	 * The auto-ranging feature for X axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setXAutoRangingEnabled setXAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of X axis.
 	 * @param max The maximum coordinate value of X axis.
 	 */
@@ -855,6 +1063,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of X axis.
 	 *
+	 * The auto-ranging feature for X axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setXAutoRangingEnabled setXAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of X axis.
 	 * @param max The maximum coordinate value of X axis.
 	 */
@@ -875,6 +1086,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of Y axis.
 	 *
+	 * The auto-ranging feature for Y axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setYAutoRangingEnabled setYAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of Y axis.
 	 * @param max The maximum coordinate value of Y axis.
 	 */
@@ -885,6 +1099,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of Y axis.
 	 *
+	 * The auto-ranging feature for Y axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setYAutoRangingEnabled setYAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of Y axis.
 	 * @param max The maximum coordinate value of Y axis.
 	 */
@@ -905,6 +1122,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of Z axis.
 	 *
+	 * The auto-ranging feature for Z axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setZAutoRangingEnabled setZAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of Z axis.
 	 * @param max The maximum coordinate value of Z axis.
 	 */
@@ -915,6 +1135,9 @@ public class RinearnGraph3D {
 	/**
 	 * Sets the range of Z axis.
 	 *
+	 * The auto-ranging feature for Z axis is turned off by this method.
+	 * To turn it on again, use {@link RinearnGraph3D#setZAutoRangingEnabled setZAutoRangingEnabled} method.
+	 *
 	 * @param min The minimum coordinate value of Z axis.
 	 * @param max The maximum coordinate value of Z axis.
 	 */
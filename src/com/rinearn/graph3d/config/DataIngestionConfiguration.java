@@ -0,0 +1,171 @@
+package com.rinearn.graph3d.config;
+
+
+/**
+ * The class for storing configuration parameters of the ingestion of the data passed by setData(...), appendData(...), and so on.
+ */
+public final class DataIngestionConfiguration {
+
+	/**
+	 * The enum representing the behavior when data are passed while the ingestion queue is full.
+	 */
+	public static enum BackPressurePolicy {
+
+		/** Blocks the caller thread until the pending requests are taken from the queue. */
+		BLOCK,
+
+		/** Drops the oldest pending request, for making room for the new request. */
+		DROP_OLDEST,
+
+		/**
+		 * Drops all the pending requests, and keeps only the new (latest) request.
+		 * Suitable for the requests each of which replaces the whole data (e.g.: frames of an animation).
+		 */
+		COALESCE_TO_LATEST;
+	}
+
+
+	/**
+	 * The enum representing the precisions in which the coordinate values are stored in the columnar off-heap storage.
+	 */
+	public static enum StoragePrecision {
+
+		/** Represents the 64-bit IEEE 754 floating-point number (double). */
+		FLOAT64,
+
+		/** Represents the 32-bit IEEE 754 floating-point number (float), storing the differences from the origin of each column. */
+		FLOAT32;
+	}
+
+
+	/**
+	 * Creates new configuration storing default values.
+	 */
+	public DataIngestionConfiguration() {
+	}
+
+
+	/** Stores the maximum number of the requests pending on the ingestion queue. */
+	private volatile int queueCapacity = 64;
+
+	/**
+	 * Sets the maximum number of the requests pending on the ingestion queue.
+	 *
+	 * @param queueCapacity The maximum number of the pending requests.
+	 */
+	public synchronized void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Gets the maximum number of the requests pending on the ingestion queue.
+	 *
+	 * @return The maximum number of the pending requests.
+	 */
+	public synchronized int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+
+	/** Stores the behavior when data are passed while the ingestion queue is full. */
+	private volatile BackPressurePolicy backPressurePolicy = BackPressurePolicy.BLOCK;
+
+	/**
+	 * Sets the behavior when data are passed while the ingestion queue is full.
+	 *
+	 * By default (BLOCK), the caller thread waits until the pending requests are taken from the queue.
+	 * For the callers which must not stall (e.g.: the threads acquiring data from devices),
+	 * specify DROP_OLDEST or COALESCE_TO_LATEST. The data of the dropped requests are not plotted.
+	 *
+	 * @param backPressurePolicy The behavior when the queue is full.
+	 */
+	public synchronized void setBackPressurePolicy(BackPressurePolicy backPressurePolicy) {
+		this.backPressurePolicy = backPressurePolicy;
+	}
+
+	/**
+	 * Gets the behavior when data are passed while the ingestion queue is full.
+	 *
+	 * @return The behavior when the queue is full.
+	 */
+	public synchronized BackPressurePolicy getBackPressurePolicy() {
+		return this.backPressurePolicy;
+	}
+
+
+	/** Stores the minimum number of points of a data series, to store it in the columnar off-heap storage. */
+	private volatile long columnarStorageThreshold = 1L << 20;
+
+	/**
+	 * Sets the minimum number of points of a data series, to store it in the columnar off-heap storage.
+	 *
+	 * The data series having the points more than or equal to the threshold are copied into the off-heap memory,
+	 * so the passed arrays are not retained, and the heap usage does not grow in proportion to the number of points.
+	 * Specify Long.MAX_VALUE for disabling the columnar off-heap storage.
+	 *
+	 * @param columnarStorageThreshold The minimum number of points.
+	 */
+	public synchronized void setColumnarStorageThreshold(long columnarStorageThreshold) {
+		this.columnarStorageThreshold = columnarStorageThreshold;
+	}
+
+	/**
+	 * Gets the minimum number of points of a data series, to store it in the columnar off-heap storage.
+	 *
+	 * @return The minimum number of points.
+	 */
+	public synchronized long getColumnarStorageThreshold() {
+		return this.columnarStorageThreshold;
+	}
+
+
+	/** Stores the precision in which the coordinate values are stored in the columnar off-heap storage. */
+	private volatile StoragePrecision storagePrecision = StoragePrecision.FLOAT64;
+
+	/**
+	 * Sets the precision in which the coordinate values are stored in the columnar off-heap storage.
+	 *
+	 * Specifying FLOAT32 halves the memory footprint of huge data series,
+	 * with the rounding errors far smaller than a pixel on the screen.
+	 * This setting is applied to the data passed after it is configured.
+	 *
+	 * @param storagePrecision The precision in which the coordinate values are stored.
+	 */
+	public synchronized void setStoragePrecision(StoragePrecision storagePrecision) {
+		this.storagePrecision = storagePrecision;
+	}
+
+	/**
+	 * Gets the precision in which the coordinate values are stored in the columnar off-heap storage.
+	 *
+	 * @return The precision in which the coordinate values are stored.
+	 */
+	public synchronized StoragePrecision getStoragePrecision() {
+		return this.storagePrecision;
+	}
+
+
+	/**
+	 * Validates correctness and consistency of configuration parameters stored in this instance.
+	 *
+	 * This method is called when this configuration is specified to RinearnGraph3D or its renderer.
+	 * If no issue is detected, nothing occurs.
+	 * If any issue is detected, throws IllegalStateException.
+	 *
+	 * @throws IllegalStateException Thrown when incorrect or inconsistent settings are detected.
+	 */
+	public synchronized void validate() throws IllegalStateException {
+		if (this.queueCapacity <= 0) {
+			throw new IllegalStateException("The capacity of the ingestion queue must be a positive value: " + this.queueCapacity);
+		}
+		if (this.backPressurePolicy == null) {
+			throw new IllegalStateException("The back-pressure policy is null.");
+		}
+		if (this.columnarStorageThreshold < 0L) {
+			throw new IllegalStateException("The columnar storage threshold must not be negative: " + this.columnarStorageThreshold);
+		}
+		if (this.storagePrecision == null) {
+			throw new IllegalStateException("The storage precision is null.");
+		}
+	}
+}
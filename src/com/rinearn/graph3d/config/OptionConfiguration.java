@@ -102,6 +102,93 @@ public final class OptionConfiguration {
 		public synchronized double getPointRadius() {
 			return this.pointRadius;
 		}
+
+		/**
+		 * The enum representing the modes for decimating the points of huge data series.
+		 */
+		public enum PointDecimationMode {
+
+			/** Represents the mode plotting all points without decimation. */
+			NONE,
+
+			/** Represents the mode plotting a point at the centroid of the points in each voxel of the graph space. */
+			VOXEL_GRID,
+
+			/** Represents the mode plotting the points selected randomly, up to the point budget. */
+			RANDOM,
+
+			/** Represents the mode plotting a point selected randomly from each stratum of the sequence of points. */
+			STRATIFIED;
+		}
+
+		/** The array storing a decimation mode for each data series. */
+		private volatile PointDecimationMode[] decimationModes = {
+			PointDecimationMode.NONE
+		};
+
+		/** The number of points of a data series, over which the decimation is performed. */
+		private volatile int decimationPointBudget = 1000000;
+
+		/** The number of voxels along each axis, in VOXEL_GRID mode. */
+		private volatile int decimationVoxelResolution = 512;
+
+		/**
+		 * Sets the decimation mode for each data series.
+		 *
+		 * The decimation mode of the i-th data series is the element at [i % decimationModes.length] of the specified array.
+		 *
+		 * @param decimationModes The array storing a decimation mode for each data series.
+		 */
+		public synchronized void setDecimationModes(PointDecimationMode[] decimationModes) {
+			this.decimationModes = decimationModes;
+		}
+
+		/**
+		 * Gets the decimation mode for each data series.
+		 *
+		 * @return The array storing a decimation mode for each data series.
+		 */
+		public synchronized PointDecimationMode[] getDecimationModes() {
+			return this.decimationModes;
+		}
+
+		/**
+		 * Sets the number of points of a data series, over which the decimation is performed.
+		 *
+		 * In RANDOM and STRATIFIED modes, the points are decimated into this number of points.
+		 *
+		 * @param decimationPointBudget The number of points.
+		 */
+		public synchronized void setDecimationPointBudget(int decimationPointBudget) {
+			this.decimationPointBudget = decimationPointBudget;
+		}
+
+		/**
+		 * Gets the number of points of a data series, over which the decimation is performed.
+		 *
+		 * @return The number of points.
+		 */
+		public synchronized int getDecimationPointBudget() {
+			return this.decimationPointBudget;
+		}
+
+		/**
+		 * Sets the number of voxels along each axis, in VOXEL_GRID mode.
+		 *
+		 * @param decimationVoxelResolution The number of voxels along each axis.
+		 */
+		public synchronized void setDecimationVoxelResolution(int decimationVoxelResolution) {
+			this.decimationVoxelResolution = decimationVoxelResolution;
+		}
+
+		/**
+		 * Gets the number of voxels along each axis, in VOXEL_GRID mode.
+		 *
+		 * @return The number of voxels along each axis.
+		 */
+		public synchronized int getDecimationVoxelResolution() {
+			return this.decimationVoxelResolution;
+		}
 	}
 
 
@@ -168,6 +255,85 @@ public final class OptionConfiguration {
 		public synchronized double getLineWidth() {
 			return this.lineWidth;
 		}
+
+		/**
+		 * The enum representing the modes for decimating the points of huge data series.
+		 */
+		public enum LineDecimationMode {
+
+			/** Represents the mode plotting all lines without decimation. */
+			NONE,
+
+			/** Represents the mode keeping the first, the last, and the minimum/maximum points in each bucket of each line. */
+			MIN_MAX;
+		}
+
+		/** The array storing a decimation mode for each data series. */
+		private volatile LineDecimationMode[] decimationModes = {
+			LineDecimationMode.NONE
+		};
+
+		/** The number of points of a data series, over which the decimation is performed. */
+		private volatile int decimationPointBudget = 1000000;
+
+		/** The number of buckets of each line, in MIN_MAX mode. */
+		private volatile int decimationBucketCount = 2048;
+
+		/**
+		 * Sets the decimation mode for each data series.
+		 *
+		 * The decimation mode of the i-th data series is the element at [i % decimationModes.length] of the specified array.
+		 *
+		 * @param decimationModes The array storing a decimation mode for each data series.
+		 */
+		public synchronized void setDecimationModes(LineDecimationMode[] decimationModes) {
+			this.decimationModes = decimationModes;
+		}
+
+		/**
+		 * Gets the decimation mode for each data series.
+		 *
+		 * @return The array storing a decimation mode for each data series.
+		 */
+		public synchronized LineDecimationMode[] getDecimationModes() {
+			return this.decimationModes;
+		}
+
+		/**
+		 * Sets the number of points of a data series, over which the decimation is performed.
+		 *
+		 * @param decimationPointBudget The number of points.
+		 */
+		public synchronized void setDecimationPointBudget(int decimationPointBudget) {
+			this.decimationPointBudget = decimationPointBudget;
+		}
+
+		/**
+		 * Gets the number of points of a data series, over which the decimation is performed.
+		 *
+		 * @return The number of points.
+		 */
+		public synchronized int getDecimationPointBudget() {
+			return this.decimationPointBudget;
+		}
+
+		/**
+		 * Sets the number of buckets of each line, in MIN_MAX mode.
+		 *
+		 * @param decimationBucketCount The number of buckets of each line.
+		 */
+		public synchronized void setDecimationBucketCount(int decimationBucketCount) {
+			this.decimationBucketCount = decimationBucketCount;
+		}
+
+		/**
+		 * Gets the number of buckets of each line, in MIN_MAX mode.
+		 *
+		 * @return The number of buckets of each line.
+		 */
+		public synchronized int getDecimationBucketCount() {
+			return this.decimationBucketCount;
+		}
 	}
 
 
@@ -330,4 +496,71 @@ public final class OptionConfiguration {
 			return this.selected;
 		}
 	}
+
+
+	/** The flag representing whether the adaptive sampling is enabled for the math expressions of "z(x,y)" form. */
+	private volatile boolean adaptiveSamplingEnabled = false;
+
+	/** The tolerance of the adaptive sampling, relative to the range of the Z values. */
+	private volatile double adaptiveSamplingTolerance = 1.0E-3;
+
+	/** The maximum number of the points evaluated by the adaptive sampling, for each math expression. */
+	private volatile int adaptiveSamplingPointBudget = 262144;
+
+	/**
+	 * Sets whether the adaptive sampling is enabled for the math expressions of "z(x,y)" form.
+	 *
+	 * When it is enabled, the expression is evaluated densely only where the surface is not approximated well
+	 * by the interpolation of the coarser points, and the values at the other grid points are interpolated.
+	 *
+	 * @param adaptiveSamplingEnabled Specify true to enable the adaptive sampling.
+	 */
+	public synchronized void setAdaptiveSamplingEnabled(boolean adaptiveSamplingEnabled) {
+		this.adaptiveSamplingEnabled = adaptiveSamplingEnabled;
+	}
+
+	/**
+	 * Gets whether the adaptive sampling is enabled for the math expressions of "z(x,y)" form.
+	 *
+	 * @return Returns true if the adaptive sampling is enabled.
+	 */
+	public synchronized boolean isAdaptiveSamplingEnabled() {
+		return this.adaptiveSamplingEnabled;
+	}
+
+	/**
+	 * Sets the tolerance of the adaptive sampling, relative to the range of the Z values.
+	 *
+	 * @param adaptiveSamplingTolerance The tolerance of the adaptive sampling.
+	 */
+	public synchronized void setAdaptiveSamplingTolerance(double adaptiveSamplingTolerance) {
+		this.adaptiveSamplingTolerance = adaptiveSamplingTolerance;
+	}
+
+	/**
+	 * Gets the tolerance of the adaptive sampling, relative to the range of the Z values.
+	 *
+	 * @return The tolerance of the adaptive sampling.
+	 */
+	public synchronized double getAdaptiveSamplingTolerance() {
+		return this.adaptiveSamplingTolerance;
+	}
+
+	/**
+	 * Sets the maximum number of the points evaluated by the adaptive sampling, for each math expression.
+	 *
+	 * @param adaptiveSamplingPointBudget The maximum number of the evaluated points.
+	 */
+	public synchronized void setAdaptiveSamplingPointBudget(int adaptiveSamplingPointBudget) {
+		this.adaptiveSamplingPointBudget = adaptiveSamplingPointBudget;
+	}
+
+	/**
+	 * Gets the maximum number of the points evaluated by the adaptive sampling, for each math expression.
+	 *
+	 * @return The maximum number of the evaluated points.
+	 */
+	public synchronized int getAdaptiveSamplingPointBudget() {
+		return this.adaptiveSamplingPointBudget;
+	}
 }
@@ -105,6 +105,9 @@ public final class RinearnGraph3DConfiguration {
 	/** The configuration of plotting options. */
 	private volatile OptionConfiguration optionConfiguration = null;
 
+	/** The configuration of the ingestion of data. */
+	private volatile DataIngestionConfiguration dataIngestionConfiguration = null;
+
 
 	/**
 	 * Creates a new configuration storing default values.
@@ -141,6 +144,7 @@ public final class RinearnGraph3DConfiguration {
 		configuration.setFontConfiguration(new FontConfiguration());
 		configuration.setLabelConfiguration(new LabelConfiguration());
 		configuration.setOptionConfiguration(new OptionConfiguration());
+		configuration.setDataIngestionConfiguration(new DataIngestionConfiguration());
 
 		return configuration;
 	}
@@ -189,6 +193,9 @@ public final class RinearnGraph3DConfiguration {
 		if (mergedConfiguration.hasOptionConfiguration()) {
 			this.setOptionConfiguration(mergedConfiguration.getOptionConfiguration());
 		}
+		if (mergedConfiguration.hasDataIngestionConfiguration()) {
+			this.setDataIngestionConfiguration(mergedConfiguration.getDataIngestionConfiguration());
+		}
 	}
 
 
@@ -233,6 +240,11 @@ public final class RinearnGraph3DConfiguration {
 			this.colorConfiguration.validate();
 		}
 
+		// Validate the data-ingestion configuration.
+		if (this.hasDataIngestionConfiguration()) {
+			this.dataIngestionConfiguration.validate();
+		}
+
 		// There are some dependencies between color and range configurations, so check the consistency of them.
 		if (this.hasRangeConfiguration() && this.hasColorConfiguration()) {
 
@@ -536,4 +548,32 @@ public final class RinearnGraph3DConfiguration {
 	public synchronized OptionConfiguration getOptionConfiguration() {
 		return this.optionConfiguration;
 	}
+
+
+	/**
+	 * Checks whether any data-ingestion configuration is set to this instance.
+	 *
+	 * @return Returns true if any data-ingestion configuration is set to this instance.
+	 */
+	public synchronized boolean hasDataIngestionConfiguration() {
+		return this.dataIngestionConfiguration != null;
+	}
+
+	/**
+	 * Sets the configuration of the ingestion of data.
+	 *
+	 * @param dataIngestionConfiguration The configuration of the ingestion of data.
+	 */
+	public synchronized void setDataIngestionConfiguration(DataIngestionConfiguration dataIngestionConfiguration) {
+		this.dataIngestionConfiguration = dataIngestionConfiguration;
+	}
+
+	/**
+	 * Gets the configuration of the ingestion of data.
+	 *
+	 * @return The configuration of the ingestion of data.
+	 */
+	public synchronized DataIngestionConfiguration getDataIngestionConfiguration() {
+		return this.dataIngestionConfiguration;
+	}
 }
@@ -96,7 +96,7 @@ public class RinearnGraph3DEventDispatcher {
 	public void firePlottingCanceled () {
 		RinearnGraph3DPlottingEvent event = new RinearnGraph3DPlottingEvent(this.source);
 		for (RinearnGraph3DPlottingListener listener : this.plotListeners) {
-			listener.plottingFinished(event);
+			listener.plottingCanceled(event);
 		}
 	}
 
@@ -0,0 +1,127 @@
+package com.rinearn.graph3d.model;
+
+import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
+import com.rinearn.graph3d.model.dataseries.ArrayDataSeries;
+import com.rinearn.graph3d.model.dataseries.MathDataSeries;
+import com.rinearn.graph3d.model.dataseries.StreamingDataSeries;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * The immutable snapshot of the data series registered in the Model at a moment.
+ *
+ * The Model publishes a new snapshot whenever the registered data series are added/removed (copy-on-write),
+ * so the readers (plotters, range computation, and so on) can refer a consistent view of the data series
+ * without locking the Model, even while other threads are registering new data series.
+ *
+ * Note that this snapshot is immutable only about which data series are registered.
+ * The contents of each data series may be modified after the snapshot was taken.
+ */
+public final class DataSeriesSnapshot {
+
+	/** The empty snapshot, which is the initial snapshot of the Model. */
+	public static final DataSeriesSnapshot EMPTY = new DataSeriesSnapshot(
+		0L,
+		new ArrayList<MathDataSeries>(),
+		new ArrayList<ArrayDataSeries>(),
+		new ArrayList<StreamingDataSeries>()
+	);
+
+	/** The version number of this snapshot, incremented for each published snapshot. */
+	private final long version;
+
+	/** The (unmodifiable) list of the math data series. */
+	private final List<MathDataSeries> mathDataSeriesList;
+
+	/** The (unmodifiable) list of the array data series. */
+	private final List<ArrayDataSeries> arrayDataSeriesList;
+
+	/** The (unmodifiable) list of the streaming data series. */
+	private final List<StreamingDataSeries> streamingDataSeriesList;
+
+	/** The (unmodifiable) list of all the data series, in the order of: array, streaming, and math data series. */
+	private final List<AbstractDataSeries> dataSeriesList;
+
+
+	/**
+	 * Creates a new snapshot consisting of the specified data series.
+	 *
+	 * The specified lists are copied, so modifying them after calling this constructor does not affect the snapshot.
+	 *
+	 * @param version The version number of the snapshot.
+	 * @param mathDataSeriesList The list of the math data series.
+	 * @param arrayDataSeriesList The list of the array data series.
+	 * @param streamingDataSeriesList The list of the streaming data series.
+	 */
+	public DataSeriesSnapshot(long version,
+			List<MathDataSeries> mathDataSeriesList,
+			List<ArrayDataSeries> arrayDataSeriesList,
+			List<StreamingDataSeries> streamingDataSeriesList) {
+
+		this.version = version;
+		this.mathDataSeriesList = Collections.unmodifiableList(new ArrayList<MathDataSeries>(mathDataSeriesList));
+		this.arrayDataSeriesList = Collections.unmodifiableList(new ArrayList<ArrayDataSeries>(arrayDataSeriesList));
+		this.streamingDataSeriesList = Collections.unmodifiableList(new ArrayList<StreamingDataSeries>(streamingDataSeriesList));
+
+		List<AbstractDataSeries> dataSeriesList = new ArrayList<AbstractDataSeries>(
+			arrayDataSeriesList.size() + streamingDataSeriesList.size() + mathDataSeriesList.size()
+		);
+		dataSeriesList.addAll(this.arrayDataSeriesList);
+		dataSeriesList.addAll(this.streamingDataSeriesList);
+		dataSeriesList.addAll(this.mathDataSeriesList);
+		this.dataSeriesList = Collections.unmodifiableList(dataSeriesList);
+	}
+
+
+	/**
+	 * Gets the version number of this snapshot.
+	 *
+	 * @return The version number of this snapshot.
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+
+	/**
+	 * Gets the list of the math data series.
+	 *
+	 * @return The (unmodifiable) list of the math data series.
+	 */
+	public List<MathDataSeries> getMathDataSeriesList() {
+		return this.mathDataSeriesList;
+	}
+
+
+	/**
+	 * Gets the list of the array data series.
+	 *
+	 * @return The (unmodifiable) list of the array data series.
+	 */
+	public List<ArrayDataSeries> getArrayDataSeriesList() {
+		return this.arrayDataSeriesList;
+	}
+
+
+	/**
+	 * Gets the list of the streaming data series.
+	 *
+	 * @return The (unmodifiable) list of the streaming data series.
+	 */
+	public List<StreamingDataSeries> getStreamingDataSeriesList() {
+		return this.streamingDataSeriesList;
+	}
+
+
+	/**
+	 * Gets the list of all the data series, without distinction of the type of the data series (math, array, or streaming).
+	 *
+	 * @return The (unmodifiable) list of all the data series.
+	 */
+	public List<AbstractDataSeries> getDataSeriesList() {
+		return this.dataSeriesList;
+	}
+}
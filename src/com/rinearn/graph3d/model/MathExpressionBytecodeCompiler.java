@@ -0,0 +1,642 @@
+package com.rinearn.graph3d.model;
+
+import org.vcssl.nano.VnanoException;
+import org.vcssl.nano.compiler.AstNode;
+import org.vcssl.nano.compiler.AttributeKey;
+import org.vcssl.nano.compiler.AttributeValue;
+import org.vcssl.nano.compiler.LexicalAnalyzer;
+import org.vcssl.nano.compiler.Parser;
+import org.vcssl.nano.compiler.Preprocessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+
+/**
+ * The class compiling simple math expressions into JVM classes, for calculating them at the speed of JIT-compiled code.
+ *
+ * This compiler supports only the expressions consisting of the following elements,
+ * and returns null for the other expressions, which should be calculated by the script engine as usual:
+ *
+ *   - The parameters "x", "y", "t", and the constant "PI",
+ *   - Decimal number literals,
+ *   - The arithmetic operators: +, -, *, /, % (binary), and +, - (prefix),
+ *   - The functions of the standard elementary math plug-in:
+ *     sin, cos, tan, asin, acos, atan, sqrt, exp, ln, log10, abs, pow, rad, and deg.
+ *
+ * The calls of the functions are compiled into the calls of the corresponding methods of java.lang.Math,
+ * which are computed in the same way as the plug-in (and are treated as intrinsics by the JIT compiler).
+ * The expression is parsed by the compiler of the script engine, so the syntax is the same as the script engine.
+ *
+ * Each compiled class is defined as a hidden class, so it is unloaded when the compiled function is no longer referred.
+ */
+public final class MathExpressionBytecodeCompiler {
+
+	/**
+	 * The interface of the functions compiled from math expressions.
+	 */
+	public static interface MathFunction {
+
+		/**
+		 * Calculates the value of the compiled math expression.
+		 *
+		 * @param x The value of the parameter "x".
+		 * @param y The value of the parameter "y".
+		 * @param t The value of the parameter "t".
+		 * @return The calculated value.
+		 */
+		public abstract double apply(double x, double y, double t);
+	}
+
+	/** The pattern of the number literals supported by this compiler (decimal numbers only). */
+	private static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("[0-9]+(\\.[0-9]*)?([eE][+-]?[0-9]+)?");
+
+	/** The name of the file of the expression, used by the parser (not appears in any messages, because errors are not reported). */
+	private static final String EXPRESSION_FILE_NAME = "Input_Expression";
+
+	/** The internal name of the interface implemented by the compiled classes. */
+	private static final String FUNCTION_INTERFACE_NAME = MathFunction.class.getName().replace('.', '/');
+
+	/** The (binary) name of the compiled classes, which must be in the same package as this compiler. */
+	private static final String COMPILED_CLASS_NAME = "com.rinearn.graph3d.model.CompiledMathFunction";
+
+	/** The map from the names of the supported unary functions to the names of the corresponding methods of java.lang.Math. */
+	private static final Map<String, String> UNARY_FUNCTION_METHOD_MAP = new HashMap<String, String>();
+	static {
+		UNARY_FUNCTION_METHOD_MAP.put("sin", "sin");
+		UNARY_FUNCTION_METHOD_MAP.put("cos", "cos");
+		UNARY_FUNCTION_METHOD_MAP.put("tan", "tan");
+		UNARY_FUNCTION_METHOD_MAP.put("asin", "asin");
+		UNARY_FUNCTION_METHOD_MAP.put("acos", "acos");
+		UNARY_FUNCTION_METHOD_MAP.put("atan", "atan");
+		UNARY_FUNCTION_METHOD_MAP.put("sqrt", "sqrt");
+		UNARY_FUNCTION_METHOD_MAP.put("exp", "exp");
+		UNARY_FUNCTION_METHOD_MAP.put("ln", "log");
+		UNARY_FUNCTION_METHOD_MAP.put("log10", "log10");
+		UNARY_FUNCTION_METHOD_MAP.put("abs", "abs");
+	}
+
+
+	/**
+	 * The constructor is private, because all the methods of this class are static.
+	 */
+	private MathExpressionBytecodeCompiler() {
+	}
+
+
+	/**
+	 * Compiles the specified math expression into a JVM class, and returns the instance of it.
+	 *
+	 * @param expression The math expression to be compiled.
+	 * @return The compiled function, or null if the expression is not supported by this compiler (or has syntax errors).
+	 */
+	public static MathFunction compile(String expression) {
+
+		// Parse the expression by the compiler of the script engine.
+		AstNode expressionNode = null;
+		try {
+			String preprocessedExpression = new Preprocessor().preprocess(expression + ";");
+			AstNode rootNode = new Parser().parse(new LexicalAnalyzer().analyze(preprocessedExpression, EXPRESSION_FILE_NAME));
+			AstNode[] statementNodes = rootNode.getChildNodes();
+			if (statementNodes.length != 1 || statementNodes[0].getType() != AstNode.Type.EXPRESSION
+					|| statementNodes[0].getChildNodes().length != 1) {
+				return null;
+			}
+			expressionNode = statementNodes[0].getChildNodes()[0];
+
+		// Syntax errors should be reported by the script engine, so don't report them here.
+		} catch (VnanoException vne) {
+			return null;
+		}
+
+		// Generate the bytecode of the class, and define it as a hidden class in the package of this compiler.
+		// (The name of a hidden class is made unique by the JVM, so the same name can be used for all the compiled classes.)
+		ClassFileWriter writer = new ClassFileWriter();
+		if (!writer.emitExpression(expressionNode)) {
+			return null;
+		}
+		byte[] classFile = writer.toClassFile(COMPILED_CLASS_NAME.replace('.', '/'));
+		try {
+			MethodHandles.Lookup compiledClassLookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+			return (MathFunction)compiledClassLookup.lookupClass().getDeclaredConstructor().newInstance();
+		} catch (LinkageError le) {
+			return null; // e.g.: The expression is too large to be compiled into a method.
+		} catch (ReflectiveOperationException roe) {
+			throw new IllegalStateException("Unexpected error occurred for instantiating the compiled function.", roe);
+		}
+	}
+
+
+	/**
+	 * The class generating the class file of a compiled function.
+	 *
+	 * The version of the generated class file is 61 (Java 17).
+	 * The generated code has no branches, so the stack map frames (StackMapTable attribute) are not necessary.
+	 */
+	private static final class ClassFileWriter {
+
+		/** The opcode "dconst_0". */
+		private static final int DCONST_0 = 0x0E;
+
+		/** The opcode "dconst_1". */
+		private static final int DCONST_1 = 0x0F;
+
+		/** The opcode "ldc2_w". */
+		private static final int LDC2_W = 0x14;
+
+		/** The opcode "dload". */
+		private static final int DLOAD = 0x18;
+
+		/** The opcode "dload_1". */
+		private static final int DLOAD_1 = 0x27;
+
+		/** The opcode "dload_3". */
+		private static final int DLOAD_3 = 0x29;
+
+		/** The opcode "aload_0". */
+		private static final int ALOAD_0 = 0x2A;
+
+		/** The opcode "dadd". */
+		private static final int DADD = 0x63;
+
+		/** The opcode "dsub". */
+		private static final int DSUB = 0x67;
+
+		/** The opcode "dmul". */
+		private static final int DMUL = 0x6B;
+
+		/** The opcode "ddiv". */
+		private static final int DDIV = 0x6F;
+
+		/** The opcode "drem". */
+		private static final int DREM = 0x73;
+
+		/** The opcode "dneg". */
+		private static final int DNEG = 0x77;
+
+		/** The opcode "dreturn". */
+		private static final int DRETURN = 0xAF;
+
+		/** The opcode "return". */
+		private static final int RETURN = 0xB1;
+
+		/** The opcode "invokespecial". */
+		private static final int INVOKESPECIAL = 0xB7;
+
+		/** The opcode "invokestatic". */
+		private static final int INVOKESTATIC = 0xB8;
+
+		/** The index of the local variable storing the parameter "t" (this: 0, x: 1-2, y: 3-4, t: 5-6). */
+		private static final int T_LOCAL_INDEX = 5;
+
+		/** The number of the local variable slots of the "apply" method. */
+		private static final int APPLY_MAX_LOCALS = 7;
+
+		/** The content of the constant pool. */
+		private final ByteArrayOutputStream constantPoolBuffer = new ByteArrayOutputStream();
+
+		/** The writer of the content of the constant pool. */
+		private final DataOutputStream constantPool = new DataOutputStream(this.constantPoolBuffer);
+
+		/** The map from the keys of the entries of the constant pool to their indices, for avoiding duplicate entries. */
+		private final Map<String, Integer> constantPoolIndexMap = new HashMap<String, Integer>();
+
+		/** The number of the slots of the constant pool, including the unused 0-th slot. */
+		private int constantPoolCount = 1;
+
+		/** The code of the "apply" method. */
+		private final ByteArrayOutputStream applyCode = new ByteArrayOutputStream();
+
+		/** The current depth of the operand stack (in slots) at the end of the code of the "apply" method. */
+		private int stackDepth = 0;
+
+		/** The maximum depth of the operand stack (in slots) of the "apply" method. */
+		private int maxStackDepth = 0;
+
+
+		/**
+		 * Emits the code of the "apply" method, calculating the specified expression.
+		 *
+		 * @param expressionNode The AST node of the expression.
+		 * @return Returns false if the expression is not supported.
+		 */
+		private boolean emitExpression(AstNode expressionNode) {
+			if (!this.emitNode(expressionNode)) {
+				return false;
+			}
+			this.emitInstruction(DRETURN, -2);
+			return true;
+		}
+
+
+		/**
+		 * Emits the code pushing the value of the specified AST node to the operand stack.
+		 *
+		 * @param node The AST node.
+		 * @return Returns false if the node is not supported.
+		 */
+		private boolean emitNode(AstNode node) {
+			if (node.getType() == AstNode.Type.LEAF) {
+				return this.emitLeafNode(node);
+			}
+			if (node.getType() != AstNode.Type.OPERATOR) {
+				return false;
+			}
+			String executor = node.getAttribute(AttributeKey.OPERATOR_EXECUTOR);
+			if (AttributeValue.CALL.equals(executor)) {
+				return this.emitCallNode(node);
+			}
+			if (!AttributeValue.ARITHMETIC.equals(executor)) {
+				return false;
+			}
+			String syntax = node.getAttribute(AttributeKey.OPERATOR_SYNTAX);
+			String symbol = node.getAttribute(AttributeKey.OPERATOR_SYMBOL);
+			AstNode[] operandNodes = node.getChildNodes();
+
+			// Prefix operators: +, -
+			if (AttributeValue.PREFIX.equals(syntax) && operandNodes.length == 1) {
+				if (!this.emitNode(operandNodes[0])) {
+					return false;
+				}
+				if ("-".equals(symbol)) {
+					this.emitInstruction(DNEG, 0);
+					return true;
+				}
+				return "+".equals(symbol);
+			}
+
+			// Binary operators: +, -, *, /, %
+			if (AttributeValue.BINARY.equals(syntax) && operandNodes.length == 2) {
+				int opcode = -1;
+				if ("+".equals(symbol)) {
+					opcode = DADD;
+				} else if ("-".equals(symbol)) {
+					opcode = DSUB;
+				} else if ("*".equals(symbol)) {
+					opcode = DMUL;
+				} else if ("/".equals(symbol)) {
+					opcode = DDIV;
+				} else if ("%".equals(symbol)) {
+					opcode = DREM;
+				} else {
+					return false;
+				}
+				if (!this.emitNode(operandNodes[0]) || !this.emitNode(operandNodes[1])) {
+					return false;
+				}
+				this.emitInstruction(opcode, -2);
+				return true;
+			}
+			return false;
+		}
+
+
+		/**
+		 * Emits the code pushing the value of the specified leaf node (a parameter, a constant, or a literal).
+		 *
+		 * @param node The AST node of the leaf.
+		 * @return Returns false if the node is not supported.
+		 */
+		private boolean emitLeafNode(AstNode node) {
+			String leafType = node.getAttribute(AttributeKey.LEAF_TYPE);
+			if (AttributeValue.VARIABLE_IDENTIFIER.equals(leafType)) {
+				String identifier = node.getAttribute(AttributeKey.IDENTIFIER_VALUE);
+				if ("x".equals(identifier)) {
+					this.emitInstruction(DLOAD_1, 2);
+				} else if ("y".equals(identifier)) {
+					this.emitInstruction(DLOAD_3, 2);
+				} else if ("t".equals(identifier)) {
+					this.emitInstruction(DLOAD, 2);
+					this.applyCode.write(T_LOCAL_INDEX);
+				} else if ("PI".equals(identifier)) {
+					this.emitConstant(Math.PI);
+				} else {
+					return false;
+				}
+				return true;
+			}
+			if (AttributeValue.LITERAL.equals(leafType)) {
+				String literal = node.getAttribute(AttributeKey.LITERAL_VALUE);
+				String dataType = node.getAttribute(AttributeKey.DATA_TYPE);
+				if (!("int".equals(dataType) || "float".equals(dataType))
+						|| !NUMBER_LITERAL_PATTERN.matcher(literal).matches()) {
+					return false;
+				}
+				this.emitConstant(Double.parseDouble(literal));
+				return true;
+			}
+			return false;
+		}
+
+
+		/**
+		 * Emits the code calling a function of the elementary math plug-in.
+		 *
+		 * @param node The AST node of the function call operator.
+		 * @return Returns false if the function is not supported.
+		 */
+		private boolean emitCallNode(AstNode node) {
+			AstNode[] childNodes = node.getChildNodes();
+			if (childNodes.length < 1
+					|| !AttributeValue.FUNCTION_IDENTIFIER.equals(childNodes[0].getAttribute(AttributeKey.LEAF_TYPE))) {
+				return false;
+			}
+			String functionName = childNodes[0].getAttribute(AttributeKey.IDENTIFIER_VALUE);
+			int argumentCount = childNodes.length - 1;
+
+			// sin, cos, ..., abs: Call the corresponding method of java.lang.Math.
+			if (UNARY_FUNCTION_METHOD_MAP.containsKey(functionName) && argumentCount == 1) {
+				if (!this.emitNode(childNodes[1])) {
+					return false;
+				}
+				this.emitInvokeMath(UNARY_FUNCTION_METHOD_MAP.get(functionName), "(D)D", 0);
+				return true;
+			}
+
+			// pow: Call Math.pow.
+			if ("pow".equals(functionName) && argumentCount == 2) {
+				if (!this.emitNode(childNodes[1]) || !this.emitNode(childNodes[2])) {
+					return false;
+				}
+				this.emitInvokeMath("pow", "(DD)D", -2);
+				return true;
+			}
+
+			// rad: PI * arg / 180.0, deg: 180.0 * arg / PI (in the same order of the operations as the plug-in).
+			boolean isRad = "rad".equals(functionName);
+			boolean isDeg = "deg".equals(functionName);
+			if ((isRad || isDeg) && argumentCount == 1) {
+				this.emitConstant(isRad ? Math.PI : 180.0);
+				if (!this.emitNode(childNodes[1])) {
+					return false;
+				}
+				this.emitInstruction(DMUL, -2);
+				this.emitConstant(isRad ? 180.0 : Math.PI);
+				this.emitInstruction(DDIV, -2);
+				return true;
+			}
+			return false;
+		}
+
+
+		/**
+		 * Emits the code pushing the specified constant value.
+		 *
+		 * @param value The constant value.
+		 */
+		private void emitConstant(double value) {
+			long bits = Double.doubleToRawLongBits(value);
+			if (bits == Double.doubleToRawLongBits(0.0)) {
+				this.emitInstruction(DCONST_0, 2);
+			} else if (bits == Double.doubleToRawLongBits(1.0)) {
+				this.emitInstruction(DCONST_1, 2);
+			} else {
+				this.emitInstruction(LDC2_W, 2);
+				this.writeU2(this.applyCode, this.getDoubleConstantIndex(value));
+			}
+		}
+
+
+		/**
+		 * Emits the code calling the specified static method of java.lang.Math.
+		 *
+		 * @param methodName The name of the method.
+		 * @param descriptor The descriptor of the method.
+		 * @param stackDelta The change of the depth of the operand stack (in slots) by the call.
+		 */
+		private void emitInvokeMath(String methodName, String descriptor, int stackDelta) {
+			this.emitInstruction(INVOKESTATIC, stackDelta);
+			this.writeU2(this.applyCode, this.getMethodRefIndex("java/lang/Math", methodName, descriptor));
+		}
+
+
+		/**
+		 * Emits the opcode of an instruction, and updates the depth of the operand stack.
+		 *
+		 * @param opcode The opcode.
+		 * @param stackDelta The change of the depth of the operand stack (in slots) by the instruction.
+		 */
+		private void emitInstruction(int opcode, int stackDelta) {
+			this.applyCode.write(opcode);
+			this.stackDepth += stackDelta;
+			this.maxStackDepth = Math.max(this.maxStackDepth, this.stackDepth);
+		}
+
+
+		/**
+		 * Generates the content of the class file, implementing the "apply" method by the emitted code.
+		 *
+		 * @param internalClassName The internal name of the class (e.g.: "com/example/Foo").
+		 * @return The content of the class file.
+		 */
+		private byte[] toClassFile(String internalClassName) {
+			int thisClassIndex = this.getClassIndex(internalClassName);
+			int superClassIndex = this.getClassIndex("java/lang/Object");
+			int interfaceIndex = this.getClassIndex(FUNCTION_INTERFACE_NAME);
+			int superConstructorIndex = this.getMethodRefIndex("java/lang/Object", "<init>", "()V");
+			int constructorNameIndex = this.getUtf8Index("<init>");
+			int constructorDescriptorIndex = this.getUtf8Index("()V");
+			int applyNameIndex = this.getUtf8Index("apply");
+			int applyDescriptorIndex = this.getUtf8Index("(DDD)D");
+			int codeAttributeNameIndex = this.getUtf8Index("Code");
+
+			ByteArrayOutputStream constructorCode = new ByteArrayOutputStream();
+			constructorCode.write(ALOAD_0);
+			constructorCode.write(INVOKESPECIAL);
+			this.writeU2(constructorCode, superConstructorIndex);
+			constructorCode.write(RETURN);
+
+			try {
+				ByteArrayOutputStream classFileBuffer = new ByteArrayOutputStream();
+				DataOutputStream classFile = new DataOutputStream(classFileBuffer);
+				classFile.writeInt(0xCAFEBABE);
+				classFile.writeShort(0);  // Minor version
+				classFile.writeShort(61); // Major version (Java 17)
+				classFile.writeShort(this.constantPoolCount);
+				this.constantPool.flush();
+				classFile.write(this.constantPoolBuffer.toByteArray());
+				classFile.writeShort(0x0031); // ACC_PUBLIC | ACC_FINAL | ACC_SUPER
+				classFile.writeShort(thisClassIndex);
+				classFile.writeShort(superClassIndex);
+				classFile.writeShort(1); // The number of the interfaces
+				classFile.writeShort(interfaceIndex);
+				classFile.writeShort(0); // The number of the fields
+				classFile.writeShort(2); // The number of the methods
+				writeMethod(classFile, 0x0001, constructorNameIndex, constructorDescriptorIndex, codeAttributeNameIndex,
+						1, 1, constructorCode.toByteArray());
+				writeMethod(classFile, 0x0011, applyNameIndex, applyDescriptorIndex, codeAttributeNameIndex,
+						this.maxStackDepth, APPLY_MAX_LOCALS, this.applyCode.toByteArray());
+				classFile.writeShort(0); // The number of the attributes of the class
+				classFile.flush();
+				return classFileBuffer.toByteArray();
+
+			// Never occurs, because the data are written into the memory.
+			} catch (IOException ioe) {
+				throw new IllegalStateException("Unexpected error occurred for generating the class file.", ioe);
+			}
+		}
+
+
+		/**
+		 * Writes a method having a Code attribute.
+		 *
+		 * @param classFile The output stream of the class file.
+		 * @param accessFlags The access flags of the method.
+		 * @param nameIndex The index of the name of the method in the constant pool.
+		 * @param descriptorIndex The index of the descriptor of the method in the constant pool.
+		 * @param codeAttributeNameIndex The index of the string "Code" in the constant pool.
+		 * @param maxStack The maximum depth of the operand stack.
+		 * @param maxLocals The number of the local variable slots.
+		 * @param code The code of the method.
+		 * @throws IOException Never thrown, because the data are written into the memory.
+		 */
+		private static void writeMethod(DataOutputStream classFile, int accessFlags, int nameIndex, int descriptorIndex,
+				int codeAttributeNameIndex, int maxStack, int maxLocals, byte[] code) throws IOException {
+
+			classFile.writeShort(accessFlags);
+			classFile.writeShort(nameIndex);
+			classFile.writeShort(descriptorIndex);
+			classFile.writeShort(1); // The number of the attributes of the method
+			classFile.writeShort(codeAttributeNameIndex);
+			classFile.writeInt(12 + code.length); // The length of the Code attribute (except for the above 6 bytes)
+			classFile.writeShort(maxStack);
+			classFile.writeShort(maxLocals);
+			classFile.writeInt(code.length);
+			classFile.write(code);
+			classFile.writeShort(0); // The number of the exception handlers
+			classFile.writeShort(0); // The number of the attributes of the Code attribute
+		}
+
+
+		/**
+		 * Writes an unsigned 16-bit value in big endian.
+		 *
+		 * @param stream The output stream.
+		 * @param value The value to be written.
+		 */
+		private void writeU2(ByteArrayOutputStream stream, int value) {
+			stream.write((value >> 8) & 0xFF);
+			stream.write(value & 0xFF);
+		}
+
+
+		/**
+		 * Gets the index of the CONSTANT_Utf8 entry of the specified string, adding it to the constant pool if necessary.
+		 *
+		 * @param value The string.
+		 * @return The index of the entry.
+		 */
+		private int getUtf8Index(String value) {
+			String key = "Utf8:" + value;
+			Integer index = this.constantPoolIndexMap.get(key);
+			if (index != null) {
+				return index;
+			}
+			try {
+				this.constantPool.writeByte(1); // CONSTANT_Utf8
+				this.constantPool.writeUTF(value);
+			} catch (IOException ioe) {
+				throw new IllegalStateException("Unexpected error occurred for generating the constant pool.", ioe);
+			}
+			return this.registerConstantPoolEntry(key, 1);
+		}
+
+
+		/**
+		 * Gets the index of the CONSTANT_Class entry of the specified class, adding it to the constant pool if necessary.
+		 *
+		 * @param internalClassName The internal name of the class.
+		 * @return The index of the entry.
+		 */
+		private int getClassIndex(String internalClassName) {
+			String key = "Class:" + internalClassName;
+			Integer index = this.constantPoolIndexMap.get(key);
+			if (index != null) {
+				return index;
+			}
+			int nameIndex = this.getUtf8Index(internalClassName);
+			try {
+				this.constantPool.writeByte(7); // CONSTANT_Class
+				this.constantPool.writeShort(nameIndex);
+			} catch (IOException ioe) {
+				throw new IllegalStateException("Unexpected error occurred for generating the constant pool.", ioe);
+			}
+			return this.registerConstantPoolEntry(key, 1);
+		}
+
+
+		/**
+		 * Gets the index of the CONSTANT_Methodref entry of the specified method, adding it to the constant pool if necessary.
+		 *
+		 * @param internalClassName The internal name of the class declaring the method.
+		 * @param methodName The name of the method.
+		 * @param descriptor The descriptor of the method.
+		 * @return The index of the entry.
+		 */
+		private int getMethodRefIndex(String internalClassName, String methodName, String descriptor) {
+			String key = "Methodref:" + internalClassName + "." + methodName + descriptor;
+			Integer index = this.constantPoolIndexMap.get(key);
+			if (index != null) {
+				return index;
+			}
+			int classIndex = this.getClassIndex(internalClassName);
+			int nameIndex = this.getUtf8Index(methodName);
+			int descriptorIndex = this.getUtf8Index(descriptor);
+			try {
+				this.constantPool.writeByte(12); // CONSTANT_NameAndType
+				this.constantPool.writeShort(nameIndex);
+				this.constantPool.writeShort(descriptorIndex);
+				int nameAndTypeIndex = this.registerConstantPoolEntry("NameAndType:" + methodName + descriptor, 1);
+				this.constantPool.writeByte(10); // CONSTANT_Methodref
+				this.constantPool.writeShort(classIndex);
+				this.constantPool.writeShort(nameAndTypeIndex);
+			} catch (IOException ioe) {
+				throw new IllegalStateException("Unexpected error occurred for generating the constant pool.", ioe);
+			}
+			return this.registerConstantPoolEntry(key, 1);
+		}
+
+
+		/**
+		 * Gets the index of the CONSTANT_Double entry of the specified value, adding it to the constant pool if necessary.
+		 *
+		 * @param value The value.
+		 * @return The index of the entry.
+		 */
+		private int getDoubleConstantIndex(double value) {
+			long bits = Double.doubleToRawLongBits(value);
+			String key = "Double:" + bits;
+			Integer index = this.constantPoolIndexMap.get(key);
+			if (index != null) {
+				return index;
+			}
+			try {
+				this.constantPool.writeByte(6); // CONSTANT_Double
+				this.constantPool.writeLong(bits);
+			} catch (IOException ioe) {
+				throw new IllegalStateException("Unexpected error occurred for generating the constant pool.", ioe);
+			}
+			return this.registerConstantPoolEntry(key, 2); // A CONSTANT_Double entry takes two slots.
+		}
+
+
+		/**
+		 * Registers the index of the entry which has just been written to the constant pool.
+		 *
+		 * @param key The key of the entry.
+		 * @param slotCount The number of the slots taken by the entry.
+		 * @return The index of the entry.
+		 */
+		private int registerConstantPoolEntry(String key, int slotCount) {
+			int index = this.constantPoolCount;
+			this.constantPoolIndexMap.put(key, index);
+			this.constantPoolCount += slotCount;
+			return index;
+		}
+	}
+}
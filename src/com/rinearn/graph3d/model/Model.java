@@ -4,12 +4,14 @@ import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
 import com.rinearn.graph3d.model.dataseries.ArrayDataSeries;
 import com.rinearn.graph3d.model.dataseries.MathDataSeries;
+import com.rinearn.graph3d.model.dataseries.StreamingDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRange;
 
 import org.vcssl.nano.VnanoException;
 
 import javax.swing.JOptionPane;
 import java.util.Locale;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -29,11 +31,14 @@ public final class Model {
 	/** The "engine-mount" object, retaining script engines in this application, and wrapping I/O to/from them. */
 	public final ScriptEngineMount scriptEngineMount;
 
-	/** The list of math data series. */
-	private final List<MathDataSeries> mathDataSeriesList = new ArrayList<MathDataSeries>();
-
-	/** The list of array data series. */
-	private final List<ArrayDataSeries> arrayDataSeriesList = new ArrayList<ArrayDataSeries>();
+	/**
+	 * The snapshot of the currently registered data series.
+	 *
+	 * This snapshot is immutable, and replaced with a new snapshot when the registered data series are added/removed (copy-on-write).
+	 * The methods modifying the data series are synchronized for serializing the writers,
+	 * but the readers refer the latest snapshot without locking.
+	 */
+	private volatile DataSeriesSnapshot dataSeriesSnapshot = DataSeriesSnapshot.EMPTY;
 
 
 	/**
@@ -77,32 +82,63 @@ public final class Model {
 
 
 	/**
-	 * Clear all the currently registered data series, without distinction of the type of the data series (math or array).
+	 * Publishes a new snapshot consisting of the specified data series, replacing the current snapshot.
+	 *
+	 * This method must be called in the synchronized methods, for serializing the writers.
+	 *
+	 * @param mathDataSeriesList The list of the math data series.
+	 * @param arrayDataSeriesList The list of the array data series.
+	 * @param streamingDataSeriesList The list of the streaming data series.
+	 */
+	private void publishDataSeriesSnapshot(
+			List<MathDataSeries> mathDataSeriesList,
+			List<ArrayDataSeries> arrayDataSeriesList,
+			List<StreamingDataSeries> streamingDataSeriesList) {
+
+		long version = this.dataSeriesSnapshot.getVersion() + 1L;
+		this.dataSeriesSnapshot = new DataSeriesSnapshot(
+			version, mathDataSeriesList, arrayDataSeriesList, streamingDataSeriesList
+		);
+	}
+
+
+	/**
+	 * Gets the snapshot of the currently registered data series.
+	 *
+	 * This method does not lock the Model, and the returned snapshot is never modified,
+	 * so it is available for referring a consistent view of all the registered data series,
+	 * e.g.: through a plotting, even when other threads register/remove data series meanwhile.
+	 *
+	 * @return The snapshot of the currently registered data series.
+	 */
+	public DataSeriesSnapshot getDataSeriesSnapshot() {
+		return this.dataSeriesSnapshot;
+	}
+
+
+	/**
+	 * Clear all the currently registered data series, without distinction of the type of the data series (math, array, or streaming).
 	 *
 	 * The same operation can be performed by calling arrayDataSeriesList() and mathDataSeriesList() methods,
 	 * but in some situation, we must perform them as an "atomic" operation. This method is provided for such situation.
 	 */
 	public synchronized void clearDataSeries() {
-		this.arrayDataSeriesList.clear();
-		this.mathDataSeriesList.clear();
+		this.publishDataSeriesSnapshot(
+			new ArrayList<MathDataSeries>(), new ArrayList<ArrayDataSeries>(), new ArrayList<StreamingDataSeries>()
+		);
 	}
 
 
 	/**
 	 * Gets the List instance storing the currently registered data series,
-	 * without distinction of the type of the data series (math or array).
+	 * without distinction of the type of the data series (math, array, or streaming).
+	 *
+	 * This method does not lock the Model, and the returned List is the one of the current snapshot (see getDataSeriesSnapshot()).
 	 *
 	 * @return The (unmodifiable) List storing the currently registered data series.
 	 */
-	public synchronized List<AbstractDataSeries> getDataSeriesList() {
-		List<AbstractDataSeries> dataSeriesList = new ArrayList<AbstractDataSeries>();
-		for (ArrayDataSeries dataSeries: this.arrayDataSeriesList) {
-			dataSeriesList.add(dataSeries);
-		}
-		for (MathDataSeries dataSeries: this.mathDataSeriesList) {
-			dataSeriesList.add(dataSeries);
-		}
-		return Collections.unmodifiableList(dataSeriesList);
+	public List<AbstractDataSeries> getDataSeriesList() {
+		return this.dataSeriesSnapshot.getDataSeriesList();
 	}
 
 
@@ -112,7 +148,12 @@ public final class Model {
 	 * @param mathDataSeries The math data series to be added.
 	 */
 	public synchronized void addMathDataSeries(MathDataSeries mathDataSeries) {
-		this.mathDataSeriesList.add(mathDataSeries);
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		List<MathDataSeries> mathDataSeriesList = new ArrayList<MathDataSeries>(snapshot.getMathDataSeriesList());
+		mathDataSeriesList.add(mathDataSeries);
+		this.publishDataSeriesSnapshot(
+			mathDataSeriesList, snapshot.getArrayDataSeriesList(), snapshot.getStreamingDataSeriesList()
+		);
 
 		// Note: update the graph range here? if necessary.
 		//   -> It is necessary for ArrayDataSeries, but it is not necessary for MathDataSeries, probably.
@@ -125,10 +166,15 @@ public final class Model {
 	 * If this method is called when no math data series is registered, nothing occurs.
 	 */
 	public synchronized void removeLastMathDataSeries() {
-		if (this.mathDataSeriesList.size() == 0) {
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		if (snapshot.getMathDataSeriesList().size() == 0) {
 			return;
 		}
-		this.mathDataSeriesList.remove(this.mathDataSeriesList.size() - 1);
+		List<MathDataSeries> mathDataSeriesList = new ArrayList<MathDataSeries>(snapshot.getMathDataSeriesList());
+		mathDataSeriesList.remove(mathDataSeriesList.size() - 1);
+		this.publishDataSeriesSnapshot(
+			mathDataSeriesList, snapshot.getArrayDataSeriesList(), snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -136,7 +182,10 @@ public final class Model {
 	 * Clear all currently registered math data series.
 	 */
 	public synchronized void clearMathDataSeries() {
-		this.mathDataSeriesList.clear();
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		this.publishDataSeriesSnapshot(
+			new ArrayList<MathDataSeries>(), snapshot.getArrayDataSeriesList(), snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -148,8 +197,8 @@ public final class Model {
 	 *
 	 * @return The (unmodifiable) List storing the currently registered math data series.
 	 */
-	public synchronized List<MathDataSeries> getMathDataSeriesList() {
-		return Collections.unmodifiableList(this.mathDataSeriesList);
+	public List<MathDataSeries> getMathDataSeriesList() {
+		return this.dataSeriesSnapshot.getMathDataSeriesList();
 	}
 
 
@@ -166,10 +215,10 @@ public final class Model {
 	 * @param allArrayDataSeries The array storing all the array data series to be plotted.
 	 */
 	public synchronized void setArrayDataSeries(ArrayDataSeries[] allArrayDataSeries) {
-		this.arrayDataSeriesList.clear();
-		for (ArrayDataSeries arrayDataSeries: allArrayDataSeries) {
-			this.arrayDataSeriesList.add(arrayDataSeries);
-		}
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), Arrays.asList(allArrayDataSeries), snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -179,11 +228,7 @@ public final class Model {
 	 * @param arrayDataSeries The array data series to be added.
 	 */
 	public synchronized void addArrayDataSeries(ArrayDataSeries arrayDataSeries) {
-		this.arrayDataSeriesList.add(arrayDataSeries);
-
-		// TODO: Update the graph range here, before re-plotting.
-		// -> いや範囲変更は View 層にも伝搬させる必要があるから Presenter 層でやるべき。ここじゃなくて。
-System.out.println("!!! TODO @" + this);
+		this.addArrayDataSeries(new ArrayDataSeries[] { arrayDataSeries });
 	}
 
 
@@ -200,9 +245,12 @@ System.out.println("!!! TODO @" + this);
 	 * @param multipleArrayDataSeries The array storing multiple array data series to be added.
 	 */
 	public synchronized void addArrayDataSeries(ArrayDataSeries[] multipleArrayDataSeries) {
-		for (ArrayDataSeries arrayDataSeries: multipleArrayDataSeries) {
-			this.arrayDataSeriesList.add(arrayDataSeries);
-		}
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		List<ArrayDataSeries> arrayDataSeriesList = new ArrayList<ArrayDataSeries>(snapshot.getArrayDataSeriesList());
+		arrayDataSeriesList.addAll(Arrays.asList(multipleArrayDataSeries));
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), arrayDataSeriesList, snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -212,10 +260,15 @@ System.out.println("!!! TODO @" + this);
 	 * If this method is called when no array data series is registered, nothing occurs.
 	 */
 	public synchronized void removeLastArrayDataSeries() {
-		if (this.arrayDataSeriesList.size() == 0) {
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		if (snapshot.getArrayDataSeriesList().size() == 0) {
 			return;
 		}
-		this.arrayDataSeriesList.remove(this.arrayDataSeriesList.size() - 1);
+		List<ArrayDataSeries> arrayDataSeriesList = new ArrayList<ArrayDataSeries>(snapshot.getArrayDataSeriesList());
+		arrayDataSeriesList.remove(arrayDataSeriesList.size() - 1);
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), arrayDataSeriesList, snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -223,7 +276,10 @@ System.out.println("!!! TODO @" + this);
 	 * Clear all currently registered array data series.
 	 */
 	public synchronized void clearArrayDataSeries() {
-		this.arrayDataSeriesList.clear();
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), new ArrayList<ArrayDataSeries>(), snapshot.getStreamingDataSeriesList()
+		);
 	}
 
 
@@ -235,8 +291,100 @@ System.out.println("!!! TODO @" + this);
 	 *
 	 * @return The (unmodifiable) List storing the currently registered array data series.
 	 */
-	public synchronized List<ArrayDataSeries> getArrayDataSeriesList() {
-		return Collections.unmodifiableList(this.arrayDataSeriesList);
+	public List<ArrayDataSeries> getArrayDataSeriesList() {
+		return this.dataSeriesSnapshot.getArrayDataSeriesList();
+	}
+
+
+	/**
+	 * Computes the range of the visible points of all the currently registered array/streaming data series.
+	 *
+	 * The range of each data series is cached in it until its contents are modified,
+	 * so only the ranges of the modified data series are recomputed.
+	 *
+	 * @return The range of the points of all the array/streaming data series.
+	 */
+	public DataSeriesRange computeDataRange() {
+		return this.computeDataRange(this.dataSeriesSnapshot);
+	}
+
+
+	/**
+	 * Computes the range of the visible points of all the array/streaming data series in the specified snapshot.
+	 *
+	 * @param snapshot The snapshot of the data series.
+	 * @return The range of the points of all the array/streaming data series in the snapshot.
+	 */
+	public DataSeriesRange computeDataRange(DataSeriesSnapshot snapshot) {
+
+		// Don't add "synchronized" to this method, because the range computation may take a long time for huge data series.
+		// The snapshot is immutable, so it can be referred outside of the lock.
+		DataSeriesRange range = DataSeriesRange.EMPTY;
+		for (ArrayDataSeries dataSeries: snapshot.getArrayDataSeriesList()) {
+			range = range.merge(dataSeries.getRange());
+		}
+		for (StreamingDataSeries dataSeries: snapshot.getStreamingDataSeriesList()) {
+			range = range.merge(dataSeries.getRange());
+		}
+		return range;
+	}
+
+
+	/**
+	 * Adds (registers) a new streaming data series.
+	 *
+	 * @param streamingDataSeries The streaming data series to be added.
+	 */
+	public synchronized void addStreamingDataSeries(StreamingDataSeries streamingDataSeries) {
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		List<StreamingDataSeries> streamingDataSeriesList = new ArrayList<StreamingDataSeries>(snapshot.getStreamingDataSeriesList());
+		streamingDataSeriesList.add(streamingDataSeries);
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), snapshot.getArrayDataSeriesList(), streamingDataSeriesList
+		);
+	}
+
+
+	/**
+	 * Removes the specified streaming data series.
+	 *
+	 * If the specified data series is not registered, nothing occurs.
+	 *
+	 * @param streamingDataSeries The streaming data series to be removed.
+	 */
+	public synchronized void removeStreamingDataSeries(StreamingDataSeries streamingDataSeries) {
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		List<StreamingDataSeries> streamingDataSeriesList = new ArrayList<StreamingDataSeries>(snapshot.getStreamingDataSeriesList());
+		if (!streamingDataSeriesList.remove(streamingDataSeries)) {
+			return;
+		}
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), snapshot.getArrayDataSeriesList(), streamingDataSeriesList
+		);
+	}
+
+
+	/**
+	 * Clear all currently registered streaming data series.
+	 */
+	public synchronized void clearStreamingDataSeries() {
+		DataSeriesSnapshot snapshot = this.dataSeriesSnapshot;
+		this.publishDataSeriesSnapshot(
+			snapshot.getMathDataSeriesList(), snapshot.getArrayDataSeriesList(), new ArrayList<StreamingDataSeries>()
+		);
+	}
+
+
+	/**
+	 * Gets the List instance storing the currently registered streaming data series.
+	 *
+	 * The returned List is unmodifiable. For adding/removing elements,
+	 * use the methods addStreamingDataSeries(...), removeStreamingDataSeries(...), etc.
+	 *
+	 * @return The (unmodifiable) List storing the currently registered streaming data series.
+	 */
+	public List<StreamingDataSeries> getStreamingDataSeriesList() {
+		return this.dataSeriesSnapshot.getStreamingDataSeriesList();
 	}
 
 
@@ -1,14 +1,28 @@
 package com.rinearn.graph3d.model;
 
+import org.vcssl.connect.ConnectorException;
 import org.vcssl.connect.ConnectorPermissionName;
 import org.vcssl.connect.ConnectorPermissionValue;
+import org.vcssl.connect.EngineConnectorInterface1;
+import org.vcssl.connect.ExternalVariableConnectorInterface1;
+import org.vcssl.connect.Float64ScalarDataAccessorInterface1;
+import org.vcssl.nano.VnanoCompiledScript;
 import org.vcssl.nano.VnanoEngine;
 import org.vcssl.nano.VnanoException;
 import org.vcssl.nano.interconnect.PluginLoader;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 
 /**
@@ -19,24 +33,230 @@ public final class ScriptEngineMount {
 	/** The script engine for calculating values of math expressions. */
 	private volatile VnanoEngine mathExpressionEngine = null;
 
-	/** The plug-in instance providing parameter variables (x, y, and t) available in math expressions. */
-	private MathExpressionParameterPlugin mathExpressionParameterPlugin = null;
+	/** The parameter variable "x" of "f(x,y)" form math expressions. */
+	private final MathExpressionParameter xParameter = new MathExpressionParameter("x");
 
-	/** The plug-in class providing parameter variables (x, y, and t) available in math expressions. */
-	public final class MathExpressionParameterPlugin {
+	/** The parameter variable "y" of "f(x,y)" form math expressions. */
+	private final MathExpressionParameter yParameter = new MathExpressionParameter("y");
+
+	/** The parameter variable "t" of "f(t)" form math expressions. */
+	private final MathExpressionParameter tParameter = new MathExpressionParameter("t");
+
+	/**
+	 * The plug-in class providing a parameter variable (x, y, or t) available in math expressions.
+	 *
+	 * This class implements XVCI1 directly and passes the value without data conversion,
+	 * for avoiding the overheads of reflection and boxing at every calculation
+	 * (which occur when public fields of an object are connected as variables).
+	 */
+	public static final class MathExpressionParameter implements ExternalVariableConnectorInterface1 {
+
+		/** The name of this parameter variable. */
+		private final String name;
+
+		/** The value of this parameter variable. */
+		private volatile double value = Double.NaN;
+
+		/**
+		 * Creates a new parameter variable having the specified name.
+		 *
+		 * @param name The name of the parameter variable.
+		 */
+		public MathExpressionParameter(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getVariableName() { return this.name; }
+
+		@Override
+		public Class<?> getDataClass() { return double.class; }
+
+		@Override
+		public Class<?> getDataUnconvertedClass() { return Float64ScalarDataAccessorInterface1.class; }
+
+		@Override
+		public boolean isConstant() { return true; } // Not modified from math expressions, so skip writing back the value.
+
+		@Override
+		public boolean isReference() { return false; }
+
+		@Override
+		public boolean isDataTypeArbitrary() { return false; }
+
+		@Override
+		public boolean isArrayRankArbitrary() { return false; }
+
+		@Override
+		public boolean isDataConversionNecessary() { return false; }
+
+		@Override
+		public Object getData() throws ConnectorException {
+			throw new ConnectorException("This variable supports only the access without data conversion.");
+		}
+
+		@Override
+		public void getData(Object dataContainer) throws ConnectorException {
+			((Float64ScalarDataAccessorInterface1)dataContainer).setFloat64ScalarData(this.value);
+		}
+
+		@Override
+		public void setData(Object data) throws ConnectorException {
+			throw new ConnectorException("\"" + this.name + "\" is a parameter, so its value should not be changed.");
+		}
+
+		@Override
+		public Class<?> getEngineConnectorClass() { return EngineConnectorInterface1.class; }
+
+		@Override
+		public void initializeForConnection(Object engineConnector) { }
+
+		@Override
+		public void finalizeForDisconnection(Object engineConnector) { }
+
+		@Override
+		public void initializeForExecution(Object engineConnector) { }
+
+		@Override
+		public void finalizeForTermination(Object engineConnector) { }
+	}
+
+	/**
+	 * The class of a handle of a compiled math expression, which can be calculated repetitively with less overheads.
+	 *
+	 * The expression is compiled only once when this handle is created by compile(...) method,
+	 * and its cached VM object code is executed directly at every calculation,
+	 * even when multiple expressions are calculated alternately.
+	 * Furthermore, if the expression is simple enough to be compiled into a JVM class
+	 * (see {@link MathExpressionBytecodeCompiler}), the compiled class is used instead of the script engine.
+	 */
+	public final class CompiledExpression {
+
+		/** The compiled script of the math expression. */
+		private final VnanoCompiledScript compiledScript;
+
+		/** The function compiled into a JVM class from the math expression (null if the expression is not supported). */
+		private final MathExpressionBytecodeCompiler.MathFunction compiledFunction;
+
+		/** The parameter variables to which the values passed to evaluate(...) method are set, in the same order. */
+		private final MathExpressionParameter[] boundParameters;
+
+		/**
+		 * Creates a new handle of the compiled math expression.
+		 *
+		 * @param compiledScript The compiled script of the math expression.
+		 * @param boundParameters The parameter variables to which the values passed to evaluate(...) method are set.
+		 * @param compiledFunction The function compiled into a JVM class from the math expression (null if not supported).
+		 */
+		private CompiledExpression(VnanoCompiledScript compiledScript, MathExpressionParameter[] boundParameters,
+				MathExpressionBytecodeCompiler.MathFunction compiledFunction) {
+
+			this.compiledScript = compiledScript;
+			this.boundParameters = boundParameters;
+			this.compiledFunction = compiledFunction;
+		}
+
+		/**
+		 * Returns whether the expression has been compiled into a JVM class.
+		 *
+		 * @return Returns true if the expression has been compiled into a JVM class.
+		 */
+		public boolean isBytecodeCompiled() {
+			return this.compiledFunction != null;
+		}
+
+		/**
+		 * Calculates the compiled math expression, with the specified values of the parameters.
+		 *
+		 * The values are set to the parameters in the same order as the names specified to compile(...) method,
+		 * and the other parameters are set to NaN.
+		 * Same as calculateMathExpression(...) methods, the script engine must have been activated before calling this method.
+		 *
+		 * @param parameterValues The values of the parameters.
+		 * @return The calculated value.
+		 * @throws VnanoException Throws if any error is detected for calculating the expression.
+		 */
+		public double evaluate(double... parameterValues) throws VnanoException {
+			if (parameterValues.length != this.boundParameters.length) {
+				throw new IllegalArgumentException(
+					"The number of the parameter values is " + parameterValues.length + ", but "
+					+ this.boundParameters.length + " is expected."
+				);
+			}
+
+			// If the expression has been compiled into a JVM class, call it directly (it requires no synchronization).
+			if (this.compiledFunction != null) {
+				double x = Double.NaN;
+				double y = Double.NaN;
+				double t = Double.NaN;
+				for (int iparam=0; iparam<parameterValues.length; iparam++) {
+					MathExpressionParameter parameter = this.boundParameters[iparam];
+					if (parameter == xParameter) {
+						x = parameterValues[iparam];
+					} else if (parameter == yParameter) {
+						y = parameterValues[iparam];
+					} else {
+						t = parameterValues[iparam];
+					}
+				}
+				return this.compiledFunction.apply(x, y, t);
+			}
+
+			synchronized (ScriptEngineMount.this) {
+				xParameter.value = Double.NaN;
+				yParameter.value = Double.NaN;
+				tParameter.value = Double.NaN;
+				for (int iparam=0; iparam<parameterValues.length; iparam++) {
+					this.boundParameters[iparam].value = parameterValues[iparam];
+				}
+				return (Double)this.compiledScript.execute();
+			}
+		}
+	}
+
+	/**
+	 * The pool of the script engines for calculating values of math expressions at many points at once, with array parameters.
+	 * The points are partitioned across the engines, and calculated in parallel (one engine per worker thread).
+	 */
+	private final List<VectorMathExpressionEngine> vectorMathExpressionEnginePool = new ArrayList<VectorMathExpressionEngine>();
+
+	/** The maximum number of the engines in the above pool, which is the maximum number of the worker threads. */
+	private static final int MAX_VECTOR_ENGINE_COUNT = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+
+	/** The minimum number of points calculated by a worker thread, for making the parallelization worth its overhead costs. */
+	private static final int MIN_POINTS_PER_VECTOR_ENGINE = 16384;
+
+	/** The plug-in class providing array parameter variables (x, y, and t) available in math expressions. */
+	public final class VectorMathExpressionParameterPlugin {
 
 		// Caution: This class must be "public", to be accessed from the script engine.
 
-		/** The parameter "x" of "f(x,y)" form math expressions. */
-		public volatile double x = Double.NaN;
+		/** The values of the parameter "x" of "f(x,y)" form math expressions, at all the points to be calculated. */
+		public volatile double[] x = new double[0];
 
-		/** The parameter "y" of "f(x,y)" form math expressions. */
-		public volatile double y = Double.NaN;
+		/** The values of the parameter "y" of "f(x,y)" form math expressions, at all the points to be calculated. */
+		public volatile double[] y = new double[0];
 
-		/** The parameter "t" of "f(t)" form math expressions. */
-		public volatile double t = Double.NaN;
+		/** The values of the parameter "t" of "f(t)" form math expressions, at all the points to be calculated. */
+		public volatile double[] t = new double[0];
 	}
 
+	/** The locale of the user's environment, which determines the language of error messages. */
+	private final Locale locale;
+
+	/** The flag representing whether simple math expressions are compiled into JVM classes, for calculating them faster. */
+	private volatile boolean bytecodeCompilationEnabled = true;
+
+	/** The maximum number of the expressions of which compiled functions are cached. */
+	private static final int COMPILED_FUNCTION_CACHE_SIZE = 64;
+
+	/**
+	 * The cache of the functions compiled from the expressions (or null for the expressions not supported by the compiler),
+	 * in least-recently-used order. Accessed only in the synchronized methods.
+	 */
+	private final LinkedHashMap<String, MathExpressionBytecodeCompiler.MathFunction> compiledFunctionCache
+			= new LinkedHashMap<String, MathExpressionBytecodeCompiler.MathFunction>(16, 0.75f, true);
+
 
 	/**
 	 * Create a new instance retaining a set of script engines, by the default settings.
@@ -45,6 +265,7 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
 	 */
 	public ScriptEngineMount(Locale locale) throws VnanoException {
+		this.locale = locale;
 		this.initializeMathExpressionEngine(locale);
 	}
 
@@ -79,6 +300,88 @@ public final class ScriptEngineMount {
 		this.mathExpressionEngine.deactivate();
 	}
 
+	/**
+	 * Sets whether simple math expressions are compiled into JVM classes, for calculating them faster (enabled by default).
+	 *
+	 * The compiled classes are used only for the expressions supported by {@link MathExpressionBytecodeCompiler},
+	 * and the other expressions are always calculated by the script engine.
+	 *
+	 * @param enabled Specify true to enable the compilation into JVM classes.
+	 */
+	public synchronized void setBytecodeCompilationEnabled(boolean enabled) {
+		this.bytecodeCompilationEnabled = enabled;
+	}
+
+
+	/**
+	 * Gets whether simple math expressions are compiled into JVM classes.
+	 *
+	 * @return Returns true if the compilation into JVM classes is enabled.
+	 */
+	public synchronized boolean isBytecodeCompilationEnabled() {
+		return this.bytecodeCompilationEnabled;
+	}
+
+
+	/**
+	 * Gets the function compiled from the specified math expression into a JVM class,
+	 * reusing the cached one if the same expression has already been compiled.
+	 *
+	 * @param expression The math expression to be compiled.
+	 * @return The compiled function, or null if the compilation is disabled or the expression is not supported by the compiler.
+	 */
+	private synchronized MathExpressionBytecodeCompiler.MathFunction getCompiledFunction(String expression) {
+		if (!this.bytecodeCompilationEnabled) {
+			return null;
+		}
+		if (this.compiledFunctionCache.containsKey(expression)) {
+			return this.compiledFunctionCache.get(expression);
+		}
+		MathExpressionBytecodeCompiler.MathFunction compiledFunction = MathExpressionBytecodeCompiler.compile(expression);
+		this.compiledFunctionCache.put(expression, compiledFunction);
+
+		// Evict the least-recently-used functions, so that their classes can be unloaded.
+		Iterator<String> expressionIterator = this.compiledFunctionCache.keySet().iterator();
+		while (COMPILED_FUNCTION_CACHE_SIZE < this.compiledFunctionCache.size()) {
+			expressionIterator.next();
+			expressionIterator.remove();
+		}
+		return compiledFunction;
+	}
+
+
+	/**
+	 * Compiles the specified math expression, and returns the handle to calculate it repetitively with less overheads.
+	 *
+	 * @param expression The math expression to be compiled.
+	 * @param parameterNames The names of the parameters (x, y, or t) of which values are passed to evaluate(...) method, in that order.
+	 * @return The handle to calculate the compiled math expression.
+	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
+	 */
+	public synchronized CompiledExpression compile(String expression, String... parameterNames) throws VnanoException {
+		MathExpressionParameter[] boundParameters = new MathExpressionParameter[parameterNames.length];
+		for (int iparam=0; iparam<parameterNames.length; iparam++) {
+			String parameterName = parameterNames[iparam];
+			if ("x".equals(parameterName)) {
+				boundParameters[iparam] = this.xParameter;
+			} else if ("y".equals(parameterName)) {
+				boundParameters[iparam] = this.yParameter;
+			} else if ("t".equals(parameterName)) {
+				boundParameters[iparam] = this.tParameter;
+			} else {
+				throw new IllegalArgumentException("Unknown parameter name: " + parameterName);
+			}
+		}
+		// Compile the expression by the script engine, also for detecting errors in the expression.
+		VnanoCompiledScript compiledScript = this.mathExpressionEngine.compileScript(expression + ";");
+
+		// Compile the expression into a JVM class, if it is supported.
+		MathExpressionBytecodeCompiler.MathFunction compiledFunction = this.getCompiledFunction(expression);
+
+		return new CompiledExpression(compiledScript, boundParameters, compiledFunction);
+	}
+
+
 	/**
 	 * Calculate the specified math expression having no parameters.
 	 *
@@ -87,9 +390,9 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
 	 */
 	public synchronized double calculateMathExpression(String expression) throws VnanoException {
-		mathExpressionParameterPlugin.x = Double.NaN;
-		mathExpressionParameterPlugin.y = Double.NaN;
-		mathExpressionParameterPlugin.t = Double.NaN;
+		this.xParameter.value = Double.NaN;
+		this.yParameter.value = Double.NaN;
+		this.tParameter.value = Double.NaN;
 		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
 		return calculatedValue;
 	}
@@ -106,9 +409,9 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Throws if any syntax error is detected for the specified expression.
 	 */
 	public synchronized double calculateMathExpression(String expression, double x, double y) throws VnanoException {
-		mathExpressionParameterPlugin.x = x;
-		mathExpressionParameterPlugin.y = y;
-		mathExpressionParameterPlugin.t = Double.NaN;
+		this.xParameter.value = x;
+		this.yParameter.value = y;
+		this.tParameter.value = Double.NaN;
 		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
 		return calculatedValue;
 	}
@@ -122,14 +425,373 @@ public final class ScriptEngineMount {
 	 * @return The calculated value.
 	 */
 	public synchronized double calculateMathExpression(String expression, double t) throws VnanoException {
-		mathExpressionParameterPlugin.x = Double.NaN;
-		mathExpressionParameterPlugin.y = Double.NaN;
-		mathExpressionParameterPlugin.t = t;
+		this.xParameter.value = Double.NaN;
+		this.yParameter.value = Double.NaN;
+		this.tParameter.value = t;
 		double calculatedValue = (double)this.mathExpressionEngine.executeScript(expression + ";");
 		return calculatedValue;
 	}
 
 
+	/**
+	 * Calculate the specified math expression of "f(x,y)" form, at all the specified points at once.
+	 *
+	 * The expression is executed with the parameters "x" and "y" bound as arrays,
+	 * so all the operations in it are performed element-wise on the arrays (vectorized).
+	 * Note that the result may differ from the point-by-point calculation,
+	 * if the expression contains a function taking the whole array into account (e.g.: mean(x)).
+	 *
+	 * When there are many points, they are partitioned across the pooled engines, and calculated in parallel.
+	 * This method activates and deactivates the engines by itself, unlike the point-by-point calculation,
+	 * because all the points are calculated by a single call of this method.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param x The array storing the parameter "x" of "f(x,y)" at the points.
+	 * @param y The array storing the parameter "y" of "f(x,y)" at the points.
+	 * @return The array storing the calculated values at the points, or null if the result is not a value per point.
+	 * @throws VnanoException Throws if any error is detected for calculating the specified expression with array parameters.
+	 */
+	public synchronized double[] calculateMathExpression(String expression, double[] x, double[] y) throws VnanoException {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("The lengths of x and y are different.");
+		}
+		double[] t = new double[x.length];
+		Arrays.fill(t, Double.NaN);
+		return this.calculateMathExpressionInParallel(expression, x, y, t);
+	}
+
+
+	/**
+	 * Calculate the specified math expression of "f(t)" form, at all the specified points at once.
+	 *
+	 * Same as the "f(x,y)" form, the expression is executed with the parameter "t" bound as an array (vectorized),
+	 * and the points are partitioned across the pooled engines if there are many points.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param t The array storing the parameter "t" of "f(t)" at the points.
+	 * @return The array storing the calculated values at the points, or null if the result is not a value per point.
+	 * @throws VnanoException Throws if any error is detected for calculating the specified expression with array parameters.
+	 */
+	public synchronized double[] calculateMathExpression(String expression, double[] t) throws VnanoException {
+		double[] x = new double[t.length];
+		double[] y = new double[t.length];
+		Arrays.fill(x, Double.NaN);
+		Arrays.fill(y, Double.NaN);
+		return this.calculateMathExpressionInParallel(expression, x, y, t);
+	}
+
+
+	/**
+	 * Calculate the specified math expression at all the specified points, partitioning them across the pooled engines.
+	 *
+	 * @param expression The math expression to be calculated.
+	 * @param x The array storing the parameter "x" at the points.
+	 * @param y The array storing the parameter "y" at the points.
+	 * @param t The array storing the parameter "t" at the points.
+	 * @return The array storing the calculated values at the points, or null if the result is not a value per point.
+	 * @throws VnanoException Throws if any error is detected for calculating the specified expression with array parameters.
+	 */
+	private double[] calculateMathExpressionInParallel(String expression, double[] x, double[] y, double[] t)
+			throws VnanoException {
+
+		// Determine the number of the partitions.
+		int pointCount = x.length;
+		int partitionCount = Math.max(1, Math.min(MAX_VECTOR_ENGINE_COUNT, pointCount / MIN_POINTS_PER_VECTOR_ENGINE));
+		double[] calculatedValues = new double[pointCount];
+
+		// If the expression can be compiled into a JVM class, calculate it by the compiled class instead of the engines.
+		// (The supported expressions never contain the functions taking the whole array into account, e.g.: mean(x),
+		//  so the results are the same as the calculation with array parameters.)
+		MathExpressionBytecodeCompiler.MathFunction compiledFunction = this.getCompiledFunction(expression);
+		if (compiledFunction != null && partitionCount == 1) {
+			new CompiledFunctionCalculationTask(compiledFunction, x, y, t, 0, pointCount, calculatedValues).call();
+			return calculatedValues;
+		}
+		if (compiledFunction != null) {
+			List<Callable<Boolean>> taskList = new ArrayList<Callable<Boolean>>();
+			for (int ipartition=0; ipartition<partitionCount; ipartition++) {
+				int begin = (int)((long)pointCount * ipartition / partitionCount);
+				int end = (int)((long)pointCount * (ipartition + 1) / partitionCount);
+				taskList.add(new CompiledFunctionCalculationTask(compiledFunction, x, y, t, begin, end, calculatedValues));
+			}
+			invokeTasksInParallel(taskList);
+			return calculatedValues;
+		}
+
+		// Prepare the engines for the partitions.
+		while (this.vectorMathExpressionEnginePool.size() < partitionCount) {
+			this.vectorMathExpressionEnginePool.add(new VectorMathExpressionEngine(this.locale));
+		}
+
+		// If there is only one partition, calculate it on this thread.
+		if (partitionCount == 1) {
+			boolean succeeded = this.vectorMathExpressionEnginePool.get(0).calculate(
+				expression, x, y, t, 0, pointCount, calculatedValues
+			);
+			return succeeded ? calculatedValues : null;
+		}
+
+		// Calculate the partitions in parallel, on the common ForkJoinPool.
+		// Each task writes the calculated values directly into its own range of the above array.
+		List<Callable<Boolean>> taskList = new ArrayList<Callable<Boolean>>();
+		for (int ipartition=0; ipartition<partitionCount; ipartition++) {
+			int begin = (int)((long)pointCount * ipartition / partitionCount);
+			int end = (int)((long)pointCount * (ipartition + 1) / partitionCount);
+			taskList.add(new VectorCalculationTask(
+				this.vectorMathExpressionEnginePool.get(ipartition), expression, x, y, t, begin, end, calculatedValues
+			));
+		}
+		boolean succeeded = invokeTasksInParallel(taskList);
+		return succeeded ? calculatedValues : null;
+	}
+
+
+	/**
+	 * Runs the specified calculation tasks in parallel on the common ForkJoinPool, and waits for their completion.
+	 *
+	 * @param taskList The list of the tasks to be run.
+	 * @return Returns true if all the tasks have succeeded.
+	 * @throws VnanoException Throws if any error is detected for calculating the math expression in any task.
+	 */
+	private static boolean invokeTasksInParallel(List<Callable<Boolean>> taskList) throws VnanoException {
+		boolean succeeded = true;
+		for (Future<Boolean> future: ForkJoinPool.commonPool().invokeAll(taskList)) {
+			try {
+				succeeded &= future.get();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while calculating the math expression.", ie);
+			} catch (ExecutionException ee) {
+				Throwable cause = ee.getCause();
+				if (cause instanceof VnanoException) {
+					throw (VnanoException)cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException)cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+		return succeeded;
+	}
+
+
+	/**
+	 * The task calculating a math expression compiled into a JVM class, at a partition of the points.
+	 */
+	private static final class CompiledFunctionCalculationTask implements Callable<Boolean> {
+
+		/** The function compiled from the math expression. */
+		private final MathExpressionBytecodeCompiler.MathFunction compiledFunction;
+
+		/** The array storing the parameter "x" at all the points. */
+		private final double[] x;
+
+		/** The array storing the parameter "y" at all the points. */
+		private final double[] y;
+
+		/** The array storing the parameter "t" at all the points. */
+		private final double[] t;
+
+		/** The index of the first point of the partition. */
+		private final int begin;
+
+		/** The index next to the last point of the partition. */
+		private final int end;
+
+		/** The array to which the calculated values at all the points are stored. */
+		private final double[] calculatedValues;
+
+		/**
+		 * Creates a new task calculating the specified partition of the points.
+		 *
+		 * @param compiledFunction The function compiled from the math expression.
+		 * @param x The array storing the parameter "x" at all the points.
+		 * @param y The array storing the parameter "y" at all the points.
+		 * @param t The array storing the parameter "t" at all the points.
+		 * @param begin The index of the first point of the partition.
+		 * @param end The index next to the last point of the partition.
+		 * @param calculatedValues The array to which the calculated values at all the points are stored.
+		 */
+		public CompiledFunctionCalculationTask(MathExpressionBytecodeCompiler.MathFunction compiledFunction,
+				double[] x, double[] y, double[] t, int begin, int end, double[] calculatedValues) {
+
+			this.compiledFunction = compiledFunction;
+			this.x = x;
+			this.y = y;
+			this.t = t;
+			this.begin = begin;
+			this.end = end;
+			this.calculatedValues = calculatedValues;
+		}
+
+		@Override
+		public Boolean call() {
+			for (int ipoint=this.begin; ipoint<this.end; ipoint++) {
+				this.calculatedValues[ipoint] = this.compiledFunction.apply(this.x[ipoint], this.y[ipoint], this.t[ipoint]);
+			}
+			return Boolean.TRUE;
+		}
+	}
+
+
+	/**
+	 * The task calculating a math expression at a partition of the points, using an engine in the pool.
+	 */
+	private static final class VectorCalculationTask implements Callable<Boolean> {
+
+		/** The engine used for the calculation, which is not shared with the other tasks running concurrently. */
+		private final VectorMathExpressionEngine engine;
+
+		/** The math expression to be calculated. */
+		private final String expression;
+
+		/** The array storing the parameter "x" at all the points. */
+		private final double[] x;
+
+		/** The array storing the parameter "y" at all the points. */
+		private final double[] y;
+
+		/** The array storing the parameter "t" at all the points. */
+		private final double[] t;
+
+		/** The index of the first point of the partition. */
+		private final int begin;
+
+		/** The index next to the last point of the partition. */
+		private final int end;
+
+		/** The array to which the calculated values at all the points are stored. */
+		private final double[] calculatedValues;
+
+		/**
+		 * Creates a new task calculating the specified partition of the points.
+		 *
+		 * @param engine The engine used for the calculation.
+		 * @param expression The math expression to be calculated.
+		 * @param x The array storing the parameter "x" at all the points.
+		 * @param y The array storing the parameter "y" at all the points.
+		 * @param t The array storing the parameter "t" at all the points.
+		 * @param begin The index of the first point of the partition.
+		 * @param end The index next to the last point of the partition.
+		 * @param calculatedValues The array to which the calculated values at all the points are stored.
+		 */
+		public VectorCalculationTask(VectorMathExpressionEngine engine, String expression,
+				double[] x, double[] y, double[] t, int begin, int end, double[] calculatedValues) {
+
+			this.engine = engine;
+			this.expression = expression;
+			this.x = x;
+			this.y = y;
+			this.t = t;
+			this.begin = begin;
+			this.end = end;
+			this.calculatedValues = calculatedValues;
+		}
+
+		@Override
+		public Boolean call() throws VnanoException {
+			return this.engine.calculate(this.expression, this.x, this.y, this.t, this.begin, this.end, this.calculatedValues);
+		}
+	}
+
+
+	/**
+	 * The script engine (and the plug-in providing its parameters) for calculating a math expression at many points at once.
+	 *
+	 * Each instance is used by at most one thread at a time,
+	 * because a script engine of Vnano is not allowed to be used by multiple threads concurrently.
+	 */
+	private final class VectorMathExpressionEngine {
+
+		/** The script engine for calculating values of math expressions, with array parameters. */
+		private final VnanoEngine engine;
+
+		/** The plug-in instance providing array parameter variables (x, y, and t) available in math expressions. */
+		private final VectorMathExpressionParameterPlugin parameterPlugin;
+
+		/**
+		 * Creates a new script engine, and connects the plug-ins to it.
+		 *
+		 * @param locale The locale of the user's environment, which determines the language of error messages.
+		 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
+		 */
+		public VectorMathExpressionEngine(Locale locale) throws VnanoException {
+			this.engine = createMathExpressionEngine(locale);
+
+			// Instantiate a plug-in providing array parameter variables (x, y, and t) available in math expressions,
+			// and connect it to the engine.
+			this.parameterPlugin = new VectorMathExpressionParameterPlugin();
+			this.engine.connectPlugin("VectorMathExprParamPlugin", this.parameterPlugin);
+		}
+
+		/**
+		 * Calculates the specified math expression at the specified range of the points.
+		 *
+		 * @param expression The math expression to be calculated.
+		 * @param x The array storing the parameter "x" at all the points.
+		 * @param y The array storing the parameter "y" at all the points.
+		 * @param t The array storing the parameter "t" at all the points.
+		 * @param begin The index of the first point of the range.
+		 * @param end The index next to the last point of the range.
+		 * @param calculatedValues The array to which the calculated values will be stored, at the same indices as the parameters.
+		 * @return Returns false if the result is not a value per point.
+		 * @throws VnanoException Throws if any error is detected for calculating the specified expression.
+		 */
+		public boolean calculate(String expression, double[] x, double[] y, double[] t,
+				int begin, int end, double[] calculatedValues) throws VnanoException {
+
+			boolean wholeRange = begin == 0 && end == x.length;
+			this.parameterPlugin.x = wholeRange ? x : Arrays.copyOfRange(x, begin, end);
+			this.parameterPlugin.y = wholeRange ? y : Arrays.copyOfRange(y, begin, end);
+			this.parameterPlugin.t = wholeRange ? t : Arrays.copyOfRange(t, begin, end);
+
+			Object calculatedValue = null;
+			this.engine.activate();
+			try {
+				calculatedValue = this.engine.executeScript(expression + ";");
+			} finally {
+				this.engine.deactivate();
+
+				// Release the references to the (possibly huge) arrays.
+				this.parameterPlugin.x = new double[0];
+				this.parameterPlugin.y = new double[0];
+				this.parameterPlugin.t = new double[0];
+			}
+
+			double[] valuesPerPoint = toValuesPerPoint(calculatedValue, end - begin);
+			if (valuesPerPoint == null) {
+				return false;
+			}
+			System.arraycopy(valuesPerPoint, 0, calculatedValues, begin, end - begin);
+			return true;
+		}
+	}
+
+
+	/**
+	 * Converts the value returned from the script engine executing an expression with array parameters,
+	 * into the array storing the value per point.
+	 *
+	 * @param calculatedValue The value returned from the script engine.
+	 * @param pointCount The number of the points.
+	 * @return The array storing the value per point, or null if the calculated value can not be converted.
+	 */
+	private static double[] toValuesPerPoint(Object calculatedValue, int pointCount) {
+
+		// The expression not depending on the parameters (e.g.: "1.0") returns a scalar value.
+		if (calculatedValue instanceof Double) {
+			double[] values = new double[pointCount];
+			Arrays.fill(values, (Double)calculatedValue);
+			return values;
+		}
+		if (calculatedValue instanceof double[] && ((double[])calculatedValue).length == pointCount) {
+			return (double[])calculatedValue;
+		}
+		return null;
+	}
+
+
 	/**
 	 * Create a new script engine of Vnano, and initialize it for calculating math expressions.
 	 *
@@ -138,12 +800,30 @@ public final class ScriptEngineMount {
 	 * @throws VnanoException Thrown when it failed to load/initialize plug-ins, etc.
 	 */
 	private final void initializeMathExpressionEngine(Locale locale) throws VnanoException {
+		this.mathExpressionEngine = createMathExpressionEngine(locale);
+
+		// Connect the plug-ins providing parameter variables (x, y, and t) available in math expressions.
+		this.mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", this.xParameter);
+		this.mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", this.yParameter);
+		this.mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", this.tParameter);
+	}
+
+
+	/**
+	 * Create a new script engine of Vnano, configured for calculating math expressions,
+	 * and connect the plug-ins to it except for the one providing parameter variables.
+	 *
+	 * @param locale The locale of the user's environment, which determines the language of error messages.
+	 * @return The created engine.
+	 * @throws VnanoException Thrown when it failed to load plug-ins, etc.
+	 */
+	private static VnanoEngine createMathExpressionEngine(Locale locale) throws VnanoException {
 
 		// See also the tutorial guide for using Vnano, if necessary:
 		//     https://www.vcssl.org/en-us/vnano/doc/tutorial/
 
 		// Create a script engine of Vnano.
-		this.mathExpressionEngine = new VnanoEngine();
+		VnanoEngine mathExpressionEngine = new VnanoEngine();
 
 		// Enable options for calculating math expressions.
 		// For details of each option, see:
@@ -155,7 +835,7 @@ public final class ScriptEngineMount {
 		optionMap.put("EVAL_ONLY_FLOAT", true);
 		optionMap.put("AUTOMATIC_ACTIVATION_ENABLED", false);
 		optionMap.put("MAIN_SCRIPT_NAME", "Input_Expression");
-		this.mathExpressionEngine.setOptionMap(optionMap);
+		mathExpressionEngine.setOptionMap(optionMap);
 
 		// Configure permission items.
 		// Set "DENY" to the default, and set "ALLOW" to only items unnecessary for calculating math expression.
@@ -164,7 +844,7 @@ public final class ScriptEngineMount {
 		Map<String, String> permissionMap = new HashMap<String, String>();
 		permissionMap.put(ConnectorPermissionName.DEFAULT, ConnectorPermissionValue.DENY);
 		/* If there is any permission item necessary for this engine's usage, "ALLOW" it here. */
-		this.mathExpressionEngine.setPermissionMap(permissionMap);
+		mathExpressionEngine.setPermissionMap(permissionMap);
 
 		// Load plug-ins listed in "./plugin/VnanoPluginList.txt".
 		try {
@@ -172,7 +852,7 @@ public final class ScriptEngineMount {
 			pluginLoader.setPluginListPath("./plugin/VnanoPluginList.txt");
 			pluginLoader.load();
 			for (Object plugin: pluginLoader.getPluginInstances()) {
-				this.mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", plugin);
+				mathExpressionEngine.connectPlugin("___VNANO_AUTO_KEY", plugin);
 
 			}
 
@@ -183,9 +863,6 @@ public final class ScriptEngineMount {
 			throw vne;
 		}
 
-		// Instantiate a plug-in providing parameter variables (x, y, and t) available in math expressions,
-		// and connect it to the engine.
-		this.mathExpressionParameterPlugin = new MathExpressionParameterPlugin();
-		this.mathExpressionEngine.connectPlugin("MathExprParamPlugin", this.mathExpressionParameterPlugin);
+		return mathExpressionEngine;
 	}
 }
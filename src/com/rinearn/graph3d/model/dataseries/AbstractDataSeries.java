@@ -1,11 +1,22 @@
 package com.rinearn.graph3d.model.dataseries;
 
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /*
 [Inheritance tree]
 
     AbstractDataSeries < This Class
       |
       +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
       |
       +- MathDataSeries
           |
@@ -25,6 +36,42 @@ public abstract class AbstractDataSeries {
 	//
 	// ・宣言するのすっかり忘れてたけど各点ごとの可視性の配列要るでしょ。
 
+	/** The version number of the contents of this data series, incremented when the contents are modified. */
+	private volatile long contentVersion = 0L;
+
+	/** The number of points in a segment, which is the unit of the parallel computation of the range. */
+	private static final int RANGE_SEGMENT_SIZE = 1 << 16;
+
+	/** The cached range of the points of this data series (null if it has not been computed yet). */
+	private DataSeriesRange cachedRange = null;
+
+	/** The version number of the contents when the cached range was computed. */
+	private long cachedRangeVersion = -1L;
+
+
+	/**
+	 * Gets the version number of the contents of this data series.
+	 *
+	 * The version number is incremented when the contents (coordinates or visibilities) are modified,
+	 * so it can be used for detecting whether the contents have been modified since the last reference.
+	 *
+	 * @return The version number of the contents.
+	 */
+	public synchronized long getContentVersion() {
+		return this.contentVersion;
+	}
+
+
+	/**
+	 * Increments the version number of the contents of this data series.
+	 *
+	 * Subclasses must call this method when they modify the contents.
+	 */
+	protected synchronized void incrementContentVersion() {
+		this.contentVersion++;
+	}
+
+
 	/**
 	 * Gets the X-coordinate values of the points of this data series.
 	 *
@@ -53,4 +100,198 @@ public abstract class AbstractDataSeries {
 	 * Gets the array storing visibilities of the points of this data series.
 	 */
 	public abstract boolean[][] getVisibilities();
+
+
+	/**
+	 * Gets the length of the left-side dimension (the number of rows) of the points of this data series.
+	 *
+	 * This method and the following accessor methods are available for iterating the points row by row,
+	 * without referring the whole jagged arrays returned by getXCoordinates(), etc.
+	 * Subclasses storing the points in other formats should override them for avoiding the materialization of the arrays.
+	 *
+	 * @return The length of the left-side dimension.
+	 */
+	public int getLeftDimensionLength() {
+		return this.getXCoordinates().length;
+	}
+
+
+	/**
+	 * Gets the length of the right-side dimension (the number of points) of the specified row.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @return The length of the right-side dimension of the row.
+	 */
+	public int getRightDimensionLength(int leftIndex) {
+		return this.getXCoordinates()[leftIndex].length;
+	}
+
+
+	/**
+	 * Reads the X/Y/Z coordinate values and the visibilities of the points in the specified row, into the specified buffers.
+	 *
+	 * The lengths of the buffers should be greater than or equal to getRightDimensionLength(leftIndex).
+	 * If the row is longer than the buffers (e.g.: it has been extended by another thread after getting its length),
+	 * only the points fitting in the buffers are read.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param xBuffer The buffer to which the X-coordinate values will be stored.
+	 * @param yBuffer The buffer to which the Y-coordinate values will be stored.
+	 * @param zBuffer The buffer to which the Z-coordinate values will be stored.
+	 * @param visibilityBuffer The bitset to which the visibilities will be stored (see VisibilityBitset).
+	 * @return The number of the read points.
+	 */
+	public int readRow(int leftIndex, double[] xBuffer, double[] yBuffer, double[] zBuffer, long[] visibilityBuffer) {
+		double[] xRow = this.getXCoordinates()[leftIndex];
+		int readLength = Math.min(xRow.length, xBuffer.length);
+		System.arraycopy(xRow, 0, xBuffer, 0, readLength);
+		System.arraycopy(this.getYCoordinates()[leftIndex], 0, yBuffer, 0, readLength);
+		System.arraycopy(this.getZCoordinates()[leftIndex], 0, zBuffer, 0, readLength);
+		VisibilityBitset.pack(this.getVisibilities()[leftIndex], visibilityBuffer, readLength);
+		return readLength;
+	}
+
+
+	/**
+	 * Gets the range (the minimum/maximum coordinate values) of the visible points of this data series.
+	 *
+	 * The range is cached while the contents are not modified,
+	 * so this method computes it only when the contents have been modified since the last call.
+	 *
+	 * @return The range of the visible points.
+	 */
+	public DataSeriesRange getRange() {
+
+		// Don't add "synchronized" to this method, because the range is computed on the worker threads,
+		// which may call synchronized methods of this instance.
+		long version = -1L;
+		synchronized (this) {
+			if (this.cachedRange != null && this.cachedRangeVersion == this.contentVersion) {
+				return this.cachedRange;
+			}
+			version = this.contentVersion;
+		}
+
+		DataSeriesRange range = this.computeRange();
+
+		// Cache the computed range, if the contents have not been modified during the computation.
+		synchronized (this) {
+			if (this.contentVersion == version) {
+				this.cachedRange = range;
+				this.cachedRangeVersion = version;
+			}
+		}
+		return range;
+	}
+
+
+	/**
+	 * Computes the range of the visible points of this data series, by the parallel reduction.
+	 *
+	 * The points are split into segments (parts of rows), and they are reduced on the worker threads of the common ForkJoinPool,
+	 * by accumulateRange(...) method.
+	 *
+	 * @return The computed range.
+	 */
+	protected DataSeriesRange computeRange() {
+		List<int[]> segmentList = new ArrayList<int[]>();
+		int leftDimLength = this.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength; iL++) {
+			int rightDimLength = this.getRightDimensionLength(iL);
+			for (int begin=0; begin<rightDimLength; begin+=RANGE_SEGMENT_SIZE) {
+				segmentList.add(new int[] { iL, begin, Math.min(begin + RANGE_SEGMENT_SIZE, rightDimLength) });
+			}
+		}
+		if (segmentList.isEmpty()) {
+			return DataSeriesRange.EMPTY;
+		}
+		RangeReductionTask task = new RangeReductionTask(this, segmentList, 0, segmentList.size());
+		return DataSeriesRange.fromArray(ForkJoinPool.commonPool().invoke(task));
+	}
+
+
+	/**
+	 * Accumulates the visible points in the specified segment into the array of the minimum/maximum values.
+	 *
+	 * This method is called on the worker threads in parallel, so the implementation must be thread-safe.
+	 * Subclasses storing the points in other formats should override this method for avoiding the materialization of the arrays.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param beginRightIndex The index of the first point of the segment in the row.
+	 * @param endRightIndex The index next to the last point of the segment in the row.
+	 * @param minMax The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 */
+	protected void accumulateRange(int leftIndex, int beginRightIndex, int endRightIndex, double[] minMax) {
+		double[] xRow = this.getXCoordinates()[leftIndex];
+		double[] yRow = this.getYCoordinates()[leftIndex];
+		double[] zRow = this.getZCoordinates()[leftIndex];
+		boolean[] visibilityRow = this.getVisibilities()[leftIndex];
+		for (int iR=beginRightIndex; iR<endRightIndex; iR++) {
+			if (visibilityRow[iR]) {
+				DataSeriesRange.accumulate(minMax, xRow[iR], yRow[iR], zRow[iR]);
+			}
+		}
+	}
+
+
+	/**
+	 * The task of the parallel reduction computing the range of the points in the segments.
+	 */
+	private static final class RangeReductionTask extends RecursiveTask<double[]> {
+
+		/** The serial version UID of this class. */
+		private static final long serialVersionUID = 1L;
+
+		/** The data series of which range is computed. */
+		private final AbstractDataSeries dataSeries;
+
+		/** The list of the segments, each of which is stored as: [leftIndex, beginRightIndex, endRightIndex]. */
+		private final List<int[]> segmentList;
+
+		/** The index of the first segment to be processed by this task. */
+		private final int beginSegmentIndex;
+
+		/** The index next to the last segment to be processed by this task. */
+		private final int endSegmentIndex;
+
+		/**
+		 * Creates a new task processing the specified segments.
+		 *
+		 * @param dataSeries The data series of which range is computed.
+		 * @param segmentList The list of the segments.
+		 * @param beginSegmentIndex The index of the first segment to be processed by this task.
+		 * @param endSegmentIndex The index next to the last segment to be processed by this task.
+		 */
+		public RangeReductionTask(AbstractDataSeries dataSeries, List<int[]> segmentList, int beginSegmentIndex, int endSegmentIndex) {
+			this.dataSeries = dataSeries;
+			this.segmentList = segmentList;
+			this.beginSegmentIndex = beginSegmentIndex;
+			this.endSegmentIndex = endSegmentIndex;
+		}
+
+		@Override
+		protected double[] compute() {
+
+			// If this task has only a segment, process it directly.
+			if (this.endSegmentIndex - this.beginSegmentIndex == 1) {
+				int[] segment = this.segmentList.get(this.beginSegmentIndex);
+				double[] minMax = DataSeriesRange.createAccumulator();
+				this.dataSeries.accumulateRange(segment[0], segment[1], segment[2], minMax);
+				return minMax;
+			}
+
+			// Otherwise, split this task into two halves, and merge their results.
+			int middleSegmentIndex = (this.beginSegmentIndex + this.endSegmentIndex) / 2;
+			RangeReductionTask firstHalf = new RangeReductionTask(this.dataSeries, this.segmentList, this.beginSegmentIndex, middleSegmentIndex);
+			RangeReductionTask secondHalf = new RangeReductionTask(this.dataSeries, this.segmentList, middleSegmentIndex, this.endSegmentIndex);
+			firstHalf.fork();
+			double[] minMax = secondHalf.compute();
+			double[] firstMinMax = firstHalf.join();
+			for (int i=0; i<minMax.length; i+=2) {
+				minMax[i] = Math.min(minMax[i], firstMinMax[i]);
+				minMax[i + 1] = Math.max(minMax[i + 1], firstMinMax[i + 1]);
+			}
+			return minMax;
+		}
+	}
 }
@@ -0,0 +1,403 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import org.vcssl.nano.VnanoException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * The class sampling a function z(x,y) on a rectangular grid adaptively,
+ * for resolving sharp features with fewer evaluations than sampling all the grid points.
+ *
+ * The sampling starts from a coarse lattice of the grid points, and each cell of the lattice is subdivided (hierarchically)
+ * only where the function deviates from the bilinear interpolation of the corners of the cell by more than the tolerance.
+ * The values at the grid points which have not been evaluated are filled by the bilinear interpolation of the finest cells containing them,
+ * so the result is a complete rectangular grid, which can be plotted in the same way as a uniformly sampled grid.
+ *
+ * The points to be evaluated at each level of the subdivision are evaluated at once by a single call of the evaluator,
+ * so the evaluator can compute them efficiently (e.g.: by vectorized and parallelized computation).
+ */
+public final class AdaptiveGridSampler {
+
+	/**
+	 * The interface of the evaluator computing the values of the function at multiple points at once.
+	 */
+	public static interface BatchEvaluator {
+
+		/**
+		 * Computes the values of the function at the specified points.
+		 *
+		 * @param x The array storing the X coordinate values of the points.
+		 * @param y The array storing the Y coordinate values of the points.
+		 * @return The array storing the values of the function at the points.
+		 * @throws VnanoException Thrown when any error has been detected for computing the values.
+		 */
+		public abstract double[] evaluate(double[] x, double[] y) throws VnanoException;
+	}
+
+	/** The number of the cells along each axis of the initial coarse lattice (at most). */
+	private static final int INITIAL_CELL_COUNT = 32;
+
+	/** The X coordinate values of the grid points. */
+	private final double[] xValues;
+
+	/** The Y coordinate values of the grid points. */
+	private final double[] yValues;
+
+	/** The tolerance of the interpolation error, relative to the range of the values at the initial lattice. */
+	private final double relativeTolerance;
+
+	/** The maximum number of the evaluated points (the subdivision stops when it will be exceeded). */
+	private final int pointBudget;
+
+	/** The number of the points evaluated by the last sampling. */
+	private volatile int evaluatedPointCount = 0;
+
+
+	/**
+	 * Creates a new sampler for the grid consisting of the specified X and Y coordinate values.
+	 *
+	 * @param xValues The X coordinate values of the grid points.
+	 * @param yValues The Y coordinate values of the grid points.
+	 * @param relativeTolerance The tolerance of the interpolation error, relative to the range of the values at the initial lattice.
+	 * @param pointBudget The maximum number of the evaluated points.
+	 */
+	public AdaptiveGridSampler(double[] xValues, double[] yValues, double relativeTolerance, int pointBudget) {
+		if (xValues.length < 2 || yValues.length < 2) {
+			throw new IllegalArgumentException("The grid must have at least 2 points along each axis.");
+		}
+		if (!(0.0 <= relativeTolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a non-negative value: " + relativeTolerance);
+		}
+		if (pointBudget <= 0) {
+			throw new IllegalArgumentException("The point budget must be a positive value: " + pointBudget);
+		}
+		this.xValues = xValues;
+		this.yValues = yValues;
+		this.relativeTolerance = relativeTolerance;
+		this.pointBudget = pointBudget;
+	}
+
+
+	/**
+	 * Gets the number of the points evaluated by the last sampling.
+	 *
+	 * @return The number of the evaluated points.
+	 */
+	public int getEvaluatedPointCount() {
+		return this.evaluatedPointCount;
+	}
+
+
+	/**
+	 * Samples the function on the grid, and stores the (evaluated or interpolated) values into the specified array.
+	 *
+	 * @param evaluator The evaluator computing the values of the function.
+	 * @param zValues The array to which the values will be stored, of which index is [ix][iy].
+	 * @throws VnanoException Thrown when any error has been detected by the evaluator.
+	 */
+	public void sample(BatchEvaluator evaluator, double[][] zValues) throws VnanoException {
+		int xN = this.xValues.length;
+		int yN = this.yValues.length;
+		boolean[][] evaluated = new boolean[xN][yN];
+		this.evaluatedPointCount = 0;
+
+		// Evaluate the points on the initial coarse lattice, and divide the grid into its cells.
+		int xStep = Math.max(1, (xN - 1) / INITIAL_CELL_COUNT);
+		int yStep = Math.max(1, (yN - 1) / INITIAL_CELL_COUNT);
+		int[] xLattice = createLatticeIndices(xN, xStep);
+		int[] yLattice = createLatticeIndices(yN, yStep);
+		PointBatch latticeBatch = new PointBatch();
+		for (int ix: xLattice) {
+			for (int iy: yLattice) {
+				latticeBatch.add(ix, iy, evaluated);
+			}
+		}
+		this.evaluateBatch(evaluator, latticeBatch, zValues);
+
+		List<int[]> cells = new ArrayList<int[]>();
+		for (int i=0; i<xLattice.length - 1; i++) {
+			for (int j=0; j<yLattice.length - 1; j++) {
+				cells.add(new int[] { xLattice[i], yLattice[j], xLattice[i + 1], yLattice[j + 1] });
+			}
+		}
+
+		// Determine the absolute tolerance from the range of the values at the lattice.
+		double zMin = Double.POSITIVE_INFINITY;
+		double zMax = Double.NEGATIVE_INFINITY;
+		for (int ix: xLattice) {
+			for (int iy: yLattice) {
+				double z = zValues[ix][iy];
+				if (!Double.isNaN(z) && !Double.isInfinite(z)) {
+					zMin = Math.min(zMin, z);
+					zMax = Math.max(zMax, z);
+				}
+			}
+		}
+		double tolerance = (zMin <= zMax) ? this.relativeTolerance * (zMax - zMin) : 0.0;
+
+		// Subdivide the cells level by level. The accepted cells are stored in the order from the coarsest to the finest.
+		List<int[]> acceptedCells = new ArrayList<int[]>();
+		while (!cells.isEmpty()) {
+
+			// Evaluate the midpoints of the edges and the centers of all the cells at this level at once.
+			PointBatch midpointBatch = new PointBatch();
+			for (int[] cell: cells) {
+				int mx = getMidpointIndex(cell[0], cell[2]);
+				int my = getMidpointIndex(cell[1], cell[3]);
+				if (0 <= mx) {
+					midpointBatch.add(mx, cell[1], evaluated);
+					midpointBatch.add(mx, cell[3], evaluated);
+				}
+				if (0 <= my) {
+					midpointBatch.add(cell[0], my, evaluated);
+					midpointBatch.add(cell[2], my, evaluated);
+				}
+				if (0 <= mx && 0 <= my) {
+					midpointBatch.add(mx, my, evaluated);
+				}
+			}
+
+			// If the budget will be exceeded, stop the subdivision, and fill the remaining cells by the interpolation.
+			if (this.pointBudget < this.evaluatedPointCount + midpointBatch.size()) {
+				midpointBatch.unmark(evaluated);
+				acceptedCells.addAll(cells);
+				break;
+			}
+			this.evaluateBatch(evaluator, midpointBatch, zValues);
+
+			// Accept the cells well approximated by the interpolation, and subdivide the others.
+			List<int[]> subdividedCells = new ArrayList<int[]>();
+			for (int[] cell: cells) {
+				int mx = getMidpointIndex(cell[0], cell[2]);
+				int my = getMidpointIndex(cell[1], cell[3]);
+				if (mx < 0 && my < 0) {
+					continue; // All the points in the cell (= its corners) have been evaluated.
+				}
+				if (this.getInterpolationError(cell, mx, my, zValues) <= tolerance) {
+					acceptedCells.add(cell);
+					continue;
+				}
+				int[] xBounds = (0 <= mx) ? new int[] { cell[0], mx, cell[2] } : new int[] { cell[0], cell[2] };
+				int[] yBounds = (0 <= my) ? new int[] { cell[1], my, cell[3] } : new int[] { cell[1], cell[3] };
+				for (int i=0; i<xBounds.length - 1; i++) {
+					for (int j=0; j<yBounds.length - 1; j++) {
+						subdividedCells.add(new int[] { xBounds[i], yBounds[j], xBounds[i + 1], yBounds[j + 1] });
+					}
+				}
+			}
+			cells = subdividedCells;
+		}
+
+		// Fill the points which have not been evaluated, by the interpolation of the accepted cells.
+		// (The finer cells are processed later, so the points on the boundaries are filled by the finest cells.)
+		for (int[] cell: acceptedCells) {
+			this.fillByInterpolation(cell, evaluated, zValues);
+		}
+	}
+
+
+	/**
+	 * Creates the indices of the grid points on the lattice having the specified step, including the last grid point.
+	 *
+	 * @param pointCount The number of the grid points along the axis.
+	 * @param step The step of the lattice.
+	 * @return The indices of the grid points on the lattice.
+	 */
+	private static int[] createLatticeIndices(int pointCount, int step) {
+		int latticePointCount = (pointCount - 1) / step + 1;
+		boolean lastPointAppended = (pointCount - 1) % step != 0;
+		int[] indices = new int[latticePointCount + (lastPointAppended ? 1 : 0)];
+		for (int i=0; i<latticePointCount; i++) {
+			indices[i] = i * step;
+		}
+		if (lastPointAppended) {
+			indices[latticePointCount] = pointCount - 1;
+		}
+		return indices;
+	}
+
+
+	/**
+	 * Gets the index of the midpoint between the specified grid points.
+	 *
+	 * @param beginIndex The index of the grid point at the beginning.
+	 * @param endIndex The index of the grid point at the end.
+	 * @return The index of the midpoint, or -1 if there is no grid point between them.
+	 */
+	private static int getMidpointIndex(int beginIndex, int endIndex) {
+		return (2 <= endIndex - beginIndex) ? (beginIndex + endIndex) / 2 : -1;
+	}
+
+
+	/**
+	 * Evaluates the values at the points in the specified batch, and stores them into the specified array.
+	 *
+	 * @param evaluator The evaluator computing the values of the function.
+	 * @param batch The batch of the points to be evaluated.
+	 * @param zValues The array to which the values will be stored.
+	 * @throws VnanoException Thrown when any error has been detected by the evaluator.
+	 */
+	private void evaluateBatch(BatchEvaluator evaluator, PointBatch batch, double[][] zValues) throws VnanoException {
+		int pointCount = batch.size();
+		if (pointCount == 0) {
+			return;
+		}
+		double[] x = new double[pointCount];
+		double[] y = new double[pointCount];
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			x[ipoint] = this.xValues[batch.xIndices[ipoint]];
+			y[ipoint] = this.yValues[batch.yIndices[ipoint]];
+		}
+		double[] z = evaluator.evaluate(x, y);
+		for (int ipoint=0; ipoint<pointCount; ipoint++) {
+			zValues[batch.xIndices[ipoint]][batch.yIndices[ipoint]] = z[ipoint];
+		}
+		this.evaluatedPointCount += pointCount;
+	}
+
+
+	/**
+	 * Computes the maximum difference between the evaluated values and the interpolated values,
+	 * at the midpoints of the edges and the center of the specified cell.
+	 *
+	 * @param cell The cell, represented as { ix0, iy0, ix1, iy1 }.
+	 * @param mx The index of the midpoint along the X axis, or -1 if there is no midpoint.
+	 * @param my The index of the midpoint along the Y axis, or -1 if there is no midpoint.
+	 * @param zValues The array storing the evaluated values.
+	 * @return The maximum difference (infinity if any value is not finite).
+	 */
+	private double getInterpolationError(int[] cell, int mx, int my, double[][] zValues) {
+		double error = 0.0;
+		if (0 <= mx) {
+			error = Math.max(error, this.getPointInterpolationError(cell, mx, cell[1], zValues));
+			error = Math.max(error, this.getPointInterpolationError(cell, mx, cell[3], zValues));
+		}
+		if (0 <= my) {
+			error = Math.max(error, this.getPointInterpolationError(cell, cell[0], my, zValues));
+			error = Math.max(error, this.getPointInterpolationError(cell, cell[2], my, zValues));
+		}
+		if (0 <= mx && 0 <= my) {
+			error = Math.max(error, this.getPointInterpolationError(cell, mx, my, zValues));
+		}
+		return error;
+	}
+
+
+	/**
+	 * Computes the difference between the evaluated value and the interpolated value at the specified point in the cell.
+	 *
+	 * @param cell The cell, represented as { ix0, iy0, ix1, iy1 }.
+	 * @param ix The index of the point along the X axis.
+	 * @param iy The index of the point along the Y axis.
+	 * @param zValues The array storing the evaluated values.
+	 * @return The difference (infinity if any value is not finite, except for the case that the cell is undefined entirely).
+	 */
+	private double getPointInterpolationError(int[] cell, int ix, int iy, double[][] zValues) {
+
+		// If the value is undefined (NaN) at the point and all the corners, regard the cell as the undefined region,
+		// which is filled by NaN without subdivision.
+		if (Double.isNaN(zValues[ix][iy])
+				&& Double.isNaN(zValues[cell[0]][cell[1]]) && Double.isNaN(zValues[cell[0]][cell[3]])
+				&& Double.isNaN(zValues[cell[2]][cell[1]]) && Double.isNaN(zValues[cell[2]][cell[3]])) {
+			return 0.0;
+		}
+		double difference = Math.abs(zValues[ix][iy] - this.interpolate(cell, ix, iy, zValues));
+		return (Double.isNaN(difference) || Double.isInfinite(difference)) ? Double.POSITIVE_INFINITY : difference;
+	}
+
+
+	/**
+	 * Computes the bilinear interpolation of the values at the corners of the cell, at the specified point.
+	 *
+	 * @param cell The cell, represented as { ix0, iy0, ix1, iy1 }.
+	 * @param ix The index of the point along the X axis.
+	 * @param iy The index of the point along the Y axis.
+	 * @param zValues The array storing the values at the corners of the cell.
+	 * @return The interpolated value.
+	 */
+	private double interpolate(int[] cell, int ix, int iy, double[][] zValues) {
+		double tx = (this.xValues[ix] - this.xValues[cell[0]]) / (this.xValues[cell[2]] - this.xValues[cell[0]]);
+		double ty = (this.yValues[iy] - this.yValues[cell[1]]) / (this.yValues[cell[3]] - this.yValues[cell[1]]);
+		double z0 = zValues[cell[0]][cell[1]] * (1.0 - ty) + zValues[cell[0]][cell[3]] * ty;
+		double z1 = zValues[cell[2]][cell[1]] * (1.0 - ty) + zValues[cell[2]][cell[3]] * ty;
+		return z0 * (1.0 - tx) + z1 * tx;
+	}
+
+
+	/**
+	 * Fills the values at the points in the specified cell which have not been evaluated, by the interpolation.
+	 *
+	 * @param cell The cell, represented as { ix0, iy0, ix1, iy1 }.
+	 * @param evaluated The array storing whether each grid point has been evaluated.
+	 * @param zValues The array storing the values.
+	 */
+	private void fillByInterpolation(int[] cell, boolean[][] evaluated, double[][] zValues) {
+		for (int ix=cell[0]; ix<=cell[2]; ix++) {
+			for (int iy=cell[1]; iy<=cell[3]; iy++) {
+				if (!evaluated[ix][iy]) {
+					zValues[ix][iy] = this.interpolate(cell, ix, iy, zValues);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The class storing the indices of the points to be evaluated at once.
+	 */
+	private static final class PointBatch {
+
+		/** The indices of the points along the X axis. */
+		private int[] xIndices = new int[64];
+
+		/** The indices of the points along the Y axis. */
+		private int[] yIndices = new int[64];
+
+		/** The number of the points. */
+		private int size = 0;
+
+		/**
+		 * Adds the specified point if it has not been evaluated (or added) yet, and marks it as evaluated.
+		 *
+		 * @param ix The index of the point along the X axis.
+		 * @param iy The index of the point along the Y axis.
+		 * @param evaluated The array storing whether each grid point has been evaluated.
+		 */
+		private void add(int ix, int iy, boolean[][] evaluated) {
+			if (evaluated[ix][iy]) {
+				return;
+			}
+			evaluated[ix][iy] = true;
+			if (this.size == this.xIndices.length) {
+				this.xIndices = Arrays.copyOf(this.xIndices, this.size * 2);
+				this.yIndices = Arrays.copyOf(this.yIndices, this.size * 2);
+			}
+			this.xIndices[this.size] = ix;
+			this.yIndices[this.size] = iy;
+			this.size++;
+		}
+
+		/**
+		 * Unmarks all the points in this batch, when they will not be evaluated.
+		 *
+		 * @param evaluated The array storing whether each grid point has been evaluated.
+		 */
+		private void unmark(boolean[][] evaluated) {
+			for (int ipoint=0; ipoint<this.size; ipoint++) {
+				evaluated[this.xIndices[ipoint]][this.yIndices[ipoint]] = false;
+			}
+		}
+
+		/**
+		 * Gets the number of the points.
+		 *
+		 * @return The number of the points.
+		 */
+		private int size() {
+			return this.size;
+		}
+	}
+}
@@ -1,11 +1,19 @@
 package com.rinearn.graph3d.model.dataseries;
 
+import java.util.Arrays;
+
 /*
 [Inheritance tree]
 
     AbstractDataSeries
       |
       +- ArrayDataSeries < This Class
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
       |
       +- MathDataSeries
           |
@@ -26,8 +34,11 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	/** The Z-coordinate values of the points of this data series, in double-type. */
 	private volatile double[][] zDoubleCoordinates = null;
 
-	/** The array storing visibilities of the points of this data series. */
-	private volatile boolean[][] visibilities;
+	/**
+	 * The bitsets storing visibilities of the points of this data series, for each row (see VisibilityBitset).
+	 * The element for the row in which all the points are visible is null, for omitting its bitset.
+	 */
+	private volatile long[][] visibilityMasks = null;
 
 
 	/**
@@ -59,6 +70,7 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	 */
 	public synchronized void setXCoordinates(double[][] xCoordinates) {
 		this.xDoubleCoordinates = xCoordinates;
+		super.incrementContentVersion();
 	}
 
 	/**
@@ -82,6 +94,7 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	 */
 	public synchronized void setYCoordinates(double[][] yCoordinates) {
 		this.yDoubleCoordinates = yCoordinates;
+		super.incrementContentVersion();
 	}
 
 	/**
@@ -105,6 +118,7 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	 */
 	public synchronized void setZCoordinates(double[][] zCoordinates) {
 		this.zDoubleCoordinates = zCoordinates;
+		super.incrementContentVersion();
 	}
 
 	/**
@@ -124,10 +138,17 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	/**
 	 * Sets the visibilities of the points of this data series.
 	 *
+	 * The visibilities are packed into the bitsets, so the specified array is not referred by this data series.
+	 *
 	 * @param visibilities The array storing visibilities of the points of this data series.
 	 */
 	public synchronized void setVisibilities(boolean[][] visibilities) {
-		this.visibilities = visibilities;
+		long[][] visibilityMasks = new long[visibilities.length][];
+		for (int iL=0; iL<visibilities.length; iL++) {
+			visibilityMasks[iL] = VisibilityBitset.packOrNull(visibilities[iL]);
+		}
+		this.visibilityMasks = visibilityMasks;
+		super.incrementContentVersion();
 	}
 
 	/**
@@ -137,29 +158,108 @@ public class ArrayDataSeries extends AbstractDataSeries {
 	 */
 	public synchronized void setVisibilitiesFromCoordinates() {
 		int leftDimLength = this.xDoubleCoordinates.length;
-		int rightDimLength = (0 < leftDimLength) ? xDoubleCoordinates[0].length : 0;
-		this.visibilities = new boolean[leftDimLength][rightDimLength];
+		long[][] visibilityMasks = new long[leftDimLength][];
 
 		for (int iL=0; iL<leftDimLength; iL++) {
+			int rightDimLength = this.xDoubleCoordinates[iL].length;
+			long[] mask = null;
 			for (int iR=0; iR<rightDimLength; iR++) {
 				boolean xIsNaN = Double.isNaN(this.xDoubleCoordinates[iL][iR]);
 				boolean yIsNaN = Double.isNaN(this.yDoubleCoordinates[iL][iR]);
 				boolean zIsNaN = Double.isNaN(this.zDoubleCoordinates[iL][iR]);
-				this.visibilities[iL][iR] = !xIsNaN && !yIsNaN && !zIsNaN;
+				if (xIsNaN || yIsNaN || zIsNaN) {
+
+					// Allocate the bitset of the row only when an invisible point is found.
+					if (mask == null) {
+						mask = new long[VisibilityBitset.wordCount(rightDimLength)];
+						VisibilityBitset.setAllVisible(mask, rightDimLength);
+					}
+					VisibilityBitset.setVisible(mask, iR, false);
+				}
 			}
+			visibilityMasks[iL] = mask;
 		}
+		this.visibilityMasks = visibilityMasks;
+		super.incrementContentVersion();
 	}
 
 	/**
-	 * Gets the visibilities of the points of this data series.
+	 * Gets the visibilities of the points of this data series, materialized from the bitsets.
+	 *
+	 * The returned array is created in every call, so modifying it does not affect this data series.
+	 * Use readRow(...) for iterating the visibilities without materializing them.
 	 *
 	 * @return The array storing visibilities of the points of this data series.
 	 */
 	@Override
 	public synchronized boolean[][] getVisibilities() {
-		if(this.visibilities == null) {
+		if(this.visibilityMasks == null) {
 			throw new IllegalStateException("The visibilities have not been initialized yet.");
 		}
-		return this.visibilities;
+		int leftDimLength = this.visibilityMasks.length;
+		boolean[][] visibilities = new boolean[leftDimLength][];
+		for (int iL=0; iL<leftDimLength; iL++) {
+			int rightDimLength = this.xDoubleCoordinates[iL].length;
+			visibilities[iL] = new boolean[rightDimLength];
+			if (this.visibilityMasks[iL] == null) {
+				Arrays.fill(visibilities[iL], true);
+			} else {
+				VisibilityBitset.unpack(this.visibilityMasks[iL], visibilities[iL], rightDimLength);
+			}
+		}
+		return visibilities;
+	}
+
+
+	/**
+	 * Reads the X/Y/Z coordinate values and the visibilities of the points in the specified row, into the specified buffers.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param xBuffer The buffer to which the X-coordinate values will be stored.
+	 * @param yBuffer The buffer to which the Y-coordinate values will be stored.
+	 * @param zBuffer The buffer to which the Z-coordinate values will be stored.
+	 * @param visibilityBuffer The bitset to which the visibilities will be stored (see VisibilityBitset).
+	 * @return The number of the read points.
+	 */
+	@Override
+	public synchronized int readRow(int leftIndex, double[] xBuffer, double[] yBuffer, double[] zBuffer, long[] visibilityBuffer) {
+		if (this.xDoubleCoordinates == null || this.visibilityMasks == null) {
+			throw new IllegalStateException("The coordinate values have not been initialized yet.");
+		}
+		double[] xRow = this.xDoubleCoordinates[leftIndex];
+		int readLength = Math.min(xRow.length, xBuffer.length);
+		System.arraycopy(xRow, 0, xBuffer, 0, readLength);
+		System.arraycopy(this.yDoubleCoordinates[leftIndex], 0, yBuffer, 0, readLength);
+		System.arraycopy(this.zDoubleCoordinates[leftIndex], 0, zBuffer, 0, readLength);
+
+		long[] mask = this.visibilityMasks[leftIndex];
+		if (mask == null) {
+			VisibilityBitset.setAllVisible(visibilityBuffer, readLength);
+		} else {
+			System.arraycopy(mask, 0, visibilityBuffer, 0, VisibilityBitset.wordCount(readLength));
+		}
+		return readLength;
+	}
+
+
+	/**
+	 * Accumulates the visible points in the specified segment into the array of the minimum/maximum values.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param beginRightIndex The index of the first point of the segment in the row.
+	 * @param endRightIndex The index next to the last point of the segment in the row.
+	 * @param minMax The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 */
+	@Override
+	protected void accumulateRange(int leftIndex, int beginRightIndex, int endRightIndex, double[] minMax) {
+		double[] xRow = this.xDoubleCoordinates[leftIndex];
+		double[] yRow = this.yDoubleCoordinates[leftIndex];
+		double[] zRow = this.zDoubleCoordinates[leftIndex];
+		long[] mask = this.visibilityMasks[leftIndex];
+		for (int iR=beginRightIndex; iR<endRightIndex; iR++) {
+			if (mask == null || VisibilityBitset.isVisible(mask, iR)) {
+				DataSeriesRange.accumulate(minMax, xRow[iR], yRow[iR], zRow[iR]);
+			}
+		}
 	}
 }
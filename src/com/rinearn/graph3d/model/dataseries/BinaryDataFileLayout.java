@@ -0,0 +1,371 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.util.Locale;
+import java.util.Properties;
+
+
+/**
+ * The description of the layout of a binary data file, read by MappedFileDataSeries.
+ *
+ * A binary data file consists of an (optional) header, followed by fixed-size records.
+ * Each record corresponds to a point, and consists of the values of the columns,
+ * each of which is stored as a float64 or float32 value, in the specified byte order.
+ * The records are arranged on the grid, in which the index of the right-side dimension changes fastest.
+ *
+ * The layout can be loaded from a sidecar file in the format of java.util.Properties, for example:
+ *
+ * <pre>
+ * headerLength = 0
+ * columnCount = 3
+ * xColumn = 0
+ * yColumn = 1
+ * zColumn = 2
+ * elementType = float64
+ * byteOrder = little
+ * leftDimensionLength = 1
+ * rightDimensionLength = 1000000
+ * </pre>
+ */
+public final class BinaryDataFileLayout {
+
+	/**
+	 * The enum representing the types of the values stored in the columns.
+	 */
+	public static enum ElementType {
+
+		/** Represents the 64-bit IEEE 754 floating-point number. */
+		FLOAT64(8),
+
+		/** Represents the 32-bit IEEE 754 floating-point number. */
+		FLOAT32(4);
+
+		/** The number of bytes of a value. */
+		private final int size;
+
+		/**
+		 * Creates a new element type.
+		 *
+		 * @param size The number of bytes of a value.
+		 */
+		private ElementType(int size) {
+			this.size = size;
+		}
+
+		/**
+		 * Gets the number of bytes of a value.
+		 *
+		 * @return The number of bytes of a value.
+		 */
+		public int getSize() {
+			return this.size;
+		}
+	}
+
+	/** The number of bytes of the header, preceding the records. */
+	private volatile long headerLength = 0L;
+
+	/** The number of columns in a record. */
+	private volatile int columnCount = 3;
+
+	/** The index of the column storing the X-coordinate values. */
+	private volatile int xColumnIndex = 0;
+
+	/** The index of the column storing the Y-coordinate values. */
+	private volatile int yColumnIndex = 1;
+
+	/** The index of the column storing the Z-coordinate values. */
+	private volatile int zColumnIndex = 2;
+
+	/** The type of the values stored in the columns. */
+	private volatile ElementType elementType = ElementType.FLOAT64;
+
+	/** The byte order of the values stored in the columns. */
+	private volatile ByteOrder byteOrder = ByteOrder.LITTLE_ENDIAN;
+
+	/** The length of the left-side dimension of the grid of the records. */
+	private volatile int leftDimensionLength = 1;
+
+	/** The length of the right-side dimension of the grid of the records (0 for inferring it from the file size). */
+	private volatile int rightDimensionLength = 0;
+
+
+	/**
+	 * Creates a new layout having the default values:
+	 * no header, three float64 columns storing X/Y/Z in little-endian, and a single row inferred from the file size.
+	 */
+	public BinaryDataFileLayout() {
+	}
+
+
+	/**
+	 * Loads the layout from the specified sidecar file, in the format of java.util.Properties.
+	 *
+	 * The keys which are not described in the file take the default values.
+	 *
+	 * @param sidecarFile The sidecar file describing the layout.
+	 * @return The loaded layout.
+	 * @throws IOException Thrown if failed to read the file.
+	 * @throws IllegalArgumentException Thrown if the file contains an invalid value.
+	 */
+	public static BinaryDataFileLayout load(File sidecarFile) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream inputStream = new FileInputStream(sidecarFile)) {
+			properties.load(inputStream);
+		}
+
+		BinaryDataFileLayout layout = new BinaryDataFileLayout();
+		try {
+			layout.setHeaderLength(Long.parseLong(properties.getProperty("headerLength", "0").trim()));
+			layout.setColumnCount(Integer.parseInt(properties.getProperty("columnCount", "3").trim()));
+			layout.setXColumnIndex(Integer.parseInt(properties.getProperty("xColumn", "0").trim()));
+			layout.setYColumnIndex(Integer.parseInt(properties.getProperty("yColumn", "1").trim()));
+			layout.setZColumnIndex(Integer.parseInt(properties.getProperty("zColumn", "2").trim()));
+			layout.setLeftDimensionLength(Integer.parseInt(properties.getProperty("leftDimensionLength", "1").trim()));
+			layout.setRightDimensionLength(Integer.parseInt(properties.getProperty("rightDimensionLength", "0").trim()));
+		} catch (NumberFormatException nfe) {
+			throw new IllegalArgumentException("Invalid numeric value in the layout file: " + sidecarFile, nfe);
+		}
+
+		String elementTypeName = properties.getProperty("elementType", "float64").trim().toUpperCase(Locale.ENGLISH);
+		try {
+			layout.setElementType(ElementType.valueOf(elementTypeName));
+		} catch (IllegalArgumentException iae) {
+			throw new IllegalArgumentException("Unknown element type in the layout file: " + elementTypeName, iae);
+		}
+
+		String byteOrderName = properties.getProperty("byteOrder", "little").trim().toLowerCase(Locale.ENGLISH);
+		if (byteOrderName.equals("little")) {
+			layout.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+		} else if (byteOrderName.equals("big")) {
+			layout.setByteOrder(ByteOrder.BIG_ENDIAN);
+		} else {
+			throw new IllegalArgumentException("Unknown byte order in the layout file: " + byteOrderName);
+		}
+		return layout;
+	}
+
+
+	/**
+	 * Sets the number of bytes of the header, preceding the records.
+	 *
+	 * @param headerLength The number of bytes of the header.
+	 */
+	public synchronized void setHeaderLength(long headerLength) {
+		this.headerLength = headerLength;
+	}
+
+	/**
+	 * Gets the number of bytes of the header, preceding the records.
+	 *
+	 * @return The number of bytes of the header.
+	 */
+	public synchronized long getHeaderLength() {
+		return this.headerLength;
+	}
+
+
+	/**
+	 * Sets the number of columns in a record.
+	 *
+	 * @param columnCount The number of columns.
+	 */
+	public synchronized void setColumnCount(int columnCount) {
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * Gets the number of columns in a record.
+	 *
+	 * @return The number of columns.
+	 */
+	public synchronized int getColumnCount() {
+		return this.columnCount;
+	}
+
+
+	/**
+	 * Sets the index of the column storing the X-coordinate values.
+	 *
+	 * @param xColumnIndex The index of the column.
+	 */
+	public synchronized void setXColumnIndex(int xColumnIndex) {
+		this.xColumnIndex = xColumnIndex;
+	}
+
+	/**
+	 * Gets the index of the column storing the X-coordinate values.
+	 *
+	 * @return The index of the column.
+	 */
+	public synchronized int getXColumnIndex() {
+		return this.xColumnIndex;
+	}
+
+
+	/**
+	 * Sets the index of the column storing the Y-coordinate values.
+	 *
+	 * @param yColumnIndex The index of the column.
+	 */
+	public synchronized void setYColumnIndex(int yColumnIndex) {
+		this.yColumnIndex = yColumnIndex;
+	}
+
+	/**
+	 * Gets the index of the column storing the Y-coordinate values.
+	 *
+	 * @return The index of the column.
+	 */
+	public synchronized int getYColumnIndex() {
+		return this.yColumnIndex;
+	}
+
+
+	/**
+	 * Sets the index of the column storing the Z-coordinate values.
+	 *
+	 * @param zColumnIndex The index of the column.
+	 */
+	public synchronized void setZColumnIndex(int zColumnIndex) {
+		this.zColumnIndex = zColumnIndex;
+	}
+
+	/**
+	 * Gets the index of the column storing the Z-coordinate values.
+	 *
+	 * @return The index of the column.
+	 */
+	public synchronized int getZColumnIndex() {
+		return this.zColumnIndex;
+	}
+
+
+	/**
+	 * Sets the type of the values stored in the columns.
+	 *
+	 * @param elementType The type of the values.
+	 */
+	public synchronized void setElementType(ElementType elementType) {
+		this.elementType = elementType;
+	}
+
+	/**
+	 * Gets the type of the values stored in the columns.
+	 *
+	 * @return The type of the values.
+	 */
+	public synchronized ElementType getElementType() {
+		return this.elementType;
+	}
+
+
+	/**
+	 * Sets the byte order of the values stored in the columns.
+	 *
+	 * @param byteOrder The byte order of the values.
+	 */
+	public synchronized void setByteOrder(ByteOrder byteOrder) {
+		this.byteOrder = byteOrder;
+	}
+
+	/**
+	 * Gets the byte order of the values stored in the columns.
+	 *
+	 * @return The byte order of the values.
+	 */
+	public synchronized ByteOrder getByteOrder() {
+		return this.byteOrder;
+	}
+
+
+	/**
+	 * Sets the length of the left-side dimension of the grid of the records.
+	 *
+	 * @param leftDimensionLength The length of the left-side dimension.
+	 */
+	public synchronized void setLeftDimensionLength(int leftDimensionLength) {
+		this.leftDimensionLength = leftDimensionLength;
+	}
+
+	/**
+	 * Gets the length of the left-side dimension of the grid of the records.
+	 *
+	 * @return The length of the left-side dimension.
+	 */
+	public synchronized int getLeftDimensionLength() {
+		return this.leftDimensionLength;
+	}
+
+
+	/**
+	 * Sets the length of the right-side dimension of the grid of the records.
+	 *
+	 * If 0 is specified, the length is inferred from the size of the file,
+	 * by dividing the number of the records by the length of the left-side dimension.
+	 *
+	 * @param rightDimensionLength The length of the right-side dimension, or 0 for inferring it.
+	 */
+	public synchronized void setRightDimensionLength(int rightDimensionLength) {
+		this.rightDimensionLength = rightDimensionLength;
+	}
+
+	/**
+	 * Gets the length of the right-side dimension of the grid of the records.
+	 *
+	 * @return The length of the right-side dimension, or 0 if it should be inferred from the size of the file.
+	 */
+	public synchronized int getRightDimensionLength() {
+		return this.rightDimensionLength;
+	}
+
+
+	/**
+	 * Gets the number of bytes of a record.
+	 *
+	 * @return The number of bytes of a record.
+	 */
+	public synchronized int getRecordLength() {
+		return this.columnCount * this.elementType.getSize();
+	}
+
+
+	/**
+	 * Validates correctness and consistency of parameters stored in this instance.
+	 *
+	 * If no issue is detected, nothing occurs.
+	 * If any issue is detected, throws IllegalStateException.
+	 *
+	 * @throws IllegalStateException Thrown when incorrect or inconsistent settings are detected.
+	 */
+	public synchronized void validate() throws IllegalStateException {
+		if (this.headerLength < 0) {
+			throw new IllegalStateException("The header length must not be negative: " + this.headerLength);
+		}
+		if (this.columnCount <= 0) {
+			throw new IllegalStateException("The column count must be positive: " + this.columnCount);
+		}
+		int[] columnIndices = { this.xColumnIndex, this.yColumnIndex, this.zColumnIndex };
+		for (int columnIndex: columnIndices) {
+			if (columnIndex < 0 || this.columnCount <= columnIndex) {
+				throw new IllegalStateException("The column index is out of bounds: " + columnIndex);
+			}
+		}
+		if (this.elementType == null) {
+			throw new IllegalStateException("The element type is null.");
+		}
+		if (this.byteOrder == null) {
+			throw new IllegalStateException("The byte order is null.");
+		}
+		if (this.leftDimensionLength <= 0) {
+			throw new IllegalStateException("The length of the left-side dimension must be positive: " + this.leftDimensionLength);
+		}
+		if (this.rightDimensionLength < 0) {
+			throw new IllegalStateException("The length of the right-side dimension must not be negative: " + this.rightDimensionLength);
+		}
+	}
+}
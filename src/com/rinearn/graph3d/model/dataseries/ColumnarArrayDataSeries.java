@@ -0,0 +1,796 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import com.rinearn.graph3d.config.DataIngestionConfiguration.StoragePrecision;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+
+/*
+[Inheritance tree]
+
+    AbstractDataSeries
+      |
+      +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries < This Class
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
+      |
+      +- MathDataSeries
+          |
+          +- ZxyMathDataSeries
+          |
+          +- XtYtZtMathDataSeries
+ */
+
+
+/**
+ * The array data series storing the X/Y/Z coordinate values and visibilities in contiguous off-heap memory.
+ *
+ * Each of X/Y/Z coordinate values and visibilities is stored in a "column", which is a direct buffer
+ * in which the rows are packed back to back (the beginning of each row is held as its offset),
+ * so jagged rows take no padding.
+ * Hence, the heap usage of this data series is proportional only to the number of the rows, not to the number of the points.
+ *
+ * The jagged arrays returned by getXCoordinates(), etc. are materialized on the heap in every call,
+ * so use getLeftDimensionLength(), getRightDimensionLength(int) and readRow(...) for iterating the points.
+ *
+ * The coordinate values can be stored in float32 precision, for halving the memory footprint and bandwidth.
+ * In that case, each column stores the differences from its "origin", which is the center of the range of the values
+ * computed in double precision when the values are stored, so the rounding errors are relative to the extent of the values
+ * (about 1/10^7 of it), rather than to their absolute magnitudes. Such errors are far smaller than a pixel on the screen.
+ */
+public class ColumnarArrayDataSeries extends ArrayDataSeries {
+
+	/** The precision in which the coordinate values are stored. */
+	private final StoragePrecision storagePrecision;
+
+	/** The number of bytes of a coordinate value, in the above precision. */
+	private final int valueSize;
+
+	/** The length of the left-side dimension (the number of rows). */
+	private volatile int leftDimensionLength = 0;
+
+	/** The offsets of the beginnings of the rows in the columns. */
+	private volatile int[] rowOffsets = new int[0];
+
+	/** The lengths of the right-side dimension of the rows. */
+	private volatile int[] rightDimensionLengths = new int[0];
+
+	/** The column storing the X-coordinate values of the points. */
+	private volatile Column xColumn = null;
+
+	/** The column storing the Y-coordinate values of the points. */
+	private volatile Column yColumn = null;
+
+	/** The column storing the Z-coordinate values of the points. */
+	private volatile Column zColumn = null;
+
+	/** The offsets of the beginnings of the bitsets of the rows in the visibility column, in words. */
+	private volatile int[] visibilityWordOffsets = new int[0];
+
+	/** The total number of words of the bitsets of all the rows in the visibility column. */
+	private volatile int visibilityWordCount = 0;
+
+	/** The maximum number of words of the bitsets of the rows, used as the size of the temporary buffers. */
+	private volatile int maxVisibilityWordCount = 0;
+
+	/**
+	 * The column storing the visibilities of the points as the bitsets of the rows (see VisibilityBitset),
+	 * or null if all the points are visible.
+	 */
+	private volatile LongBuffer visibilityColumn = null;
+
+
+	/**
+	 * Creates a new columnar array data series, storing the coordinate values in double precision.
+	 */
+	public ColumnarArrayDataSeries() {
+		this(StoragePrecision.FLOAT64);
+	}
+
+
+	/**
+	 * Creates a new columnar array data series, storing the coordinate values in the specified precision.
+	 *
+	 * @param storagePrecision The precision in which the coordinate values are stored.
+	 */
+	public ColumnarArrayDataSeries(StoragePrecision storagePrecision) {
+		if (storagePrecision == null) {
+			throw new IllegalArgumentException("The storage precision is null.");
+		}
+		this.storagePrecision = storagePrecision;
+		this.valueSize = (storagePrecision == StoragePrecision.FLOAT32) ? Float.BYTES : Double.BYTES;
+	}
+
+
+	/**
+	 * Creates a new columnar array data series consisting of the specified coordinates.
+	 *
+	 * The specified arrays are copied into the off-heap columns, so they are not referred by this data series.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points of this data series.
+	 * @param yCoordinates The Y-coordinate values of the points of this data series.
+	 * @param zCoordinates The Z-coordinate values of the points of this data series.
+	 */
+	public ColumnarArrayDataSeries(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates) {
+		this(xCoordinates, yCoordinates, zCoordinates, StoragePrecision.FLOAT64);
+	}
+
+
+	/**
+	 * Creates a new columnar array data series consisting of the specified coordinates,
+	 * storing them in the specified precision.
+	 *
+	 * The specified arrays are copied into the off-heap columns, so they are not referred by this data series.
+	 *
+	 * @param xCoordinates The X-coordinate values of the points of this data series.
+	 * @param yCoordinates The Y-coordinate values of the points of this data series.
+	 * @param zCoordinates The Z-coordinate values of the points of this data series.
+	 * @param storagePrecision The precision in which the coordinate values are stored.
+	 */
+	public ColumnarArrayDataSeries(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates,
+			StoragePrecision storagePrecision) {
+
+		this(storagePrecision);
+		this.setCoordinates(xCoordinates, yCoordinates, zCoordinates);
+	}
+
+
+	/**
+	 * Gets the precision in which the coordinate values are stored.
+	 *
+	 * @return The precision in which the coordinate values are stored.
+	 */
+	public StoragePrecision getStoragePrecision() {
+		return this.storagePrecision;
+	}
+
+
+	/**
+	 * Sets the X/Y/Z coordinate values of the points of this data series,
+	 * and sets the visibilities from them.
+	 *
+	 * The layout of the columns is re-defined from the shape of the specified arrays.
+	 *
+	 * @param xCoordinates The X-coordinate values.
+	 * @param yCoordinates The Y-coordinate values.
+	 * @param zCoordinates The Z-coordinate values.
+	 * @throws IllegalArgumentException Thrown if the shapes of the arrays are different, or the arrays are too large.
+	 */
+	public synchronized void setCoordinates(double[][] xCoordinates, double[][] yCoordinates, double[][] zCoordinates) {
+		if (!this.hasSameShape(xCoordinates, yCoordinates) || !this.hasSameShape(xCoordinates, zCoordinates)) {
+			throw new IllegalArgumentException("The shapes of the X/Y/Z coordinate arrays are different.");
+		}
+		this.allocateColumns(xCoordinates);
+		this.writeColumn(this.xColumn, xCoordinates);
+		this.writeColumn(this.yColumn, yCoordinates);
+		this.writeColumn(this.zColumn, zCoordinates);
+		this.setVisibilitiesFromCoordinates();
+	}
+
+
+	/**
+	 * Sets the X-coordinate values of the points of this data series.
+	 *
+	 * @param xCoordinates The X-coordinate values.
+	 * @throws IllegalArgumentException Thrown if the shape of the array is different from the current layout.
+	 */
+	@Override
+	public synchronized void setXCoordinates(double[][] xCoordinates) {
+		this.prepareColumns(xCoordinates);
+		this.writeColumn(this.xColumn, xCoordinates);
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the points of this data series, materialized as heap arrays.
+	 *
+	 * @return The X-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getXCoordinates() {
+		if (this.xColumn == null) {
+			throw new IllegalStateException("The X-coordinate values have not been initialized yet.");
+		}
+		return this.readColumn(this.xColumn);
+	}
+
+
+	/**
+	 * Sets the Y-coordinate values of the points of this data series.
+	 *
+	 * @param yCoordinates The Y-coordinate values.
+	 * @throws IllegalArgumentException Thrown if the shape of the array is different from the current layout.
+	 */
+	@Override
+	public synchronized void setYCoordinates(double[][] yCoordinates) {
+		this.prepareColumns(yCoordinates);
+		this.writeColumn(this.yColumn, yCoordinates);
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Gets the Y-coordinate values of the points of this data series, materialized as heap arrays.
+	 *
+	 * @return The Y-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getYCoordinates() {
+		if (this.yColumn == null) {
+			throw new IllegalStateException("The Y-coordinate values have not been initialized yet.");
+		}
+		return this.readColumn(this.yColumn);
+	}
+
+
+	/**
+	 * Sets the Z-coordinate values of the points of this data series.
+	 *
+	 * @param zCoordinates The Z-coordinate values.
+	 * @throws IllegalArgumentException Thrown if the shape of the array is different from the current layout.
+	 */
+	@Override
+	public synchronized void setZCoordinates(double[][] zCoordinates) {
+		this.prepareColumns(zCoordinates);
+		this.writeColumn(this.zColumn, zCoordinates);
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Gets the Z-coordinate values of the points of this data series, materialized as heap arrays.
+	 *
+	 * @return The Z-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getZCoordinates() {
+		if (this.zColumn == null) {
+			throw new IllegalStateException("The Z-coordinate values have not been initialized yet.");
+		}
+		return this.readColumn(this.zColumn);
+	}
+
+
+	/**
+	 * Sets the visibilities of the points of this data series.
+	 *
+	 * @param visibilities The array storing visibilities of the points of this data series.
+	 * @throws IllegalArgumentException Thrown if the shape of the array is different from the current layout.
+	 */
+	@Override
+	public synchronized void setVisibilities(boolean[][] visibilities) {
+		if (!this.hasCurrentShape(visibilities)) {
+			throw new IllegalArgumentException("The shape of the visibility array is different from the coordinate arrays.");
+		}
+		LongBuffer visibilityColumn = null;
+		long[] words = new long[this.maxVisibilityWordCount];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			int rightDimLength = this.rightDimensionLengths[iL];
+			VisibilityBitset.pack(visibilities[iL], words, rightDimLength);
+			if (visibilityColumn == null && VisibilityBitset.isAllVisible(words, rightDimLength)) {
+				continue;
+			}
+			if (visibilityColumn == null) {
+				visibilityColumn = this.allocateVisibilityColumn();
+			}
+			visibilityColumn.position(this.visibilityWordOffsets[iL]);
+			visibilityColumn.put(words, 0, VisibilityBitset.wordCount(rightDimLength));
+			visibilityColumn.rewind();
+		}
+		this.visibilityColumn = visibilityColumn;
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Sets the visibilities from the X/Y/Z coordinate values.
+	 *
+	 * If X/Y/Z coordinate values of a point contains NaN, the point is regarded as invisible.
+	 */
+	@Override
+	public synchronized void setVisibilitiesFromCoordinates() {
+		if (this.xColumn == null) {
+			throw new IllegalStateException("The coordinate values have not been initialized yet.");
+		}
+		LongBuffer visibilityColumn = null;
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			int offset = this.rowOffsets[iL];
+			int wordOffset = this.visibilityWordOffsets[iL];
+			int rightDimLength = this.rightDimensionLengths[iL];
+			for (int iR=0; iR<rightDimLength; iR++) {
+				int index = offset + iR;
+				boolean xIsNaN = Double.isNaN(this.xColumn.get(index));
+				boolean yIsNaN = Double.isNaN(this.yColumn.get(index));
+				boolean zIsNaN = Double.isNaN(this.zColumn.get(index));
+				if (xIsNaN || yIsNaN || zIsNaN) {
+
+					// Allocate the visibility column only when an invisible point is found.
+					if (visibilityColumn == null) {
+						visibilityColumn = this.allocateVisibilityColumn();
+					}
+					int wordIndex = wordOffset + VisibilityBitset.wordIndexOf(iR);
+					visibilityColumn.put(wordIndex, visibilityColumn.get(wordIndex) & ~VisibilityBitset.bitOf(iR));
+				}
+			}
+		}
+		this.visibilityColumn = visibilityColumn;
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Gets the visibilities of the points of this data series, materialized as heap arrays.
+	 *
+	 * @return The array storing visibilities of the points of this data series.
+	 */
+	@Override
+	public synchronized boolean[][] getVisibilities() {
+		if (this.xColumn == null) {
+			throw new IllegalStateException("The visibilities have not been initialized yet.");
+		}
+		boolean[][] visibilities = new boolean[this.leftDimensionLength][];
+		long[] words = new long[this.maxVisibilityWordCount];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			int rightDimLength = this.rightDimensionLengths[iL];
+			visibilities[iL] = new boolean[rightDimLength];
+			this.readVisibilityWords(iL, words, rightDimLength);
+			VisibilityBitset.unpack(words, visibilities[iL], rightDimLength);
+		}
+		return visibilities;
+	}
+
+
+	/**
+	 * Gets the length of the left-side dimension (the number of rows) of the points of this data series.
+	 *
+	 * @return The length of the left-side dimension.
+	 */
+	@Override
+	public synchronized int getLeftDimensionLength() {
+		return this.leftDimensionLength;
+	}
+
+
+	/**
+	 * Gets the length of the right-side dimension (the number of points) of the specified row.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @return The length of the right-side dimension of the row.
+	 */
+	@Override
+	public synchronized int getRightDimensionLength(int leftIndex) {
+		return this.rightDimensionLengths[leftIndex];
+	}
+
+
+	/**
+	 * Reads the X/Y/Z coordinate values and the visibilities of the points in the specified row, into the specified buffers.
+	 *
+	 * The values are copied from the off-heap columns by bulk operations, without materializing the jagged arrays.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param xBuffer The buffer to which the X-coordinate values will be stored.
+	 * @param yBuffer The buffer to which the Y-coordinate values will be stored.
+	 * @param zBuffer The buffer to which the Z-coordinate values will be stored.
+	 * @param visibilityBuffer The bitset to which the visibilities will be stored (see VisibilityBitset).
+	 * @return The number of the read points.
+	 */
+	@Override
+	public synchronized int readRow(int leftIndex, double[] xBuffer, double[] yBuffer, double[] zBuffer, long[] visibilityBuffer) {
+		if (this.xColumn == null) {
+			throw new IllegalStateException("The coordinate values have not been initialized yet.");
+		}
+		int offset = this.rowOffsets[leftIndex];
+		int readLength = Math.min(this.rightDimensionLengths[leftIndex], xBuffer.length);
+		this.xColumn.read(offset, xBuffer, readLength);
+		this.yColumn.read(offset, yBuffer, readLength);
+		this.zColumn.read(offset, zBuffer, readLength);
+		this.readVisibilityWords(leftIndex, visibilityBuffer, readLength);
+		return readLength;
+	}
+
+
+	/**
+	 * Accumulates the visible points in the specified segment into the array of the minimum/maximum values.
+	 *
+	 * This method reads the off-heap columns by absolute get operations without locking,
+	 * so the segments can be processed on multiple threads in parallel.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param beginRightIndex The index of the first point of the segment in the row.
+	 * @param endRightIndex The index next to the last point of the segment in the row.
+	 * @param minMax The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 */
+	@Override
+	protected void accumulateRange(int leftIndex, int beginRightIndex, int endRightIndex, double[] minMax) {
+		Column x = this.xColumn;
+		Column y = this.yColumn;
+		Column z = this.zColumn;
+		LongBuffer visibility = this.visibilityColumn;
+		if (x == null) {
+			return;
+		}
+		int offset = this.rowOffsets[leftIndex];
+		int wordOffset = this.visibilityWordOffsets[leftIndex];
+		for (int iR=beginRightIndex; iR<endRightIndex; iR++) {
+			if (visibility == null || (visibility.get(wordOffset + VisibilityBitset.wordIndexOf(iR)) & VisibilityBitset.bitOf(iR)) != 0L) {
+				DataSeriesRange.accumulate(minMax, x.get(offset + iR), y.get(offset + iR), z.get(offset + iR));
+			}
+		}
+	}
+
+
+	/**
+	 * Allocates the columns, if they have not been allocated yet.
+	 * Otherwise, checks that the shape of the specified array matches with the current layout.
+	 *
+	 * @param coordinates The coordinate values to be stored into a column.
+	 * @throws IllegalArgumentException Thrown if the shape of the array is different from the current layout.
+	 */
+	private void prepareColumns(double[][] coordinates) {
+		if (this.xColumn == null) {
+			this.allocateColumns(coordinates);
+			return;
+		}
+		if (!this.hasCurrentShape(coordinates)) {
+			throw new IllegalArgumentException(
+				"The shape of the coordinate array is different from the current layout. " +
+				"Use setCoordinates(x, y, z) for changing the shape."
+			);
+		}
+	}
+
+
+	/**
+	 * Defines the layout from the shape of the specified array, and allocates the columns for it.
+	 *
+	 * @param coordinates The array of which shape defines the layout.
+	 * @throws IllegalArgumentException Thrown if the array is too large to be stored in a column.
+	 */
+	private void allocateColumns(double[][] coordinates) {
+		int leftDimLength = coordinates.length;
+		int[] rightDimLengths = new int[leftDimLength];
+		int[] rowOffsets = new int[leftDimLength];
+		int[] visibilityWordOffsets = new int[leftDimLength];
+		int pointCount = 0;
+		int visibilityWordCount = 0;
+		int maxVisibilityWordCount = 0;
+		for (int iL=0; iL<leftDimLength; iL++) {
+			rightDimLengths[iL] = coordinates[iL].length;
+			int wordCount = VisibilityBitset.wordCount(rightDimLengths[iL]);
+
+			long columnBytes = ((long)pointCount + (long)rightDimLengths[iL]) * this.valueSize;
+			if (Integer.MAX_VALUE < columnBytes) {
+				throw new IllegalArgumentException(
+					"Too many points (more than " + pointCount + " in " + iL + " rows) to be stored in a column."
+				);
+			}
+			rowOffsets[iL] = pointCount;
+			visibilityWordOffsets[iL] = visibilityWordCount;
+			pointCount += rightDimLengths[iL];
+			visibilityWordCount += wordCount;
+			maxVisibilityWordCount = Math.max(maxVisibilityWordCount, wordCount);
+		}
+
+		this.leftDimensionLength = leftDimLength;
+		this.rowOffsets = rowOffsets;
+		this.rightDimensionLengths = rightDimLengths;
+		this.xColumn = this.allocateColumn(pointCount);
+		this.yColumn = this.allocateColumn(pointCount);
+		this.zColumn = this.allocateColumn(pointCount);
+		this.visibilityWordOffsets = visibilityWordOffsets;
+		this.visibilityWordCount = visibilityWordCount;
+		this.maxVisibilityWordCount = maxVisibilityWordCount;
+		this.visibilityColumn = null;
+	}
+
+
+	/**
+	 * Allocates an off-heap column storing the specified number of values, in the precision of this data series.
+	 *
+	 * @param size The number of values.
+	 * @return The allocated column.
+	 */
+	private Column allocateColumn(int size) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(size * this.valueSize).order(ByteOrder.nativeOrder());
+		switch (this.storagePrecision) {
+			case FLOAT64 : {
+				return new Float64Column(buffer.asDoubleBuffer());
+			}
+			case FLOAT32 : {
+				return new Float32Column(buffer.asFloatBuffer());
+			}
+			default : {
+				throw new IllegalStateException("Unexpected storage precision: " + this.storagePrecision);
+			}
+		}
+	}
+
+
+	/**
+	 * Allocates an off-heap visibility column, in which all the points are visible.
+	 *
+	 * @return The allocated visibility column.
+	 */
+	private LongBuffer allocateVisibilityColumn() {
+		LongBuffer visibilityColumn = ByteBuffer.allocateDirect(this.visibilityWordCount * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+		long[] words = new long[this.maxVisibilityWordCount];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			int rightDimLength = this.rightDimensionLengths[iL];
+			VisibilityBitset.setAllVisible(words, rightDimLength);
+			visibilityColumn.position(this.visibilityWordOffsets[iL]);
+			visibilityColumn.put(words, 0, VisibilityBitset.wordCount(rightDimLength));
+		}
+		visibilityColumn.rewind();
+		return visibilityColumn;
+	}
+
+
+	/**
+	 * Reads the bitset of the visibilities of the specified row, into the specified buffer.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param buffer The buffer to which the bitset will be stored.
+	 * @param length The number of the points to be read.
+	 */
+	private void readVisibilityWords(int leftIndex, long[] buffer, int length) {
+		LongBuffer visibilityColumn = this.visibilityColumn;
+		if (visibilityColumn == null) {
+			VisibilityBitset.setAllVisible(buffer, length);
+			return;
+		}
+		visibilityColumn.position(this.visibilityWordOffsets[leftIndex]);
+		visibilityColumn.get(buffer, 0, VisibilityBitset.wordCount(length));
+		visibilityColumn.rewind();
+	}
+
+
+	/**
+	 * Writes the specified coordinate values into the specified column, row by row.
+	 *
+	 * @param column The column to which the values will be written.
+	 * @param coordinates The coordinate values to be written.
+	 */
+	private void writeColumn(Column column, double[][] coordinates) {
+		column.write(coordinates, this.rowOffsets, this.rightDimensionLengths);
+	}
+
+
+	/**
+	 * Reads all the values in the specified column, and returns them as jagged arrays.
+	 *
+	 * @param column The column from which the values will be read.
+	 * @return The read values.
+	 */
+	private double[][] readColumn(Column column) {
+		double[][] coordinates = new double[this.leftDimensionLength][];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			coordinates[iL] = new double[this.rightDimensionLengths[iL]];
+			column.read(this.rowOffsets[iL], coordinates[iL], this.rightDimensionLengths[iL]);
+		}
+		return coordinates;
+	}
+
+
+	/**
+	 * Checks whether the shapes of the specified two arrays are the same.
+	 *
+	 * @param arrayA The array to be compared.
+	 * @param arrayB The array to be compared.
+	 * @return Returns true if the shapes are the same.
+	 */
+	private boolean hasSameShape(double[][] arrayA, double[][] arrayB) {
+		if (arrayA.length != arrayB.length) {
+			return false;
+		}
+		for (int iL=0; iL<arrayA.length; iL++) {
+			if (arrayA[iL].length != arrayB[iL].length) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Checks whether the shape of the specified array matches with the current layout.
+	 *
+	 * @param array The array to be checked (double[][] or boolean[][]).
+	 * @return Returns true if the shape matches with the current layout.
+	 */
+	private boolean hasCurrentShape(Object[] array) {
+		if (array.length != this.leftDimensionLength) {
+			return false;
+		}
+		for (int iL=0; iL<array.length; iL++) {
+			int rightDimLength = (array[iL] instanceof double[])
+					? ((double[])array[iL]).length : ((boolean[])array[iL]).length;
+			if (rightDimLength != this.rightDimensionLengths[iL]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * The off-heap column storing coordinate values, in which the rows are packed back to back.
+	 */
+	private static abstract class Column {
+
+		/**
+		 * Writes the specified coordinate values into this column, row by row.
+		 *
+		 * @param coordinates The coordinate values to be written.
+		 * @param rowOffsets The offsets of the beginnings of the rows.
+		 * @param rightDimLengths The lengths of the right-side dimension of the rows.
+		 */
+		public abstract void write(double[][] coordinates, int[] rowOffsets, int[] rightDimLengths);
+
+		/**
+		 * Reads the consecutive values from this column, into the specified buffer.
+		 *
+		 * @param offset The index of the first value to be read.
+		 * @param buffer The buffer to which the values will be stored.
+		 * @param length The number of the values to be read.
+		 */
+		public abstract void read(int offset, double[] buffer, int length);
+
+		/**
+		 * Gets the value at the specified index, by an absolute get operation (without changing the state of this column).
+		 *
+		 * @param index The index of the value.
+		 * @return The value.
+		 */
+		public abstract double get(int index);
+	}
+
+
+	/**
+	 * The column storing coordinate values in double precision.
+	 */
+	private static final class Float64Column extends Column {
+
+		/** The buffer storing the values. */
+		private final DoubleBuffer buffer;
+
+		/**
+		 * Creates a new column on the specified buffer.
+		 *
+		 * @param buffer The buffer storing the values.
+		 */
+		public Float64Column(DoubleBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Writes the specified coordinate values into this column, row by row.
+		 *
+		 * @param coordinates The coordinate values to be written.
+		 * @param rowOffsets The offsets of the beginnings of the rows.
+		 * @param rightDimLengths The lengths of the right-side dimension of the rows.
+		 */
+		@Override
+		public void write(double[][] coordinates, int[] rowOffsets, int[] rightDimLengths) {
+			for (int iL=0; iL<rightDimLengths.length; iL++) {
+				this.buffer.position(rowOffsets[iL]);
+				this.buffer.put(coordinates[iL], 0, rightDimLengths[iL]);
+			}
+			this.buffer.rewind();
+		}
+
+		/**
+		 * Reads the consecutive values from this column, into the specified buffer.
+		 *
+		 * @param offset The index of the first value to be read.
+		 * @param buffer The buffer to which the values will be stored.
+		 * @param length The number of the values to be read.
+		 */
+		@Override
+		public void read(int offset, double[] buffer, int length) {
+			this.buffer.position(offset);
+			this.buffer.get(buffer, 0, length);
+			this.buffer.rewind();
+		}
+
+		/**
+		 * Gets the value at the specified index, by an absolute get operation.
+		 *
+		 * @param index The index of the value.
+		 * @return The value.
+		 */
+		@Override
+		public double get(int index) {
+			return this.buffer.get(index);
+		}
+	}
+
+
+	/**
+	 * The column storing coordinate values in float precision, as the differences from the origin of the column.
+	 */
+	private static final class Float32Column extends Column {
+
+		/** The buffer storing the differences of the values from the origin. */
+		private final FloatBuffer buffer;
+
+		/** The origin of the column, which is the center of the range of the (finite) stored values. */
+		private volatile double origin = 0.0;
+
+		/**
+		 * Creates a new column on the specified buffer.
+		 *
+		 * @param buffer The buffer storing the differences of the values from the origin.
+		 */
+		public Float32Column(FloatBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Writes the specified coordinate values into this column, row by row.
+		 *
+		 * @param coordinates The coordinate values to be written.
+		 * @param rowOffsets The offsets of the beginnings of the rows.
+		 * @param rightDimLengths The lengths of the right-side dimension of the rows.
+		 */
+		@Override
+		public void write(double[][] coordinates, int[] rowOffsets, int[] rightDimLengths) {
+
+			// Determine the origin in double precision, before rounding the values.
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int iL=0; iL<rightDimLengths.length; iL++) {
+				for (int iR=0; iR<rightDimLengths[iL]; iR++) {
+					double value = coordinates[iL][iR];
+					if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+						min = Math.min(min, value);
+						max = Math.max(max, value);
+					}
+				}
+			}
+			double origin = min <= max ? min + (max - min) * 0.5 : 0.0;
+
+			for (int iL=0; iL<rightDimLengths.length; iL++) {
+				int offset = rowOffsets[iL];
+				for (int iR=0; iR<rightDimLengths[iL]; iR++) {
+					this.buffer.put(offset + iR, (float)(coordinates[iL][iR] - origin));
+				}
+			}
+			this.origin = origin;
+		}
+
+		/**
+		 * Reads the consecutive values from this column, into the specified buffer.
+		 *
+		 * @param offset The index of the first value to be read.
+		 * @param buffer The buffer to which the values will be stored.
+		 * @param length The number of the values to be read.
+		 */
+		@Override
+		public void read(int offset, double[] buffer, int length) {
+			double origin = this.origin;
+			for (int i=0; i<length; i++) {
+				buffer[i] = origin + this.buffer.get(offset + i);
+			}
+		}
+
+		/**
+		 * Gets the value at the specified index, by an absolute get operation.
+		 *
+		 * @param index The index of the value.
+		 * @return The value.
+		 */
+		@Override
+		public double get(int index) {
+			return this.origin + this.buffer.get(index);
+		}
+	}
+}
@@ -0,0 +1,526 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import java.util.Arrays;
+import java.util.Random;
+
+
+/**
+ * The class providing the decimation (downsampling) of huge data series, for keeping plottings of them interactive.
+ *
+ * All the methods of this class return a new ArrayDataSeries storing the decimated points,
+ * without modifying the specified data series. The invisible points are not contained in the results.
+ * The random numbers used for sampling are generated from fixed seeds,
+ * so the results for the same data series are always the same.
+ */
+public final class DataSeriesDecimator {
+
+	/** The seed of the random numbers used for sampling. */
+	private static final long SAMPLING_SEED = 0x5DEECE66DL;
+
+
+	/**
+	 * The constructor is private, because all the methods of this class are static.
+	 */
+	private DataSeriesDecimator() {
+	}
+
+
+	/**
+	 * Counts the number of points (including invisible points) of the specified data series.
+	 *
+	 * @param dataSeries The data series.
+	 * @return The number of points.
+	 */
+	public static long countPoints(AbstractDataSeries dataSeries) {
+		long pointCount = 0L;
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength; iL++) {
+			pointCount += dataSeries.getRightDimensionLength(iL);
+		}
+		return pointCount;
+	}
+
+
+	/**
+	 * Decimates the points by the voxel grid in the scaled space,
+	 * in which each axis of the graph frame is divided into the specified number of cells.
+	 *
+	 * The points in the same voxel are replaced with a point at their centroid.
+	 * The points out of the specified range are discarded, because they are not plotted.
+	 *
+	 * @param dataSeries The data series to be decimated.
+	 * @param resolution The number of voxels along each axis.
+	 * @param minimums The minimum values of the X/Y/Z ranges.
+	 * @param maximums The maximum values of the X/Y/Z ranges.
+	 * @return The decimated data series, consisting of a single row.
+	 */
+	public static ArrayDataSeries decimateByVoxelGrid(
+			AbstractDataSeries dataSeries, int resolution, double[] minimums, double[] maximums) {
+
+		if (resolution <= 0) {
+			throw new IllegalArgumentException("The resolution must be positive: " + resolution);
+		}
+		double[] scales = new double[3];
+		for (int idim=0; idim<3; idim++) {
+			scales[idim] = resolution / (maximums[idim] - minimums[idim]);
+		}
+
+		// Accumulate the sums of the coordinates of the points in each voxel.
+		VoxelIndexMap voxelIndexMap = new VoxelIndexMap();
+		double[] xSums = new double[1024];
+		double[] ySums = new double[1024];
+		double[] zSums = new double[1024];
+		int[] counts = new int[1024];
+		int voxelCount = 0;
+
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength; iL++) {
+			row.read(dataSeries, iL);
+			double[] xCoords = row.getXCoordinates();
+			double[] yCoords = row.getYCoordinates();
+			double[] zCoords = row.getZCoordinates();
+			int rightDimLength = row.getLength();
+			for (int iR=row.nextVisibleIndex(0); iR<rightDimLength; iR=row.nextVisibleIndex(iR + 1)) {
+				long ix = toVoxelIndex(xCoords[iR], minimums[0], scales[0], resolution);
+				long iy = toVoxelIndex(yCoords[iR], minimums[1], scales[1], resolution);
+				long iz = toVoxelIndex(zCoords[iR], minimums[2], scales[2], resolution);
+				if (ix < 0 || iy < 0 || iz < 0) {
+					continue;
+				}
+
+				long voxelKey = ix + resolution * (iy + resolution * iz);
+				int voxelIndex = voxelIndexMap.getOrPut(voxelKey, voxelCount);
+				if (voxelIndex == voxelCount) {
+					if (voxelCount == counts.length) {
+						int newCapacity = counts.length * 2;
+						xSums = Arrays.copyOf(xSums, newCapacity);
+						ySums = Arrays.copyOf(ySums, newCapacity);
+						zSums = Arrays.copyOf(zSums, newCapacity);
+						counts = Arrays.copyOf(counts, newCapacity);
+					}
+					voxelCount++;
+				}
+				xSums[voxelIndex] += xCoords[iR];
+				ySums[voxelIndex] += yCoords[iR];
+				zSums[voxelIndex] += zCoords[iR];
+				counts[voxelIndex]++;
+			}
+		}
+
+		// Create the points at the centroids of the voxels.
+		double[][] x = new double[1][voxelCount];
+		double[][] y = new double[1][voxelCount];
+		double[][] z = new double[1][voxelCount];
+		for (int ivoxel=0; ivoxel<voxelCount; ivoxel++) {
+			x[0][ivoxel] = xSums[ivoxel] / counts[ivoxel];
+			y[0][ivoxel] = ySums[ivoxel] / counts[ivoxel];
+			z[0][ivoxel] = zSums[ivoxel] / counts[ivoxel];
+		}
+		return new ArrayDataSeries(x, y, z);
+	}
+
+
+	/**
+	 * Converts the specified coordinate value into the index of the voxel along an axis.
+	 *
+	 * @param coordinate The coordinate value.
+	 * @param minimum The minimum value of the range of the axis.
+	 * @param scale The number of voxels per unit length.
+	 * @param resolution The number of voxels along the axis.
+	 * @return The index of the voxel, or -1 if the coordinate value is out of the range.
+	 */
+	private static long toVoxelIndex(double coordinate, double minimum, double scale, int resolution) {
+		double position = (coordinate - minimum) * scale;
+
+		// Written in the negated form, for regarding NaN as out of the range.
+		if (!(0.0 <= position && position <= resolution)) {
+			return -1L;
+		}
+		return Math.min((long)position, resolution - 1);
+	}
+
+
+	/**
+	 * Decimates the points by the random sampling, into the specified number of points.
+	 *
+	 * Each point is selected with the equal probability, and exactly the specified number of points are selected
+	 * (if the data series has more points than it), by the selection sampling algorithm.
+	 *
+	 * @param dataSeries The data series to be decimated.
+	 * @param pointBudget The number of points to be selected.
+	 * @return The decimated data series, consisting of a single row.
+	 */
+	public static ArrayDataSeries decimateByRandomSampling(AbstractDataSeries dataSeries, int pointBudget) {
+		Random random = new Random(SAMPLING_SEED);
+		long remainingCount = countPoints(dataSeries);
+		long neededCount = Math.min(pointBudget, remainingCount);
+		PointCollector collector = new PointCollector((int)neededCount);
+
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength && 0 < neededCount; iL++) {
+			row.read(dataSeries, iL);
+			int rightDimLength = row.getLength();
+			for (int iR=0; iR<rightDimLength && 0 < neededCount; iR++) {
+
+				// Select the point with the probability (needed / remaining).
+				if (random.nextDouble() * remainingCount < neededCount) {
+					collector.add(row, iR);
+					neededCount--;
+				}
+				remainingCount--;
+			}
+		}
+		return collector.toDataSeries();
+	}
+
+
+	/**
+	 * Decimates the points by the stratified sampling, into the specified number of points.
+	 *
+	 * The sequence of the points is divided into the specified number of strata having the equal length,
+	 * and a point is selected randomly from each stratum.
+	 * Compared with the random sampling, the selected points distribute more evenly along the sequence.
+	 *
+	 * @param dataSeries The data series to be decimated.
+	 * @param pointBudget The number of points to be selected.
+	 * @return The decimated data series, consisting of a single row.
+	 */
+	public static ArrayDataSeries decimateByStratifiedSampling(AbstractDataSeries dataSeries, int pointBudget) {
+		Random random = new Random(SAMPLING_SEED);
+		long pointCount = countPoints(dataSeries);
+		int strataCount = (int)Math.min(pointBudget, pointCount);
+		PointCollector collector = new PointCollector(strataCount);
+		if (strataCount == 0) {
+			return collector.toDataSeries();
+		}
+
+		// The global index of the point to be selected from the current stratum.
+		int stratumIndex = 0;
+		long selectedPointIndex = selectFromStratum(stratumIndex, strataCount, pointCount, random);
+
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
+		long rowBeginPointIndex = 0L;
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength && stratumIndex < strataCount; iL++) {
+			int rightDimLength = dataSeries.getRightDimensionLength(iL);
+			long rowEndPointIndex = rowBeginPointIndex + rightDimLength;
+
+			// Skip reading the rows not containing any selected point.
+			if (rowEndPointIndex <= selectedPointIndex) {
+				rowBeginPointIndex = rowEndPointIndex;
+				continue;
+			}
+			row.read(dataSeries, iL);
+			while (stratumIndex < strataCount && selectedPointIndex < rowBeginPointIndex + row.getLength()) {
+				collector.add(row, (int)(selectedPointIndex - rowBeginPointIndex));
+				stratumIndex++;
+				selectedPointIndex = selectFromStratum(stratumIndex, strataCount, pointCount, random);
+			}
+			rowBeginPointIndex = rowEndPointIndex;
+		}
+		return collector.toDataSeries();
+	}
+
+
+	/**
+	 * Selects the global index of a point randomly from the specified stratum.
+	 *
+	 * @param stratumIndex The index of the stratum.
+	 * @param strataCount The number of the strata.
+	 * @param pointCount The total number of the points.
+	 * @param random The generator of random numbers.
+	 * @return The global index of the selected point.
+	 */
+	private static long selectFromStratum(int stratumIndex, int strataCount, long pointCount, Random random) {
+		long stratumBegin = (long)(((double)stratumIndex / strataCount) * pointCount);
+		long stratumEnd = (long)(((double)(stratumIndex + 1) / strataCount) * pointCount);
+		long stratumLength = Math.max(1L, stratumEnd - stratumBegin);
+		return Math.min(pointCount - 1L, stratumBegin + (long)(random.nextDouble() * stratumLength));
+	}
+
+
+	/**
+	 * Decimates the points of each row (line) by the min/max-preserving decimation.
+	 *
+	 * Each row is divided into the specified number of buckets of consecutive points,
+	 * and only the first, the last, and the points having the minimum/maximum Z-coordinate values in each bucket are kept,
+	 * so the peaks of the lines are never lost.
+	 * The buckets containing invisible points are kept as they are, for keeping the gaps of the lines.
+	 *
+	 * @param dataSeries The data series to be decimated.
+	 * @param bucketCount The number of buckets of each row.
+	 * @return The decimated data series, having the same number of rows as the specified data series.
+	 */
+	public static ArrayDataSeries decimateByMinMax(AbstractDataSeries dataSeries, int bucketCount) {
+		if (bucketCount <= 0) {
+			throw new IllegalArgumentException("The bucket count must be positive: " + bucketCount);
+		}
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		double[][] x = new double[leftDimLength][];
+		double[][] y = new double[leftDimLength][];
+		double[][] z = new double[leftDimLength][];
+
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
+		for (int iL=0; iL<leftDimLength; iL++) {
+			row.read(dataSeries, iL);
+			int rightDimLength = row.getLength();
+			PointCollector collector = new PointCollector(Math.min(rightDimLength, bucketCount * 4));
+
+			// If the row is short enough, keep all of its points.
+			if (rightDimLength <= bucketCount * 4) {
+				for (int iR=0; iR<rightDimLength; iR++) {
+					collector.addWithGap(row, iR);
+				}
+			} else {
+				for (int ibucket=0; ibucket<bucketCount; ibucket++) {
+					int bucketBegin = (int)((long)rightDimLength * ibucket / bucketCount);
+					int bucketEnd = (int)((long)rightDimLength * (ibucket + 1) / bucketCount);
+					collectMinMaxOfBucket(row, bucketBegin, bucketEnd, collector);
+				}
+			}
+			x[iL] = collector.getXCoordinates();
+			y[iL] = collector.getYCoordinates();
+			z[iL] = collector.getZCoordinates();
+		}
+		return new ArrayDataSeries(x, y, z);
+	}
+
+
+	/**
+	 * Collects the first, the last, and the points having the minimum/maximum Z-coordinate values in the specified bucket,
+	 * in the order of the indices.
+	 *
+	 * @param row The row containing the bucket.
+	 * @param bucketBegin The index of the first point of the bucket.
+	 * @param bucketEnd The index next to the last point of the bucket.
+	 * @param collector The collector to which the points are added.
+	 */
+	private static void collectMinMaxOfBucket(DataSeriesRowBuffer row, int bucketBegin, int bucketEnd, PointCollector collector) {
+		double[] zCoords = row.getZCoordinates();
+		int minIndex = bucketBegin;
+		int maxIndex = bucketBegin;
+		for (int iR=bucketBegin; iR<bucketEnd; iR++) {
+
+			// Keep the bucket as it is, if it contains invisible points.
+			if (!row.isVisible(iR)) {
+				for (int jR=bucketBegin; jR<bucketEnd; jR++) {
+					collector.addWithGap(row, jR);
+				}
+				return;
+			}
+			if (zCoords[iR] < zCoords[minIndex]) {
+				minIndex = iR;
+			}
+			if (zCoords[maxIndex] < zCoords[iR]) {
+				maxIndex = iR;
+			}
+		}
+		int[] indices = { bucketBegin, Math.min(minIndex, maxIndex), Math.max(minIndex, maxIndex), bucketEnd - 1 };
+		for (int i=0; i<indices.length; i++) {
+			if (i == 0 || indices[i] != indices[i - 1]) {
+				collector.add(row, indices[i]);
+			}
+		}
+	}
+
+
+	/**
+	 * The growable container of the coordinate values of the selected points.
+	 */
+	private static final class PointCollector {
+
+		/** The X-coordinate values of the collected points. */
+		private double[] x;
+
+		/** The Y-coordinate values of the collected points. */
+		private double[] y;
+
+		/** The Z-coordinate values of the collected points. */
+		private double[] z;
+
+		/** The number of the collected points. */
+		private int count = 0;
+
+		/**
+		 * Creates a new empty collector.
+		 *
+		 * @param initialCapacity The initial capacity.
+		 */
+		public PointCollector(int initialCapacity) {
+			this.x = new double[Math.max(16, initialCapacity)];
+			this.y = new double[this.x.length];
+			this.z = new double[this.x.length];
+		}
+
+		/**
+		 * Adds the specified point in the row, if it is visible.
+		 *
+		 * @param row The row containing the point.
+		 * @param index The index of the point in the row.
+		 */
+		public void add(DataSeriesRowBuffer row, int index) {
+			if (row.isVisible(index)) {
+				this.put(row.getXCoordinates()[index], row.getYCoordinates()[index], row.getZCoordinates()[index]);
+			}
+		}
+
+		/**
+		 * Adds the specified point in the row. If it is invisible, it is added as a point of NaN, to be a gap of the line.
+		 *
+		 * @param row The row containing the point.
+		 * @param index The index of the point in the row.
+		 */
+		public void addWithGap(DataSeriesRowBuffer row, int index) {
+			if (row.isVisible(index)) {
+				this.put(row.getXCoordinates()[index], row.getYCoordinates()[index], row.getZCoordinates()[index]);
+			} else {
+				this.put(Double.NaN, Double.NaN, Double.NaN);
+			}
+		}
+
+		/**
+		 * Stores the specified coordinate values.
+		 *
+		 * @param xValue The X-coordinate value.
+		 * @param yValue The Y-coordinate value.
+		 * @param zValue The Z-coordinate value.
+		 */
+		private void put(double xValue, double yValue, double zValue) {
+			if (this.count == this.x.length) {
+				this.x = Arrays.copyOf(this.x, this.count * 2);
+				this.y = Arrays.copyOf(this.y, this.count * 2);
+				this.z = Arrays.copyOf(this.z, this.count * 2);
+			}
+			this.x[this.count] = xValue;
+			this.y[this.count] = yValue;
+			this.z[this.count] = zValue;
+			this.count++;
+		}
+
+		/**
+		 * Gets the X-coordinate values of the collected points.
+		 *
+		 * @return The X-coordinate values.
+		 */
+		public double[] getXCoordinates() {
+			return Arrays.copyOf(this.x, this.count);
+		}
+
+		/**
+		 * Gets the Y-coordinate values of the collected points.
+		 *
+		 * @return The Y-coordinate values.
+		 */
+		public double[] getYCoordinates() {
+			return Arrays.copyOf(this.y, this.count);
+		}
+
+		/**
+		 * Gets the Z-coordinate values of the collected points.
+		 *
+		 * @return The Z-coordinate values.
+		 */
+		public double[] getZCoordinates() {
+			return Arrays.copyOf(this.z, this.count);
+		}
+
+		/**
+		 * Creates a data series consisting of a single row of the collected points.
+		 *
+		 * @return The created data series.
+		 */
+		public ArrayDataSeries toDataSeries() {
+			return new ArrayDataSeries(
+				new double[][] { this.getXCoordinates() },
+				new double[][] { this.getYCoordinates() },
+				new double[][] { this.getZCoordinates() }
+			);
+		}
+	}
+
+
+	/**
+	 * The open-addressing hash map from the keys of voxels to their indices, without boxing.
+	 */
+	private static final class VoxelIndexMap {
+
+		/** The value representing an empty slot in the key array (the keys of voxels are never negative). */
+		private static final long EMPTY_KEY = -1L;
+
+		/** The keys of the voxels. */
+		private long[] keys = new long[1 << 12];
+
+		/** The indices of the voxels. */
+		private int[] values = new int[1 << 12];
+
+		/** The number of the stored entries. */
+		private int size = 0;
+
+		/**
+		 * Creates a new empty map.
+		 */
+		public VoxelIndexMap() {
+			Arrays.fill(this.keys, EMPTY_KEY);
+		}
+
+		/**
+		 * Gets the index of the specified voxel, or stores the specified index if the voxel is not stored yet.
+		 *
+		 * @param key The key of the voxel.
+		 * @param newValue The index to be stored if the voxel is not stored yet.
+		 * @return The index of the voxel.
+		 */
+		public int getOrPut(long key, int newValue) {
+			int mask = this.keys.length - 1;
+			int slot = hash(key) & mask;
+			while (this.keys[slot] != EMPTY_KEY) {
+				if (this.keys[slot] == key) {
+					return this.values[slot];
+				}
+				slot = (slot + 1) & mask;
+			}
+			this.keys[slot] = key;
+			this.values[slot] = newValue;
+			this.size++;
+			if (this.keys.length / 2 < this.size) {
+				this.rehash();
+			}
+			return newValue;
+		}
+
+		/**
+		 * Doubles the capacity of this map.
+		 */
+		private void rehash() {
+			long[] oldKeys = this.keys;
+			int[] oldValues = this.values;
+			this.keys = new long[oldKeys.length * 2];
+			this.values = new int[oldValues.length * 2];
+			Arrays.fill(this.keys, EMPTY_KEY);
+			int mask = this.keys.length - 1;
+			for (int i=0; i<oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY_KEY) {
+					int slot = hash(oldKeys[i]) & mask;
+					while (this.keys[slot] != EMPTY_KEY) {
+						slot = (slot + 1) & mask;
+					}
+					this.keys[slot] = oldKeys[i];
+					this.values[slot] = oldValues[i];
+				}
+			}
+		}
+
+		/**
+		 * Computes the hash code of the specified key, mixing its bits.
+		 *
+		 * @param key The key.
+		 * @return The hash code.
+		 */
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int)(h ^ (h >>> 32));
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package com.rinearn.graph3d.model.dataseries;
+
+
+/**
+ * The immutable summary of the minimum/maximum X/Y/Z coordinate values of the visible points of data series.
+ */
+public final class DataSeriesRange {
+
+	/** The empty range, containing no points. */
+	public static final DataSeriesRange EMPTY = new DataSeriesRange(
+		Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+		Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+		Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+	);
+
+	/** The minimum X-coordinate value. */
+	private final double xMinimum;
+
+	/** The maximum X-coordinate value. */
+	private final double xMaximum;
+
+	/** The minimum Y-coordinate value. */
+	private final double yMinimum;
+
+	/** The maximum Y-coordinate value. */
+	private final double yMaximum;
+
+	/** The minimum Z-coordinate value. */
+	private final double zMinimum;
+
+	/** The maximum Z-coordinate value. */
+	private final double zMaximum;
+
+
+	/**
+	 * Creates a new range having the specified minimum/maximum values.
+	 *
+	 * @param xMinimum The minimum X-coordinate value.
+	 * @param xMaximum The maximum X-coordinate value.
+	 * @param yMinimum The minimum Y-coordinate value.
+	 * @param yMaximum The maximum Y-coordinate value.
+	 * @param zMinimum The minimum Z-coordinate value.
+	 * @param zMaximum The maximum Z-coordinate value.
+	 */
+	public DataSeriesRange(double xMinimum, double xMaximum, double yMinimum, double yMaximum, double zMinimum, double zMaximum) {
+		this.xMinimum = xMinimum;
+		this.xMaximum = xMaximum;
+		this.yMinimum = yMinimum;
+		this.yMaximum = yMaximum;
+		this.zMinimum = zMinimum;
+		this.zMaximum = zMaximum;
+	}
+
+
+	/**
+	 * Creates a new range from the array storing the minimum/maximum values.
+	 *
+	 * @param minMax The array storing the values in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 * @return The created range.
+	 */
+	public static DataSeriesRange fromArray(double[] minMax) {
+		return new DataSeriesRange(minMax[0], minMax[1], minMax[2], minMax[3], minMax[4], minMax[5]);
+	}
+
+
+	/**
+	 * Creates an array for accumulating the minimum/maximum values, initialized as the empty range.
+	 *
+	 * @return The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 */
+	public static double[] createAccumulator() {
+		return new double[] {
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+			Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+		};
+	}
+
+
+	/**
+	 * Accumulates the specified point into the array of the minimum/maximum values,
+	 * if all of its coordinate values are finite.
+	 *
+	 * @param minMax The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 * @param x The X-coordinate value of the point.
+	 * @param y The Y-coordinate value of the point.
+	 * @param z The Z-coordinate value of the point.
+	 */
+	public static void accumulate(double[] minMax, double x, double y, double z) {
+		if (Double.isNaN(x) || Double.isInfinite(x) ||
+				Double.isNaN(y) || Double.isInfinite(y) ||
+				Double.isNaN(z) || Double.isInfinite(z)) {
+			return;
+		}
+		if (x < minMax[0]) minMax[0] = x;
+		if (minMax[1] < x) minMax[1] = x;
+		if (y < minMax[2]) minMax[2] = y;
+		if (minMax[3] < y) minMax[3] = y;
+		if (z < minMax[4]) minMax[4] = z;
+		if (minMax[5] < z) minMax[5] = z;
+	}
+
+
+	/**
+	 * Returns the range containing both of this range and the specified range.
+	 *
+	 * @param other The range to be merged with this range.
+	 * @return The merged range.
+	 */
+	public DataSeriesRange merge(DataSeriesRange other) {
+		if (other.isEmpty()) {
+			return this;
+		}
+		if (this.isEmpty()) {
+			return other;
+		}
+		return new DataSeriesRange(
+			Math.min(this.xMinimum, other.xMinimum), Math.max(this.xMaximum, other.xMaximum),
+			Math.min(this.yMinimum, other.yMinimum), Math.max(this.yMaximum, other.yMaximum),
+			Math.min(this.zMinimum, other.zMinimum), Math.max(this.zMaximum, other.zMaximum)
+		);
+	}
+
+
+	/**
+	 * Returns whether this range contains no points.
+	 *
+	 * @return Returns true if this range is empty.
+	 */
+	public boolean isEmpty() {
+		return this.xMaximum < this.xMinimum;
+	}
+
+
+	/**
+	 * Gets the minimum X-coordinate value.
+	 *
+	 * @return The minimum X-coordinate value.
+	 */
+	public double getXMinimum() {
+		return this.xMinimum;
+	}
+
+
+	/**
+	 * Gets the maximum X-coordinate value.
+	 *
+	 * @return The maximum X-coordinate value.
+	 */
+	public double getXMaximum() {
+		return this.xMaximum;
+	}
+
+
+	/**
+	 * Gets the minimum Y-coordinate value.
+	 *
+	 * @return The minimum Y-coordinate value.
+	 */
+	public double getYMinimum() {
+		return this.yMinimum;
+	}
+
+
+	/**
+	 * Gets the maximum Y-coordinate value.
+	 *
+	 * @return The maximum Y-coordinate value.
+	 */
+	public double getYMaximum() {
+		return this.yMaximum;
+	}
+
+
+	/**
+	 * Gets the minimum Z-coordinate value.
+	 *
+	 * @return The minimum Z-coordinate value.
+	 */
+	public double getZMinimum() {
+		return this.zMinimum;
+	}
+
+
+	/**
+	 * Gets the maximum Z-coordinate value.
+	 *
+	 * @return The maximum Z-coordinate value.
+	 */
+	public double getZMaximum() {
+		return this.zMaximum;
+	}
+}
@@ -0,0 +1,148 @@
+package com.rinearn.graph3d.model.dataseries;
+
+
+/**
+ * The buffer storing the X/Y/Z coordinate values and the visibilities of the points in a row of a data series.
+ *
+ * This buffer is used for iterating the points of a data series row by row,
+ * through AbstractDataSeries.readRow(...), without referring the whole jagged arrays.
+ * The arrays of this buffer grow automatically when a longer row is read, and are reused for reading other rows.
+ */
+public final class DataSeriesRowBuffer {
+
+	/** The X-coordinate values of the points in the row. */
+	private double[] xCoordinates = new double[0];
+
+	/** The Y-coordinate values of the points in the row. */
+	private double[] yCoordinates = new double[0];
+
+	/** The Z-coordinate values of the points in the row. */
+	private double[] zCoordinates = new double[0];
+
+	/** The visibilities of the points in the row, packed into the bitset (see VisibilityBitset). */
+	private long[] visibilityWords = new long[0];
+
+	/** The number of the points in the row. */
+	private int length = 0;
+
+
+	/**
+	 * Creates a new empty buffer.
+	 */
+	public DataSeriesRowBuffer() {
+	}
+
+
+	/**
+	 * Reads the specified row of the specified data series into this buffer.
+	 *
+	 * The arrays returned by the getters of this buffer may be replaced by this method,
+	 * so get them again after calling this method.
+	 *
+	 * @param dataSeries The data series from which the row will be read.
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 */
+	public void read(AbstractDataSeries dataSeries, int leftIndex) {
+		int rightDimLength = dataSeries.getRightDimensionLength(leftIndex);
+		if (this.xCoordinates.length < rightDimLength) {
+			this.xCoordinates = new double[rightDimLength];
+			this.yCoordinates = new double[rightDimLength];
+			this.zCoordinates = new double[rightDimLength];
+			this.visibilityWords = new long[VisibilityBitset.wordCount(rightDimLength)];
+		}
+		this.length = dataSeries.readRow(leftIndex, this.xCoordinates, this.yCoordinates, this.zCoordinates, this.visibilityWords);
+	}
+
+
+	/**
+	 * Gets the number of the points in the lastly read row.
+	 *
+	 * @return The number of the points.
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the points in the lastly read row.
+	 *
+	 * The length of the returned array may be greater than the number of the points.
+	 *
+	 * @return The X-coordinate values.
+	 */
+	public double[] getXCoordinates() {
+		return this.xCoordinates;
+	}
+
+
+	/**
+	 * Gets the Y-coordinate values of the points in the lastly read row.
+	 *
+	 * The length of the returned array may be greater than the number of the points.
+	 *
+	 * @return The Y-coordinate values.
+	 */
+	public double[] getYCoordinates() {
+		return this.yCoordinates;
+	}
+
+
+	/**
+	 * Gets the Z-coordinate values of the points in the lastly read row.
+	 *
+	 * The length of the returned array may be greater than the number of the points.
+	 *
+	 * @return The Z-coordinate values.
+	 */
+	public double[] getZCoordinates() {
+		return this.zCoordinates;
+	}
+
+
+	/**
+	 * Gets the visibilities of the points in the lastly read row, packed into the bitset (see VisibilityBitset).
+	 *
+	 * The bits beyond the number of the points are undefined.
+	 *
+	 * @return The bitset of the visibilities.
+	 */
+	public long[] getVisibilityWords() {
+		return this.visibilityWords;
+	}
+
+
+	/**
+	 * Checks whether the specified point in the lastly read row is visible.
+	 *
+	 * @param index The index of the point.
+	 * @return Returns true if the point is visible.
+	 */
+	public boolean isVisible(int index) {
+		return VisibilityBitset.isVisible(this.visibilityWords, index);
+	}
+
+
+	/**
+	 * Finds the index of the next visible point in the lastly read row, from the specified index (inclusive).
+	 *
+	 * Invisible points are skipped by 64 points at once, so this method is efficient for the rows having large invisible regions.
+	 *
+	 * @param fromIndex The index from which the visible point is searched.
+	 * @return The index of the next visible point, or the number of the points if there is no visible point.
+	 */
+	public int nextVisibleIndex(int fromIndex) {
+		return VisibilityBitset.nextVisibleIndex(this.visibilityWords, fromIndex, this.length);
+	}
+
+
+	/**
+	 * Finds the index of the next invisible point in the lastly read row, from the specified index (inclusive).
+	 *
+	 * @param fromIndex The index from which the invisible point is searched.
+	 * @return The index of the next invisible point, or the number of the points if there is no invisible point.
+	 */
+	public int nextInvisibleIndex(int fromIndex) {
+		return VisibilityBitset.nextInvisibleIndex(this.visibilityWords, fromIndex, this.length);
+	}
+}
@@ -0,0 +1,415 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+[Inheritance tree]
+
+    AbstractDataSeries
+      |
+      +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries < This Class
+      |
+      +- StreamingDataSeries
+      |
+      +- MathDataSeries
+          |
+          +- ZxyMathDataSeries
+          |
+          +- XtYtZtMathDataSeries
+ */
+
+
+/**
+ * The read-only array data series, of which points are stored in a binary data file mapped into the memory.
+ *
+ * The file is not read when this data series is created.
+ * It is mapped page by page when the points in the page are accessed for the first time,
+ * and the contents of the pages are loaded (and evicted) by the paging of the OS.
+ * Hence, the time for creating this data series is independent of the size of the file,
+ * and the files larger than the physical memory can be plotted.
+ *
+ * The layout of the file is described by BinaryDataFileLayout.
+ * The points of which X/Y/Z coordinate values contain NaN are regarded as invisible.
+ */
+public class MappedFileDataSeries extends ArrayDataSeries {
+
+	/** The maximum number of bytes of a page, which is the unit of the mapping. */
+	private static final int MAX_PAGE_LENGTH = 1 << 28;
+
+	/** The path of the mapped file. */
+	private final Path filePath;
+
+	/** The number of bytes of the header of the file. */
+	private final long headerLength;
+
+	/** The number of bytes of a record. */
+	private final int recordLength;
+
+	/** The offset of the X-coordinate value in a record, in bytes. */
+	private final int xOffset;
+
+	/** The offset of the Y-coordinate value in a record, in bytes. */
+	private final int yOffset;
+
+	/** The offset of the Z-coordinate value in a record, in bytes. */
+	private final int zOffset;
+
+	/** The flag representing whether the values are stored as float32 (true) or float64 (false). */
+	private final boolean float32;
+
+	/** The byte order of the values. */
+	private final ByteOrder byteOrder;
+
+	/** The length of the left-side dimension (the number of rows). */
+	private final int leftDimensionLength;
+
+	/** The length of the right-side dimension (the number of points in a row). */
+	private final int rightDimensionLength;
+
+	/** The number of records in a page. */
+	private final int recordsPerPage;
+
+	/** The mapped pages (the elements are null until the pages are accessed). */
+	private final ByteBuffer[] pages;
+
+
+	/**
+	 * Creates a new data series of the points stored in the specified binary data file.
+	 *
+	 * This constructor only checks the size of the file, and does not read the contents of it.
+	 *
+	 * @param file The binary data file.
+	 * @param layout The layout of the binary data file.
+	 * @throws IOException Thrown if failed to access the file.
+	 * @throws IllegalArgumentException Thrown if the size of the file does not match with the layout.
+	 */
+	public MappedFileDataSeries(File file, BinaryDataFileLayout layout) throws IOException {
+		try {
+			layout.validate();
+		} catch (IllegalStateException ise) {
+			throw new IllegalArgumentException(ise.getMessage(), ise);
+		}
+
+		this.filePath = file.toPath();
+		this.headerLength = layout.getHeaderLength();
+		this.recordLength = layout.getRecordLength();
+		this.float32 = layout.getElementType() == BinaryDataFileLayout.ElementType.FLOAT32;
+		this.byteOrder = layout.getByteOrder();
+		int elementSize = layout.getElementType().getSize();
+		this.xOffset = layout.getXColumnIndex() * elementSize;
+		this.yOffset = layout.getYColumnIndex() * elementSize;
+		this.zOffset = layout.getZColumnIndex() * elementSize;
+
+		// Determine the shape of the grid from the size of the file.
+		long fileLength = Files.size(this.filePath);
+		if (fileLength < this.headerLength) {
+			throw new IllegalArgumentException("The file is shorter than the header: " + file);
+		}
+		long recordCount = (fileLength - this.headerLength) / this.recordLength;
+		this.leftDimensionLength = layout.getLeftDimensionLength();
+		if (layout.getRightDimensionLength() == 0) {
+			long inferredRightDimLength = recordCount / this.leftDimensionLength;
+			if (Integer.MAX_VALUE < inferredRightDimLength) {
+				throw new IllegalArgumentException("Too many records in a row, for the file: " + file);
+			}
+			this.rightDimensionLength = (int)inferredRightDimLength;
+		} else {
+			this.rightDimensionLength = layout.getRightDimensionLength();
+			if (recordCount < (long)this.leftDimensionLength * this.rightDimensionLength) {
+				throw new IllegalArgumentException("The file is too small for the grid described in the layout: " + file);
+			}
+		}
+
+		// Prepare the slots of the pages, which will be mapped lazily.
+		this.recordsPerPage = Math.max(1, MAX_PAGE_LENGTH / this.recordLength);
+		long usedRecordCount = (long)this.leftDimensionLength * this.rightDimensionLength;
+		this.pages = new ByteBuffer[ (int)((usedRecordCount + this.recordsPerPage - 1) / this.recordsPerPage) ];
+	}
+
+
+	/**
+	 * Throws UnsupportedOperationException, because this data series is read-only.
+	 *
+	 * @param xCoordinates The X-coordinate values.
+	 */
+	@Override
+	public void setXCoordinates(double[][] xCoordinates) {
+		throw new UnsupportedOperationException("The data series mapped from a file is read-only.");
+	}
+
+	/**
+	 * Throws UnsupportedOperationException, because this data series is read-only.
+	 *
+	 * @param yCoordinates The Y-coordinate values.
+	 */
+	@Override
+	public void setYCoordinates(double[][] yCoordinates) {
+		throw new UnsupportedOperationException("The data series mapped from a file is read-only.");
+	}
+
+	/**
+	 * Throws UnsupportedOperationException, because this data series is read-only.
+	 *
+	 * @param zCoordinates The Z-coordinate values.
+	 */
+	@Override
+	public void setZCoordinates(double[][] zCoordinates) {
+		throw new UnsupportedOperationException("The data series mapped from a file is read-only.");
+	}
+
+	/**
+	 * Throws UnsupportedOperationException, because this data series is read-only.
+	 *
+	 * @param visibilities The array storing visibilities of the points.
+	 */
+	@Override
+	public void setVisibilities(boolean[][] visibilities) {
+		throw new UnsupportedOperationException("The data series mapped from a file is read-only.");
+	}
+
+	/**
+	 * Does nothing, because the visibilities of this data series are always determined from the coordinate values.
+	 */
+	@Override
+	public void setVisibilitiesFromCoordinates() {
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * This method reads all the points from the file, so use readRow(...) instead for large files.
+	 *
+	 * @return The X-coordinate values.
+	 */
+	@Override
+	public double[][] getXCoordinates() {
+		return this.readColumn(this.xOffset);
+	}
+
+	/**
+	 * Gets the Y-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * This method reads all the points from the file, so use readRow(...) instead for large files.
+	 *
+	 * @return The Y-coordinate values.
+	 */
+	@Override
+	public double[][] getYCoordinates() {
+		return this.readColumn(this.yOffset);
+	}
+
+	/**
+	 * Gets the Z-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * This method reads all the points from the file, so use readRow(...) instead for large files.
+	 *
+	 * @return The Z-coordinate values.
+	 */
+	@Override
+	public double[][] getZCoordinates() {
+		return this.readColumn(this.zOffset);
+	}
+
+	/**
+	 * Gets the visibilities of the points of this data series, materialized as arrays.
+	 *
+	 * This method reads all the points from the file, so use readRow(...) instead for large files.
+	 *
+	 * @return The array storing visibilities of the points of this data series.
+	 */
+	@Override
+	public boolean[][] getVisibilities() {
+		boolean[][] visibilities = new boolean[this.leftDimensionLength][this.rightDimensionLength];
+		double[] xBuffer = new double[this.rightDimensionLength];
+		double[] yBuffer = new double[this.rightDimensionLength];
+		double[] zBuffer = new double[this.rightDimensionLength];
+		long[] visibilityBuffer = new long[VisibilityBitset.wordCount(this.rightDimensionLength)];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			this.readRow(iL, xBuffer, yBuffer, zBuffer, visibilityBuffer);
+			VisibilityBitset.unpack(visibilityBuffer, visibilities[iL], this.rightDimensionLength);
+		}
+		return visibilities;
+	}
+
+
+	/**
+	 * Gets the length of the left-side dimension (the number of rows) of the points of this data series.
+	 *
+	 * @return The length of the left-side dimension.
+	 */
+	@Override
+	public int getLeftDimensionLength() {
+		return this.leftDimensionLength;
+	}
+
+
+	/**
+	 * Gets the length of the right-side dimension (the number of points) of the specified row.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @return The length of the right-side dimension of the row.
+	 */
+	@Override
+	public int getRightDimensionLength(int leftIndex) {
+		this.checkLeftIndex(leftIndex);
+		return this.rightDimensionLength;
+	}
+
+
+	/**
+	 * Reads the X/Y/Z coordinate values and the visibilities of the points in the specified row, into the specified buffers.
+	 *
+	 * The values are read from the mapped pages, without materializing the whole arrays.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param xBuffer The buffer to which the X-coordinate values will be stored.
+	 * @param yBuffer The buffer to which the Y-coordinate values will be stored.
+	 * @param zBuffer The buffer to which the Z-coordinate values will be stored.
+	 * @param visibilityBuffer The bitset to which the visibilities will be stored (see VisibilityBitset).
+	 * @return The number of the read points.
+	 */
+	@Override
+	public int readRow(int leftIndex, double[] xBuffer, double[] yBuffer, double[] zBuffer, long[] visibilityBuffer) {
+		this.checkLeftIndex(leftIndex);
+		int readLength = Math.min(this.rightDimensionLength, xBuffer.length);
+		long beginRecordIndex = (long)leftIndex * this.rightDimensionLength;
+		this.readValues(beginRecordIndex, readLength, this.xOffset, xBuffer);
+		this.readValues(beginRecordIndex, readLength, this.yOffset, yBuffer);
+		this.readValues(beginRecordIndex, readLength, this.zOffset, zBuffer);
+		VisibilityBitset.setAllVisible(visibilityBuffer, readLength);
+		for (int iR=0; iR<readLength; iR++) {
+			if (Double.isNaN(xBuffer[iR]) || Double.isNaN(yBuffer[iR]) || Double.isNaN(zBuffer[iR])) {
+				VisibilityBitset.setVisible(visibilityBuffer, iR, false);
+			}
+		}
+		return readLength;
+	}
+
+
+	/**
+	 * Accumulates the visible points in the specified segment into the array of the minimum/maximum values.
+	 *
+	 * The mapped pages are read by absolute get operations, so the segments can be processed on multiple threads in parallel.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @param beginRightIndex The index of the first point of the segment in the row.
+	 * @param endRightIndex The index next to the last point of the segment in the row.
+	 * @param minMax The array in the order of: [xMin, xMax, yMin, yMax, zMin, zMax].
+	 */
+	@Override
+	protected void accumulateRange(int leftIndex, int beginRightIndex, int endRightIndex, double[] minMax) {
+		int length = endRightIndex - beginRightIndex;
+		long beginRecordIndex = (long)leftIndex * this.rightDimensionLength + beginRightIndex;
+		double[] xBuffer = new double[length];
+		double[] yBuffer = new double[length];
+		double[] zBuffer = new double[length];
+		this.readValues(beginRecordIndex, length, this.xOffset, xBuffer);
+		this.readValues(beginRecordIndex, length, this.yOffset, yBuffer);
+		this.readValues(beginRecordIndex, length, this.zOffset, zBuffer);
+		for (int i=0; i<length; i++) {
+			DataSeriesRange.accumulate(minMax, xBuffer[i], yBuffer[i], zBuffer[i]);
+		}
+	}
+
+
+	/**
+	 * Reads the values of a column of all the points, as arrays.
+	 *
+	 * @param columnOffset The offset of the column in a record, in bytes.
+	 * @return The read values.
+	 */
+	private double[][] readColumn(int columnOffset) {
+		double[][] values = new double[this.leftDimensionLength][this.rightDimensionLength];
+		for (int iL=0; iL<this.leftDimensionLength; iL++) {
+			this.readValues((long)iL * this.rightDimensionLength, this.rightDimensionLength, columnOffset, values[iL]);
+		}
+		return values;
+	}
+
+
+	/**
+	 * Reads the values of a column of the consecutive records, into the specified buffer.
+	 *
+	 * @param beginRecordIndex The index of the first record to be read.
+	 * @param length The number of the records to be read.
+	 * @param columnOffset The offset of the column in a record, in bytes.
+	 * @param buffer The buffer to which the values will be stored.
+	 */
+	private void readValues(long beginRecordIndex, int length, int columnOffset, double[] buffer) {
+		int readCount = 0;
+		while (readCount < length) {
+
+			// Read the records in the same page at once.
+			long recordIndex = beginRecordIndex + readCount;
+			int pageIndex = (int)(recordIndex / this.recordsPerPage);
+			int recordIndexInPage = (int)(recordIndex % this.recordsPerPage);
+			int runLength = Math.min(length - readCount, this.recordsPerPage - recordIndexInPage);
+			ByteBuffer page = this.getPage(pageIndex);
+
+			int byteIndex = recordIndexInPage * this.recordLength + columnOffset;
+			if (this.float32) {
+				for (int i=0; i<runLength; i++) {
+					buffer[readCount + i] = page.getFloat(byteIndex);
+					byteIndex += this.recordLength;
+				}
+			} else {
+				for (int i=0; i<runLength; i++) {
+					buffer[readCount + i] = page.getDouble(byteIndex);
+					byteIndex += this.recordLength;
+				}
+			}
+			readCount += runLength;
+		}
+	}
+
+
+	/**
+	 * Gets the specified page, mapping it if it has not been mapped yet.
+	 *
+	 * @param pageIndex The index of the page.
+	 * @return The mapped page.
+	 */
+	private synchronized ByteBuffer getPage(int pageIndex) {
+		if (this.pages[pageIndex] != null) {
+			return this.pages[pageIndex];
+		}
+
+		// The mapping remains valid after the channel is closed, so don't keep the channel open.
+		long usedLength = (long)this.leftDimensionLength * this.rightDimensionLength * this.recordLength;
+		long pageOffset = (long)pageIndex * this.recordsPerPage * this.recordLength;
+		long pageLength = Math.min((long)this.recordsPerPage * this.recordLength, usedLength - pageOffset);
+		try (FileChannel channel = FileChannel.open(this.filePath, StandardOpenOption.READ)) {
+			ByteBuffer page = channel.map(FileChannel.MapMode.READ_ONLY, this.headerLength + pageOffset, pageLength);
+			page.order(this.byteOrder);
+			this.pages[pageIndex] = page;
+			return page;
+		} catch (IOException ioe) {
+			throw new RuntimeException("Failed to map the data file: " + this.filePath, ioe);
+		}
+	}
+
+
+	/**
+	 * Checks the specified index of the left-side dimension.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @throws IndexOutOfBoundsException Thrown if the index is out of bounds.
+	 */
+	private void checkLeftIndex(int leftIndex) {
+		if (leftIndex < 0 || this.leftDimensionLength <= leftIndex) {
+			throw new IndexOutOfBoundsException("The index of the left-side dimension is out of bounds: " + leftIndex);
+		}
+	}
+}
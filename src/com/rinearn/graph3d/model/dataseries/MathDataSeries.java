@@ -11,6 +11,12 @@ import org.vcssl.nano.VnanoException;
     AbstractDataSeries
       |
       +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
       |
       +- MathDataSeries < This Class
           |
@@ -40,6 +46,9 @@ public abstract class MathDataSeries extends AbstractDataSeries {
 	/** The array storing visibilities of the points of this data series. */
 	protected volatile boolean[][] visibilities;
 
+	/** The relative tolerance for comparing the values computed by different ways (vectorized or point by point). */
+	protected static final double SAME_VALUE_TOLERANCE = 1.0E-12;
+
 
 	/**
 	 * Create an instance for generating data using the specified script engine, under the specified configuration.
@@ -65,6 +74,8 @@ public abstract class MathDataSeries extends AbstractDataSeries {
 	 *
 	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates.
 	 * This abstract method is implemented by subclasses: ZxyMathDataSeries and XtYtZtMathDataSeries.
+	 * Implementations may skip the computation if the coordinate values have already been computed under the same condition
+	 * (expressions, ranges, and discretization counts), because this method is called for every plotting.
 	 *
 	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating math expression(s).
 	 */
@@ -125,4 +136,22 @@ public abstract class MathDataSeries extends AbstractDataSeries {
 		}
 		return this.visibilities;
 	}
+
+
+	/**
+	 * Checks whether the specified values computed by different ways are the same, allowing tiny rounding errors.
+	 *
+	 * @param a The value to be compared.
+	 * @param b The value to be compared.
+	 * @return Returns true if the values are the same.
+	 */
+	protected static boolean isSameValue(double a, double b) {
+		if (Double.isNaN(a) || Double.isNaN(b)) {
+			return Double.isNaN(a) && Double.isNaN(b);
+		}
+		if (a == b) {
+			return true; // Including the case that both of them are the same infinity.
+		}
+		return Math.abs(a - b) <= SAME_VALUE_TOLERANCE * Math.max(Math.abs(a), Math.abs(b));
+	}
 }
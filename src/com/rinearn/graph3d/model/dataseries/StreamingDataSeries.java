@@ -0,0 +1,405 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import java.util.Arrays;
+
+/*
+[Inheritance tree]
+
+    AbstractDataSeries
+      |
+      +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries < This Class
+      |
+      +- MathDataSeries
+          |
+          +- ZxyMathDataSeries
+          |
+          +- XtYtZtMathDataSeries
+ */
+
+
+/**
+ * The data series storing the points appended continuously (e.g.: live telemetry),
+ * in a ring buffer having the fixed capacity.
+ *
+ * Appending a point takes O(1) time, and when the number of points exceeds the capacity, the oldest points are evicted.
+ * Hence, the memory usage of this data series does not grow however many points are appended.
+ *
+ * This data series consists of a single row (the left-side dimension length is 1 if it is not empty),
+ * storing the points in the live window from the oldest to the newest.
+ */
+public class StreamingDataSeries extends AbstractDataSeries {
+
+	/** The maximum number of the points retained in this data series. */
+	private final int capacity;
+
+	/** The ring buffer storing the X-coordinate values of the points. */
+	private final double[] xRing;
+
+	/** The ring buffer storing the Y-coordinate values of the points. */
+	private final double[] yRing;
+
+	/** The ring buffer storing the Z-coordinate values of the points. */
+	private final double[] zRing;
+
+	/** The ring buffer storing the visibilities of the points. */
+	private final boolean[] visibilityRing;
+
+	/** The index of the oldest point in the ring buffers. */
+	private int head = 0;
+
+	/** The number of the points currently retained in the ring buffers. */
+	private int size = 0;
+
+	/** The minimum/maximum values of the retained points, in the order of: [xMin, xMax, yMin, yMax, zMin, zMax]. */
+	private final double[] rangeMinMax = DataSeriesRange.createAccumulator();
+
+	/** The flag representing that rangeMinMax must be recomputed, because a point on its bounds has been evicted. */
+	private boolean rangeDirty = false;
+
+
+	/**
+	 * Creates a new empty streaming data series having the specified capacity.
+	 *
+	 * @param capacity The maximum number of the points retained in this data series.
+	 * @throws IllegalArgumentException Thrown if the capacity is not positive.
+	 */
+	public StreamingDataSeries(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.xRing = new double[capacity];
+		this.yRing = new double[capacity];
+		this.zRing = new double[capacity];
+		this.visibilityRing = new boolean[capacity];
+	}
+
+
+	/**
+	 * Gets the maximum number of the points retained in this data series.
+	 *
+	 * @return The capacity of this data series.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+
+	/**
+	 * Gets the number of the points currently retained in this data series.
+	 *
+	 * @return The number of the points.
+	 */
+	public synchronized int getSize() {
+		return this.size;
+	}
+
+
+	/**
+	 * Appends a point to this data series. If this data series is full, the oldest point is evicted.
+	 *
+	 * If X/Y/Z coordinate values of the point contains NaN, the point is regarded as invisible.
+	 *
+	 * @param x The X-coordinate value of the point.
+	 * @param y The Y-coordinate value of the point.
+	 * @param z The Z-coordinate value of the point.
+	 */
+	public synchronized void append(double x, double y, double z) {
+		this.put(x, y, z);
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Appends multiple points to this data series. If this data series gets full, the oldest points are evicted.
+	 *
+	 * @param x The X-coordinate values of the points.
+	 * @param y The Y-coordinate values of the points.
+	 * @param z The Z-coordinate values of the points.
+	 * @throws IllegalArgumentException Thrown if the lengths of the arrays are different.
+	 */
+	public synchronized void append(double[] x, double[] y, double[] z) {
+		if (x.length != y.length || x.length != z.length) {
+			throw new IllegalArgumentException("The lengths of the X/Y/Z coordinate arrays are different.");
+		}
+
+		// Only the last points fitting in the capacity remain, so skip the others.
+		int pointCount = x.length;
+		int beginIndex = Math.max(0, pointCount - this.capacity);
+		for (int ipoint=beginIndex; ipoint<pointCount; ipoint++) {
+			this.put(x[ipoint], y[ipoint], z[ipoint]);
+		}
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Stores a point into the ring buffers, evicting the oldest point if they are full.
+	 *
+	 * @param x The X-coordinate value of the point.
+	 * @param y The Y-coordinate value of the point.
+	 * @param z The Z-coordinate value of the point.
+	 */
+	private void put(double x, double y, double z) {
+		int tail = this.head + this.size;
+		if (this.capacity <= tail) {
+			tail -= this.capacity;
+		}
+
+		// If the evicted point is on the bounds of the range, the range may shrink, so it must be recomputed.
+		if (this.size == this.capacity && !this.rangeDirty && this.visibilityRing[tail] && this.isOnRangeBounds(tail)) {
+			this.rangeDirty = true;
+		}
+		this.xRing[tail] = x;
+		this.yRing[tail] = y;
+		this.zRing[tail] = z;
+		this.visibilityRing[tail] = !Double.isNaN(x) && !Double.isNaN(y) && !Double.isNaN(z);
+		if (!this.rangeDirty) {
+			DataSeriesRange.accumulate(this.rangeMinMax, x, y, z);
+		}
+
+		if (this.size < this.capacity) {
+			this.size++;
+		} else {
+			this.head++;
+			if (this.head == this.capacity) {
+				this.head = 0;
+			}
+		}
+	}
+
+
+	/**
+	 * Removes all the points of this data series.
+	 */
+	public synchronized void clear() {
+		this.head = 0;
+		this.size = 0;
+		System.arraycopy(DataSeriesRange.createAccumulator(), 0, this.rangeMinMax, 0, this.rangeMinMax.length);
+		this.rangeDirty = false;
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Checks whether any coordinate value of the specified point is on the bounds of the current range.
+	 *
+	 * @param index The index of the point in the ring buffers.
+	 * @return Returns true if the point is on the bounds.
+	 */
+	private boolean isOnRangeBounds(int index) {
+		double[] minMax = this.rangeMinMax;
+		return this.xRing[index] == minMax[0] || this.xRing[index] == minMax[1] ||
+				this.yRing[index] == minMax[2] || this.yRing[index] == minMax[3] ||
+				this.zRing[index] == minMax[4] || this.zRing[index] == minMax[5];
+	}
+
+
+	/**
+	 * Gets the range (the minimum/maximum coordinate values) of the visible points in the live window.
+	 *
+	 * The range is updated incrementally when points are appended,
+	 * so this method recomputes it only when a point on its bounds has been evicted.
+	 *
+	 * @return The range of the visible points.
+	 */
+	@Override
+	public synchronized DataSeriesRange getRange() {
+		if (this.rangeDirty) {
+			double[] minMax = DataSeriesRange.createAccumulator();
+			for (int ipoint=0; ipoint<this.size; ipoint++) {
+				int index = this.head + ipoint;
+				if (this.capacity <= index) {
+					index -= this.capacity;
+				}
+				if (this.visibilityRing[index]) {
+					DataSeriesRange.accumulate(minMax, this.xRing[index], this.yRing[index], this.zRing[index]);
+				}
+			}
+			System.arraycopy(minMax, 0, this.rangeMinMax, 0, minMax.length);
+			this.rangeDirty = false;
+		}
+		return DataSeriesRange.fromArray(this.rangeMinMax);
+	}
+
+
+	/**
+	 * Gets the X-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * @return The X-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getXCoordinates() {
+		double[][] coordinates = this.createEmptyArray();
+		if (this.size != 0) {
+			this.copyFromRing(this.xRing, coordinates[0], this.size);
+		}
+		return coordinates;
+	}
+
+
+	/**
+	 * Gets the Y-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * @return The Y-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getYCoordinates() {
+		double[][] coordinates = this.createEmptyArray();
+		if (this.size != 0) {
+			this.copyFromRing(this.yRing, coordinates[0], this.size);
+		}
+		return coordinates;
+	}
+
+
+	/**
+	 * Gets the Z-coordinate values of the points of this data series, materialized as arrays.
+	 *
+	 * @return The Z-coordinate values.
+	 */
+	@Override
+	public synchronized double[][] getZCoordinates() {
+		double[][] coordinates = this.createEmptyArray();
+		if (this.size != 0) {
+			this.copyFromRing(this.zRing, coordinates[0], this.size);
+		}
+		return coordinates;
+	}
+
+
+	/**
+	 * Gets the visibilities of the points of this data series, materialized as arrays.
+	 *
+	 * @return The array storing visibilities of the points of this data series.
+	 */
+	@Override
+	public synchronized boolean[][] getVisibilities() {
+		boolean[][] visibilities = (this.size == 0) ? new boolean[0][] : new boolean[][] { new boolean[this.size] };
+		if (this.size != 0) {
+			this.copyFromRing(this.visibilityRing, visibilities[0], this.size);
+		}
+		return visibilities;
+	}
+
+
+	/**
+	 * Gets the length of the left-side dimension, which is 1 if this data series is not empty, or 0 if empty.
+	 *
+	 * @return The length of the left-side dimension.
+	 */
+	@Override
+	public synchronized int getLeftDimensionLength() {
+		return (this.size == 0) ? 0 : 1;
+	}
+
+
+	/**
+	 * Gets the length of the right-side dimension, which is the number of the currently retained points.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension (must be 0).
+	 * @return The length of the right-side dimension.
+	 */
+	@Override
+	public synchronized int getRightDimensionLength(int leftIndex) {
+		this.checkLeftIndex(leftIndex);
+		return this.size;
+	}
+
+
+	/**
+	 * Reads the X/Y/Z coordinate values and the visibilities of the points in the live window, into the specified buffers.
+	 *
+	 * If the points appended after getting the length of the row do not fit in the buffers,
+	 * the newest points fitting in the buffers are read.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension (must be 0).
+	 * @param xBuffer The buffer to which the X-coordinate values will be stored.
+	 * @param yBuffer The buffer to which the Y-coordinate values will be stored.
+	 * @param zBuffer The buffer to which the Z-coordinate values will be stored.
+	 * @param visibilityBuffer The bitset to which the visibilities will be stored (see VisibilityBitset).
+	 * @return The number of the read points.
+	 */
+	@Override
+	public synchronized int readRow(int leftIndex, double[] xBuffer, double[] yBuffer, double[] zBuffer, long[] visibilityBuffer) {
+		this.checkLeftIndex(leftIndex);
+		int readLength = Math.min(this.size, xBuffer.length);
+		this.copyFromRing(this.xRing, xBuffer, readLength);
+		this.copyFromRing(this.yRing, yBuffer, readLength);
+		this.copyFromRing(this.zRing, zBuffer, readLength);
+		this.packVisibilitiesFromRing(visibilityBuffer, readLength);
+		return readLength;
+	}
+
+
+	/**
+	 * Packs the visibilities of the newest points stored in the ring buffer, into the specified bitset,
+	 * from the oldest to the newest.
+	 *
+	 * @param words The bitset to which the visibilities will be stored.
+	 * @param length The number of the points to be packed.
+	 */
+	private void packVisibilitiesFromRing(long[] words, int length) {
+		int ringIndex = this.head + (this.size - length);
+		if (this.capacity <= ringIndex) {
+			ringIndex -= this.capacity;
+		}
+		Arrays.fill(words, 0, VisibilityBitset.wordCount(length), 0L);
+		for (int i=0; i<length; i++) {
+			if (this.visibilityRing[ringIndex]) {
+				VisibilityBitset.setVisible(words, i, true);
+			}
+			ringIndex++;
+			if (ringIndex == this.capacity) {
+				ringIndex = 0;
+			}
+		}
+	}
+
+
+	/**
+	 * Copies the newest points stored in the ring buffer, into the specified array, from the oldest to the newest.
+	 *
+	 * @param ring The ring buffer from which the values will be copied.
+	 * @param dest The array to which the values will be copied.
+	 * @param length The number of the points to be copied.
+	 */
+	private void copyFromRing(Object ring, Object dest, int length) {
+		int begin = this.head + (this.size - length);
+		if (this.capacity <= begin) {
+			begin -= this.capacity;
+		}
+		int firstSegmentLength = Math.min(length, this.capacity - begin);
+		System.arraycopy(ring, begin, dest, 0, firstSegmentLength);
+		System.arraycopy(ring, 0, dest, firstSegmentLength, length - firstSegmentLength);
+	}
+
+
+	/**
+	 * Creates an array having the shape of the current contents of this data series.
+	 *
+	 * @return The created array.
+	 */
+	private double[][] createEmptyArray() {
+		return (this.size == 0) ? new double[0][] : new double[][] { new double[this.size] };
+	}
+
+
+	/**
+	 * Checks the specified index of the left-side dimension.
+	 *
+	 * @param leftIndex The index of the row in the left-side dimension.
+	 * @throws IndexOutOfBoundsException Thrown if the index is out of bounds.
+	 */
+	private void checkLeftIndex(int leftIndex) {
+		if (leftIndex != 0) {
+			throw new IndexOutOfBoundsException("The index of the left-side dimension is out of bounds: " + leftIndex);
+		}
+	}
+}
@@ -0,0 +1,735 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import com.rinearn.graph3d.config.DataIngestionConfiguration.StoragePrecision;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+
+/**
+ * The parser of text data files (CSV/TSV), in the format of the previous versions of RINEARN Graph 3D.
+ *
+ * Each line of a text data file stores X/Y/Z coordinate values of a point, separated by commas, tabs, or spaces.
+ * A blank line separates the rows of a grid (the left-side dimension),
+ * and two or more consecutive blank lines separate the data series.
+ * Lines beginning with "#" are regarded as comments.
+ *
+ * The file is split into chunks at line boundaries, and the chunks are parsed in parallel on the common ForkJoinPool.
+ * Numbers are parsed directly from the bytes, without creating String instances (except for rare formats, e.g.: "NaN").
+ */
+public final class TextDataFileParser {
+
+	/** The default number of bytes of a chunk, which is the unit of the parallel parsing. */
+	private static final int DEFAULT_CHUNK_LENGTH = 1 << 24;
+
+	/** The powers of 10 which are exactly representable as double-type values. */
+	private static final double[] EXACT_POWERS_OF_TEN = {
+		1.0E0, 1.0E1, 1.0E2, 1.0E3, 1.0E4, 1.0E5, 1.0E6, 1.0E7, 1.0E8, 1.0E9, 1.0E10, 1.0E11,
+		1.0E12, 1.0E13, 1.0E14, 1.0E15, 1.0E16, 1.0E17, 1.0E18, 1.0E19, 1.0E20, 1.0E21, 1.0E22
+	};
+
+	/** The maximum number of significant digits of which mantissa is exactly representable as a double-type value. */
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	/** The maximum number of significant digits of which mantissa fits in an unsigned 64-bit integer. */
+	private static final int MAX_MANTISSA_DIGITS = 19;
+
+	/** The minimum exponent in the table of the 128-bit approximations of the powers of 10. */
+	private static final int MIN_POWER_OF_TEN_EXPONENT = -348;
+
+	/** The maximum exponent in the table of the 128-bit approximations of the powers of 10. */
+	private static final int MAX_POWER_OF_TEN_EXPONENT = 347;
+
+	/** The higher 64 bits of the normalized 128-bit approximations (rounded down) of the powers of 10. */
+	private static final long[] POWER_OF_TEN_HIGH_BITS = new long[MAX_POWER_OF_TEN_EXPONENT - MIN_POWER_OF_TEN_EXPONENT + 1];
+
+	/** The lower 64 bits of the normalized 128-bit approximations (rounded down) of the powers of 10. */
+	private static final long[] POWER_OF_TEN_LOW_BITS = new long[MAX_POWER_OF_TEN_EXPONENT - MIN_POWER_OF_TEN_EXPONENT + 1];
+
+	// Compute the table of the powers of 10, used by the Eisel-Lemire algorithm.
+	static {
+		for (int exponent=MIN_POWER_OF_TEN_EXPONENT; exponent<=MAX_POWER_OF_TEN_EXPONENT; exponent++) {
+			BigInteger approximation = null;
+			if (0 <= exponent) {
+				BigInteger power = BigInteger.TEN.pow(exponent);
+				int shift = power.bitLength() - 128;
+				approximation = (0 <= shift) ? power.shiftRight(shift) : power.shiftLeft(-shift);
+			} else {
+				BigInteger power = BigInteger.TEN.pow(-exponent);
+				approximation = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power);
+			}
+			int index = exponent - MIN_POWER_OF_TEN_EXPONENT;
+			POWER_OF_TEN_HIGH_BITS[index] = approximation.shiftRight(64).longValue();
+			POWER_OF_TEN_LOW_BITS[index] = approximation.longValue();
+		}
+	}
+
+	/** The number of bytes of a chunk. */
+	private volatile int chunkLength = DEFAULT_CHUNK_LENGTH;
+
+	/** The minimum number of points of a data series, for which ColumnarArrayDataSeries is used. */
+	private volatile long columnarStorageThreshold = Long.MAX_VALUE;
+
+	/** The precision in which the coordinate values are stored, when ColumnarArrayDataSeries is used. */
+	private volatile StoragePrecision storagePrecision = StoragePrecision.FLOAT64;
+
+
+	/**
+	 * Creates a new parser.
+	 */
+	public TextDataFileParser() {
+	}
+
+
+	/**
+	 * Sets the number of bytes of a chunk, which is the unit of the parallel parsing.
+	 *
+	 * @param chunkLength The number of bytes of a chunk.
+	 * @throws IllegalArgumentException Thrown if the specified value is not positive.
+	 */
+	public synchronized void setChunkLength(int chunkLength) {
+		if (chunkLength <= 0) {
+			throw new IllegalArgumentException("The chunk length must be positive: " + chunkLength);
+		}
+		this.chunkLength = chunkLength;
+	}
+
+
+	/**
+	 * Sets the minimum number of points of a data series, for which ColumnarArrayDataSeries is created
+	 * instead of ArrayDataSeries.
+	 *
+	 * @param threshold The minimum number of points for using the columnar storage.
+	 */
+	public synchronized void setColumnarStorageThreshold(long threshold) {
+		this.columnarStorageThreshold = threshold;
+	}
+
+
+	/**
+	 * Sets the precision in which the coordinate values are stored, when ColumnarArrayDataSeries is created.
+	 *
+	 * @param storagePrecision The precision in which the coordinate values are stored.
+	 */
+	public synchronized void setStoragePrecision(StoragePrecision storagePrecision) {
+		if (storagePrecision == null) {
+			throw new IllegalArgumentException("The storage precision is null.");
+		}
+		this.storagePrecision = storagePrecision;
+	}
+
+
+	/**
+	 * Parses the specified text data file, and creates the data series from its contents.
+	 *
+	 * @param file The text data file.
+	 * @return The data series created from the contents of the file.
+	 * @throws IOException Thrown if failed to read the file.
+	 * @throws IllegalArgumentException Thrown if the file contains invalid lines.
+	 */
+	public ArrayDataSeries[] parse(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+			// Split the file into chunks at line boundaries, and parse them in parallel.
+			long[] chunkOffsets = this.splitIntoChunks(channel);
+			List<Callable<Chunk>> taskList = new ArrayList<Callable<Chunk>>();
+			for (int ichunk=0; ichunk<chunkOffsets.length-1; ichunk++) {
+				taskList.add(new ChunkParsingTask(channel, chunkOffsets[ichunk], chunkOffsets[ichunk + 1]));
+			}
+			List<Chunk> chunkList = new ArrayList<Chunk>();
+			for (Future<Chunk> future: ForkJoinPool.commonPool().invokeAll(taskList)) {
+				try {
+					chunkList.add(future.get());
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while parsing the file: " + file, ie);
+				} catch (ExecutionException ee) {
+					Throwable cause = ee.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException)cause;
+					}
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException)cause;
+					}
+					throw new RuntimeException(cause);
+				}
+			}
+
+			// Reconcile the separators across the chunk boundaries, and build the data series.
+			return this.buildDataSeries(chunkList);
+		}
+	}
+
+
+	/**
+	 * Splits the file into chunks, each of which begins at the beginning of a line.
+	 *
+	 * @param channel The channel of the file.
+	 * @return The offsets of the boundaries of the chunks, including 0 and the size of the file.
+	 * @throws IOException Thrown if failed to read the file.
+	 */
+	private long[] splitIntoChunks(FileChannel channel) throws IOException {
+		long fileLength = channel.size();
+		List<Long> offsetList = new ArrayList<Long>();
+		offsetList.add(0L);
+		ByteBuffer scanBuffer = ByteBuffer.allocate(4096);
+		long offset = this.chunkLength;
+		while (offset < fileLength) {
+
+			// Move the boundary to the next of the line feed at or after the nominal offset.
+			long lineFeedOffset = -1L;
+			long scanOffset = offset;
+			while (lineFeedOffset < 0 && scanOffset < fileLength) {
+				scanBuffer.clear();
+				int readLength = channel.read(scanBuffer, scanOffset);
+				if (readLength <= 0) {
+					break;
+				}
+				for (int i=0; i<readLength; i++) {
+					if (scanBuffer.get(i) == '\n') {
+						lineFeedOffset = scanOffset + i;
+						break;
+					}
+				}
+				scanOffset += readLength;
+			}
+			if (lineFeedOffset < 0 || fileLength <= lineFeedOffset + 1) {
+				break;
+			}
+			offsetList.add(lineFeedOffset + 1);
+			offset = lineFeedOffset + 1 + this.chunkLength;
+		}
+		offsetList.add(fileLength);
+
+		long[] offsets = new long[offsetList.size()];
+		for (int i=0; i<offsets.length; i++) {
+			offsets[i] = offsetList.get(i);
+		}
+		return offsets;
+	}
+
+
+	/**
+	 * Builds the data series from the parsed chunks.
+	 *
+	 * @param chunkList The list of the parsed chunks, in the order in the file.
+	 * @return The built data series.
+	 */
+	private ArrayDataSeries[] buildDataSeries(List<Chunk> chunkList) {
+
+		// Concatenate the separators of all the chunks, in which the point indices are converted into the global ones.
+		// A run of blank lines crossing a chunk boundary is joined here.
+		List<long[]> separatorList = new ArrayList<long[]>(); // Elements: [globalPointIndex, blankLineCount]
+		long pointCount = 0L;
+		int carriedBlankLineCount = 0;
+		for (Chunk chunk: chunkList) {
+			if (chunk.pointCount == 0) {
+				carriedBlankLineCount += chunk.leadingBlankLineCount;
+				continue;
+			}
+			int blankLineCount = carriedBlankLineCount + chunk.leadingBlankLineCount;
+			if (0 < pointCount && 0 < blankLineCount) {
+				separatorList.add(new long[] { pointCount, blankLineCount });
+			}
+			for (int isep=0; isep<chunk.separatorCount; isep++) {
+				separatorList.add(new long[] { pointCount + chunk.separatorPointIndices[isep], chunk.separatorBlankLineCounts[isep] });
+			}
+			pointCount += chunk.pointCount;
+			carriedBlankLineCount = chunk.trailingBlankLineCount;
+		}
+		separatorList.add(new long[] { pointCount, Integer.MAX_VALUE });
+
+		// Split the points into the series and the rows, and copy the coordinate values into the arrays.
+		List<ArrayDataSeries> dataSeriesList = new ArrayList<ArrayDataSeries>();
+		List<long[]> rowRangeList = new ArrayList<long[]>();
+		long rowBegin = 0L;
+		for (long[] separator: separatorList) {
+			if (rowBegin < separator[0]) {
+				rowRangeList.add(new long[] { rowBegin, separator[0] });
+			}
+			rowBegin = separator[0];
+			if (2 <= separator[1] && !rowRangeList.isEmpty()) {
+				dataSeriesList.add(this.createDataSeries(chunkList, rowRangeList));
+				rowRangeList.clear();
+			}
+		}
+		return dataSeriesList.toArray(new ArrayDataSeries[dataSeriesList.size()]);
+	}
+
+
+	/**
+	 * Creates a data series consisting of the specified rows.
+	 *
+	 * @param chunkList The list of the parsed chunks.
+	 * @param rowRangeList The list of the ranges of the global point indices of the rows: [begin, end).
+	 * @return The created data series.
+	 */
+	private ArrayDataSeries createDataSeries(List<Chunk> chunkList, List<long[]> rowRangeList) {
+		int rowCount = rowRangeList.size();
+		double[][] x = new double[rowCount][];
+		double[][] y = new double[rowCount][];
+		double[][] z = new double[rowCount][];
+		long pointCount = 0L;
+		for (int irow=0; irow<rowCount; irow++) {
+			long[] rowRange = rowRangeList.get(irow);
+			long rowLength = rowRange[1] - rowRange[0];
+			if (Integer.MAX_VALUE < rowLength) {
+				throw new IllegalArgumentException("Too many points in a row: " + rowLength);
+			}
+			x[irow] = new double[(int)rowLength];
+			y[irow] = new double[(int)rowLength];
+			z[irow] = new double[(int)rowLength];
+			this.copyPoints(chunkList, rowRange[0], x[irow], y[irow], z[irow]);
+			pointCount += rowLength;
+		}
+		if (this.columnarStorageThreshold <= pointCount) {
+			return new ColumnarArrayDataSeries(x, y, z, this.storagePrecision);
+		} else {
+			return new ArrayDataSeries(x, y, z);
+		}
+	}
+
+
+	/**
+	 * Copies the coordinate values of the consecutive points, from the chunks into the specified arrays.
+	 *
+	 * @param chunkList The list of the parsed chunks.
+	 * @param beginPointIndex The global index of the first point to be copied.
+	 * @param x The array to which the X-coordinate values will be copied (its length is the number of the points).
+	 * @param y The array to which the Y-coordinate values will be copied.
+	 * @param z The array to which the Z-coordinate values will be copied.
+	 */
+	private void copyPoints(List<Chunk> chunkList, long beginPointIndex, double[] x, double[] y, double[] z) {
+		int copiedCount = 0;
+		long chunkBeginPointIndex = 0L;
+		for (Chunk chunk: chunkList) {
+			long chunkEndPointIndex = chunkBeginPointIndex + chunk.pointCount;
+			long copyBegin = beginPointIndex + copiedCount;
+			if (copyBegin < chunkEndPointIndex && copiedCount < x.length) {
+				int srcIndex = (int)(copyBegin - chunkBeginPointIndex);
+				int copyLength = Math.min(x.length - copiedCount, chunk.pointCount - srcIndex);
+				System.arraycopy(chunk.x, srcIndex, x, copiedCount, copyLength);
+				System.arraycopy(chunk.y, srcIndex, y, copiedCount, copyLength);
+				System.arraycopy(chunk.z, srcIndex, z, copiedCount, copyLength);
+				copiedCount += copyLength;
+			}
+			chunkBeginPointIndex = chunkEndPointIndex;
+		}
+	}
+
+
+	/**
+	 * Parses a number from the specified range of the bytes.
+	 *
+	 * If the number is a decimal having at most 15 significant digits and an exponent at most 22 in absolute value,
+	 * it is computed directly from the bytes, which is exact (correctly rounded).
+	 * If it has at most 19 significant digits, it is computed by the Eisel-Lemire algorithm, which is also correctly rounded.
+	 * Otherwise, or if the algorithm can not determine the result, Double.parseDouble(String) is used.
+	 *
+	 * @param bytes The array of the bytes.
+	 * @param begin The index of the first byte of the number.
+	 * @param end The index next to the last byte of the number.
+	 * @return The parsed value.
+	 * @throws NumberFormatException Thrown if the bytes do not represent a number.
+	 */
+	private static double parseNumber(byte[] bytes, int begin, int end) {
+		int index = begin;
+		boolean negative = false;
+		if (index < end && (bytes[index] == '-' || bytes[index] == '+')) {
+			negative = bytes[index] == '-';
+			index++;
+		}
+
+		// Read the digits of the mantissa, and the position of the decimal point.
+		long mantissa = 0L;
+		int significantDigitCount = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		boolean afterPoint = false;
+		while (index < end) {
+			byte b = bytes[index];
+			if ('0' <= b && b <= '9') {
+				hasDigits = true;
+				if (significantDigitCount < MAX_MANTISSA_DIGITS) {
+					mantissa = mantissa * 10L + (b - '0');
+					if (mantissa != 0L) {
+						significantDigitCount++;
+					}
+					if (afterPoint) {
+						exponent--;
+					}
+				} else {
+					significantDigitCount++;
+					if (!afterPoint) {
+						exponent++;
+					}
+				}
+			} else if (b == '.' && !afterPoint) {
+				afterPoint = true;
+			} else {
+				break;
+			}
+			index++;
+		}
+
+		// Read the exponent part.
+		if (hasDigits && index < end && (bytes[index] == 'e' || bytes[index] == 'E')) {
+			index++;
+			boolean negativeExponent = false;
+			if (index < end && (bytes[index] == '-' || bytes[index] == '+')) {
+				negativeExponent = bytes[index] == '-';
+				index++;
+			}
+			int exponentValue = 0;
+			boolean hasExponentDigits = false;
+			while (index < end && '0' <= bytes[index] && bytes[index] <= '9') {
+				exponentValue = Math.min(exponentValue * 10 + (bytes[index] - '0'), 100000);
+				hasExponentDigits = true;
+				index++;
+			}
+			if (!hasExponentDigits) {
+				hasDigits = false;
+			}
+			exponent += negativeExponent ? -exponentValue : exponentValue;
+		}
+
+		// Compute the value directly, if it is exact. Otherwise, leave it to the standard parser.
+		if (hasDigits && index == end && significantDigitCount <= MAX_MANTISSA_DIGITS) {
+			if (mantissa == 0L) {
+				return negative ? -0.0 : 0.0;
+			}
+			if (significantDigitCount <= MAX_EXACT_DIGITS && Math.abs(exponent) < EXACT_POWERS_OF_TEN.length) {
+				double value = (0 <= exponent) ?
+						mantissa * EXACT_POWERS_OF_TEN[exponent] : mantissa / EXACT_POWERS_OF_TEN[-exponent];
+				return negative ? -value : value;
+			}
+			long bits = computeByEiselLemire(mantissa, exponent);
+			if (bits != -1L) {
+				return Double.longBitsToDouble(negative ? (bits | Long.MIN_VALUE) : bits);
+			}
+		}
+		return Double.parseDouble(new String(bytes, begin, end - begin, StandardCharsets.US_ASCII));
+	}
+
+
+	/**
+	 * Computes the bits of the double-type value closest to (mantissa * 10^exponent), by the Eisel-Lemire algorithm.
+	 *
+	 * @param mantissa The mantissa, regarded as an unsigned 64-bit integer (must not be 0).
+	 * @param exponent The decimal exponent.
+	 * @return The bits of the positive double-type value, or -1 if the algorithm can not determine the result.
+	 */
+	private static long computeByEiselLemire(long mantissa, int exponent) {
+		if (exponent < MIN_POWER_OF_TEN_EXPONENT || MAX_POWER_OF_TEN_EXPONENT < exponent) {
+			return -1L;
+		}
+		int tableIndex = exponent - MIN_POWER_OF_TEN_EXPONENT;
+
+		// Normalize the mantissa, and estimate the binary exponent.
+		int leadingZeroCount = Long.numberOfLeadingZeros(mantissa);
+		long normalizedMantissa = mantissa << leadingZeroCount;
+		long binaryExponent = ((217706 * exponent) >> 16) + 64 + 1023 - leadingZeroCount;
+
+		// Multiply the mantissa by the higher 64 bits of the power of 10.
+		long productHigh = multiplyHighUnsigned(normalizedMantissa, POWER_OF_TEN_HIGH_BITS[tableIndex]);
+		long productLow = normalizedMantissa * POWER_OF_TEN_HIGH_BITS[tableIndex];
+
+		// If the lower bits of the product is not enough for determining the rounding, use the lower 64 bits of the power also.
+		if ((productHigh & 0x1FFL) == 0x1FFL && Long.compareUnsigned(productLow + normalizedMantissa, normalizedMantissa) < 0) {
+			long extraHigh = multiplyHighUnsigned(normalizedMantissa, POWER_OF_TEN_LOW_BITS[tableIndex]);
+			long extraLow = normalizedMantissa * POWER_OF_TEN_LOW_BITS[tableIndex];
+			long mergedHigh = productHigh;
+			long mergedLow = productLow + extraHigh;
+			if (Long.compareUnsigned(mergedLow, productLow) < 0) {
+				mergedHigh++;
+			}
+			if ((mergedHigh & 0x1FFL) == 0x1FFL && mergedLow + 1L == 0L
+					&& Long.compareUnsigned(extraLow + normalizedMantissa, normalizedMantissa) < 0) {
+				return -1L;
+			}
+			productHigh = mergedHigh;
+			productLow = mergedLow;
+		}
+
+		// Shift the product into 54 bits, and round it into 53 bits.
+		long msb = productHigh >>> 63;
+		long resultMantissa = productHigh >>> (msb + 9);
+		binaryExponent -= 1L ^ msb;
+		if (productLow == 0L && (productHigh & 0x1FFL) == 0L && (resultMantissa & 3L) == 1L) {
+			return -1L;
+		}
+		resultMantissa += resultMantissa & 1L;
+		resultMantissa >>>= 1;
+		if ((resultMantissa >>> 53) > 0L) {
+			resultMantissa >>>= 1;
+			binaryExponent++;
+		}
+
+		// Leave the subnormal numbers and the overflows to the standard parser.
+		if (Long.compareUnsigned(binaryExponent - 1L, 0x7FFL - 1L) >= 0) {
+			return -1L;
+		}
+		return (binaryExponent << 52) | (resultMantissa & 0x000FFFFFFFFFFFFFL);
+	}
+
+
+	/**
+	 * Computes the higher 64 bits of the 128-bit product of the specified unsigned 64-bit integers.
+	 *
+	 * @param x The unsigned 64-bit integer to be multiplied.
+	 * @param y The unsigned 64-bit integer to be multiplied.
+	 * @return The higher 64 bits of the product.
+	 */
+	private static long multiplyHighUnsigned(long x, long y) {
+		long xLow = x & 0xFFFFFFFFL;
+		long xHigh = x >>> 32;
+		long yLow = y & 0xFFFFFFFFL;
+		long yHigh = y >>> 32;
+		long lowLow = xLow * yLow;
+		long lowHigh = xLow * yHigh;
+		long highLow = xHigh * yLow;
+		long middle = (lowLow >>> 32) + (lowHigh & 0xFFFFFFFFL) + (highLow & 0xFFFFFFFFL);
+		return xHigh * yHigh + (lowHigh >>> 32) + (highLow >>> 32) + (middle >>> 32);
+	}
+
+
+	/**
+	 * Returns whether the specified byte is a delimiter of the values in a line.
+	 *
+	 * @param b The byte to be checked.
+	 * @return Returns true if the byte is a delimiter.
+	 */
+	private static boolean isDelimiter(byte b) {
+		return b == ',' || b == ';' || b == '\t' || b == ' ';
+	}
+
+
+	/**
+	 * Returns whether the specified byte is a whitespace in a line.
+	 *
+	 * @param b The byte to be checked.
+	 * @return Returns true if the byte is a whitespace.
+	 */
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+
+	/**
+	 * The container of the points and the separators parsed from a chunk.
+	 */
+	private static final class Chunk {
+
+		/** The X-coordinate values of the points. */
+		double[] x;
+
+		/** The Y-coordinate values of the points. */
+		double[] y;
+
+		/** The Z-coordinate values of the points. */
+		double[] z;
+
+		/** The number of the points. */
+		int pointCount = 0;
+
+		/** The indices of the points just after the separators (runs of blank lines) in this chunk. */
+		int[] separatorPointIndices = new int[16];
+
+		/** The numbers of the blank lines of the separators. */
+		int[] separatorBlankLineCounts = new int[16];
+
+		/** The number of the separators. */
+		int separatorCount = 0;
+
+		/** The number of the blank lines before the first point (or all the blank lines if this chunk has no points). */
+		int leadingBlankLineCount = 0;
+
+		/** The number of the blank lines after the last point. */
+		int trailingBlankLineCount = 0;
+
+		/**
+		 * Creates a new empty chunk.
+		 *
+		 * @param initialCapacity The initial capacity of the arrays of the coordinate values.
+		 */
+		Chunk(int initialCapacity) {
+			this.x = new double[initialCapacity];
+			this.y = new double[initialCapacity];
+			this.z = new double[initialCapacity];
+		}
+
+		/**
+		 * Adds a point.
+		 *
+		 * @param xValue The X-coordinate value.
+		 * @param yValue The Y-coordinate value.
+		 * @param zValue The Z-coordinate value.
+		 */
+		void addPoint(double xValue, double yValue, double zValue) {
+			if (this.pointCount == this.x.length) {
+				int newCapacity = Math.max(16, this.x.length * 2);
+				this.x = Arrays.copyOf(this.x, newCapacity);
+				this.y = Arrays.copyOf(this.y, newCapacity);
+				this.z = Arrays.copyOf(this.z, newCapacity);
+			}
+			this.x[this.pointCount] = xValue;
+			this.y[this.pointCount] = yValue;
+			this.z[this.pointCount] = zValue;
+			this.pointCount++;
+		}
+
+		/**
+		 * Adds a separator before the next point.
+		 *
+		 * @param blankLineCount The number of the blank lines of the separator.
+		 */
+		void addSeparator(int blankLineCount) {
+			if (this.separatorCount == this.separatorPointIndices.length) {
+				this.separatorPointIndices = Arrays.copyOf(this.separatorPointIndices, this.separatorCount * 2);
+				this.separatorBlankLineCounts = Arrays.copyOf(this.separatorBlankLineCounts, this.separatorCount * 2);
+			}
+			this.separatorPointIndices[this.separatorCount] = this.pointCount;
+			this.separatorBlankLineCounts[this.separatorCount] = blankLineCount;
+			this.separatorCount++;
+		}
+	}
+
+
+	/**
+	 * The task parsing a chunk of the file.
+	 */
+	private static final class ChunkParsingTask implements Callable<Chunk> {
+
+		/** The channel of the file. */
+		private final FileChannel channel;
+
+		/** The offset of the beginning of the chunk in the file. */
+		private final long beginOffset;
+
+		/** The offset of the end of the chunk in the file. */
+		private final long endOffset;
+
+		/**
+		 * Creates a new task parsing the specified chunk.
+		 *
+		 * @param channel The channel of the file.
+		 * @param beginOffset The offset of the beginning of the chunk in the file.
+		 * @param endOffset The offset of the end of the chunk in the file.
+		 */
+		public ChunkParsingTask(FileChannel channel, long beginOffset, long endOffset) {
+			this.channel = channel;
+			this.beginOffset = beginOffset;
+			this.endOffset = endOffset;
+		}
+
+		@Override
+		public Chunk call() throws IOException {
+			long chunkLength = this.endOffset - this.beginOffset;
+			if (Integer.MAX_VALUE < chunkLength) {
+				throw new IllegalArgumentException("Too long line in the file, at the offset: " + this.beginOffset);
+			}
+			byte[] bytes = new byte[(int)chunkLength];
+			ByteBuffer mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, this.beginOffset, chunkLength);
+			mapped.get(bytes);
+
+			// The length of a line is typically more than 16 bytes, e.g.: "1.0,2.0,3.0\n".
+			Chunk chunk = new Chunk(Math.max(16, bytes.length / 16));
+			double[] values = new double[3];
+			int pendingBlankLineCount = 0;
+			int lineBegin = 0;
+			while (lineBegin < bytes.length) {
+				int lineEnd = lineBegin;
+				while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+					lineEnd++;
+				}
+
+				// Trim the whitespaces (including CR) at both ends of the line.
+				int begin = lineBegin;
+				int end = lineEnd;
+				while (begin < end && isWhitespace(bytes[begin])) {
+					begin++;
+				}
+				while (begin < end && isWhitespace(bytes[end - 1])) {
+					end--;
+				}
+
+				// Count blank lines, skip comment lines, and parse data lines.
+				if (begin == end) {
+					pendingBlankLineCount++;
+				} else if (bytes[begin] != '#') {
+					this.parseLine(bytes, begin, end, values);
+					if (0 < pendingBlankLineCount) {
+						if (chunk.pointCount == 0) {
+							chunk.leadingBlankLineCount = pendingBlankLineCount;
+						} else {
+							chunk.addSeparator(pendingBlankLineCount);
+						}
+						pendingBlankLineCount = 0;
+					}
+					chunk.addPoint(values[0], values[1], values[2]);
+				}
+				lineBegin = lineEnd + 1;
+			}
+			if (chunk.pointCount == 0) {
+				chunk.leadingBlankLineCount = pendingBlankLineCount;
+			} else {
+				chunk.trailingBlankLineCount = pendingBlankLineCount;
+			}
+			return chunk;
+		}
+
+		/**
+		 * Parses the X/Y/Z coordinate values in a (trimmed) data line. The values after the third one are ignored.
+		 *
+		 * @param bytes The array of the bytes of the chunk.
+		 * @param begin The index of the first byte of the line.
+		 * @param end The index next to the last byte of the line.
+		 * @param values The array to which the parsed X/Y/Z coordinate values will be stored.
+		 * @throws IllegalArgumentException Thrown if the line is invalid.
+		 */
+		private void parseLine(byte[] bytes, int begin, int end, double[] values) {
+			int index = begin;
+			for (int ivalue=0; ivalue<3; ivalue++) {
+
+				// Skip the delimiter: a comma or a semicolon, optionally surrounded by whitespaces, or whitespaces only.
+				if (0 < ivalue) {
+					while (index < end && isWhitespace(bytes[index])) {
+						index++;
+					}
+					if (index < end && (bytes[index] == ',' || bytes[index] == ';')) {
+						index++;
+						while (index < end && isWhitespace(bytes[index])) {
+							index++;
+						}
+					}
+				}
+
+				int tokenBegin = index;
+				while (index < end && !isDelimiter(bytes[index])) {
+					index++;
+				}
+				try {
+					if (tokenBegin == index) {
+						throw new NumberFormatException("Empty value");
+					}
+					values[ivalue] = parseNumber(bytes, tokenBegin, index);
+				} catch (NumberFormatException nfe) {
+					String line = new String(bytes, begin, end - begin, StandardCharsets.UTF_8);
+					throw new IllegalArgumentException("Invalid data line: \"" + line + "\"", nfe);
+				}
+			}
+		}
+	}
+}
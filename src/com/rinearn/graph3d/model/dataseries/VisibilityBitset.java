@@ -0,0 +1,238 @@
+package com.rinearn.graph3d.model.dataseries;
+
+import java.util.Arrays;
+
+
+/**
+ * The class providing operations of the visibilities of points, packed into the bitsets of long-type words.
+ *
+ * The visibility of the i-th point is stored at the bit (i % 64) of the word [i / 64], where 1 represents visible.
+ * Compared with boolean arrays, the bitsets take 1/8 of the memory,
+ * and allow skipping 64 invisible (or visible) points at once by a single comparison of a word.
+ */
+public final class VisibilityBitset {
+
+	/** The number of bits in a word. */
+	private static final int WORD_BITS = 64;
+
+	/** The number of bits to shift an index of a point, for getting the index of the word containing it. */
+	private static final int WORD_INDEX_SHIFT = 6;
+
+	/** The word in which all the bits are set. */
+	private static final long ALL_BITS = -1L;
+
+
+	/**
+	 * The constructor is private, because all the methods of this class are static.
+	 */
+	private VisibilityBitset() {
+	}
+
+
+	/**
+	 * Gets the number of the words required for storing the visibilities of the specified number of points.
+	 *
+	 * @param length The number of the points.
+	 * @return The number of the words.
+	 */
+	public static int wordCount(int length) {
+		return (length + WORD_BITS - 1) >>> WORD_INDEX_SHIFT;
+	}
+
+
+	/**
+	 * Gets the index of the word containing the visibility of the specified point.
+	 *
+	 * @param index The index of the point.
+	 * @return The index of the word.
+	 */
+	public static int wordIndexOf(int index) {
+		return index >>> WORD_INDEX_SHIFT;
+	}
+
+
+	/**
+	 * Gets the mask of the bit representing the visibility of the specified point, in the word containing it.
+	 *
+	 * @param index The index of the point.
+	 * @return The mask of the bit.
+	 */
+	public static long bitOf(int index) {
+		return 1L << index; // The shift distance is implicitly taken modulo 64.
+	}
+
+
+	/**
+	 * Checks whether the specified point is visible.
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param index The index of the point.
+	 * @return Returns true if the point is visible.
+	 */
+	public static boolean isVisible(long[] words, int index) {
+		return (words[index >>> WORD_INDEX_SHIFT] & (1L << index)) != 0L;
+	}
+
+
+	/**
+	 * Sets the visibility of the specified point.
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param index The index of the point.
+	 * @param visible Specify true for visible, false for invisible.
+	 */
+	public static void setVisible(long[] words, int index, boolean visible) {
+		if (visible) {
+			words[index >>> WORD_INDEX_SHIFT] |= (1L << index);
+		} else {
+			words[index >>> WORD_INDEX_SHIFT] &= ~(1L << index);
+		}
+	}
+
+
+	/**
+	 * Sets all the specified number of points to visible, and clears the remaining bits in the last word.
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param length The number of the points.
+	 */
+	public static void setAllVisible(long[] words, int length) {
+		int fullWordCount = length >>> WORD_INDEX_SHIFT;
+		Arrays.fill(words, 0, fullWordCount, ALL_BITS);
+		int remainingBits = length & (WORD_BITS - 1);
+		if (remainingBits != 0) {
+			words[fullWordCount] = ALL_BITS >>> (WORD_BITS - remainingBits);
+		}
+	}
+
+
+	/**
+	 * Checks whether all the specified number of points are visible.
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param length The number of the points.
+	 * @return Returns true if all the points are visible.
+	 */
+	public static boolean isAllVisible(long[] words, int length) {
+		return nextInvisibleIndex(words, 0, length) == length;
+	}
+
+
+	/**
+	 * Finds the index of the next visible point, from the specified index (inclusive).
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param fromIndex The index from which the visible point is searched.
+	 * @param length The number of the points.
+	 * @return The index of the next visible point, or length if there is no visible point.
+	 */
+	public static int nextVisibleIndex(long[] words, int fromIndex, int length) {
+		if (length <= fromIndex) {
+			return length;
+		}
+		int wordIndex = fromIndex >>> WORD_INDEX_SHIFT;
+		long word = words[wordIndex] & (ALL_BITS << fromIndex);
+		int lastWordIndex = (length - 1) >>> WORD_INDEX_SHIFT;
+		while (word == 0L) {
+			if (wordIndex == lastWordIndex) {
+				return length;
+			}
+			wordIndex++;
+			word = words[wordIndex];
+		}
+		return Math.min(length, (wordIndex << WORD_INDEX_SHIFT) + Long.numberOfTrailingZeros(word));
+	}
+
+
+	/**
+	 * Finds the index of the next invisible point, from the specified index (inclusive).
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param fromIndex The index from which the invisible point is searched.
+	 * @param length The number of the points.
+	 * @return The index of the next invisible point, or length if there is no invisible point.
+	 */
+	public static int nextInvisibleIndex(long[] words, int fromIndex, int length) {
+		if (length <= fromIndex) {
+			return length;
+		}
+		int wordIndex = fromIndex >>> WORD_INDEX_SHIFT;
+		long word = ~words[wordIndex] & (ALL_BITS << fromIndex);
+		int lastWordIndex = (length - 1) >>> WORD_INDEX_SHIFT;
+		while (word == 0L) {
+			if (wordIndex == lastWordIndex) {
+				return length;
+			}
+			wordIndex++;
+			word = ~words[wordIndex];
+		}
+		return Math.min(length, (wordIndex << WORD_INDEX_SHIFT) + Long.numberOfTrailingZeros(word));
+	}
+
+
+	/**
+	 * Computes the bitwise AND of the specified two bitsets,
+	 * representing the points visible in both of them (e.g.: the points connected between adjacent rows).
+	 *
+	 * @param wordsA The bitset to be operated.
+	 * @param wordsB The bitset to be operated.
+	 * @param resultWords The bitset to which the result will be stored.
+	 * @param length The number of the points.
+	 */
+	public static void and(long[] wordsA, long[] wordsB, long[] resultWords, int length) {
+		int wordCount = wordCount(length);
+		for (int iword=0; iword<wordCount; iword++) {
+			resultWords[iword] = wordsA[iword] & wordsB[iword];
+		}
+	}
+
+
+	/**
+	 * Packs the visibilities stored in the boolean array into the bitset.
+	 *
+	 * @param visibilities The boolean array storing the visibilities.
+	 * @param words The bitset to which the visibilities will be stored.
+	 * @param length The number of the points.
+	 */
+	public static void pack(boolean[] visibilities, long[] words, int length) {
+		int wordCount = wordCount(length);
+		for (int iword=0; iword<wordCount; iword++) {
+			int begin = iword << WORD_INDEX_SHIFT;
+			int end = Math.min(begin + WORD_BITS, length);
+			long word = 0L;
+			for (int i=begin; i<end; i++) {
+				if (visibilities[i]) {
+					word |= 1L << i;
+				}
+			}
+			words[iword] = word;
+		}
+	}
+
+
+	/**
+	 * Unpacks the visibilities stored in the bitset into the boolean array.
+	 *
+	 * @param words The bitset storing the visibilities.
+	 * @param visibilities The boolean array to which the visibilities will be stored.
+	 * @param length The number of the points.
+	 */
+	public static void unpack(long[] words, boolean[] visibilities, int length) {
+		for (int i=0; i<length; i++) {
+			visibilities[i] = (words[i >>> WORD_INDEX_SHIFT] & (1L << i)) != 0L;
+		}
+	}
+
+
+	/**
+	 * Packs the visibilities stored in the boolean array into a new bitset.
+	 *
+	 * @param visibilities The boolean array storing the visibilities.
+	 * @return The created bitset, or null if all the points are visible.
+	 */
+	public static long[] packOrNull(boolean[] visibilities) {
+		long[] words = new long[wordCount(visibilities.length)];
+		pack(visibilities, words, visibilities.length);
+		return isAllVisible(words, visibilities.length) ? null : words;
+	}
+}
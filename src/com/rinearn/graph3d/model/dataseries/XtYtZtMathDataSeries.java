@@ -5,12 +5,20 @@ import com.rinearn.graph3d.model.ScriptEngineMount;
 
 import org.vcssl.nano.VnanoException;
 
+import java.util.Arrays;
+
 /*
 [Inheritance tree]
 
     AbstractDataSeries
       |
       +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
       |
       +- MathDataSeries
           |
@@ -22,14 +30,67 @@ import org.vcssl.nano.VnanoException;
 
 public class XtYtZtMathDataSeries extends MathDataSeries {
 
+	/** The math expression of "x(t)". */
+	private final String xMathExpression;
+
+	/** The math expression of "y(t)". */
+	private final String yMathExpression;
+
+	/** The math expression of "z(t)". */
+	private final String zMathExpression;
+
+	/** The minimum value of the parameter "t". */
+	private final double tMin;
+
+	/** The maximum value of the parameter "t". */
+	private final double tMax;
+
+	/** The number of discretized t-values (= the number of the points of the curve). */
+	private final int tDiscretizationCount;
+
+	/** The number of the points sampled uniformly at first, for estimating the arc length of the curve. */
+	private static final int PILOT_SAMPLE_COUNT = 1024;
+
+	/**
+	 * The ratio of the points distributed uniformly in t, in the arc-length sampling.
+	 * It keeps some points in the regions where the curve moves slowly (or the arc length can not be estimated).
+	 */
+	private static final double UNIFORM_DENSITY_RATIO = 0.1;
+
+	/** The flag representing whether the arc-length sampling is enabled. */
+	private volatile boolean arcLengthSamplingEnabled = true;
+
+	/** The flag representing whether the current coordinates have been computed under the current settings. */
+	private volatile boolean computed = false;
+
+
 	/**
 	 * Create an instance for generating data using the specified script engine, under the specified configuration.
 	 *
+	 * @param xMathExpression The math expression of "x(t)".
+	 * @param yMathExpression The math expression of "y(t)".
+	 * @param zMathExpression The math expression of "z(t)".
+	 * @param tMin The minimum value of the parameter "t".
+	 * @param tMax The maximum value of the parameter "t".
+	 * @param tDiscretizationCount The number of discretized t-values (= the number of the points of the curve).
 	 * @param scrioptEngineMount The "engine-mount", provides a script engine for computing coordinates from math expressions.
 	 * @param config The configuration container (for referring the range configuration).
 	 */
-	public XtYtZtMathDataSeries(ScriptEngineMount scriptEngineMount, RinearnGraph3DConfiguration config) {
+	public XtYtZtMathDataSeries(
+			String xMathExpression, String yMathExpression, String zMathExpression,
+			double tMin, double tMax, int tDiscretizationCount,
+			ScriptEngineMount scriptEngineMount, RinearnGraph3DConfiguration config) {
+
 		super(scriptEngineMount, config);
+		if (tDiscretizationCount < 2) {
+			throw new IllegalArgumentException("The number of discretized t-values must be 2 or greater: " + tDiscretizationCount);
+		}
+		this.xMathExpression = xMathExpression;
+		this.yMathExpression = yMathExpression;
+		this.zMathExpression = zMathExpression;
+		this.tMin = tMin;
+		this.tMax = tMax;
+		this.tDiscretizationCount = tDiscretizationCount;
 	}
 
 
@@ -39,19 +100,242 @@ public class XtYtZtMathDataSeries extends MathDataSeries {
 	 */
 	@Override
 	public synchronized String getDisplayedExpression() {
-		throw new RuntimeException("Unimplemented yet.");
+		String displayedExpression = "x(t)=" + this.xMathExpression
+				+ ", y(t)=" + this.yMathExpression
+				+ ", z(t)=" + this.zMathExpression;
+		return displayedExpression;
+	}
+
+
+	/**
+	 * Sets whether the arc-length sampling is enabled (enabled by default).
+	 *
+	 * When it is enabled, the t-values of the points are distributed in proportion to the arc length of the curve
+	 * (estimated from a small number of points sampled uniformly at first),
+	 * instead of being distributed uniformly in t.
+	 * Hence, long and fast-moving parts of the curve are drawn smoothly, without increasing the total number of the points.
+	 *
+	 * @param enabled Specify true to enable the arc-length sampling.
+	 */
+	public synchronized void setArcLengthSamplingEnabled(boolean enabled) {
+		this.arcLengthSamplingEnabled = enabled;
+		this.computed = false;
+	}
+
+
+	/**
+	 * Gets whether the arc-length sampling is enabled.
+	 *
+	 * @return Returns true if the arc-length sampling is enabled.
+	 */
+	public synchronized boolean isArcLengthSamplingEnabled() {
+		return this.arcLengthSamplingEnabled;
 	}
 
 
 	/**
 	 * Computes coordinate values from the math expressions of this data series.
 	 *
-	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates.
+	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates,
+	 * as the arrays consisting of a single row (the curve).
+	 * Each expression is computed at all the points at once, with the array of t-values shared among the expressions.
+	 * The computation is skipped if the coordinate values have already been computed,
+	 * because they do not depend on the ranges of the graph.
 	 *
 	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating the math expressions.
 	 */
 	@Override
 	public synchronized void computeCoordinates() throws VnanoException {
-		throw new RuntimeException("Unimplemented yet.");
+		if (this.computed && super.zCoordinates != null) {
+			return;
+		}
+
+		// Compile the expressions only once, for computing them point by point repetitively with less overheads (if necessary).
+		ScriptEngineMount.CompiledExpression compiledXExpression = super.scriptEngineMount.compile(this.xMathExpression, "t");
+		ScriptEngineMount.CompiledExpression compiledYExpression = super.scriptEngineMount.compile(this.yMathExpression, "t");
+		ScriptEngineMount.CompiledExpression compiledZExpression = super.scriptEngineMount.compile(this.zMathExpression, "t");
+
+		// Activate the script engine (initialization procedures of all connected plug-ins are invoked).
+		super.scriptEngineMount.activateMathExpressionEngine();
+
+		// Determine the t-values of the points.
+		double[] tValues = createUniformTValues(this.tMin, this.tMax, this.tDiscretizationCount);
+		if (this.arcLengthSamplingEnabled && PILOT_SAMPLE_COUNT < this.tDiscretizationCount) {
+			double[] pilotTValues = createUniformTValues(this.tMin, this.tMax, PILOT_SAMPLE_COUNT);
+			double[][] pilotCoordinates = {
+				this.computeValues(this.xMathExpression, compiledXExpression, pilotTValues),
+				this.computeValues(this.yMathExpression, compiledYExpression, pilotTValues),
+				this.computeValues(this.zMathExpression, compiledZExpression, pilotTValues)
+			};
+			double[] arcLengthTValues = createArcLengthTValues(pilotTValues, pilotCoordinates, this.tDiscretizationCount);
+			if (arcLengthTValues != null) {
+				tValues = arcLengthTValues;
+			}
+		}
+
+		// Compute the coordinate values, and store the resulting arrays directly as the rows of the coordinate arrays.
+		double[] xValues = this.computeValues(this.xMathExpression, compiledXExpression, tValues);
+		double[] yValues = this.computeValues(this.yMathExpression, compiledYExpression, tValues);
+		double[] zValues = this.computeValues(this.zMathExpression, compiledZExpression, tValues);
+		boolean[] visibilityValues = new boolean[this.tDiscretizationCount];
+		Arrays.fill(visibilityValues, true);
+
+		// Deactivate the script engine (finalization procedures of all connected plug-ins are invoked).
+		super.scriptEngineMount.deactivateMathExpressionEngine();
+
+		super.xCoordinates = new double[][] { xValues };
+		super.yCoordinates = new double[][] { yValues };
+		super.zCoordinates = new double[][] { zValues };
+		super.visibilities = new boolean[][] { visibilityValues };
+		this.computed = true;
+
+		// Update the version number, because the contents have been modified.
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Computes the values of the specified expression at all the specified t-values at once, with the array parameter "t".
+	 *
+	 * If the results differ from the point-by-point computation at some sample points
+	 * (because the expression contains a function taking the whole array into account, e.g.: mean(t)),
+	 * or any error has been detected, computes them point by point instead.
+	 *
+	 * @param expression The math expression to be computed.
+	 * @param compiledExpression The compiled expression, used for computing the values point by point.
+	 * @param tValues The t-values of the points.
+	 * @return The array storing the computed values at the points.
+	 * @throws VnanoException Thrown when any error has been detected for calculating the math expression point by point.
+	 */
+	private double[] computeValues(String expression, ScriptEngineMount.CompiledExpression compiledExpression, double[] tValues)
+			throws VnanoException {
+
+		double[] values = null;
+		try {
+			values = super.scriptEngineMount.calculateMathExpression(expression, tValues);
+		} catch (VnanoException vne) {
+
+			// Errors should be reported from the point-by-point computation (if they really occur in it),
+			// because error messages for expressions with array parameters may be confusing for users.
+			values = null;
+		}
+
+		// Check the results at the first, middle, and last points.
+		if (values != null) {
+			int pointCount = tValues.length;
+			int[] samplePointIndices = { 0, pointCount / 2, pointCount - 1 };
+			for (int pointIndex: samplePointIndices) {
+				if (!isSameValue(compiledExpression.evaluate(tValues[pointIndex]), values[pointIndex])) {
+					values = null;
+					break;
+				}
+			}
+		}
+		if (values != null) {
+			return values;
+		}
+
+		// If the expression can not be computed in the above way, compute it point by point.
+		values = new double[tValues.length];
+		for (int pointIndex=0; pointIndex<tValues.length; pointIndex++) {
+			values[pointIndex] = compiledExpression.evaluate(tValues[pointIndex]);
+		}
+		return values;
+	}
+
+
+	/**
+	 * Creates the t-values distributed uniformly in the specified range.
+	 *
+	 * @param tMin The minimum value of the parameter "t".
+	 * @param tMax The maximum value of the parameter "t".
+	 * @param count The number of the t-values.
+	 * @return The array storing the t-values.
+	 */
+	private static double[] createUniformTValues(double tMin, double tMax, int count) {
+		double[] tValues = new double[count];
+		double tDelta = (tMax - tMin) / (count - 1);
+		for (int it=0; it<count; it++) {
+			tValues[it] = (it == count - 1) ? tMax : (tMin + tDelta * it);
+		}
+		return tValues;
+	}
+
+
+	/**
+	 * Creates the t-values distributed in proportion to the arc length of the curve,
+	 * estimated from the points sampled uniformly in t.
+	 *
+	 * The arc length is measured in the space in which each axis is normalized by the extent of the sampled points,
+	 * so that all the axes contribute equally regardless of their scales.
+	 *
+	 * @param pilotTValues The t-values of the sampled points.
+	 * @param pilotCoordinates The X, Y, and Z coordinate values of the sampled points, of which index is [dim][pointIndex].
+	 * @param count The number of the t-values to be created.
+	 * @return The array storing the t-values, or null if the arc length could not be estimated.
+	 */
+	private static double[] createArcLengthTValues(double[] pilotTValues, double[][] pilotCoordinates, int count) {
+		int pilotCount = pilotTValues.length;
+		int segmentCount = pilotCount - 1;
+
+		// Compute the scale factors normalizing the extents of the sampled points along each axis.
+		double[] scales = new double[3];
+		for (int dim=0; dim<3; dim++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (double value: pilotCoordinates[dim]) {
+				if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+					min = Math.min(min, value);
+					max = Math.max(max, value);
+				}
+			}
+			scales[dim] = (min < max) ? 1.0 / (max - min) : 0.0;
+		}
+
+		// Compute the (normalized) lengths of the segments between the sampled points.
+		// The segments of which lengths can not be computed (e.g.: at undefined points) are regarded as zero length.
+		double[] segmentLengths = new double[segmentCount];
+		double totalLength = 0.0;
+		for (int iseg=0; iseg<segmentCount; iseg++) {
+			double squaredLength = 0.0;
+			for (int dim=0; dim<3; dim++) {
+				double difference = (pilotCoordinates[dim][iseg + 1] - pilotCoordinates[dim][iseg]) * scales[dim];
+				squaredLength += difference * difference;
+			}
+			double length = Math.sqrt(squaredLength);
+			if (!Double.isNaN(length) && !Double.isInfinite(length)) {
+				segmentLengths[iseg] = length;
+				totalLength += length;
+			}
+		}
+		if (!(0.0 < totalLength) || Double.isInfinite(totalLength)) {
+			return null;
+		}
+
+		// Compute the cumulative weights of the segments, blending the arc length with the uniform distribution.
+		double[] cumulativeWeights = new double[pilotCount];
+		for (int iseg=0; iseg<segmentCount; iseg++) {
+			double weight = (1.0 - UNIFORM_DENSITY_RATIO) * segmentLengths[iseg] / totalLength
+					+ UNIFORM_DENSITY_RATIO / segmentCount;
+			cumulativeWeights[iseg + 1] = cumulativeWeights[iseg] + weight;
+		}
+		cumulativeWeights[segmentCount] = 1.0;
+
+		// Create the t-values at which the cumulative weight is equally spaced, by the linear interpolation in each segment.
+		double[] tValues = new double[count];
+		int iseg = 0;
+		for (int it=0; it<count; it++) {
+			double targetWeight = (double)it / (count - 1);
+			while (iseg < segmentCount - 1 && cumulativeWeights[iseg + 1] < targetWeight) {
+				iseg++;
+			}
+			double segmentWeight = cumulativeWeights[iseg + 1] - cumulativeWeights[iseg];
+			double ratio = (0.0 < segmentWeight) ? (targetWeight - cumulativeWeights[iseg]) / segmentWeight : 0.0;
+			ratio = Math.max(0.0, Math.min(1.0, ratio));
+			tValues[it] = pilotTValues[iseg] + (pilotTValues[iseg + 1] - pilotTValues[iseg]) * ratio;
+		}
+		tValues[0] = pilotTValues[0];
+		tValues[count - 1] = pilotTValues[segmentCount];
+		return tValues;
 	}
 }
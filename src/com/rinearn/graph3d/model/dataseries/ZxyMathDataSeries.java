@@ -12,6 +12,12 @@ import org.vcssl.nano.VnanoException;
     AbstractDataSeries
       |
       +- ArrayDataSeries
+      |   |
+      |   +- ColumnarArrayDataSeries
+      |   |
+      |   +- MappedFileDataSeries
+      |
+      +- StreamingDataSeries
       |
       +- MathDataSeries
           |
@@ -32,6 +38,33 @@ public class ZxyMathDataSeries extends MathDataSeries {
 	/** The number of discretized Y-coordinates. */
 	private final int yDiscretizationCount;
 
+	/** The default value of the tolerance of the adaptive sampling, relative to the range of the Z values. */
+	public static final double DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE = 1.0E-3;
+
+	/** The default value of the maximum number of the points evaluated by the adaptive sampling. */
+	public static final int DEFAULT_ADAPTIVE_SAMPLING_POINT_BUDGET = 262144;
+
+	/** The flag representing whether the adaptive sampling is enabled. */
+	private volatile boolean adaptiveSamplingEnabled = false;
+
+	/** The tolerance of the adaptive sampling, relative to the range of the Z values. */
+	private volatile double adaptiveSamplingTolerance = DEFAULT_ADAPTIVE_SAMPLING_TOLERANCE;
+
+	/** The maximum number of the points evaluated by the adaptive sampling. */
+	private volatile int adaptiveSamplingPointBudget = DEFAULT_ADAPTIVE_SAMPLING_POINT_BUDGET;
+
+	/** The minimum value of the X range under which the current coordinates have been computed (NaN if not computed yet). */
+	private volatile double computedXMin = Double.NaN;
+
+	/** The maximum value of the X range under which the current coordinates have been computed (NaN if not computed yet). */
+	private volatile double computedXMax = Double.NaN;
+
+	/** The minimum value of the Y range under which the current coordinates have been computed (NaN if not computed yet). */
+	private volatile double computedYMin = Double.NaN;
+
+	/** The maximum value of the Y range under which the current coordinates have been computed (NaN if not computed yet). */
+	private volatile double computedYMax = Double.NaN;
+
 
 	/**
 	 * Create an instance for generating data using the specified script engine, under the specified configuration.
@@ -64,10 +97,99 @@ public class ZxyMathDataSeries extends MathDataSeries {
 	}
 
 
+	/**
+	 * Sets whether the adaptive sampling is enabled.
+	 *
+	 * When it is enabled, the expression is evaluated on a coarse lattice of the grid points at first,
+	 * and evaluated at finer points only where the surface is not approximated well by the interpolation of the coarser points.
+	 * The values at the other grid points are filled by the interpolation.
+	 * See {@link AdaptiveGridSampler} for details.
+	 *
+	 * @param enabled Specify true to enable the adaptive sampling.
+	 */
+	public synchronized void setAdaptiveSamplingEnabled(boolean enabled) {
+		this.adaptiveSamplingEnabled = enabled;
+		this.invalidateComputedRanges();
+	}
+
+
+	/**
+	 * Gets whether the adaptive sampling is enabled.
+	 *
+	 * @return Returns true if the adaptive sampling is enabled.
+	 */
+	public synchronized boolean isAdaptiveSamplingEnabled() {
+		return this.adaptiveSamplingEnabled;
+	}
+
+
+	/**
+	 * Sets the tolerance of the adaptive sampling, relative to the range of the Z values.
+	 *
+	 * @param tolerance The tolerance of the adaptive sampling.
+	 */
+	public synchronized void setAdaptiveSamplingTolerance(double tolerance) {
+		if (!(0.0 <= tolerance)) {
+			throw new IllegalArgumentException("The tolerance must be a non-negative value: " + tolerance);
+		}
+		this.adaptiveSamplingTolerance = tolerance;
+		this.invalidateComputedRanges();
+	}
+
+
+	/**
+	 * Gets the tolerance of the adaptive sampling, relative to the range of the Z values.
+	 *
+	 * @return The tolerance of the adaptive sampling.
+	 */
+	public synchronized double getAdaptiveSamplingTolerance() {
+		return this.adaptiveSamplingTolerance;
+	}
+
+
+	/**
+	 * Sets the maximum number of the points evaluated by the adaptive sampling.
+	 *
+	 * @param pointBudget The maximum number of the evaluated points.
+	 */
+	public synchronized void setAdaptiveSamplingPointBudget(int pointBudget) {
+		if (pointBudget <= 0) {
+			throw new IllegalArgumentException("The point budget must be a positive value: " + pointBudget);
+		}
+		this.adaptiveSamplingPointBudget = pointBudget;
+		this.invalidateComputedRanges();
+	}
+
+
+	/**
+	 * Gets the maximum number of the points evaluated by the adaptive sampling.
+	 *
+	 * @return The maximum number of the evaluated points.
+	 */
+	public synchronized int getAdaptiveSamplingPointBudget() {
+		return this.adaptiveSamplingPointBudget;
+	}
+
+
+	/**
+	 * Invalidates the ranges under which the current coordinates have been computed,
+	 * for recomputing the coordinates in the next plotting.
+	 */
+	private void invalidateComputedRanges() {
+		this.computedXMin = Double.NaN;
+		this.computedXMax = Double.NaN;
+		this.computedYMin = Double.NaN;
+		this.computedYMax = Double.NaN;
+	}
+
+
 	/**
 	 * Computes coordinate values from the math expression of this data series.
 	 *
 	 * The computed coordinate values will be stored into the fields: xCoordinates, yCoordinates and zCoordinates.
+	 * The computation is skipped if the coordinate values have already been computed under the same X/Y ranges
+	 * (the expression and the discretization counts never change for an instance),
+	 * because this method is called for every plotting, even when only other data series or options have been changed.
 	 *
 	 * @throws VnanoException Thrown when any (typically syntactic) error has been detected for calculating the math expression.
 	 */
@@ -81,6 +203,17 @@ public class ZxyMathDataSeries extends MathDataSeries {
 		double xMin = super.config.getRangeConfiguration().getXRangeConfiguration().getMinimum().doubleValue();
 		double yMax = super.config.getRangeConfiguration().getYRangeConfiguration().getMaximum().doubleValue();
 		double yMin = super.config.getRangeConfiguration().getYRangeConfiguration().getMinimum().doubleValue();
+
+		// If the coordinates have already been computed under the same ranges, reuse them.
+		if (super.zCoordinates != null
+				&& xMin == this.computedXMin && xMax == this.computedXMax
+				&& yMin == this.computedYMin && yMax == this.computedYMax) {
+			return;
+		}
+
+		// Invalidate the ranges of the current coordinates, until the new coordinates will be computed successfully.
+		this.invalidateComputedRanges();
+
 		double xDelta = (xMax - xMin) / (xN - 1);
 		double yDelta = (yMax - yMin) / (yN - 1);
 
@@ -90,24 +223,147 @@ public class ZxyMathDataSeries extends MathDataSeries {
 		super.zCoordinates = new double[xN][yN];
 		super.visibilities = new boolean[xN][yN];
 
-		// Activate the script engine (initialization procedures of all connected plug-ins are invoked).
-		super.scriptEngineMount.activateMathExpressionEngine();
-
-		// Compute coordinate values, and store them into the above coordinate arrays.
+		// Discretize X and Y coordinates, and store them also into the flattened arrays, of which index is [ix*yN + iy].
+		double[] xGrid = new double[xN * yN];
+		double[] yGrid = new double[xN * yN];
 		for (int ix=0; ix<xN; ix++) {
 			for (int iy=0; iy<yN; iy++) {
 				double x = (ix == xN - 1) ? xMax : (xMin + xDelta * ix);
 				double y = (iy == yN - 1) ? yMax : (yMin + yDelta * iy);
-				double z = super.scriptEngineMount.calculateMathExpression(this.zMathExpression, x, y);
-
 				super.xCoordinates[ix][iy] = x;
 				super.yCoordinates[ix][iy] = y;
-				super.zCoordinates[ix][iy] = z;
 				super.visibilities[ix][iy] = true;
+				xGrid[ix * yN + iy] = x;
+				yGrid[ix * yN + iy] = y;
+			}
+		}
+
+		// Compile the expression only once, for computing it point by point repetitively with less overheads.
+		ScriptEngineMount.CompiledExpression compiledZExpression = super.scriptEngineMount.compile(this.zMathExpression, "x", "y");
+
+		// Activate the script engine (initialization procedures of all connected plug-ins are invoked).
+		super.scriptEngineMount.activateMathExpressionEngine();
+
+		// The evaluator computes Z coordinate values at multiple points at once, by executing the expression with array parameters
+		// (the points are partitioned across the pooled script engines, and computed in parallel).
+		// If the expression can not be computed in that way, the evaluator computes it point by point.
+		ZBatchEvaluator evaluator = new ZBatchEvaluator(compiledZExpression);
+
+		// If the adaptive sampling is enabled, evaluate the expression only at the points required for approximating the surface,
+		// and fill Z coordinate values at the other grid points by the interpolation.
+		if (this.adaptiveSamplingEnabled) {
+			double[] xValues = new double[xN];
+			double[] yValues = new double[yN];
+			for (int ix=0; ix<xN; ix++) {
+				xValues[ix] = super.xCoordinates[ix][0];
+			}
+			System.arraycopy(super.yCoordinates[0], 0, yValues, 0, yN);
+			AdaptiveGridSampler sampler = new AdaptiveGridSampler(
+				xValues, yValues, this.adaptiveSamplingTolerance, this.adaptiveSamplingPointBudget
+			);
+			sampler.sample(evaluator, super.zCoordinates);
+
+		// Otherwise, compute Z coordinate values at all the grid points.
+		} else {
+			double[] zGrid = evaluator.evaluate(xGrid, yGrid);
+			for (int ix=0; ix<xN; ix++) {
+				System.arraycopy(zGrid, ix * yN, super.zCoordinates[ix], 0, yN);
 			}
 		}
 
 		// Deactivate the script engine (finalization procedures of all connected plug-ins are invoked).
 		super.scriptEngineMount.deactivateMathExpressionEngine();
+
+		// Store the ranges under which the coordinates have been computed, for reusing them in the next plotting.
+		this.computedXMin = xMin;
+		this.computedXMax = xMax;
+		this.computedYMin = yMin;
+		this.computedYMax = yMax;
+
+		// Update the version number, because the contents have been modified.
+		super.incrementContentVersion();
+	}
+
+
+	/**
+	 * Computes Z coordinate values at the specified grid points at once,
+	 * by executing the math expression with the array parameters (in parallel, on the pooled script engines).
+	 *
+	 * The results at some sample points are checked against the point-by-point computation,
+	 * because the expression containing a function taking the whole array into account (e.g.: mean(x))
+	 * gives results different from the point-by-point computation.
+	 *
+	 * @param xGrid The array storing the X coordinate values of all the grid points.
+	 * @param yGrid The array storing the Y coordinate values of all the grid points.
+	 * @param compiledZExpression The compiled expression, used for computing the sample points point by point.
+	 * @return The array storing the Z coordinate values of all the grid points, or null if they can not be computed in this way.
+	 * @throws VnanoException Thrown when any error has been detected for calculating the math expression point by point.
+	 */
+	private double[] computeZGridVectorized(double[] xGrid, double[] yGrid,
+			ScriptEngineMount.CompiledExpression compiledZExpression) throws VnanoException {
+		double[] zGrid = null;
+		try {
+			zGrid = super.scriptEngineMount.calculateMathExpression(this.zMathExpression, xGrid, yGrid);
+		} catch (VnanoException vne) {
+
+			// Errors should be reported from the point-by-point computation (if they really occur in it),
+			// because error messages for expressions with array parameters may be confusing for users.
+			return null;
+		}
+		if (zGrid == null) {
+			return null;
+		}
+
+		// Check the results at the first, middle, and last points.
+		int pointCount = xGrid.length;
+		int[] samplePointIndices = { 0, pointCount / 2, pointCount - 1 };
+		for (int pointIndex: samplePointIndices) {
+			double z = compiledZExpression.evaluate(xGrid[pointIndex], yGrid[pointIndex]);
+			if (!isSameValue(z, zGrid[pointIndex])) {
+				return null;
+			}
+		}
+		return zGrid;
+	}
+
+
+	/**
+	 * The evaluator computing Z coordinate values at the points requested by the adaptive sampling.
+	 */
+	private final class ZBatchEvaluator implements AdaptiveGridSampler.BatchEvaluator {
+
+		/** The compiled expression, used for computing the values point by point. */
+		private final ScriptEngineMount.CompiledExpression compiledZExpression;
+
+		/** The flag representing whether the expression can be computed with the array parameters. */
+		private boolean vectorizable = true;
+
+		/**
+		 * Creates a new evaluator computing the specified compiled expression.
+		 *
+		 * @param compiledZExpression The compiled expression, used for computing the values point by point.
+		 */
+		private ZBatchEvaluator(ScriptEngineMount.CompiledExpression compiledZExpression) {
+			this.compiledZExpression = compiledZExpression;
+		}
+
+		@Override
+		public double[] evaluate(double[] x, double[] y) throws VnanoException {
+
+			// Compute the values at once if possible. Once it fails, compute point by point for the rest of the sampling,
+			// so all the values are computed consistently.
+			if (this.vectorizable) {
+				double[] z = computeZGridVectorized(x, y, this.compiledZExpression);
+				if (z != null) {
+					return z;
+				}
+				this.vectorizable = false;
+			}
+			double[] z = new double[x.length];
+			for (int ipoint=0; ipoint<x.length; ipoint++) {
+				z[ipoint] = this.compiledZExpression.evaluate(x[ipoint], y[ipoint]);
+			}
+			return z;
+		}
 	}
 }
@@ -1,8 +1,11 @@
 package com.rinearn.graph3d.presenter;
 
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
+import com.rinearn.graph3d.config.RangeConfiguration;
 import com.rinearn.graph3d.model.Model;
+import com.rinearn.graph3d.model.DataSeriesSnapshot;
 import com.rinearn.graph3d.model.dataseries.MathDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRange;
 import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
 import com.rinearn.graph3d.event.RinearnGraph3DEventDispatcher;
@@ -27,6 +30,8 @@ import com.rinearn.graph3d.presenter.plotter.MembranePlotter;
 import org.vcssl.nano.VnanoException;
 
 import java.util.List;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import java.lang.reflect.InvocationTargetException;
@@ -158,6 +163,15 @@ public final class Presenter {
 	/** The flag for turning on/off the event handling feature of subcomponents in this instance. */
 	private volatile boolean eventHandlingEnabled = true;
 
+	/** The latest generation number of plottings, incremented when a new plotting is requested or the current one is canceled. */
+	private final AtomicLong latestPlottingGeneration = new AtomicLong(0L);
+
+	/** The generation number of the plotting in progress. */
+	private volatile long currentPlottingGeneration = 0L;
+
+	/** The snapshot of the data series taken at the beginning of the plotting in progress, referred by all the plotters. */
+	private volatile DataSeriesSnapshot plottingDataSeriesSnapshot = DataSeriesSnapshot.EMPTY;
+
 
 	/** The plotter to plot points. */
 	public final PointPlotter pointPlotter;
@@ -265,11 +279,19 @@ public final class Presenter {
 		//  and their handlers may call this method again, if they are not disabled.)
 		this.setEventHandlingEnabled(false);
 
+		// Cancel the rendering in progress (if exists), because the renderer can not be configured until it ends.
+		boolean renderingCanceled = this.renderer.cancelRendering();
+
 		// Update the state of View layer and the renderer by the configuration.
 		RinearnGraph3DConfiguration config = this.model.config;
 		this.view.configure(config);
 		this.renderer.configure(config);
 
+		// If a rendering has been canceled above, request to render the screen again.
+		if (renderingCanceled) {
+			this.renderingLoop.requestRendering();
+		}
+
 		// Update the screen size.
 		// (Because "screen-resized" event does not occurs here even if the window size is changed.)
 		/*
@@ -285,13 +307,88 @@ public final class Presenter {
 
 	/**
 	 * Plots all contents composing the graph again (replot).
+	 *
+	 * If a plotting is in progress on another thread, it is canceled by this method,
+	 * and only the result of the latest plotting is rendered on the screen.
+	 */
+	public void plot() {
+
+		// Don't add "synchronized" to this method,
+		// because the generation must be updated before waiting for the end of the plotting in progress, for canceling it.
+		long plottingGeneration = this.latestPlottingGeneration.incrementAndGet();
+		this.plot(plottingGeneration);
+	}
+
+
+	/**
+	 * Cancels the plotting in progress (if exists) on another thread.
+	 *
+	 * The canceled plotting stops at the boundary of a chunk,
+	 * and then "plottingCanceled" methods of the plotting event listeners are called.
+	 * They are also called for the plotting superseded by a newer one before it starts.
+	 */
+	public void cancelPlotting() {
+
+		// Don't add "synchronized" to this method, because it must be callable while plot() is running.
+		this.latestPlottingGeneration.incrementAndGet();
+	}
+
+
+	/**
+	 * Returns whether the plotting in progress has been canceled.
+	 *
+	 * This method is called by plotters, at the boundary of each chunk of plotting,
+	 * to stop the plotting if it has been canceled.
+	 *
+	 * @return Returns true if the plotting in progress has been canceled.
+	 */
+	public boolean isPlottingCanceled() {
+		return this.latestPlottingGeneration.get() != this.currentPlottingGeneration;
+	}
+
+
+	/**
+	 * Gets the snapshot of the data series to be plotted by the plotting in progress.
+	 *
+	 * The snapshot is taken at the beginning of each plotting, without locking the Model,
+	 * so all the plotters plot the same set of the data series, even when the data series are registered/removed meanwhile.
+	 * (Such modification requests a new plotting, so it will be reflected by the next plotting.)
+	 *
+	 * @return The snapshot of the data series to be plotted.
 	 */
-	public synchronized void plot() {
+	public DataSeriesSnapshot getPlottingDataSeriesSnapshot() {
+		return this.plottingDataSeriesSnapshot;
+	}
+
+
+	/**
+	 * Plots all contents composing the graph again (replot), as the plotting of the specified generation.
+	 *
+	 * @param plottingGeneration The generation number of this plotting.
+	 */
+	private synchronized void plot(long plottingGeneration) {
+
+		// If a newer plotting has been requested while waiting for the previous plotting, leave the plotting to it.
+		// Report it as a cancellation, in the same way as the plotting canceled by cancelPlotting() while running,
+		// so that every requested plotting is followed by either "plottingFinished" or "plottingCanceled".
+		if (this.latestPlottingGeneration.get() != plottingGeneration) {
+			this.plottingEventDispatcher.firePlottingCanceled();
+			return;
+		}
+		this.currentPlottingGeneration = plottingGeneration;
+
+		// Take the snapshot of the data series to be plotted.
+		this.plottingDataSeriesSnapshot = this.model.getDataSeriesSnapshot();
+
+		// Update the ranges of the axes for which the auto-ranging feature is enabled.
+		this.updateAutoRanges();
 
 		// Update coordinate values of math data series.
 		this.updateMathDataSeriesCoordinates();
 
 		// Clear all currently drawn contents registered to the renderer.
+		// (Cancel the rendering in progress on another thread at first, because its contents will be replaced.)
+		this.renderer.cancelRendering();
 		this.renderer.clear();
 
 		// Draw basic components (outer frame, scale ticks, etc.) of the graph.
@@ -307,6 +404,13 @@ public final class Presenter {
 		// Call "plottingRequested" methods of the registered event listeners of RinearnGraph3DPlottingEvent.
 		this.plottingEventDispatcher.firePlottingRequested();
 
+		// If this plotting has been canceled, call "plottingCanceled" methods of the listeners instead of "plottingFinished",
+		// and don't render the result, because it will be replaced by the result of the newer plotting.
+		if (this.isPlottingCanceled()) {
+			this.plottingEventDispatcher.firePlottingCanceled();
+			return;
+		}
+
 		// Call "plottingFinished" methods of the registered event listeners of RinearnGraph3DPlottingEvent.
 		this.plottingEventDispatcher.firePlottingFinished();
 		// ↑ これ render 後に呼ぶべき？ 前に呼ぶべき？
@@ -347,16 +451,92 @@ public final class Presenter {
 		// とりあえず render 前に行って、後でまた再検討する（RenderingListener とか作る方向も含めて）
 
 
+		// Discard the cached groups of the data series which have not been plotted by this plotting (e.g.: removed series).
+		// Don't do this for the canceled plotting, for reusing the groups in the next plotting.
+		this.renderer.commitGeometryGroups();
+
 		// Render the re-plotted contents on the screen.
 		this.renderer.render();
 	}
 
 
+	/**
+	 * Updates the ranges of the axes for which the auto-ranging feature is enabled,
+	 * from the minimum/maximum coordinate values of the array/streaming data series.
+	 *
+	 * The ranges of the data series are cached and updated incrementally, so this method is light when no data is modified.
+	 * Also, the changes of the ranges are reflected to the renderer only as the update of the transformation,
+	 * so the plotted geometries of the unmodified data series are reused.
+	 */
+	private void updateAutoRanges() {
+		RangeConfiguration rangeConfig = this.model.config.getRangeConfiguration();
+		if (!rangeConfig.getXRangeConfiguration().isAutoRangingEnabled()
+				&& !rangeConfig.getYRangeConfiguration().isAutoRangingEnabled()
+				&& !rangeConfig.getZRangeConfiguration().isAutoRangingEnabled()) {
+			return;
+		}
+		DataSeriesRange dataRange = this.model.computeDataRange(this.plottingDataSeriesSnapshot);
+		if (dataRange.isEmpty()) {
+			return;
+		}
+
+		boolean rangeChanged = false;
+		rangeChanged |= this.updateAutoRange(rangeConfig.getXRangeConfiguration(), dataRange.getXMinimum(), dataRange.getXMaximum());
+		rangeChanged |= this.updateAutoRange(rangeConfig.getYRangeConfiguration(), dataRange.getYMinimum(), dataRange.getYMaximum());
+		rangeChanged |= this.updateAutoRange(rangeConfig.getZRangeConfiguration(), dataRange.getZMinimum(), dataRange.getZMaximum());
+		if (!rangeChanged) {
+			return;
+		}
+
+		// Reflect the updated ranges to the entire application.
+		// If this thread is not the event-dispatcher thread, reflect them to the renderer immediately,
+		// and to the View layer later on the event-dispatcher thread.
+		// (Don't wait for it here, because the event-dispatcher thread may be waiting for the lock of this instance.)
+		if (SwingUtilities.isEventDispatchThread()) {
+			this.propagateConfiguration();
+		} else {
+			this.renderer.cancelRendering();
+			this.renderer.configure(this.model.config);
+			SwingUtilities.invokeLater(new ConfigurationPropagator());
+		}
+	}
+
+
+	/**
+	 * Updates the range of an axis by the specified minimum/maximum coordinate values, if the auto-ranging feature is enabled.
+	 *
+	 * @param axisRangeConfig The configuration of the range of the axis.
+	 * @param min The minimum coordinate value in the data.
+	 * @param max The maximum coordinate value in the data.
+	 * @return Returns true if the range has been changed.
+	 */
+	private boolean updateAutoRange(RangeConfiguration.AxisRangeConfiguration axisRangeConfig, double min, double max) {
+		if (!axisRangeConfig.isAutoRangingEnabled()) {
+			return false;
+		}
+
+		// The length of the range must not be zero, so widen it if all the points have the same coordinate value.
+		BigDecimal newMin = BigDecimal.valueOf(min);
+		BigDecimal newMax = BigDecimal.valueOf(max);
+		if (newMin.compareTo(newMax) == 0) {
+			newMin = newMin.subtract(BigDecimal.ONE);
+			newMax = newMax.add(BigDecimal.ONE);
+		}
+
+		if (newMin.compareTo(axisRangeConfig.getMinimum()) == 0 && newMax.compareTo(axisRangeConfig.getMaximum()) == 0) {
+			return false;
+		}
+		axisRangeConfig.setMinimum(newMin);
+		axisRangeConfig.setMaximum(newMax);
+		return true;
+	}
+
+
 	/**
 	 * Update coordinate values of math data series.
 	 */
 	private void updateMathDataSeriesCoordinates() {
-		List<MathDataSeries> mathDataSeriesList = this.model.getMathDataSeriesList();
+		List<MathDataSeries> mathDataSeriesList = this.plottingDataSeriesSnapshot.getMathDataSeriesList();
 		for (MathDataSeries mathDataSeries: mathDataSeriesList) {
 
 			// Compute coordinate values from the math expression(s), using Vnano scripting engine.
@@ -404,6 +584,17 @@ public final class Presenter {
 		}
 	}
 
+	/**
+	 * The Runnable implementation to propagate the configuration updated by the auto-ranging feature, on the event-dispatcher thread.
+	 */
+	private final class ConfigurationPropagator implements Runnable {
+		@Override
+		public void run() {
+			propagateConfiguration();
+		}
+	}
+
+
 	/**
 	 * The Runnable implementation to perform internal processing of dispose() method on the event-dispatcher thread.
 	 */
@@ -411,6 +602,9 @@ public final class Presenter {
 		@Override
 		public void run() {
 
+			// Stop accepting the data-ingestion requests, for not plotting them after disposing the renderer.
+			dataArrayHandler.dispose();
+
 			// Terminate the rendering loop.
 			try {
 				renderingLoop.exit();
@@ -60,6 +60,9 @@ public final class RenderingLoop implements Runnable {
 	/** The flag representing that invoking plot() on the loop thread has been requested. */
 	private volatile boolean plottingRequested = false;
 
+	/** The flag representing that the screen rendered as a coarse preview is waiting to be refined. */
+	private volatile boolean refinementPending = false;
+
 	/** The container class storing an buffered image and its graphics context. */
 	private class BufferedResources {
 
@@ -142,9 +145,13 @@ public final class RenderingLoop implements Runnable {
 	 *
 	 * After requesting it by this method, render() method is performed asynchronously.
 	 * When the rendering is complete, the graph screen of the window is updated automatically.
+	 *
+	 * The rendering in progress (if exists) is canceled by this method, because its result has already been stale.
+	 * Also, the screen is rendered as a coarse preview at first, and then refined when no more request comes.
 	 */
 	public synchronized void requestRendering() {
 		this.renderingRequested = true;
+		this.renderer.cancelRendering();
 	}
 
 
@@ -153,9 +160,26 @@ public final class RenderingLoop implements Runnable {
 	 *
 	 * After requesting it by this method, replot() method is performed asynchronously.
 	 * When the replotting is complete, the graph screen of the window is updated automatically.
+	 *
+	 * The plotting in progress (if exists) is canceled by this method, because its result has already been stale.
 	 */
 	public synchronized void requestPlotting() {
 		this.plottingRequested = true;
+		this.presenter.cancelPlotting();
+		this.renderer.cancelRendering();
+	}
+
+
+	/**
+	 * Requests invoking plot() method of the Presenter on the thread of this rendering loop,
+	 * without canceling the plotting in progress.
+	 *
+	 * This method is used for continuous updates in high frequency (e.g. appending streaming data),
+	 * in which canceling the plotting in progress at every update would prevent any plotting from completing.
+	 * The requests are coalesced, so the plotting is performed once after the plotting in progress has completed.
+	 */
+	public synchronized void requestPlottingWithoutCancellation() {
+		this.plottingRequested = true;
 	}
 
 
@@ -166,18 +190,30 @@ public final class RenderingLoop implements Runnable {
 	public void run() {
 		while (this.continuing) {
 
+			// Take the requests. Note that plotting/rendering are performed outside of the synchronized block,
+			// for not blocking newer requests (which cancel the stale rendering) while they are running.
+			boolean plotting = false;
+			boolean rendering = false;
 			synchronized (this) {
-				if (this.plottingRequested) {
-					this.plottingRequested = false;
-					this.presenter.plot();
-				}
+				plotting = this.plottingRequested;
+				rendering = this.renderingRequested;
+				this.plottingRequested = false;
+				this.renderingRequested = false;
 			}
 
-			synchronized (this) {
-				if (this.renderingRequested) {
-					this.renderingRequested = false;
-					this.renderer.render();
-				}
+			// Perform the requested plotting, which renders the full content of the screen in it.
+			if (plotting) {
+				this.refinementPending = false;
+				this.presenter.plot();
+
+			// Perform the requested rendering as a coarse preview, for responding quickly to continuous requests (e.g. mouse dragging).
+			} else if (rendering) {
+				this.refinementPending = !this.renderer.renderPreview();
+
+			// If no more request comes after the preview, refine it by rendering the full content.
+			} else if (this.refinementPending) {
+				this.refinementPending = false;
+				this.renderer.render();
 			}
 
 			if (this.renderer.casScreenResized(true, false)) {
@@ -444,7 +480,6 @@ public final class RenderingLoop implements Runnable {
 			// Dispose the buffer.
 			buffer.graphics.dispose();
 			buffer = null;
-			System.gc();
 		}
 	}
 
@@ -483,13 +518,16 @@ public final class RenderingLoop implements Runnable {
 		buffer.graphics.clearRect(0, 0, screenWidth, screenHeight);
 
 		// Copy the current screen image to the buffer.
-		boolean drawImageCompleted = false;
-		while (!drawImageCompleted) {
-			drawImageCompleted = buffer.graphics.drawImage(screenImage, 0, 0, screenWidth, screenHeight, null);
-			try {
-				Thread.sleep(10);
-			} catch (InterruptedException ie) {
-				throw new RuntimeException(ie);
+		// (Under the lock of the renderer, because rendering may be running on the loop thread.)
+		synchronized (this.renderer) {
+			boolean drawImageCompleted = false;
+			while (!drawImageCompleted) {
+				drawImageCompleted = buffer.graphics.drawImage(screenImage, 0, 0, screenWidth, screenHeight, null);
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException ie) {
+					throw new RuntimeException(ie);
+				}
 			}
 		}
 		return buffer;
@@ -1,11 +1,21 @@
 package com.rinearn.graph3d.presenter.handler;
 
-import java.lang.reflect.InvocationTargetException;
-
-import javax.swing.SwingUtilities;
-
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.rinearn.graph3d.config.DataIngestionConfiguration;
+import com.rinearn.graph3d.config.DataIngestionConfiguration.StoragePrecision;
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.dataseries.ArrayDataSeries;
+import com.rinearn.graph3d.model.dataseries.BinaryDataFileLayout;
+import com.rinearn.graph3d.model.dataseries.MappedFileDataSeries;
+import com.rinearn.graph3d.model.dataseries.TextDataFileParser;
+import com.rinearn.graph3d.model.dataseries.ColumnarArrayDataSeries;
+import com.rinearn.graph3d.model.dataseries.StreamingDataSeries;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.view.View;
 
@@ -26,11 +36,23 @@ public class DataArrayHandler {
 
 	/**
 	 * The flag to perform the re-plotting asynchronously on rendering-loop thread, after updating data.
-	 * When this flag is set to false, the re-plotting is performed synchronously on the thread
-	 * on which setData(...) or appendData(...) is called.
+	 * When this flag is set to false, setData(...) or appendData(...) returns after the data has been applied to the Model
+	 * (without waiting for the re-plotting), and awaitPlotting() guarantees that the applied data has been plotted.
 	 */
 	private volatile boolean asynchronousPlottingEnabled = false;
 
+	/** The queue transferring the requests of setData(...), appendData(...), and so on, to the ingestion thread. */
+	private final DataIngestionQueue<DataIngestionRequest> ingestionQueue = new DataIngestionQueue<DataIngestionRequest>();
+
+	/** The thread applying the requests on the above queue to the Model, or null if it has not been started yet. */
+	private volatile Thread ingestionThread = null;
+
+	/** The last request submitted to the data-ingestion queue, or null if no request has been submitted yet. */
+	private volatile DataIngestionRequest lastSubmittedRequest = null;
+
+	/** The flag representing that the data applied in the synchronous-plotting mode may not have been plotted yet. */
+	private volatile boolean synchronousPlottingPending = false;
+
 
 	/**
 	 * Create a new instance handling events and API requests using the specified resources.
@@ -53,7 +75,8 @@ public class DataArrayHandler {
 	 * the re-plotting after updating data is performed asynchronously on rendering-loop thread.
 	 *
 	 * When this feature is disabled,
-	 * the re-plotting is performed synchronously on the thread on which setData(...) or appendData(...) is called.
+	 * setData(...) or appendData(...) waits only for the application of the data to the Model (not for the re-plotting),
+	 * and awaitPlotting() guarantees that the applied data has been plotted (e.g.: before exporting the image of the screen).
 	 *
 	 * @param enabled Specify true to enable, false to disable.
 	 */
@@ -62,6 +85,21 @@ public class DataArrayHandler {
 	}
 
 
+	/**
+	 * Counts the number of the points of a data series, from the array of its coordinate values.
+	 *
+	 * @param coordinates The array storing the coordinate values of the data series.
+	 * @return The number of the points.
+	 */
+	private static long countPoints(double[][] coordinates) {
+		long pointCount = 0L;
+		for (double[] row: coordinates) {
+			pointCount += row.length;
+		}
+		return pointCount;
+	}
+
+
 	// ================================================================================
 	//
 	// - API Listeners -
@@ -69,6 +107,44 @@ public class DataArrayHandler {
 	// ================================================================================
 
 
+	/**
+	 * Creates a new streaming data series having the specified capacity, and registers it to be plotted.
+	 *
+	 * The points appended to the returned data series by appendStreamingData(...) are plotted,
+	 * and the oldest points are evicted when the number of the points exceeds the capacity.
+	 *
+	 * @param capacity The maximum number of the points retained in the data series.
+	 * @return The created streaming data series.
+	 */
+	public StreamingDataSeries addStreamingData(int capacity) {
+		StreamingDataSeries streamingDataSeries = new StreamingDataSeries(capacity);
+		this.model.addStreamingDataSeries(streamingDataSeries);
+		return streamingDataSeries;
+	}
+
+
+	/**
+	 * Appends the points to the specified streaming data series, and re-plots the graph.
+	 *
+	 * This method does not switch to the event-dispatcher thread, because appending points to a streaming data series
+	 * is an O(1)-per-point operation which is safe on any thread.
+	 * The re-plotting is always requested to the rendering loop (regardless of the asynchronous-plotting feature),
+	 * so the caller thread does not pay for a full plotting at every call.
+	 * The plotting in progress is not canceled by this method, and the requests of re-plotting by continuous calls are coalesced.
+	 *
+	 * @param streamingDataSeries The streaming data series to which the points are appended.
+	 * @param x The array storing the X-coordinates of the points to be appended.
+	 * @param y The array storing the Y-coordinates of the points to be appended.
+	 * @param z The array storing the Z-coordinates of the points to be appended.
+	 */
+	public void appendStreamingData(StreamingDataSeries streamingDataSeries, double[] x, double[] y, double[] z) {
+		streamingDataSeries.append(x, y, z);
+
+		// Re-plot the graph on the rendering loop.
+		this.presenter.renderingLoop.requestPlottingWithoutCancellation();
+	}
+
+
 	/**
 	 * Sets the data composing a line to be plotted.
 	 *
@@ -87,18 +163,12 @@ public class DataArrayHandler {
 	 */
 	public void setData(double[] x, double[] y, double[] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
-			}
-		}
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(
+			new double[][][] { new double[][] { x } },
+			new double[][][] { new double[][] { y } },
+			new double[][][] { new double[][] { z } }
+		);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.SET);
 	}
 
 
@@ -120,18 +190,12 @@ public class DataArrayHandler {
 	 */
 	public void setData(double[][] x, double[][] y, double[][] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
-			}
-		}
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(
+			new double[][][] { x },
+			new double[][][] { y },
+			new double[][][] { z }
+		);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.SET);
 	}
 
 
@@ -153,18 +217,8 @@ public class DataArrayHandler {
 	 */
 	public void setData(double[][][] x, double[][][] y, double[][][] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.SET);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
-			}
-		}
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(x, y, z);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.SET);
 	}
 
 
@@ -183,18 +237,12 @@ public class DataArrayHandler {
 	 */
 	public void appendData(double[] x, double[] y, double[] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
-			}
-		}
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(
+			new double[][][] { new double[][] { x } },
+			new double[][][] { new double[][] { y } },
+			new double[][][] { new double[][] { z } }
+		);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.APPEND);
 	}
 
 
@@ -213,18 +261,12 @@ public class DataArrayHandler {
 	 */
 	public void appendData(double[][] x, double[][] y, double[][] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
-			}
-		}
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(
+			new double[][][] { x },
+			new double[][][] { y },
+			new double[][][] { z }
+		);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.APPEND);
 	}
 
 
@@ -243,169 +285,389 @@ public class DataArrayHandler {
 	 */
 	public void appendData(double[][][] x, double[][][] y, double[][][] z) {
 
-		// Handle the API request on the event-dispatcher thread.
-		DataAPIListener apiListener = new DataAPIListener(x, y, z, DataAPIListenerMode.APPEND);
-		if (SwingUtilities.isEventDispatchThread()) {
-			apiListener.run();
-		} else {
-			try {
-				SwingUtilities.invokeAndWait(apiListener);
-			} catch (InvocationTargetException | InterruptedException e) {
-				e.printStackTrace();
-				throw new RuntimeException(e);
+		ArrayDataSeries[] multipleArrayDataSeries = this.createArrayDataSeries(x, y, z);
+		this.submitIngestionRequest(multipleArrayDataSeries, DataIngestionMode.APPEND);
+	}
+
+
+	/**
+	 * Sets the data stored in the specified binary data file, to be plotted.
+	 *
+	 * The file is memory-mapped, and its contents are read lazily when they are plotted,
+	 * so this method returns immediately regardless of the size of the file.
+	 * Please note that, the currently registered data series are cleared.
+	 *
+	 * @param dataFile The binary data file.
+	 * @param layout The layout of the binary data file.
+	 * @throws IOException Thrown if failed to access the file.
+	 */
+	public void setDataFile(File dataFile, BinaryDataFileLayout layout) throws IOException {
+
+		// Create the data series on the caller thread, for reporting I/O errors to the caller.
+		// (It does not read the contents of the file, so it finishes immediately.)
+		MappedFileDataSeries mappedFileDataSeries = new MappedFileDataSeries(dataFile, layout);
+		this.submitIngestionRequest(new ArrayDataSeries[] { mappedFileDataSeries }, DataIngestionMode.SET);
+	}
+
+
+	/**
+	 * Appends the data stored in the specified binary data file, to the currently plotted data.
+	 *
+	 * @param dataFile The binary data file.
+	 * @param layout The layout of the binary data file.
+	 * @throws IOException Thrown if failed to access the file.
+	 */
+	public void appendDataFile(File dataFile, BinaryDataFileLayout layout) throws IOException {
+		MappedFileDataSeries mappedFileDataSeries = new MappedFileDataSeries(dataFile, layout);
+		this.submitIngestionRequest(new ArrayDataSeries[] { mappedFileDataSeries }, DataIngestionMode.APPEND);
+	}
+
+
+	/**
+	 * Sets the data stored in the specified text data file (CSV/TSV), to be plotted.
+	 *
+	 * The file is parsed in parallel on the caller thread (not on the event-dispatcher thread),
+	 * and then the data series are registered.
+	 * Please note that, the currently registered data series are cleared.
+	 *
+	 * @param dataFile The text data file.
+	 * @throws IOException Thrown if failed to read the file.
+	 */
+	public void setTextDataFile(File dataFile) throws IOException {
+		this.submitIngestionRequest(this.parseTextDataFile(dataFile), DataIngestionMode.SET);
+	}
+
+
+	/**
+	 * Appends the data stored in the specified text data file (CSV/TSV), to the currently plotted data.
+	 *
+	 * @param dataFile The text data file.
+	 * @throws IOException Thrown if failed to read the file.
+	 */
+	public void appendTextDataFile(File dataFile) throws IOException {
+		this.submitIngestionRequest(this.parseTextDataFile(dataFile), DataIngestionMode.APPEND);
+	}
+
+
+	/**
+	 * Parses the specified text data file, and creates the data series from its contents.
+	 *
+	 * @param dataFile The text data file.
+	 * @return The created data series.
+	 * @throws IOException Thrown if failed to read the file.
+	 */
+	private ArrayDataSeries[] parseTextDataFile(File dataFile) throws IOException {
+		TextDataFileParser parser = new TextDataFileParser();
+		DataIngestionConfiguration ingestionConfig = this.model.config.getDataIngestionConfiguration();
+		parser.setColumnarStorageThreshold(ingestionConfig.getColumnarStorageThreshold());
+		parser.setStoragePrecision(ingestionConfig.getStoragePrecision());
+		return parser.parse(dataFile);
+	}
+
+
+
+
+	/**
+	 * Creates the data series from the specified arrays storing the coordinate values.
+	 *
+	 * The data series having many points are stored in the columnar off-heap storage (see DataIngestionConfiguration).
+	 * This method is called on the caller thread of the API, for reporting invalid arguments to the caller.
+	 *
+	 * @param x
+	 *     The array storing the X-coordinates of the grid/node points of the multiple data series,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param y
+	 *     The array storing the Y-coordinates of the grid/node points of the multiple data series,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @param z
+	 *     The array storing the Z-coordinates of the grid/node points of the multiple data series,
+	 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
+	 * @return The created data series.
+	 */
+	private ArrayDataSeries[] createArrayDataSeries(double[][][] x, double[][][] y, double[][][] z) {
+		int dataSeriesCount = x.length;
+		if (y.length != dataSeriesCount || z.length != dataSeriesCount) {
+			throw new IllegalArgumentException("The numbers of the data series in x, y, and z are different.");
+		}
+		DataIngestionConfiguration ingestionConfig = this.model.config.getDataIngestionConfiguration();
+		long columnarStorageThreshold = ingestionConfig.getColumnarStorageThreshold();
+		StoragePrecision storagePrecision = ingestionConfig.getStoragePrecision();
+		ArrayDataSeries[] multipleArrayDataSeries = new ArrayDataSeries[dataSeriesCount];
+		for (int iseries=0; iseries<dataSeriesCount; iseries++) {
+			if (columnarStorageThreshold <= countPoints(x[iseries])) {
+				multipleArrayDataSeries[iseries] = new ColumnarArrayDataSeries(x[iseries], y[iseries], z[iseries], storagePrecision);
+			} else {
+				multipleArrayDataSeries[iseries] = new ArrayDataSeries(x[iseries], y[iseries], z[iseries]);
+			}
+		}
+		return multipleArrayDataSeries;
+	}
+
+
+	// ================================================================================
+	//
+	// - Data Ingestion -
+	//
+	// ================================================================================
+
+
+	/**
+	 * Stops accepting the data-ingestion requests, and terminates the ingestion thread.
+	 *
+	 * The requests pending on the queue are discarded without being applied.
+	 */
+	public synchronized void dispose() {
+		this.ingestionQueue.close();
+	}
+
+
+	/**
+	 * Puts the request of registering the specified data series to the data-ingestion queue.
+	 *
+	 * The request is applied to the Model on the ingestion thread, together with the other requests pending on the queue,
+	 * so the caller thread never waits for the event-dispatcher thread.
+	 * If the asynchronous-plotting feature is disabled, this method waits until the request has been applied to the Model
+	 * (but does not wait for the re-plotting).
+	 *
+	 * @param multipleArrayDataSeries The data series to be registered.
+	 * @param mode Specify SET for clearing the currently registered data series, or APPEND for keeping them.
+	 */
+	private void submitIngestionRequest(ArrayDataSeries[] multipleArrayDataSeries, DataIngestionMode mode) {
+		DataIngestionRequest request = new DataIngestionRequest(multipleArrayDataSeries, mode, !this.asynchronousPlottingEnabled);
+		this.startIngestionThreadIfNecessary();
+
+		// Don't block this thread if it is the ingestion thread itself, or is holding the lock of the Presenter
+		// (e.g.: a plotting listener calling setData(...) in Presenter.plot()), for avoiding deadlocks.
+		boolean waitable = this.isWaitableThread();
+
+		// Apply the capacity and the back-pressure policy of the queue, specified in the data-ingestion configuration.
+		DataIngestionConfiguration ingestionConfig = this.model.config.getDataIngestionConfiguration();
+		this.ingestionQueue.setCapacity(ingestionConfig.getQueueCapacity());
+		this.ingestionQueue.setBackPressurePolicy(ingestionConfig.getBackPressurePolicy());
+
+		// Don't add "synchronized" to this method, because offer(...) may block the caller thread while the queue is full.
+		List<DataIngestionRequest> droppedRequests = new ArrayList<DataIngestionRequest>();
+		try {
+			this.ingestionQueue.offer(request, droppedRequests, waitable);
+			this.lastSubmittedRequest = request;
+			for (DataIngestionRequest droppedRequest: droppedRequests) {
+				droppedRequest.complete(null);
+			}
+			if (request.synchronous && waitable) {
+				request.awaitCompletion();
+			}
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+
+	/**
+	 * Makes sure that the last submitted request has been applied and plotted,
+	 * if it has been submitted when the asynchronous-plotting feature is disabled.
+	 *
+	 * This method waits until the request has been applied to the Model,
+	 * and re-plots the graph on the caller thread if the re-plotting requested to the rendering loop may not have completed yet.
+	 * This method is called before getting/exporting the image of the screen, to make sure that it contains the submitted data.
+	 * This method returns immediately when it is called on the thread on which the ingestion thread may be waiting
+	 * (e.g.: a plotting listener in Presenter.plot()).
+	 */
+	public void awaitPlotting() {
+		DataIngestionRequest request = this.lastSubmittedRequest;
+		if (request == null || !request.synchronous || !this.isWaitableThread()) {
+			return;
+		}
+		try {
+			request.awaitCompletion();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		if (this.synchronousPlottingPending) {
+			this.synchronousPlottingPending = false;
+			this.presenter.plot();
+		}
+	}
+
+
+	/**
+	 * Returns whether the current thread can wait for the ingestion thread without causing a deadlock.
+	 *
+	 * @return Returns false if the current thread is the ingestion thread, or is holding the lock of the Presenter.
+	 */
+	private boolean isWaitableThread() {
+		return Thread.currentThread() != this.ingestionThread && !Thread.holdsLock(this.presenter);
+	}
+
+
+	/**
+	 * Starts the ingestion thread, which applies the requests on the data-ingestion queue to the Model,
+	 * if it has not been started yet.
+	 */
+	private synchronized void startIngestionThreadIfNecessary() {
+		if (this.ingestionThread != null) {
+			return;
+		}
+		this.ingestionThread = new Thread(new DataIngestionLoop());
+		this.ingestionThread.setDaemon(true);
+		this.ingestionThread.start();
+	}
+
+
+	/**
+	 * Applies the requests taken from the data-ingestion queue at once, to the Model.
+	 *
+	 * @param requests The requests to be applied, in the order in which they have been submitted.
+	 */
+	private void applyIngestionRequests(List<DataIngestionRequest> requests) {
+
+		// The requests before the last SET request don't affect the result, because it clears the data series registered by them.
+		int requestCount = requests.size();
+		int firstEffectiveIndex = 0;
+		boolean setting = false;
+		boolean synchronous = false;
+		for (int irequest=0; irequest<requestCount; irequest++) {
+			DataIngestionRequest request = requests.get(irequest);
+			if (request.mode == DataIngestionMode.SET) {
+				firstEffectiveIndex = irequest;
+				setting = true;
 			}
+			synchronous |= request.synchronous;
 		}
+		List<ArrayDataSeries> dataSeriesList = new ArrayList<ArrayDataSeries>();
+		for (int irequest=firstEffectiveIndex; irequest<requestCount; irequest++) {
+			dataSeriesList.addAll(Arrays.asList(requests.get(irequest).multipleArrayDataSeries));
+		}
+		ArrayDataSeries[] multipleArrayDataSeries = dataSeriesList.toArray(new ArrayDataSeries[dataSeriesList.size()]);
+
+		// Cancel the plotting in progress (if exists) on another thread, because its result will be stale.
+		this.presenter.cancelPlotting();
+
+		// Set/add the above (multiple) data series to the Model layer, by an "atomic operation".
+		// (because the data series registered in the Model may be accessed from another thread asynchronously.)
+		if (setting) {
+			this.model.setArrayDataSeries(multipleArrayDataSeries);
+		} else {
+			this.model.addArrayDataSeries(multipleArrayDataSeries);
+		}
+
+		// Re-plot the graph once for all the applied requests, on the rendering loop.
+		// Don't re-plot it on this thread even in the synchronous-plotting mode, because plotting listeners may call setData(...)
+		// while the caller thread holding the same lock is waiting for this thread. Instead, awaitPlotting() re-plots it if necessary.
+		if (synchronous) {
+			this.synchronousPlottingPending = true;
+		}
+		this.presenter.renderingLoop.requestPlotting();
 	}
 
 
 	/**
-	 * The enum for specifying the mode of DataAPIListener.
+	 * The enum for specifying the mode of DataIngestionRequest.
 	 */
-	private enum DataAPIListenerMode {
+	private enum DataIngestionMode {
 
-		/** The mode for handling setData(x,y,z) API. */
+		/** The mode for handling setData(x,y,z) API, which clears the currently registered data series. */
 		SET,
 
-		/** The mode for handling appendData(x,y,z) API. */
+		/** The mode for handling appendData(x,y,z) API, which keeps the currently registered data series. */
 		APPEND;
 	}
 
 
 	/**
-	 * The class handling API requests from setData(x,y,z) and appendData(x,y,z) methods,
-	 * on event-dispatcher thread.
+	 * The class representing a request of registering data series,
+	 * from setData(x,y,z), appendData(x,y,z), setDataFile(...), and so on.
 	 */
-	private final class DataAPIListener implements Runnable {
+	private static final class DataIngestionRequest {
 
-		/**
-		 * The array storing the X-coordinates of the grid/node points of the multiple data series,
-		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 */
-		private final double[][][] x;
+		/** The data series to be registered. */
+		private final ArrayDataSeries[] multipleArrayDataSeries;
 
-		/**
-		 * The array storing the Y-coordinates of the grid/node points of the multiple data series,
-		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 */
-		private final double[][][] y;
+		/** The mode of this request, specifying whether the currently registered data series are cleared or not. */
+		private final DataIngestionMode mode;
 
-		/**
-		 * The array storing the Z-coordinates of the grid/node points of the multiple data series,
-		 * where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 */
-		private final double[][][] z;
+		/** The flag representing that the caller waits until this request has been applied to the Model. */
+		private final boolean synchronous;
 
-		/**
-		 * The mode of this listener,
-		 * specifying the API handled by this listener from setData(x,y,z) and appendData(x,y,z).
-		 */
-		private final DataAPIListenerMode mode;
+		/** The latch released when this request has been applied to the Model (or dropped). */
+		private final CountDownLatch completionLatch = new CountDownLatch(1);
+
+		/** The exception occurred when applying this request, or null if no exception occurred. */
+		private volatile RuntimeException exception = null;
 
 		/**
-		 * Create an instance handling setData(double[] x, ...) or appendData(double[] x, ...)
-		 * API request with the specified argument.
+		 * Create a new request registering the specified data series.
 		 *
-		 * @param x
-		 *     The array storing the X-coordinates of the node points of a line,
-		 *     where its index is [nodeIndex].
-		 * @param y
-		 *     The array storing the Y-coordinates of the node points of a line,
-		 *     where its index is [nodeIndex].
-		 * @param z
-		 *     The array storing the Z-coordinates of the node points of a line,
-		 *     where its index is [nodeIndex].
-		 * @param mode
-		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 * @param multipleArrayDataSeries The data series to be registered.
+		 * @param mode Specify SET for clearing the currently registered data series, or APPEND for keeping them.
+		 * @param synchronous Specify true if the caller waits until this request has been applied.
 		 */
-		public DataAPIListener(double[] x, double[] y, double[] z, DataAPIListenerMode mode) {
-			this.x = new double[][][] { new double[][] { x } };
-			this.y = new double[][][] { new double[][] { y } };
-			this.z = new double[][][] { new double[][] { z } };
+		public DataIngestionRequest(ArrayDataSeries[] multipleArrayDataSeries, DataIngestionMode mode, boolean synchronous) {
+			this.multipleArrayDataSeries = multipleArrayDataSeries;
 			this.mode = mode;
+			this.synchronous = synchronous;
 		}
 
 		/**
-		 * Create an instance handling setData(double[][] x, ...) or appendData(double[][] x, ...)
-		 * API request with the specified argument.
+		 * Notifies the caller that this request has been applied to the Model (or dropped).
 		 *
-		 * @param x
-		 *     The array storing the X-coordinates of the grid points of a mesh,
-		 *     where its indices are [gridIndexA][gridIndexB].
-		 * @param y
-		 *     The array storing the Y-coordinates of the grid points of a mesh,
-		 *     where its indices are [gridIndexA][gridIndexB].
-		 * @param z
-		 *     The array storing the Z-coordinates of the grid points of a mesh,
-		 *     where its indices are [gridIndexA][gridIndexB].
-		 * @param mode
-		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 * @param exception The exception occurred when applying this request, or null if no exception occurred.
 		 */
-		public DataAPIListener(double[][] x, double[][] y, double[][] z, DataAPIListenerMode mode) {
-			this.x = new double[][][] { x };
-			this.y = new double[][][] { y };
-			this.z = new double[][][] { z };
-			this.mode = mode;
+		public void complete(RuntimeException exception) {
+			this.exception = exception;
+			this.completionLatch.countDown();
 		}
 
 		/**
-		 * Create an instance handling setData(double[][][] x, ...) or appendData(double[][][] x, ...)
-		 * API request with the specified argument.
+		 * Waits until this request has been applied to the Model (or dropped).
 		 *
-		 * @param x
-		 *     The array storing the X-coordinates of the grid/node points of the multiple data series,
-		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 * @param y
-		 *     The array storing the Y-coordinates of the grid/node points of the multiple data series,
-		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 * @param z
-		 *     The array storing the Z-coordinates of the grid/node points of the multiple data series,
-		 *     where its indices are [dataSeriesIndex][gridIndexA][gridIndexB].
-		 * @param mode
-		 *     Specify SET for handling setData(x,y,z) API, or APPEND for handling appendData(x,y,z) API.
+		 * @throws InterruptedException Thrown if the caller thread has been interrupted while waiting.
 		 */
-		public DataAPIListener(double[][][] x, double[][][] y, double[][][] z, DataAPIListenerMode mode) {
-			this.x = x;
-			this.y = y;
-			this.z = z;
-			this.mode = mode;
+		public void awaitCompletion() throws InterruptedException {
+			this.completionLatch.await();
+			if (this.exception != null) {
+				throw new RuntimeException(this.exception);
+			}
 		}
+	}
 
-		@Override
-		public void run() {
 
-			// Stores the specified (multiple) data series into an array.
-			int dataSeriesCount = x.length;
-			ArrayDataSeries[] multipleArrayDataSeries = new ArrayDataSeries[dataSeriesCount];
-			for (int iseries=0; iseries<dataSeriesCount; iseries++) {
-				ArrayDataSeries arrayDataSeries = new ArrayDataSeries(x[iseries], y[iseries], z[iseries]);
-				multipleArrayDataSeries[iseries] = arrayDataSeries;
-
-				// Don't do the following. We must register the multiple data series by an "atomic operation".
-				// (because the data series registered in the Model may be accessed from another thread asynchronously.)
-				// ---
-				// model.addArrayDataSeries(arrayDataSeries);
-			}
+	/**
+	 * The procedures of the ingestion thread,
+	 * which takes the pending requests from the data-ingestion queue and applies them as a batch, repeatedly.
+	 */
+	private final class DataIngestionLoop implements Runnable {
 
-			// Set/add the above (multiple) data series to the Model layer.
-			switch (this.mode) {
-				case SET : {
-					model.setArrayDataSeries(multipleArrayDataSeries);
-					break;
-				}
-				case APPEND : {
-					model.addArrayDataSeries(multipleArrayDataSeries);
+		@Override
+		public void run() {
+			List<DataIngestionRequest> requests = new ArrayList<DataIngestionRequest>();
+			while (true) {
+				requests.clear();
+				try {
+					if (!ingestionQueue.takeAll(requests)) {
+						break;
+					}
+				} catch (InterruptedException ie) {
+					ie.printStackTrace();
 					break;
 				}
-				default : {
-					throw new IllegalStateException("Unexpected mode: " + this.mode);
+
+				// Apply the requests, unless this handler has been disposed while waiting for them.
+				RuntimeException exception = null;
+				if (!ingestionQueue.isClosed()) {
+					try {
+						applyIngestionRequests(requests);
+					} catch (RuntimeException e) {
+						e.printStackTrace();
+						exception = e;
+					}
 				}
-			}
 
-			// Re-plot the graph.
-			if (asynchronousPlottingEnabled) {
-				presenter.renderingLoop.requestPlotting();
-			} else {
-				presenter.plot();
+				// Notify the callers waiting for the requests.
+				for (DataIngestionRequest request: requests) {
+					request.complete(exception);
+				}
 			}
 		}
 	}
@@ -0,0 +1,186 @@
+package com.rinearn.graph3d.presenter.handler;
+
+import com.rinearn.graph3d.config.DataIngestionConfiguration.BackPressurePolicy;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+
+/**
+ * The bounded queue transferring data-ingestion requests from (multiple) producer threads to a single consumer thread.
+ *
+ * The producers (e.g.: the threads of the host application acquiring data) put requests by offer(...) method,
+ * and the consumer takes all the pending requests at once by takeAll(...) method, to apply them as a batch.
+ * The behavior when the queue is full is specified by the back-pressure policy (see DataIngestionConfiguration).
+ *
+ * @param <E> The type of the requests.
+ */
+public final class DataIngestionQueue<E> {
+
+	/** The default value of the maximum number of the pending requests. */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/** The pending requests, in the order in which they have been offered. */
+	private final ArrayDeque<E> pendingRequests = new ArrayDeque<E>();
+
+	/** The maximum number of the pending requests. */
+	private volatile int capacity = DEFAULT_CAPACITY;
+
+	/** The behavior when a request is offered to the full queue. */
+	private volatile BackPressurePolicy backPressurePolicy = BackPressurePolicy.BLOCK;
+
+	/** The flag representing that this queue has been closed, and no more requests are accepted. */
+	private volatile boolean closed = false;
+
+
+	/**
+	 * Creates a new empty queue.
+	 */
+	public DataIngestionQueue() {
+	}
+
+
+	/**
+	 * Sets the maximum number of the pending requests.
+	 *
+	 * @param capacity The maximum number of the pending requests.
+	 */
+	public synchronized void setCapacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be a positive value: " + capacity);
+		}
+		this.capacity = capacity;
+		this.notifyAll();
+	}
+
+
+	/**
+	 * Gets the maximum number of the pending requests.
+	 *
+	 * @return The maximum number of the pending requests.
+	 */
+	public synchronized int getCapacity() {
+		return this.capacity;
+	}
+
+
+	/**
+	 * Sets the behavior when a request is offered to the full queue.
+	 *
+	 * @param backPressurePolicy The behavior when a request is offered to the full queue.
+	 */
+	public synchronized void setBackPressurePolicy(BackPressurePolicy backPressurePolicy) {
+		if (backPressurePolicy == null) {
+			throw new IllegalArgumentException("The back-pressure policy is null.");
+		}
+		this.backPressurePolicy = backPressurePolicy;
+		this.notifyAll();
+	}
+
+
+	/**
+	 * Gets the behavior when a request is offered to the full queue.
+	 *
+	 * @return The behavior when a request is offered to the full queue.
+	 */
+	public synchronized BackPressurePolicy getBackPressurePolicy() {
+		return this.backPressurePolicy;
+	}
+
+
+	/**
+	 * Puts the specified request to this queue.
+	 *
+	 * If the queue is full, this method blocks or drops the pending requests, depending on the back-pressure policy.
+	 * The dropped requests are stored into the specified list, for notifying their producers of that.
+	 *
+	 * The producer which must not be blocked (e.g.: the thread on which the consumer may be waiting)
+	 * can specify false as the "blockable" argument.
+	 * In that case, under the BLOCK policy, the request is put beyond the capacity instead of blocking.
+	 *
+	 * @param request The request to be put.
+	 * @param droppedRequests The list to which the dropped requests will be added.
+	 * @param blockable Specify false if the producer thread must not be blocked.
+	 * @throws InterruptedException Thrown if the producer thread has been interrupted while blocked.
+	 * @throws IllegalStateException Thrown if this queue has already been closed.
+	 */
+	public synchronized void offer(E request, List<E> droppedRequests, boolean blockable) throws InterruptedException {
+		if (request == null) {
+			throw new IllegalArgumentException("The request is null.");
+		}
+		while (!this.closed && this.capacity <= this.pendingRequests.size()) {
+			if (this.backPressurePolicy == BackPressurePolicy.BLOCK && !blockable) {
+				break;
+			}
+			switch (this.backPressurePolicy) {
+				case BLOCK : {
+					this.wait();
+					break;
+				}
+				case DROP_OLDEST : {
+					droppedRequests.add(this.pendingRequests.pollFirst());
+					break;
+				}
+				case COALESCE_TO_LATEST : {
+					droppedRequests.addAll(this.pendingRequests);
+					this.pendingRequests.clear();
+					break;
+				}
+				default : {
+					throw new IllegalStateException("Unexpected back-pressure policy: " + this.backPressurePolicy);
+				}
+			}
+		}
+		if (this.closed) {
+			throw new IllegalStateException("The data-ingestion queue has already been closed.");
+		}
+		this.pendingRequests.addLast(request);
+		this.notifyAll();
+	}
+
+
+	/**
+	 * Takes all the pending requests from this queue, waiting until any request is offered if the queue is empty.
+	 *
+	 * After this queue has been closed, this method returns the remaining requests without waiting,
+	 * and returns false when no request remains.
+	 *
+	 * @param takenRequests The list to which the taken requests will be added, in the order in which they have been offered.
+	 * @return Returns false if this queue has been closed and no request remains.
+	 * @throws InterruptedException Thrown if the consumer thread has been interrupted while waiting.
+	 */
+	public synchronized boolean takeAll(List<E> takenRequests) throws InterruptedException {
+		while (!this.closed && this.pendingRequests.isEmpty()) {
+			this.wait();
+		}
+		if (this.pendingRequests.isEmpty()) {
+			return false;
+		}
+		takenRequests.addAll(this.pendingRequests);
+		this.pendingRequests.clear();
+		this.notifyAll();
+		return true;
+	}
+
+
+	/**
+	 * Closes this queue.
+	 *
+	 * After calling this method, offer(...) method throws IllegalStateException,
+	 * and the blocked producers and the waiting consumer are woken up.
+	 */
+	public synchronized void close() {
+		this.closed = true;
+		this.notifyAll();
+	}
+
+
+	/**
+	 * Returns whether this queue has been closed.
+	 *
+	 * @return Returns true if this queue has been closed.
+	 */
+	public synchronized boolean isClosed() {
+		return this.closed;
+	}
+}
@@ -126,6 +126,13 @@ public final class RangeSettingHandler {
 					return;
 				}
 
+				// If the range has been modified (without turning on the auto-ranging feature by this action),
+				// turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+				boolean xRangeModified = xMax.compareTo(xRangeConfig.getMaximum()) != 0 || xMin.compareTo(xRangeConfig.getMinimum()) != 0;
+				if (xRangeModified && xRangeConfig.isAutoRangingEnabled()) {
+					xAutoRangingEnabled = false;
+				}
+
 				// Store the above into the configuration container.
 				xRangeConfig.setAutoRangingEnabled(xAutoRangingEnabled);
 				xRangeConfig.setMaximum(xMax);
@@ -157,6 +164,13 @@ public final class RangeSettingHandler {
 					return;
 				}
 
+				// If the range has been modified (without turning on the auto-ranging feature by this action),
+				// turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+				boolean yRangeModified = yMax.compareTo(yRangeConfig.getMaximum()) != 0 || yMin.compareTo(yRangeConfig.getMinimum()) != 0;
+				if (yRangeModified && yRangeConfig.isAutoRangingEnabled()) {
+					yAutoRangingEnabled = false;
+				}
+
 				// Store the above into the configuration container.
 				yRangeConfig.setAutoRangingEnabled(yAutoRangingEnabled);
 				yRangeConfig.setMaximum(yMax);
@@ -188,6 +202,13 @@ public final class RangeSettingHandler {
 					return;
 				}
 
+				// If the range has been modified (without turning on the auto-ranging feature by this action),
+				// turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+				boolean zRangeModified = zMax.compareTo(zRangeConfig.getMaximum()) != 0 || zMin.compareTo(zRangeConfig.getMinimum()) != 0;
+				if (zRangeModified && zRangeConfig.isAutoRangingEnabled()) {
+					zAutoRangingEnabled = false;
+				}
+
 				// Store the above into the configuration container.
 				zRangeConfig.setAutoRangingEnabled(zAutoRangingEnabled);
 				zRangeConfig.setMaximum(zMax);
@@ -265,6 +286,10 @@ public final class RangeSettingHandler {
 					= model.config.getRangeConfiguration().getXRangeConfiguration();
 			xRangeConfig.setMinimum(min);
 			xRangeConfig.setMaximum(max);
+
+			// Turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+			xRangeConfig.setAutoRangingEnabled(false);
+
 			presenter.propagateConfiguration();
 			presenter.plot();
 		}
@@ -374,6 +399,10 @@ public final class RangeSettingHandler {
 					= model.config.getRangeConfiguration().getYRangeConfiguration();
 			yRangeConfig.setMinimum(min);
 			yRangeConfig.setMaximum(max);
+
+			// Turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+			yRangeConfig.setAutoRangingEnabled(false);
+
 			presenter.propagateConfiguration();
 			presenter.plot();
 		}
@@ -482,6 +511,10 @@ public final class RangeSettingHandler {
 					= model.config.getRangeConfiguration().getZRangeConfiguration();
 			zRangeConfig.setMinimum(min);
 			zRangeConfig.setMaximum(max);
+
+			// Turn off the auto-ranging feature, to prevent the explicitly specified range from being overwritten.
+			zRangeConfig.setAutoRangingEnabled(false);
+
 			presenter.propagateConfiguration();
 			presenter.plot();
 		}
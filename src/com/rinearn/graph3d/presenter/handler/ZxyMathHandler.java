@@ -5,6 +5,7 @@ import com.rinearn.graph3d.model.dataseries.ZxyMathDataSeries;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.view.ZxyMathWindow;
+import com.rinearn.graph3d.config.OptionConfiguration;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -112,6 +113,12 @@ public class ZxyMathHandler {
 					zMathExpression, xDiscretizationCount, yDiscretizationCount,
 					model.scriptEngineMount, model.config
 			);
+
+			// Apply the settings of the adaptive sampling.
+			OptionConfiguration optionConfig = model.config.getOptionConfiguration();
+			mathDataSeries.setAdaptiveSamplingEnabled(optionConfig.isAdaptiveSamplingEnabled());
+			mathDataSeries.setAdaptiveSamplingTolerance(optionConfig.getAdaptiveSamplingTolerance());
+			mathDataSeries.setAdaptiveSamplingPointBudget(optionConfig.getAdaptiveSamplingPointBudget());
 			model.addMathDataSeries(mathDataSeries);
 
 			// Replot the graph.
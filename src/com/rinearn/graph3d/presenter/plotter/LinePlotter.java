@@ -2,6 +2,8 @@ package com.rinearn.graph3d.presenter.plotter;
 
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesDecimator;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRowBuffer;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -9,9 +11,11 @@ import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.event.RinearnGraph3DPlottingListener;
 import com.rinearn.graph3d.event.RinearnGraph3DPlottingEvent;
 import com.rinearn.graph3d.config.OptionConfiguration;
+import com.rinearn.graph3d.config.OptionConfiguration.LineOptionConfiguration.LineDecimationMode;
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 
 import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -23,6 +27,9 @@ import java.util.List;
  */
 public class LinePlotter implements RinearnGraph3DPlottingListener {
 
+	/** The number of coordinate points processed between checks of the cancellation of the plotting. */
+	private static final int PLOTTING_CHUNK_SIZE = 1024;
+
 	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
 	private final Model model;
 
@@ -31,7 +38,6 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 	private final View view;
 
 	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
-	@SuppressWarnings("unused")
 	private final Presenter presenter;
 
 	/** The rendering engine of 3D graphs. */
@@ -68,6 +74,9 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 		OptionConfiguration.LineOptionConfiguration lineOptionConfig = optionConfig.getLineOptionConfiguration();
 		double lineWidth = lineOptionConfig.getLineWidth();
 		boolean isLineOptionSelected = lineOptionConfig.isSelected();
+		LineDecimationMode[] decimationModes = lineOptionConfig.getDecimationModes();
+		int decimationPointBudget = lineOptionConfig.getDecimationPointBudget();
+		int decimationBucketCount = lineOptionConfig.getDecimationBucketCount();
 
 		// This plotter do nothing if "With Lines" option is not selected.
 		if(!isLineOptionSelected) {
@@ -75,11 +84,43 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 		}
 
 		// Plots all data series.
-		List<AbstractDataSeries> dataSeriesList = this.model.getDataSeriesList();
+		List<AbstractDataSeries> dataSeriesList = this.presenter.getPlottingDataSeriesSnapshot().getDataSeriesList();
 		int dataSeriesCount = dataSeriesList.size();
 		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
 			AbstractDataSeries dataSeries = dataSeriesList.get(dataSeriesIndex);
-			this.plotLines(dataSeries, dataSeriesIndex, lineWidth);
+
+			// Decimate the points only if the data series has more points than the budget.
+			LineDecimationMode decimationMode = decimationModes[dataSeriesIndex % decimationModes.length];
+			if (DataSeriesDecimator.countPoints(dataSeries) <= decimationPointBudget) {
+				decimationMode = LineDecimationMode.NONE;
+			}
+
+			// Reuse the geometry of the data series cached in the renderer, if the data series has not been modified.
+			// (The key contains the parameters affecting the geometry, in addition to the data series itself.)
+			// As the cached geometry consists of the decimated lines, the decimation is also skipped when the geometry is reused.
+			List<Object> geometryGroupKey = Arrays.asList(
+				this, dataSeries, dataSeriesIndex, lineWidth, decimationMode, decimationPointBudget, decimationBucketCount
+			);
+			long geometryGroupVersion = dataSeries.getContentVersion();
+			if (this.renderer.reuseGeometryGroup(geometryGroupKey, geometryGroupVersion)) {
+				continue;
+			}
+
+			// Otherwise, draw the geometry of the (decimated) data series again.
+			// If the plotting has been canceled on the way, leave the group uncompleted, to be discarded by the renderer.
+			this.renderer.beginGeometryGroup(geometryGroupKey, geometryGroupVersion);
+			AbstractDataSeries plottedDataSeries = dataSeries;
+			if (decimationMode == LineDecimationMode.MIN_MAX) {
+				plottedDataSeries = DataSeriesDecimator.decimateByMinMax(dataSeries, decimationBucketCount);
+			}
+			this.plotLines(plottedDataSeries, dataSeriesIndex, lineWidth);
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
+			this.renderer.endGeometryGroup();
 		}
 	}
 
@@ -96,41 +137,48 @@ public class LinePlotter implements RinearnGraph3DPlottingListener {
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		// Read the coordinate points of the data series row by row, into the reusable buffer.
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
 
-		// Draw a line between each pair of adjacent points in the above.
-		int leftDimLength = xCoords.length;
+		// Draw a line between each pair of adjacent points of each row.
+		int leftDimLength = dataSeries.getLeftDimensionLength();
 		for (int iL=0; iL<leftDimLength; iL++) {
-
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength - 1; iR++) {
-
-				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL][iR + 1];
-				if (!isLineVisible) {
-					continue;
+			row.read(dataSeries, iL);
+			double[] xCoords = row.getXCoordinates();
+			double[] yCoords = row.getYCoordinates();
+			double[] zCoords = row.getZCoordinates();
+
+			// Draw lines only in the runs of consecutive visible points, because a line is drawn only when both of its edge points are visible.
+			// Invisible regions between the runs are skipped by 64 points at once, through the visibility bitset.
+			int rightDimLength = row.getLength();
+			int runBegin = row.nextVisibleIndex(0);
+			while (runBegin < rightDimLength) {
+				int runEnd = row.nextInvisibleIndex(runBegin);
+				for (int iR=runBegin; iR<runEnd - 1; iR++) {
+
+					// Stop plotting at the boundary of a chunk, if the plotting has been canceled.
+					if ((iR - runBegin) % PLOTTING_CHUNK_SIZE == 0 && this.presenter.isPlottingCanceled()) {
+						return;
+					}
+
+					// The coordinates of the edge point A:
+					double xA = xCoords[iR];
+					double yA = yCoords[iR];
+					double zA = zCoords[iR];
+
+					// The coordinates of the edge point B:
+					double xB = xCoords[iR + 1];
+					double yB = yCoords[iR + 1];
+					double zB = zCoords[iR + 1];
+
+					// Draw a line connecting the points A and B, on the 3D graph.
+					this.renderer.drawLine(
+							xA, yA, zA,
+							xB, yB, zB,
+							lineWidth, drawingParameter
+					);
 				}
-
-				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// The coordinates of the edge point B:
-				double xB = xCoords[iL][iR + 1];
-				double yB = yCoords[iL][iR + 1];
-				double zB = zCoords[iL][iR + 1];
-
-				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
-						xA, yA, zA,
-						xB, yB, zB,
-						lineWidth, drawingParameter
-				);
+				runBegin = row.nextVisibleIndex(runEnd);
 			}
 		}
 	}
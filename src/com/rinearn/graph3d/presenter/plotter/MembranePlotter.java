@@ -2,6 +2,8 @@ package com.rinearn.graph3d.presenter.plotter;
 
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRowBuffer;
+import com.rinearn.graph3d.model.dataseries.VisibilityBitset;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -12,6 +14,7 @@ import com.rinearn.graph3d.config.OptionConfiguration;
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 
 import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -23,6 +26,9 @@ import java.util.List;
  */
 public class MembranePlotter implements RinearnGraph3DPlottingListener {
 
+	/** The number of coordinate points processed between checks of the cancellation of the plotting. */
+	private static final int PLOTTING_CHUNK_SIZE = 1024;
+
 	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
 	private final Model model;
 
@@ -31,7 +37,6 @@ public class MembranePlotter implements RinearnGraph3DPlottingListener {
 	private final View view;
 
 	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
-	@SuppressWarnings("unused")
 	private final Presenter presenter;
 
 	/** The rendering engine of 3D graphs. */
@@ -74,11 +79,30 @@ public class MembranePlotter implements RinearnGraph3DPlottingListener {
 		}
 
 		// Plots all data series.
-		List<AbstractDataSeries> dataSeriesList = this.model.getDataSeriesList();
+		List<AbstractDataSeries> dataSeriesList = this.presenter.getPlottingDataSeriesSnapshot().getDataSeriesList();
 		int dataSeriesCount = dataSeriesList.size();
 		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
 			AbstractDataSeries dataSeries = dataSeriesList.get(dataSeriesIndex);
+
+			// Reuse the geometry of the data series cached in the renderer, if the data series has not been modified.
+			// (The key contains the parameters affecting the geometry, in addition to the data series itself.)
+			List<Object> geometryGroupKey = Arrays.asList(this, dataSeries, dataSeriesIndex);
+			long geometryGroupVersion = dataSeries.getContentVersion();
+			if (this.renderer.reuseGeometryGroup(geometryGroupKey, geometryGroupVersion)) {
+				continue;
+			}
+
+			// Otherwise, draw the geometry of the data series again.
+			// If the plotting has been canceled on the way, leave the group uncompleted, to be discarded by the renderer.
+			this.renderer.beginGeometryGroup(geometryGroupKey, geometryGroupVersion);
 			this.plotMembrane(dataSeries, dataSeriesIndex);
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
+			this.renderer.endGeometryGroup();
 		}
 	}
 
@@ -94,58 +118,86 @@ public class MembranePlotter implements RinearnGraph3DPlottingListener {
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		// Read the coordinate points of the data series row by row.
+		// The buffer of the previous row is retained for drawing quadrangles between the adjacent rows.
+		DataSeriesRowBuffer previousRow = new DataSeriesRowBuffer();
+		DataSeriesRowBuffer currentRow = new DataSeriesRowBuffer();
+
+		// The bitset of the points visible in both of the previous row and the current row.
+		long[] commonVisibilityWords = new long[0];
 
 		// Draw a quadrangle for each adjacent coordinate points in the above.
-		int leftDimLength = xCoords.length;
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		if (0 < leftDimLength) {
+			previousRow.read(dataSeries, 0);
+		}
 		for (int iL=0; iL<leftDimLength - 1; iL++) {
-
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength - 1; iR++) {
-
-				// Draw a quadrangle only when all of its vertices are set to visible.
-				boolean isQuadrangleVisible =
-						visibilities[iL    ][iR    ] &&
-						visibilities[iL + 1][iR    ] &&
-						visibilities[iL + 1][iR + 1] &&
-						visibilities[iL    ][iR + 1];
-				if (!isQuadrangleVisible) {
-					continue;
+			currentRow.read(dataSeries, iL + 1);
+			double[] xCoords0 = previousRow.getXCoordinates();
+			double[] yCoords0 = previousRow.getYCoordinates();
+			double[] zCoords0 = previousRow.getZCoordinates();
+			double[] xCoords1 = currentRow.getXCoordinates();
+			double[] yCoords1 = currentRow.getYCoordinates();
+			double[] zCoords1 = currentRow.getZCoordinates();
+
+			// Compute the bitset of the points visible in both rows.
+			// A quadrangle is drawn only when all of its vertices are visible,
+			// so quadrangles are drawn only in the runs of consecutive points visible in both rows.
+			int rightDimLength = Math.min(previousRow.getLength(), currentRow.getLength());
+			if (commonVisibilityWords.length < VisibilityBitset.wordCount(rightDimLength)) {
+				commonVisibilityWords = new long[VisibilityBitset.wordCount(rightDimLength)];
+			}
+			VisibilityBitset.and(
+				previousRow.getVisibilityWords(), currentRow.getVisibilityWords(), commonVisibilityWords, rightDimLength
+			);
+
+			// Invisible regions between the runs are skipped by 64 points at once.
+			int runBegin = VisibilityBitset.nextVisibleIndex(commonVisibilityWords, 0, rightDimLength);
+			while (runBegin < rightDimLength) {
+				int runEnd = VisibilityBitset.nextInvisibleIndex(commonVisibilityWords, runBegin, rightDimLength);
+				for (int iR=runBegin; iR<runEnd - 1; iR++) {
+
+					// Stop plotting at the boundary of a chunk, if the plotting has been canceled.
+					if ((iR - runBegin) % PLOTTING_CHUNK_SIZE == 0 && this.presenter.isPlottingCanceled()) {
+						return;
+					}
+
+					// Coords of the vertex A:
+					double xA = xCoords0[iR];
+					double yA = yCoords0[iR];
+					double zA = zCoords0[iR];
+
+					// Coords of the vertex B:
+					double xB = xCoords1[iR];
+					double yB = yCoords1[iR];
+					double zB = zCoords1[iR];
+
+					// Coords of the vertex C:
+					double xC = xCoords1[iR + 1];
+					double yC = yCoords1[iR + 1];
+					double zC = zCoords1[iR + 1];
+
+					// Coords of the vertex D:
+					double xD = xCoords0[iR + 1];
+					double yD = yCoords0[iR + 1];
+					double zD = zCoords0[iR + 1];
+
+					// Draw a quadrangle on the 3D graph.
+					this.renderer.drawQuadrangle(
+							xA, yA, zA,
+							xB, yB, zB,
+							xC, yC, zC,
+							xD, yD, zD,
+							drawingParameter
+					);
 				}
-
-				// Coords of the vertex A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// Coords of the vertex B:
-				double xB = xCoords[iL + 1][iR];
-				double yB = yCoords[iL + 1][iR];
-				double zB = zCoords[iL + 1][iR];
-
-				// Coords of the vertex C:
-				double xC = xCoords[iL + 1][iR + 1];
-				double yC = yCoords[iL + 1][iR + 1];
-				double zC = zCoords[iL + 1][iR + 1];
-
-				// Coords of the vertex D:
-				double xD = xCoords[iL][iR + 1];
-				double yD = yCoords[iL][iR + 1];
-				double zD = zCoords[iL][iR + 1];
-
-				// Draw a quadrangle on the 3D graph.
-				this.renderer.drawQuadrangle(
-						xA, yA, zA,
-						xB, yB, zB,
-						xC, yC, zC,
-						xD, yD, zD,
-						drawingParameter
-				);
+				runBegin = VisibilityBitset.nextVisibleIndex(commonVisibilityWords, runEnd, rightDimLength);
 			}
+
+			// Swap the buffers, to retain the current row as the previous row.
+			DataSeriesRowBuffer swapTemp = previousRow;
+			previousRow = currentRow;
+			currentRow = swapTemp;
 		}
 	}
 
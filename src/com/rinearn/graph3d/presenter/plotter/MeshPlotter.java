@@ -2,6 +2,8 @@ package com.rinearn.graph3d.presenter.plotter;
 
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRowBuffer;
+import com.rinearn.graph3d.model.dataseries.VisibilityBitset;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -12,6 +14,7 @@ import com.rinearn.graph3d.config.OptionConfiguration;
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 
 import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -23,6 +26,9 @@ import java.util.List;
  */
 public class MeshPlotter implements RinearnGraph3DPlottingListener {
 
+	/** The number of coordinate points processed between checks of the cancellation of the plotting. */
+	private static final int PLOTTING_CHUNK_SIZE = 1024;
+
 	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
 	private final Model model;
 
@@ -31,7 +37,6 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 	private final View view;
 
 	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
-	@SuppressWarnings("unused")
 	private final Presenter presenter;
 
 	/** The rendering engine of 3D graphs. */
@@ -75,11 +80,30 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 		}
 
 		// Plots all data series.
-		List<AbstractDataSeries> dataSeriesList = this.model.getDataSeriesList();
+		List<AbstractDataSeries> dataSeriesList = this.presenter.getPlottingDataSeriesSnapshot().getDataSeriesList();
 		int dataSeriesCount = dataSeriesList.size();
 		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
 			AbstractDataSeries dataSeries = dataSeriesList.get(dataSeriesIndex);
+
+			// Reuse the geometry of the data series cached in the renderer, if the data series has not been modified.
+			// (The key contains the parameters affecting the geometry, in addition to the data series itself.)
+			List<Object> geometryGroupKey = Arrays.asList(this, dataSeries, dataSeriesIndex, lineWidth);
+			long geometryGroupVersion = dataSeries.getContentVersion();
+			if (this.renderer.reuseGeometryGroup(geometryGroupKey, geometryGroupVersion)) {
+				continue;
+			}
+
+			// Otherwise, draw the geometry of the data series again.
+			// If the plotting has been canceled on the way, leave the group uncompleted, to be discarded by the renderer.
+			this.renderer.beginGeometryGroup(geometryGroupKey, geometryGroupVersion);
 			this.plotMesh(dataSeries, dataSeriesIndex, lineWidth);
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
+			this.renderer.endGeometryGroup();
 		}
 	}
 
@@ -96,73 +120,104 @@ public class MeshPlotter implements RinearnGraph3DPlottingListener {
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
-
-		// Draw lines for the direction of the right-side dimension.
-		int leftDimLength = xCoords.length;
-		for (int iL=0; iL<leftDimLength; iL++) {
+		// Read the coordinate points of the data series row by row.
+		// The buffer of the previous row is retained for drawing lines between the adjacent rows.
+		DataSeriesRowBuffer previousRow = new DataSeriesRowBuffer();
+		DataSeriesRowBuffer currentRow = new DataSeriesRowBuffer();
 
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength - 1; iR++) {
+		// The bitset of the points visible in both of the previous row and the current row.
+		long[] commonVisibilityWords = new long[0];
 
-				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL][iR + 1];
-				if (!isLineVisible) {
-					continue;
+		int leftDimLength = dataSeries.getLeftDimensionLength();
+		for (int iL=0; iL<leftDimLength; iL++) {
+			currentRow.read(dataSeries, iL);
+			double[] xCoords = currentRow.getXCoordinates();
+			double[] yCoords = currentRow.getYCoordinates();
+			double[] zCoords = currentRow.getZCoordinates();
+
+			// Draw lines for the direction of the right-side dimension.
+			// Draw lines only in the runs of consecutive visible points, because a line is drawn only when both of its edge points are visible.
+			// Invisible regions between the runs are skipped by 64 points at once, through the visibility bitset.
+			int rightDimLength = currentRow.getLength();
+			int runBegin = currentRow.nextVisibleIndex(0);
+			while (runBegin < rightDimLength) {
+				int runEnd = currentRow.nextInvisibleIndex(runBegin);
+				for (int iR=runBegin; iR<runEnd - 1; iR++) {
+
+					// Stop plotting at the boundary of a chunk, if the plotting has been canceled.
+					if ((iR - runBegin) % PLOTTING_CHUNK_SIZE == 0 && this.presenter.isPlottingCanceled()) {
+						return;
+					}
+
+					// The coordinates of the edge point A:
+					double xA = xCoords[iR];
+					double yA = yCoords[iR];
+					double zA = zCoords[iR];
+
+					// The coordinates of the edge point B:
+					double xB = xCoords[iR + 1];
+					double yB = yCoords[iR + 1];
+					double zB = zCoords[iR + 1];
+
+					// Draw a line connecting the points A and B, on the 3D graph.
+					this.renderer.drawLine(
+							xA, yA, zA,
+							xB, yB, zB,
+							lineWidth, drawingParameter
+					);
 				}
-
-				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// The coordinates of the edge point B:
-				double xB = xCoords[iL][iR + 1];
-				double yB = yCoords[iL][iR + 1];
-				double zB = zCoords[iL][iR + 1];
-
-				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
-						xA, yA, zA,
-						xB, yB, zB,
-						lineWidth, drawingParameter
-				);
+				runBegin = currentRow.nextVisibleIndex(runEnd);
 			}
-		}
-
-		// Draw lines for the direction of the left-side dimension.
-		for (int iL=0; iL<leftDimLength - 1; iL++) {
 
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength; iR++) {
+			// Draw lines for the direction of the left-side dimension, between the previous row and the current row.
+			if (0 < iL) {
+				double[] prevXCoords = previousRow.getXCoordinates();
+				double[] prevYCoords = previousRow.getYCoordinates();
+				double[] prevZCoords = previousRow.getZCoordinates();
 
-				// Draw a line only when both of its edge points are set to visible.
-				boolean isLineVisible = visibilities[iL][iR] && visibilities[iL + 1][iR];
-				if (!isLineVisible) {
-					continue;
+				// Compute the bitset of the points visible in both rows, which are the edge points of the visible lines.
+				int commonRightDimLength = Math.min(previousRow.getLength(), rightDimLength);
+				if (commonVisibilityWords.length < VisibilityBitset.wordCount(commonRightDimLength)) {
+					commonVisibilityWords = new long[VisibilityBitset.wordCount(commonRightDimLength)];
 				}
-
-				// The coordinates of the edge point A:
-				double xA = xCoords[iL][iR];
-				double yA = yCoords[iL][iR];
-				double zA = zCoords[iL][iR];
-
-				// The coordinates of the edge point B:
-				double xB = xCoords[iL + 1][iR];
-				double yB = yCoords[iL + 1][iR];
-				double zB = zCoords[iL + 1][iR];
-
-				// Draw a line connecting the points A and B, on the 3D graph.
-				this.renderer.drawLine(
-						xA, yA, zA,
-						xB, yB, zB,
-						lineWidth, drawingParameter
+				VisibilityBitset.and(
+					previousRow.getVisibilityWords(), currentRow.getVisibilityWords(), commonVisibilityWords, commonRightDimLength
 				);
+
+				int plottedCount = 0;
+				for (int iR=VisibilityBitset.nextVisibleIndex(commonVisibilityWords, 0, commonRightDimLength);
+						iR<commonRightDimLength;
+						iR=VisibilityBitset.nextVisibleIndex(commonVisibilityWords, iR + 1, commonRightDimLength)) {
+
+					// Stop plotting at the boundary of a chunk, if the plotting has been canceled.
+					if (plottedCount % PLOTTING_CHUNK_SIZE == 0 && this.presenter.isPlottingCanceled()) {
+						return;
+					}
+					plottedCount++;
+
+					// The coordinates of the edge point A:
+					double xA = prevXCoords[iR];
+					double yA = prevYCoords[iR];
+					double zA = prevZCoords[iR];
+
+					// The coordinates of the edge point B:
+					double xB = xCoords[iR];
+					double yB = yCoords[iR];
+					double zB = zCoords[iR];
+
+					// Draw a line connecting the points A and B, on the 3D graph.
+					this.renderer.drawLine(
+							xA, yA, zA,
+							xB, yB, zB,
+							lineWidth, drawingParameter
+					);
+				}
 			}
+
+			// Swap the buffers, to retain the current row as the previous row.
+			DataSeriesRowBuffer swapTemp = previousRow;
+			previousRow = currentRow;
+			currentRow = swapTemp;
 		}
 	}
 
@@ -2,6 +2,8 @@ package com.rinearn.graph3d.presenter.plotter;
 
 import com.rinearn.graph3d.model.Model;
 import com.rinearn.graph3d.model.dataseries.AbstractDataSeries;
+import com.rinearn.graph3d.model.dataseries.DataSeriesDecimator;
+import com.rinearn.graph3d.model.dataseries.DataSeriesRowBuffer;
 import com.rinearn.graph3d.presenter.Presenter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DDrawingParameter;
 import com.rinearn.graph3d.renderer.RinearnGraph3DRenderer;
@@ -9,9 +11,12 @@ import com.rinearn.graph3d.view.View;
 import com.rinearn.graph3d.event.RinearnGraph3DPlottingListener;
 import com.rinearn.graph3d.event.RinearnGraph3DPlottingEvent;
 import com.rinearn.graph3d.config.OptionConfiguration;
+import com.rinearn.graph3d.config.OptionConfiguration.PointOptionConfiguration.PointDecimationMode;
+import com.rinearn.graph3d.config.RangeConfiguration;
 import com.rinearn.graph3d.config.RinearnGraph3DConfiguration;
 
 import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -23,6 +28,9 @@ import java.util.List;
  */
 public class PointPlotter implements RinearnGraph3DPlottingListener {
 
+	/** The number of coordinate points processed between checks of the cancellation of the plotting. */
+	private static final int PLOTTING_CHUNK_SIZE = 1024;
+
 	/** The front-end class of "Model" layer, which provides internal logic procedures and so on. */
 	private final Model model;
 
@@ -31,7 +39,6 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 	private final View view;
 
 	/** The front-end class of "Presenter" layer, which invokes Model's procedures triggered by user's action on GUI. */
-	@SuppressWarnings("unused")
 	private final Presenter presenter;
 
 	/** The rendering engine of 3D graphs. */
@@ -68,6 +75,9 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 		OptionConfiguration.PointOptionConfiguration pointOptionConfig = optionConfig.getPointOptionConfiguration();
 		double pointRadius = pointOptionConfig.getPointRadius();
 		boolean isPointOptionSelected = pointOptionConfig.isSelected();
+		PointDecimationMode[] decimationModes = pointOptionConfig.getDecimationModes();
+		int decimationPointBudget = pointOptionConfig.getDecimationPointBudget();
+		int decimationVoxelResolution = pointOptionConfig.getDecimationVoxelResolution();
 
 		// This plotter do nothing if "With Points" option is not selected.
 		if(!isPointOptionSelected) {
@@ -75,15 +85,125 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 		}
 
 		// Plots all data series.
-		List<AbstractDataSeries> dataSeriesList = this.model.getDataSeriesList();
+		List<AbstractDataSeries> dataSeriesList = this.presenter.getPlottingDataSeriesSnapshot().getDataSeriesList();
 		int dataSeriesCount = dataSeriesList.size();
 		for (int dataSeriesIndex=0; dataSeriesIndex<dataSeriesCount; dataSeriesIndex++) {
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
 			AbstractDataSeries dataSeries = dataSeriesList.get(dataSeriesIndex);
-			this.plotPoints(dataSeries, dataSeriesIndex, pointRadius);
+
+			// Decimate the points only if the data series has more points than the budget.
+			PointDecimationMode decimationMode = decimationModes[dataSeriesIndex % decimationModes.length];
+			if (DataSeriesDecimator.countPoints(dataSeries) <= decimationPointBudget) {
+				decimationMode = PointDecimationMode.NONE;
+			}
+
+			// The ranges affect the result of VOXEL_GRID mode, so they are contained in the key of the geometry in that mode.
+			List<Object> decimationRanges = null;
+			if (decimationMode == PointDecimationMode.VOXEL_GRID) {
+				RangeConfiguration rangeConfig = config.getRangeConfiguration();
+				decimationRanges = Arrays.<Object>asList(
+					rangeConfig.getXRangeConfiguration().getMinimum(), rangeConfig.getXRangeConfiguration().getMaximum(),
+					rangeConfig.getYRangeConfiguration().getMinimum(), rangeConfig.getYRangeConfiguration().getMaximum(),
+					rangeConfig.getZRangeConfiguration().getMinimum(), rangeConfig.getZRangeConfiguration().getMaximum()
+				);
+			}
+
+			// Reuse the geometry of the data series cached in the renderer, if the data series has not been modified.
+			// (The key contains the parameters affecting the geometry, in addition to the data series itself.)
+			// As the cached geometry consists of the decimated points, the decimation is also skipped when the geometry is reused.
+			List<Object> geometryGroupKey = Arrays.asList(
+				this, dataSeries, dataSeriesIndex, pointRadius,
+				decimationMode, decimationPointBudget, decimationVoxelResolution, decimationRanges
+			);
+			long geometryGroupVersion = dataSeries.getContentVersion();
+			if (this.renderer.reuseGeometryGroup(geometryGroupKey, geometryGroupVersion)) {
+				continue;
+			}
+
+			// Otherwise, draw the geometry of the (decimated) data series again.
+			// If the plotting has been canceled on the way, leave the group uncompleted, to be discarded by the renderer.
+			this.renderer.beginGeometryGroup(geometryGroupKey, geometryGroupVersion);
+			AbstractDataSeries plottedDataSeries = this.decimate(
+				dataSeries, decimationMode, decimationPointBudget, decimationVoxelResolution, config
+			);
+			this.plotPoints(plottedDataSeries, dataSeriesIndex, pointRadius);
+			if (this.presenter.isPlottingCanceled()) {
+				return;
+			}
+			this.renderer.endGeometryGroup();
 		}
 	}
 
 
+	/**
+	 * Decimates the points of the specified data series by the specified mode.
+	 *
+	 * @param dataSeries The data series to be decimated.
+	 * @param decimationMode The decimation mode.
+	 * @param pointBudget The number of points after the decimation, in RANDOM and STRATIFIED modes.
+	 * @param voxelResolution The number of voxels along each axis, in VOXEL_GRID mode.
+	 * @param config The configuration storing the ranges of the axes.
+	 * @return The decimated data series, or the specified data series itself in NONE mode.
+	 */
+	private AbstractDataSeries decimate(AbstractDataSeries dataSeries, PointDecimationMode decimationMode,
+			int pointBudget, int voxelResolution, RinearnGraph3DConfiguration config) {
+
+		switch (decimationMode) {
+			case NONE : {
+				return dataSeries;
+			}
+			case VOXEL_GRID : {
+				return DataSeriesDecimator.decimateByVoxelGrid(
+					dataSeries, voxelResolution, this.getRangeMinimums(config), this.getRangeMaximums(config)
+				);
+			}
+			case RANDOM : {
+				return DataSeriesDecimator.decimateByRandomSampling(dataSeries, pointBudget);
+			}
+			case STRATIFIED : {
+				return DataSeriesDecimator.decimateByStratifiedSampling(dataSeries, pointBudget);
+			}
+			default : {
+				throw new IllegalStateException("Unexpected decimation mode: " + decimationMode);
+			}
+		}
+	}
+
+
+	/**
+	 * Gets the minimum values of the X/Y/Z ranges.
+	 *
+	 * @param config The configuration storing the ranges of the axes.
+	 * @return The array storing the minimum values of the X/Y/Z ranges.
+	 */
+	private double[] getRangeMinimums(RinearnGraph3DConfiguration config) {
+		RangeConfiguration rangeConfig = config.getRangeConfiguration();
+		return new double[] {
+			rangeConfig.getXRangeConfiguration().getMinimum().doubleValue(),
+			rangeConfig.getYRangeConfiguration().getMinimum().doubleValue(),
+			rangeConfig.getZRangeConfiguration().getMinimum().doubleValue()
+		};
+	}
+
+
+	/**
+	 * Gets the maximum values of the X/Y/Z ranges.
+	 *
+	 * @param config The configuration storing the ranges of the axes.
+	 * @return The array storing the maximum values of the X/Y/Z ranges.
+	 */
+	private double[] getRangeMaximums(RinearnGraph3DConfiguration config) {
+		RangeConfiguration rangeConfig = config.getRangeConfiguration();
+		return new double[] {
+			rangeConfig.getXRangeConfiguration().getMaximum().doubleValue(),
+			rangeConfig.getYRangeConfiguration().getMaximum().doubleValue(),
+			rangeConfig.getZRangeConfiguration().getMaximum().doubleValue()
+		};
+	}
+
+
 	/**
 	 * Plots points on each coordinate point of the specified data series.
 	 *
@@ -96,25 +216,31 @@ public class PointPlotter implements RinearnGraph3DPlottingListener {
 		drawingParameter.setSeriesIndex(seriesIndex);
 		drawingParameter.setAutoColoringEnabled(true);
 
-		// Extract all coordinate points of the data series.
-		double[][] xCoords = dataSeries.getXCoordinates();
-		double[][] yCoords = dataSeries.getYCoordinates();
-		double[][] zCoords = dataSeries.getZCoordinates();
-		boolean[][] visibilities = dataSeries.getVisibilities();
+		// Read the coordinate points of the data series row by row, into the reusable buffer.
+		DataSeriesRowBuffer row = new DataSeriesRowBuffer();
 
-		// Draw a point on each coordinate point in the above.
-		int leftDimLength = xCoords.length;
+		// Draw a point on each coordinate point of each row.
+		int leftDimLength = dataSeries.getLeftDimensionLength();
 		for (int iL=0; iL<leftDimLength; iL++) {
+			row.read(dataSeries, iL);
+			double[] xCoords = row.getXCoordinates();
+			double[] yCoords = row.getYCoordinates();
+			double[] zCoords = row.getZCoordinates();
+
+			// Visit only the visible points. Invisible regions are skipped by 64 points at once, through the visibility bitset.
+			int rightDimLength = row.getLength();
+			int plottedCount = 0;
+			for (int iR=row.nextVisibleIndex(0); iR<rightDimLength; iR=row.nextVisibleIndex(iR + 1)) {
 
-			int rightDimLength = xCoords[iL].length;
-			for (int iR=0; iR<rightDimLength; iR++) {
-				if (!visibilities[iL][iR]) {
-					continue;
+				// Stop plotting at the boundary of a chunk, if the plotting has been canceled.
+				if (plottedCount % PLOTTING_CHUNK_SIZE == 0 && this.presenter.isPlottingCanceled()) {
+					return;
 				}
+				plottedCount++;
 
-				double x = xCoords[iL][iR];
-				double y = yCoords[iL][iR];
-				double z = zCoords[iL][iR];
+				double x = xCoords[iR];
+				double y = yCoords[iR];
+				double z = zCoords[iR];
 
 				// Draw a point on the 3D graph.
 				this.renderer.drawPoint(
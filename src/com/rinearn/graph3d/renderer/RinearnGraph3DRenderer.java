@@ -27,14 +27,15 @@ public interface RinearnGraph3DRenderer {
 	 * <span class="lang-en">
 	 * .
 	 * <span class="lang-en">
-	 * Note that, the changes of the configuration (contains ranges of X/Y/Z axes)
-	 * does not affect to the currently drawn contents (points, lines, quadrangles, and so on).
-	 * To reflect the changes, please clear() and re-draw all contents again.
+	 * Note that, the changes of the ranges of X/Y/Z axes and the colors are reflected to
+	 * the currently drawn contents (points, lines, quadrangles, and so on) when they are rendered next time,
+	 * but other changes (e.g.: scale ticks and labels) does not affect to the currently drawn contents.
+	 * To reflect them, please clear() and re-draw all contents again.
 	 * <span class="lang-en">
 	 * <span class="lang-ja">
-	 * なお、設定の変更は、それまでに draw 系メソッドを用いて描画した内容（点や線、四角形など）
-	 * には反映されない事に注意してください。
-	 * 設定の変更を反映させるには、一旦 clear() メソッドでそれらをクリアして、再度描画してください。
+	 * なお、X/Y/Z 軸の範囲や色の設定の変更は、それまでに draw 系メソッドを用いて描画した内容（点や線、四角形など）
+	 * にも次回のレンダリング時に反映されますが、それ以外の変更（目盛りやラベルなど）は反映されない事に注意してください。
+	 * それらを反映させるには、一旦 clear() メソッドでそれらをクリアして、再度描画してください。
 	 * <span class="lang-en">
 	 *
 	 * @param configuration
@@ -117,6 +118,173 @@ public interface RinearnGraph3DRenderer {
 	public void render();
 
 
+	/**
+	 * <span class="lang-en">
+	 * Renders the coarse preview of the graph screen
+	 * </span>
+	 * <span class="lang-ja">
+	 * グラフ画面の粗いプレビューを描画します
+	 * </span>
+	 * .
+	 *
+	 * <div class="lang-en">
+	 * When there are too many drawn objects, only a part of them are rendered by this method, for reducing the latency.
+	 * It is used for updating the graph screen quickly during user's operations, e.g.: mouse dragging.
+	 * When this method returns false, call {@link RinearnGraph3DRenderer#render render} method later for completing the graph screen.
+	 * </div>
+	 *
+	 * <div class="lang-ja">
+	 * 描画された立体の数が多すぎる場合, 応答の遅延を抑えるため, このメソッドはその一部のみを描画します.
+	 * マウスのドラッグ中など, ユーザーの操作中にグラフ画面を素早く更新するために使用されます.
+	 * このメソッドが false を返した場合は, 後で {@link RinearnGraph3DRenderer#render render} メソッドをコールし, グラフ画面を完成させてください.
+	 * </div>
+	 *
+	 * @return
+	 *   <span class="lang-en">Returns true if all objects have been rendered, false if some of them have been omitted or the rendering has been canceled</span>
+	 *   <span class="lang-ja">全ての立体が描画された場合に true, 一部が省略されたか描画がキャンセルされた場合に false</span>
+	 */
+	public boolean renderPreview();
+
+
+	/**
+	 * <span class="lang-en">
+	 * Cancels the rendering in progress on another thread
+	 * </span>
+	 * <span class="lang-ja">
+	 * 別のスレッドで実行中の描画をキャンセルします
+	 * </span>
+	 * .
+	 *
+	 * <div class="lang-en">
+	 * The canceled rendering process stops at the next checkpoint, without updating the content of the graph screen.
+	 * This method does nothing if no rendering is in progress.
+	 * </div>
+	 *
+	 * <div class="lang-ja">
+	 * キャンセルされた描画処理は, グラフ画面の内容を更新せずに, 次のチェックポイントで停止します.
+	 * 実行中の描画が無い場合は, このメソッドは何もしません.
+	 * </div>
+	 *
+	 * @return
+	 *   <span class="lang-en">Returns true if a rendering in progress has been canceled</span>
+	 *   <span class="lang-ja">実行中の描画がキャンセルされた場合に true</span>
+	 */
+	public boolean cancelRendering();
+
+
+	/**
+	 * <span class="lang-en">
+	 * Reuses the cached group of drawn objects having the specified key, if its version matches with the specified version
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたキーを持つ, キャッシュ済みの描画立体のグループを, バージョンが一致する場合に再利用します
+	 * </span>
+	 * .
+	 *
+	 * <div class="lang-en">
+	 * A group is a set of objects drawn between
+	 * {@link RinearnGraph3DRenderer#beginGeometryGroup beginGeometryGroup} and {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup}.
+	 * Groups are retained across {@link RinearnGraph3DRenderer#clear clear}, and the reused groups are rendered again,
+	 * so it is unnecessary to re-draw the objects of unchanged contents (e.g.: unchanged data series).
+	 * Groups which are neither reused nor re-drawn after calling {@link RinearnGraph3DRenderer#clear clear}
+	 * are discarded when {@link RinearnGraph3DRenderer#commitGeometryGroups commitGeometryGroups} is called.
+	 * Changes of the ranges and colors after the group was drawn are reflected to the reused group when rendered.
+	 * </div>
+	 *
+	 * <div class="lang-ja">
+	 * グループは, {@link RinearnGraph3DRenderer#beginGeometryGroup beginGeometryGroup} と {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup}
+	 * の間に描画された立体の集合です.
+	 * グループは {@link RinearnGraph3DRenderer#clear clear} の後も保持され, 再利用されたグループは再び描画されるため,
+	 * 内容が変化していないもの（変更されていないデータ系列など）の立体を描き直す必要はありません.
+	 * {@link RinearnGraph3DRenderer#clear clear} の後に, 再利用も再描画もされなかったグループは,
+	 * {@link RinearnGraph3DRenderer#commitGeometryGroups commitGeometryGroups} が呼ばれた際に破棄されます.
+	 * なお, グループの描画後に変更された範囲や色の設定は, 再利用されたグループにもレンダリング時に反映されます.
+	 * </div>
+	 *
+	 * @param groupKey
+	 *   <span class="lang-en">The key identifying the group (compared by equals method)</span>
+	 *   <span class="lang-ja">グループを識別するキー（equals メソッドで比較されます）</span>
+	 * @param groupVersion
+	 *   <span class="lang-en">The version of the contents of the group</span>
+	 *   <span class="lang-ja">グループの内容のバージョン</span>
+	 * @return
+	 *   <span class="lang-en">Returns true if the group has been reused, or false if it must be drawn again</span>
+	 *   <span class="lang-ja">グループが再利用された場合に true, 描き直す必要がある場合に false</span>
+	 */
+	public boolean reuseGeometryGroup(Object groupKey, long groupVersion);
+
+
+	/**
+	 * <span class="lang-en">
+	 * Begins drawing the group of objects having the specified key
+	 * </span>
+	 * <span class="lang-ja">
+	 * 指定されたキーを持つ, 立体のグループの描画を開始します
+	 * </span>
+	 * .
+	 *
+	 * <div class="lang-en">
+	 * The objects drawn until {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup} is called are registered to the group.
+	 * If the group had been cached, its objects are discarded at first.
+	 * If the drawing is abandoned without calling {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup},
+	 * the group is discarded when {@link RinearnGraph3DRenderer#clear clear} or this method is called next time.
+	 * </div>
+	 *
+	 * <div class="lang-ja">
+	 * {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup} が呼ばれるまでに描画された立体は, そのグループに登録されます.
+	 * グループがキャッシュされていた場合, その立体は最初に破棄されます.
+	 * {@link RinearnGraph3DRenderer#endGeometryGroup endGeometryGroup} を呼ばずに描画が中断された場合,
+	 * そのグループは, 次に {@link RinearnGraph3DRenderer#clear clear} かこのメソッドが呼ばれた際に破棄されます.
+	 * </div>
+	 *
+	 * @param groupKey
+	 *   <span class="lang-en">The key identifying the group (compared by equals method)</span>
+	 *   <span class="lang-ja">グループを識別するキー（equals メソッドで比較されます）</span>
+	 * @param groupVersion
+	 *   <span class="lang-en">The version of the contents of the group</span>
+	 *   <span class="lang-ja">グループの内容のバージョン</span>
+	 */
+	public void beginGeometryGroup(Object groupKey, long groupVersion);
+
+
+	/**
+	 * <span class="lang-en">
+	 * Ends drawing the group of objects, begun by {@link RinearnGraph3DRenderer#beginGeometryGroup beginGeometryGroup}
+	 * </span>
+	 * <span class="lang-ja">
+	 * {@link RinearnGraph3DRenderer#beginGeometryGroup beginGeometryGroup} で開始した, 立体のグループの描画を終了します
+	 * </span>
+	 * .
+	 *
+	 * @throws IllegalStateException
+	 *   <span class="lang-en">Thrown if no group is being drawn</span>
+	 *   <span class="lang-ja">描画中のグループが無い場合にスローされます</span>
+	 */
+	public void endGeometryGroup();
+
+
+	/**
+	 * <span class="lang-en">
+	 * Discards the cached groups of objects which have been neither reused nor re-drawn after calling {@link RinearnGraph3DRenderer#clear clear}
+	 * </span>
+	 * <span class="lang-ja">
+	 * {@link RinearnGraph3DRenderer#clear clear} の後に, 再利用も再描画もされなかった, キャッシュ済みの立体のグループを破棄します
+	 * </span>
+	 * .
+	 *
+	 * <div class="lang-en">
+	 * Call this method only when the plotting has completed without being canceled.
+	 * If the plotting has been canceled, the cached groups are retained, and can be reused by the next plotting.
+	 * </div>
+	 *
+	 * <div class="lang-ja">
+	 * このメソッドは, プロットがキャンセルされずに完了した場合にのみ呼び出してください.
+	 * プロットがキャンセルされた場合, キャッシュ済みのグループは保持され, 次のプロットで再利用できます.
+	 * </div>
+	 */
+	public void commitGeometryGroups();
+
+
 	/**
 	 * <span class="lang-en">
 	 * Gets the image of the graph screen
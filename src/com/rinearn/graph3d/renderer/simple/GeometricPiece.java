@@ -27,7 +27,10 @@ public abstract class GeometricPiece {
 	/** Represents the number of the vertices stored in the vertex array. */
 	protected int vertexCount = -1;
 
-	/** Stores the coordinate values of the vertices, in the scaled space. */
+	/**
+	 * Stores the coordinate values of the vertices, in the scaled space,
+	 * or in the real space if the range scaling is enabled (then they are scaled by the transformation matrix).
+	 */
 	protected double[][] scaledVertexArray = null;
 
 	/** Stores the transformed coordinate values of the vertices. */
@@ -45,6 +48,15 @@ public abstract class GeometricPiece {
 	/** The square of the 'depth' value of this piece. See also the comment of the getter method. */
 	protected double depthSquaredValue = Double.NaN;
 
+	/** The flag representing whether the coordinate values of the vertices are in the real space, to be range-scaled when rendered. */
+	protected boolean rangeScalingEnabled = false;
+
+	/** The flag representing whether this piece is clipped (not rendered) when any vertex is out of the ranges of X/Y/Z axes. */
+	protected boolean rangeClippingEnabled = false;
+
+	/** The index of the data series for coloring this piece automatically, or -1 if the color of this piece is fixed. */
+	protected int autoColoringSeriesIndex = -1;
+
 
 	/**
 	 * Transforms the coordinate values of the vertices.
@@ -82,6 +94,105 @@ public abstract class GeometricPiece {
 	public abstract void draw(Graphics2D graphics);
 
 
+	/**
+	 * Sets the attributes referred when this piece is rendered.
+	 *
+	 * @param rangeScalingEnabled Specify true if the coordinate values of the vertices are in the real space, to be range-scaled when rendered.
+	 * @param rangeClippingEnabled Specify true for clipping this piece when any vertex is out of the ranges of X/Y/Z axes.
+	 * @param autoColoringSeriesIndex The index of the data series for coloring this piece automatically, or -1 if the color is fixed.
+	 */
+	public void setRenderingAttributes(boolean rangeScalingEnabled, boolean rangeClippingEnabled, int autoColoringSeriesIndex) {
+		this.rangeScalingEnabled = rangeScalingEnabled;
+		this.rangeClippingEnabled = rangeClippingEnabled;
+		this.autoColoringSeriesIndex = autoColoringSeriesIndex;
+	}
+
+
+	/**
+	 * Returns whether the coordinate values of the vertices are in the real space, to be range-scaled when rendered.
+	 *
+	 * @return Returns true if the range scaling is enabled.
+	 */
+	public boolean isRangeScalingEnabled() {
+		return this.rangeScalingEnabled;
+	}
+
+
+	/**
+	 * Returns whether this piece is clipped when any vertex is out of the ranges of X/Y/Z axes.
+	 *
+	 * @return Returns true if the range clipping is enabled.
+	 */
+	public boolean isRangeClippingEnabled() {
+		return this.rangeClippingEnabled;
+	}
+
+
+	/**
+	 * Returns the index of the data series for coloring this piece automatically.
+	 *
+	 * @return The index of the data series, or -1 if the color of this piece is fixed.
+	 */
+	public int getAutoColoringSeriesIndex() {
+		return this.autoColoringSeriesIndex;
+	}
+
+
+	/**
+	 * Sets the original (unshaded) color of this piece.
+	 *
+	 * @param color The original color.
+	 */
+	public void setOriginalColor(Color color) {
+		this.originalColor = color;
+	}
+
+
+	/**
+	 * Returns whether all the vertices of this piece are in the specified ranges.
+	 *
+	 * @param minimums The minimum values of the ranges. The index is [0:X, 1:Y, 2:Z].
+	 * @param maximums The maximum values of the ranges. The index is [0:X, 1:Y, 2:Z].
+	 * @return Returns true if all the vertices are in the ranges.
+	 */
+	public boolean isInRange(double[] minimums, double[] maximums) {
+		double[][] sv = this.scaledVertexArray;
+		for (int ivertex=0; ivertex<this.vertexCount; ivertex++) {
+			// Note that the following conditions are written in the negated form, to treat NaN as out of the ranges.
+			boolean isVertexInRange =
+					minimums[X] <= sv[ivertex][X] && sv[ivertex][X] <= maximums[X] &&
+					minimums[Y] <= sv[ivertex][Y] && sv[ivertex][Y] <= maximums[Y] &&
+					minimums[Z] <= sv[ivertex][Z] && sv[ivertex][Z] <= maximums[Z];
+			if (!isVertexInRange) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Computes the coordinate values of the representative point (the center of the vertices) of this piece,
+	 * which is used for determining the color of this piece.
+	 *
+	 * @param coordinates The array to which the computed coordinate values will be stored. The index is [0:X, 1:Y, 2:Z].
+	 */
+	public void computeRepresentativeCoordinates(double[] coordinates) {
+		double[][] sv = this.scaledVertexArray;
+		double sumX = 0.0;
+		double sumY = 0.0;
+		double sumZ = 0.0;
+		for (int ivertex=0; ivertex<this.vertexCount; ivertex++) {
+			sumX += sv[ivertex][X];
+			sumY += sv[ivertex][Y];
+			sumZ += sv[ivertex][Z];
+		}
+		coordinates[X] = sumX / this.vertexCount;
+		coordinates[Y] = sumY / this.vertexCount;
+		coordinates[Z] = sumZ / this.vertexCount;
+	}
+
+
 	/**
 	 * Returns the square of the 'depth' value of this piece.
 	 *
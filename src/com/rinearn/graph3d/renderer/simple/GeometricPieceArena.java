@@ -0,0 +1,132 @@
+package com.rinearn.graph3d.renderer.simple;
+
+import java.util.Arrays;
+
+
+/**
+ * The arena-style store of geometric pieces (points, lines, and quadrangles) drawn as data contents.
+ *
+ * Piece instances allocated from this arena are retained across plottings.
+ * When reset() is called, this arena does not release the instances, but only rewinds the allocation counters,
+ * and the retained instances are re-initialized (instead of re-allocated) when they are allocated again.
+ * Hence, re-plotting contents of the similar size does not produce garbage of geometric pieces.
+ *
+ * When the number of allocated pieces exceeds the capacity of this arena, the capacity grows by doubling.
+ */
+public final class GeometricPieceArena {
+
+	/** The initial capacity of the array for each type of pieces. */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** The array retaining the instances of point pieces. */
+	private PointGeometricPiece[] pointPieces = new PointGeometricPiece[INITIAL_CAPACITY];
+
+	/** The array retaining the instances of line pieces. */
+	private LineGeometricPiece[] linePieces = new LineGeometricPiece[INITIAL_CAPACITY];
+
+	/** The array retaining the instances of quadrangle pieces. */
+	private QuadrangleGeometricPiece[] quadranglePieces = new QuadrangleGeometricPiece[INITIAL_CAPACITY];
+
+	/** The number of the currently allocated (in-use) point pieces. */
+	private int pointCount = 0;
+
+	/** The number of the currently allocated (in-use) line pieces. */
+	private int lineCount = 0;
+
+	/** The number of the currently allocated (in-use) quadrangle pieces. */
+	private int quadrangleCount = 0;
+
+
+	/**
+	 * Creates a new empty arena.
+	 */
+	public GeometricPieceArena() {
+	}
+
+
+	/**
+	 * Rewinds this arena, to reuse all the retained piece instances from the beginning.
+	 *
+	 * The piece instances allocated before calling this method must not be referred after calling this method,
+	 * because they will be re-initialized and handed out again by the allocation methods.
+	 */
+	public synchronized void reset() {
+		this.pointCount = 0;
+		this.lineCount = 0;
+		this.quadrangleCount = 0;
+	}
+
+
+	/**
+	 * Releases all the retained piece instances, and shrinks this arena to the initial capacity.
+	 */
+	public synchronized void release() {
+		this.pointPieces = new PointGeometricPiece[INITIAL_CAPACITY];
+		this.linePieces = new LineGeometricPiece[INITIAL_CAPACITY];
+		this.quadranglePieces = new QuadrangleGeometricPiece[INITIAL_CAPACITY];
+		this.reset();
+	}
+
+
+	/**
+	 * Allocates a point piece, which is reused if a retained instance is available.
+	 *
+	 * The returned piece must be (re-)initialized by its initialize(...) method by the caller.
+	 *
+	 * @return The allocated point piece.
+	 */
+	public synchronized PointGeometricPiece allocatePoint() {
+		if (this.pointCount == this.pointPieces.length) {
+			this.pointPieces = Arrays.copyOf(this.pointPieces, this.pointPieces.length * 2);
+		}
+		PointGeometricPiece piece = this.pointPieces[this.pointCount];
+		if (piece == null) {
+			piece = new PointGeometricPiece();
+			this.pointPieces[this.pointCount] = piece;
+		}
+		this.pointCount++;
+		return piece;
+	}
+
+
+	/**
+	 * Allocates a line piece, which is reused if a retained instance is available.
+	 *
+	 * The returned piece must be (re-)initialized by its initialize(...) method by the caller.
+	 *
+	 * @return The allocated line piece.
+	 */
+	public synchronized LineGeometricPiece allocateLine() {
+		if (this.lineCount == this.linePieces.length) {
+			this.linePieces = Arrays.copyOf(this.linePieces, this.linePieces.length * 2);
+		}
+		LineGeometricPiece piece = this.linePieces[this.lineCount];
+		if (piece == null) {
+			piece = new LineGeometricPiece();
+			this.linePieces[this.lineCount] = piece;
+		}
+		this.lineCount++;
+		return piece;
+	}
+
+
+	/**
+	 * Allocates a quadrangle piece, which is reused if a retained instance is available.
+	 *
+	 * The returned piece must be (re-)initialized by its initialize(...) method by the caller.
+	 *
+	 * @return The allocated quadrangle piece.
+	 */
+	public synchronized QuadrangleGeometricPiece allocateQuadrangle() {
+		if (this.quadrangleCount == this.quadranglePieces.length) {
+			this.quadranglePieces = Arrays.copyOf(this.quadranglePieces, this.quadranglePieces.length * 2);
+		}
+		QuadrangleGeometricPiece piece = this.quadranglePieces[this.quadrangleCount];
+		if (piece == null) {
+			piece = new QuadrangleGeometricPiece();
+			this.quadranglePieces[this.quadrangleCount] = piece;
+		}
+		this.quadrangleCount++;
+		return piece;
+	}
+}
@@ -0,0 +1,164 @@
+package com.rinearn.graph3d.renderer.simple;
+
+import java.util.List;
+import java.util.ArrayList;
+
+
+/**
+ * The group of geometric pieces drawn together (e.g.: points of a data series plotted by a plotter),
+ * cached in the renderer and reused across plottings while its version is unchanged.
+ *
+ * Each group has its own arena of geometric pieces,
+ * so the pieces of a group can be regenerated without affecting the pieces of other groups.
+ */
+public final class GeometryGroup {
+
+	/** The key identifying this group. */
+	private final Object key;
+
+	/** The list storing the geometric pieces of this group. */
+	private final List<GeometricPiece> pieceList = new ArrayList<GeometricPiece>();
+
+	/** The arena retaining the instances of geometric pieces of this group. */
+	private final GeometricPieceArena pieceArena = new GeometricPieceArena();
+
+	/** The version of the contents (specified by the drawing side) of this group. */
+	private volatile long version = -1L;
+
+	/** The version of the renderer's color configuration, under which the pieces of this group have been colored. */
+	private volatile long colorVersion = -1L;
+
+	/** The flag representing whether the drawing of all pieces of this group has completed. */
+	private volatile boolean completed = false;
+
+	/** The flag representing whether this group is used in the current plotting. */
+	private volatile boolean used = false;
+
+
+	/**
+	 * Creates a new empty group.
+	 *
+	 * @param key The key identifying this group.
+	 */
+	public GeometryGroup(Object key) {
+		this.key = key;
+	}
+
+
+	/**
+	 * Gets the key identifying this group.
+	 *
+	 * @return The key of this group.
+	 */
+	public synchronized Object getKey() {
+		return this.key;
+	}
+
+
+	/**
+	 * Discards all the pieces of this group, and starts drawing the group again, with the specified versions.
+	 *
+	 * @param version The version of the contents (specified by the drawing side) of this group.
+	 * @param colorVersion The version of the renderer's color configuration, under which the pieces will be colored.
+	 */
+	public synchronized void restart(long version, long colorVersion) {
+		this.pieceList.clear();
+		this.pieceArena.reset();
+		this.version = version;
+		this.colorVersion = colorVersion;
+		this.completed = false;
+		this.used = true;
+	}
+
+
+	/**
+	 * Marks that the drawing of all pieces of this group has completed.
+	 */
+	public synchronized void complete() {
+		this.completed = true;
+	}
+
+
+	/**
+	 * Returns whether the drawing of all pieces of this group has completed.
+	 *
+	 * @return Returns true if the drawing has completed.
+	 */
+	public synchronized boolean isCompleted() {
+		return this.completed;
+	}
+
+
+	/**
+	 * Returns whether the pieces of this group are reusable under the specified version.
+	 *
+	 * Changes of the ranges and colors do not make the pieces unusable,
+	 * because the pieces are range-scaled and (re-)colored by the renderer when they are rendered.
+	 *
+	 * @param version The version of the contents (specified by the drawing side) of this group.
+	 * @return Returns true if the pieces are reusable.
+	 */
+	public synchronized boolean isReusable(long version) {
+		return this.completed && this.version == version;
+	}
+
+
+	/**
+	 * Sets the version of the renderer's color configuration, under which the pieces of this group have been colored.
+	 *
+	 * @param colorVersion The version of the color configuration.
+	 */
+	public synchronized void setColorVersion(long colorVersion) {
+		this.colorVersion = colorVersion;
+	}
+
+
+	/**
+	 * Gets the version of the renderer's color configuration, under which the pieces of this group have been colored.
+	 *
+	 * @return The version of the color configuration.
+	 */
+	public synchronized long getColorVersion() {
+		return this.colorVersion;
+	}
+
+
+	/**
+	 * Sets whether this group is used in the current plotting.
+	 *
+	 * @param used Specify true if this group is used in the current plotting.
+	 */
+	public synchronized void setUsed(boolean used) {
+		this.used = used;
+	}
+
+
+	/**
+	 * Returns whether this group is used in the current plotting.
+	 *
+	 * @return Returns true if this group is used in the current plotting.
+	 */
+	public synchronized boolean isUsed() {
+		return this.used;
+	}
+
+
+	/**
+	 * Gets the list storing the geometric pieces of this group.
+	 *
+	 * @return The list of the geometric pieces.
+	 */
+	public synchronized List<GeometricPiece> getPieceList() {
+		return this.pieceList;
+	}
+
+
+	/**
+	 * Gets the arena retaining the instances of geometric pieces of this group.
+	 *
+	 * @return The arena of the geometric pieces.
+	 */
+	public synchronized GeometricPieceArena getPieceArena() {
+		return this.pieceArena;
+	}
+}
@@ -16,25 +16,73 @@ public final class LineGeometricPiece extends GeometricPiece {
 	/** The stroke for drawing this line. */
 	private Stroke stroke;
 
+	/** The width of the line, for which the above stroke has been created. */
+	private double strokeWidth = Double.NaN;
+
+
+	/**
+	 * Creates a new geometric piece representing a line, of which coordinates and color have not been set yet.
+	 *
+	 * This constructor is used for allocating a piece which will be (re-)initialized by initialize(...) method,
+	 * e.g.: by GeometricPieceArena.
+	 */
+	public LineGeometricPiece() {
+		this.vertexCount = 2;
+		this.scaledVertexArray = new double[this.vertexCount][3];      // [3] is X/Y/Z
+		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
+		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
+	}
+
+
 	/**
 	 * Creates a new geometric piece representing a line between point A and point B.
 	 *
-	 * @param aX The x coordinate value of the point A, in the scaled space.
-	 * @param aY The y coordinate value of the point A, in the scaled space.
-	 * @param aZ The z coordinate value of the point A, in the scaled space.
-	 * @param bX The x coordinate value of the point B, in the scaled space.
-	 * @param bY The y coordinate value of the point B, in the scaled space.
-	 * @param bZ The z coordinate value of the point B, in the scaled space.
+	 * @param aX The x coordinate value of the point A.
+	 * @param aY The y coordinate value of the point A.
+	 * @param aZ The z coordinate value of the point A.
+	 * @param bX The x coordinate value of the point B.
+	 * @param bY The y coordinate value of the point B.
+	 * @param bZ The z coordinate value of the point B.
 	 * @param width The width of the line.
 	 * @param color The color of the line.
 	 */
 	public LineGeometricPiece(double aX, double aY, double aZ, double bX, double bY, double bZ, double width, Color color) {
-		this.vertexCount = 2;
-		this.scaledVertexArray = new double[][] {{ aX, aY, aZ }, {bX, bY, bZ}};
-		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
-		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
-		this.stroke = new BasicStroke((float)width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_BEVEL);
+		this();
+		this.initialize(aX, aY, aZ, bX, bY, bZ, width, color);
+	}
+
+
+	/**
+	 * (Re-)initializes the coordinates and the color of this line, without allocating new arrays.
+	 *
+	 * The stroke is re-created only when the width differs from the last one,
+	 * so re-initializing many lines having the same width does not allocate anything.
+	 *
+	 * @param aX The x coordinate value of the point A.
+	 * @param aY The y coordinate value of the point A.
+	 * @param aZ The z coordinate value of the point A.
+	 * @param bX The x coordinate value of the point B.
+	 * @param bY The y coordinate value of the point B.
+	 * @param bZ The z coordinate value of the point B.
+	 * @param width The width of the line.
+	 * @param color The color of the line.
+	 */
+	public void initialize(double aX, double aY, double aZ, double bX, double bY, double bZ, double width, Color color) {
+		double[][] sv = this.scaledVertexArray;
+		sv[0][X] = aX;
+		sv[0][Y] = aY;
+		sv[0][Z] = aZ;
+		sv[1][X] = bX;
+		sv[1][Y] = bY;
+		sv[1][Z] = bZ;
 		this.originalColor = color;
+		this.onscreenColor = null;
+		this.depthSquaredValue = Double.NaN;
+
+		if (width != this.strokeWidth) {
+			this.stroke = new BasicStroke((float)width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_BEVEL);
+			this.strokeWidth = width;
+		}
 	}
 
 
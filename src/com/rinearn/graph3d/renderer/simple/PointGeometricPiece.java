@@ -21,21 +21,52 @@ public final class PointGeometricPiece extends GeometricPiece {
 	private int diameter;
 
 
+	/**
+	 * Creates a new geometric piece representing a point, of which coordinates and color have not been set yet.
+	 *
+	 * This constructor is used for allocating a piece which will be (re-)initialized by initialize(...) method,
+	 * e.g.: by GeometricPieceArena.
+	 */
+	public PointGeometricPiece() {
+		this.vertexCount = 1;
+		this.scaledVertexArray = new double[this.vertexCount][3];      // [3] is X/Y/Z
+		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
+		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
+	}
+
+
 	/**
 	 * Creates a new geometric piece representing a point.
 	 *
-	 * @param x The x coordinate value of the center of the point, in the scaled space.
-	 * @param y The y coordinate value of the center of the point, in the scaled space.
-	 * @param z The z coordinate value of the center of the point, in the scaled space.
+	 * @param x The x coordinate value of the center of the point.
+	 * @param y The y coordinate value of the center of the point.
+	 * @param z The z coordinate value of the center of the point.
 	 * @param radius The radius (pixels) of the point.
 	 * @param color The color of the point.
 	 */
 	public PointGeometricPiece(double x, double y, double z, double radius, Color color) {
-		this.vertexCount = 1;
-		this.scaledVertexArray = new double[][] {{ x, y, z }};
-		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
-		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
+		this();
+		this.initialize(x, y, z, radius, color);
+	}
+
+
+	/**
+	 * (Re-)initializes the coordinates and the color of this point, without allocating new arrays.
+	 *
+	 * @param x The x coordinate value of the center of the point.
+	 * @param y The y coordinate value of the center of the point.
+	 * @param z The z coordinate value of the center of the point.
+	 * @param radius The radius (pixels) of the point.
+	 * @param color The color of the point.
+	 */
+	public void initialize(double x, double y, double z, double radius, Color color) {
+		double[] sv = this.scaledVertexArray[0];
+		sv[X] = x;
+		sv[Y] = y;
+		sv[Z] = z;
 		this.originalColor = color;
+		this.onscreenColor = null;
+		this.depthSquaredValue = Double.NaN;
 
 		this.radius = (int)Math.round(radius);
 		this.diameter = (int)Math.round(radius * 2.0);
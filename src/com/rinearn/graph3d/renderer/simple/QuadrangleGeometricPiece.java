@@ -37,24 +37,36 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 	private NormalVectorVertices normalVectorVertices;
 
 
+	/**
+	 * Creates a new geometric piece representing a quadrangle, of which coordinates and color have not been set yet.
+	 *
+	 * This constructor is used for allocating a piece which will be (re-)initialized by initialize(...) method,
+	 * e.g.: by GeometricPieceArena.
+	 */
+	public QuadrangleGeometricPiece() {
+		this.vertexCount = 4;
+		this.scaledVertexArray = new double[this.vertexCount][4];          // [4] is X/Y/Z/W
+		this.transformedVertexArray = new double[this.vertexCount + 1][3]; // [3] is X/Y/Z, and the last one is the normal vector
+		this.projectedVertexArray = new int[this.vertexCount][2];          // [2] is X/Y
+	}
+
+
 	/**
 	 * Creates a new geometric piece representing a quadrangle consisting of points A, B, C and D.
 	 *
-	 * @param aX The x coordinate value of the point A, in the scaled space.
-	 * @param aY The y coordinate value of the point A, in the scaled space.
-	 * @param aZ The z coordinate value of the point A, in the scaled space.
-	 * @param bX The x coordinate value of the point B, in the scaled space.
-	 * @param bY The y coordinate value of the point B, in the scaled space.
-	 * @param bZ The z coordinate value of the point B, in the scaled space.
-	 * @param cX The x coordinate value of the point C, in the scaled space.
-	 * @param cY The y coordinate value of the point C, in the scaled space.
-	 * @param cZ The z coordinate value of the point C, in the scaled space.
-	 * @param dX The x coordinate value of the point D, in the scaled space.
-	 * @param dY The y coordinate value of the point D, in the scaled space.
-	 * @param dZ The z coordinate value of the point D, in the scaled space.
-	 * @param z The z coordinate value of the center of the point, in the scaled space.
-	 * @param radius The radius (pixels) of the point.
-	 * @param color The color of the point.
+	 * @param aX The x coordinate value of the point A.
+	 * @param aY The y coordinate value of the point A.
+	 * @param aZ The z coordinate value of the point A.
+	 * @param bX The x coordinate value of the point B.
+	 * @param bY The y coordinate value of the point B.
+	 * @param bZ The z coordinate value of the point B.
+	 * @param cX The x coordinate value of the point C.
+	 * @param cY The y coordinate value of the point C.
+	 * @param cZ The z coordinate value of the point C.
+	 * @param dX The x coordinate value of the point D.
+	 * @param dY The y coordinate value of the point D.
+	 * @param dZ The z coordinate value of the point D.
+	 * @param color The color of the quadrangle.
 	 */
 	public QuadrangleGeometricPiece(double aX, double aY, double aZ,
 			double bX, double bY, double bZ,
@@ -62,6 +74,34 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 			double dX, double dY, double dZ,
 			Color color) {
 
+		this();
+		this.initialize(aX, aY, aZ, bX, bY, bZ, cX, cY, cZ, dX, dY, dZ, color);
+	}
+
+
+	/**
+	 * (Re-)initializes the coordinates and the color of this quadrangle, without allocating new arrays.
+	 *
+	 * @param aX The x coordinate value of the point A.
+	 * @param aY The y coordinate value of the point A.
+	 * @param aZ The z coordinate value of the point A.
+	 * @param bX The x coordinate value of the point B.
+	 * @param bY The y coordinate value of the point B.
+	 * @param bZ The z coordinate value of the point B.
+	 * @param cX The x coordinate value of the point C.
+	 * @param cY The y coordinate value of the point C.
+	 * @param cZ The z coordinate value of the point C.
+	 * @param dX The x coordinate value of the point D.
+	 * @param dY The y coordinate value of the point D.
+	 * @param dZ The z coordinate value of the point D.
+	 * @param color The color of the quadrangle.
+	 */
+	public void initialize(double aX, double aY, double aZ,
+			double bX, double bY, double bZ,
+			double cX, double cY, double cZ,
+			double dX, double dY, double dZ,
+			Color color) {
+
 		// Detect whether there is a couple of points having the same coordinate values in {A, B, C}.
 		boolean existsSamePointInABC =
 				(aX==bX && aY==bY && aZ==bZ) ||
@@ -72,29 +112,34 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 		 // When there is a couple of points which have the same coordinate values in the points {A, B, C},
 		 // the normal vector will be calculated for the triangle consisting of the points A, C, and D.
 		this.normalVectorVertices = existsSamePointInABC ? NormalVectorVertices.ACD : NormalVectorVertices.ABC;
-		double[] normalVector = this.computeNormalVector(
-			aX, aY, aZ , bX, bY, bZ, cX, cY, cZ, dX, dY, dZ, this.normalVectorVertices
-		);
 
 		// Store the scaled coordinate values of the points A, B, C, and D into the vertex array.
-		// Also, store the normal vector as the last vertex, expediently.
-		this.scaledVertexArray = new double[][] {
-			{ aX, aY, aZ, 1.0 }, // The last element "1.0" is so-called W value.
-			{ bX, bY, bZ, 1.0 },
-			{ cX, cY, cZ, 1.0 },
-			{ dX, dY, dZ, 1.0 },
-
-			// For the normal vector, we should transform only its angle,
-			// so we should ignore effects of the translational elements of the transformation matrix.
-			// So set the value of W (the last element of the following) to 0.
-			{ normalVector[X], normalVector[Y], normalVector[Z], 0.0 },
-		};
+		// The last element "1.0" of each vertex is so-called W value.
+		double[][] sv = this.scaledVertexArray;
+		sv[A][X] = aX;
+		sv[A][Y] = aY;
+		sv[A][Z] = aZ;
+		sv[A][W] = 1.0;
+
+		sv[B][X] = bX;
+		sv[B][Y] = bY;
+		sv[B][Z] = bZ;
+		sv[B][W] = 1.0;
+
+		sv[C][X] = cX;
+		sv[C][Y] = cY;
+		sv[C][Z] = cZ;
+		sv[C][W] = 1.0;
+
+		sv[D][X] = dX;
+		sv[D][Y] = dY;
+		sv[D][Z] = dZ;
+		sv[D][W] = 1.0;
 
 		// Initialize other fields.
-		this.vertexCount = 5; // 4 vertex vectors + 1 normal vector
-		this.transformedVertexArray = new double[this.vertexCount][3]; // [3] is X/Y/Z
-		this.projectedVertexArray = new int[this.vertexCount][2];      // [2] is X/Y
 		this.originalColor = color;
+		this.onscreenColor = null;
+		this.depthSquaredValue = Double.NaN;
 	}
 
 
@@ -111,46 +156,45 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 	 * @param cY The y coordinate value of the point C.
 	 * @param cZ The z coordinate value of the point C.
 	 * @param normalVectorVertices Represents a set of vertices for computing the normal vector.
-	 * @return The array storing x, y, and z coordinate values of the computed normal vector.
+	 * @param normalVector The array to which x, y, and z coordinate values of the computed normal vector will be stored.
 	 */
-	private double[] computeNormalVector(double aX, double aY, double aZ,
+	private void computeNormalVector(double aX, double aY, double aZ,
 			double bX, double bY, double bZ,
 			double cX, double cY, double cZ,
 			double dX, double dY, double dZ,
-			NormalVectorVertices normalVectorVertices) {
+			NormalVectorVertices normalVectorVertices, double[] normalVector) {
 
-		// Arrays for storing the vectors of the triangle sides.
-		double[] sideVectorP = new double[3];
-		double[] sideVectorQ = new double[3];
+		// The coordinate values of the vectors of the triangle sides.
+		double sideVectorPX, sideVectorPY, sideVectorPZ;
+		double sideVectorQX, sideVectorQY, sideVectorQZ;
 
 		// Calculate the coordinate values of the above 'triangle side' vectors.
 		if (normalVectorVertices == NormalVectorVertices.ABC) {
-			sideVectorP[X] = bX - aX;
-			sideVectorP[Y] = bY - aY;
-			sideVectorP[Z] = bZ - aZ;
+			sideVectorPX = bX - aX;
+			sideVectorPY = bY - aY;
+			sideVectorPZ = bZ - aZ;
 
-			sideVectorQ[X] = cX - aX;
-			sideVectorQ[Y] = cY - aY;
-			sideVectorQ[Z] = cZ - aZ;
+			sideVectorQX = cX - aX;
+			sideVectorQY = cY - aY;
+			sideVectorQZ = cZ - aZ;
 
 		} else if (normalVectorVertices == NormalVectorVertices.ACD) {
-			sideVectorP[X] = cX - aX;
-			sideVectorP[Y] = cY - aY;
-			sideVectorP[Z] = cZ - aZ;
+			sideVectorPX = cX - aX;
+			sideVectorPY = cY - aY;
+			sideVectorPZ = cZ - aZ;
 
-			sideVectorQ[X] = dX - aX;
-			sideVectorQ[Y] = dY - aY;
-			sideVectorQ[Z] = dZ - aZ;
+			sideVectorQX = dX - aX;
+			sideVectorQY = dY - aY;
+			sideVectorQZ = dZ - aZ;
 
 		} else {
 			throw new RuntimeException("Unexpected normal vector vertices: " + normalVectorVertices);
 		}
 
 		// Calculate the normal vector as the cross product of the 'triangle side' vectors.
-		double[] normalVector = new double[3];
-		normalVector[X] = sideVectorP[Y] * sideVectorQ[Z] - sideVectorP[Z] * sideVectorQ[Y];
-		normalVector[Y] = sideVectorP[Z] * sideVectorQ[X] - sideVectorP[X] * sideVectorQ[Z];
-		normalVector[Z] = sideVectorP[X] * sideVectorQ[Y] - sideVectorP[Y] * sideVectorQ[X];
+		normalVector[X] = sideVectorPY * sideVectorQZ - sideVectorPZ * sideVectorQY;
+		normalVector[Y] = sideVectorPZ * sideVectorQX - sideVectorPX * sideVectorQZ;
+		normalVector[Z] = sideVectorPX * sideVectorQY - sideVectorPY * sideVectorQX;
 
 		// Normalize the length of the normal vector.
 		double normalVectorLengthRecip = 1.0 / Math.sqrt(
@@ -159,7 +203,6 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 		normalVector[X] *= normalVectorLengthRecip;
 		normalVector[Y] *= normalVectorLengthRecip;
 		normalVector[Z] *= normalVectorLengthRecip;
-		return normalVector;
 	}
 
 
@@ -183,6 +226,15 @@ public final class QuadrangleGeometricPiece extends GeometricPiece {
 			tv[ivertex][Z] = m[2][0] * sv[ivertex][X] + m[2][1] * sv[ivertex][Y] + m[2][2] * sv[ivertex][Z] + m[2][3] * sv[ivertex][W];
 		}
 
+		// Compute the normal vector from the transformed vertices, and store it as the last element of the array, expediently.
+		// (The transformation matrix may contain the range scaling, which does not preserve angles,
+		//  so the normal vector must be computed after the transformation, instead of transforming the normal vector.)
+		this.computeNormalVector(
+			tv[A][X], tv[A][Y], tv[A][Z], tv[B][X], tv[B][Y], tv[B][Z],
+			tv[C][X], tv[C][Y], tv[C][Z], tv[D][X], tv[D][Y], tv[D][Z],
+			this.normalVectorVertices, tv[4]
+		);
+
 		// If this quadrangle faces the depth direction from the viewpoint, reverse its normal vector.
 		// See also: the description of 'facesDepthDirection' method.
 		if (this.facesDepthDirection(tv, this.normalVectorVertices)) {
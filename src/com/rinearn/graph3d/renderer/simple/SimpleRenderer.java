@@ -10,6 +10,10 @@ import com.rinearn.graph3d.config.ColorGradient;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.LinkedHashMap;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
@@ -17,6 +21,7 @@ import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics2D;
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 // !!!!!
@@ -65,6 +70,12 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	/** The array index representing Z, in some array fields. */
 	public static final int Z = 2;
 
+	/** The number of geometric pieces processed between checks of the cancellation of the rendering. */
+	private static final int RENDERING_CHUNK_SIZE = 4096;
+
+	/** The maximum number of data pieces rendered in a preview (coarse) rendering. */
+	private static final int PREVIEW_DATA_PIECE_BUDGET = 65536;
+
 
 	// !!! WARNING !!!
 	// - About the following field "config" -
@@ -103,7 +114,13 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	private final ColorMixer colorMixer = new ColorMixer();
 
 
-	/** The Image instance storing the rendered image of the graph screen. */
+	/** The ratio of the margin added to the size of the backing buffer of the graph screen, when it is (re-)allocated. */
+	private static final double SCREEN_BUFFER_MARGIN_RATIO = 0.25;
+
+	/** The backing buffer of the graph screen image, which may be larger than the screen, and reused when the screen is resized. */
+	private volatile BufferedImage screenBufferImage = null;
+
+	/** The Image instance storing the rendered image of the graph screen (a sub-image of the backing buffer). */
 	private volatile BufferedImage screenImage = null;
 
 	/** The Graphics2D instance to draw the graph screen. */
@@ -115,8 +132,62 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	/** The flag representing whether the content of the graph screen has been updated. */
 	private volatile boolean screenResized = false;
 
-	/** The list storing geometric pieces to be rendered. */
-	private volatile List<GeometricPiece> geometricPieceList = new ArrayList<GeometricPiece>();
+	/** The list storing geometric pieces of the framework of the graph (frames, scale ticks, labels, and so on). */
+	private volatile List<GeometricPiece> frameworkPieceList = new ArrayList<GeometricPiece>();
+
+	/** The list storing geometric pieces of data contents (points, lines, quadrangles, and so on). */
+	private volatile List<GeometricPiece> dataPieceList = new ArrayList<GeometricPiece>();
+
+	/** The list storing geometric pieces picked up to be rendered, reused in every rendering. */
+	private volatile List<GeometricPiece> renderingPieceList = new ArrayList<GeometricPiece>();
+
+	/** The arena retaining the instances of geometric pieces of data contents, for reusing them across plottings. */
+	private final GeometricPieceArena geometricPieceArena = new GeometricPieceArena();
+
+	/** The map storing the cached groups of geometric pieces of data contents, with their keys. */
+	private final Map<Object, GeometryGroup> geometryGroupMap = new LinkedHashMap<Object, GeometryGroup>();
+
+	/** The group of which pieces are being drawn currently (null if no group is being drawn). */
+	private volatile GeometryGroup drawingGeometryGroup = null;
+
+	/** The list to which the pieces drawn by the drawing methods are registered (the list of the drawing group, or dataPieceList). */
+	private volatile List<GeometricPiece> drawingPieceList = this.dataPieceList;
+
+	/** The arena from which the pieces drawn by the drawing methods are allocated (the arena of the drawing group, or geometricPieceArena). */
+	private volatile GeometricPieceArena drawingPieceArena = this.geometricPieceArena;
+
+	/** The values of the configuration affecting the colors of the geometric pieces, for detecting their changes. */
+	private volatile List<Object> colorConfigFingerprint = null;
+
+	/** The version of the configuration affecting the colors of the geometric pieces, incremented when it is changed. */
+	private volatile long colorConfigVersion = 0L;
+
+	/** The version of the color configuration, under which the pieces in dataPieceList have been colored. */
+	private volatile long dataPieceColorVersion = 0L;
+
+	/** The drawing parameter reused for re-coloring the geometric pieces when the color configuration has been changed. */
+	private final RinearnGraph3DDrawingParameter recoloringParameter = new RinearnGraph3DDrawingParameter();
+
+	/** The array reused for storing the coordinates of the representative point of a piece, when it is re-colored. */
+	private final double[] recoloringCoordinates = new double[3];
+
+	/** The transformation matrix in which the range scaling (from the real space to the scaled space) is folded, updated in every rendering. */
+	private final double[][] rangeScaledTransformationMatrix = new double[4][4];
+
+	/** The minimum values (with margins) of the ranges of X/Y/Z axes for clipping the pieces, updated in every rendering. */
+	private final double[] clippingMinimums = new double[3];
+
+	/** The maximum values (with margins) of the ranges of X/Y/Z axes for clipping the pieces, updated in every rendering. */
+	private final double[] clippingMaximums = new double[3];
+
+	/** The comparator for sorting geometric pieces in descending order of their depths. */
+	private final GeometricDepthComparator depthComparator = new GeometricDepthComparator();
+
+	/** The counter incremented when the rendering in progress is requested to be canceled. */
+	private final AtomicLong renderingCancellationCounter = new AtomicLong(0L);
+
+	/** The flag representing whether a rendering is in progress. */
+	private volatile boolean renderingInProgress = false;
 
 	/** The transformation matrix from the graph coordinate system to the view coordinate system. */
 	private volatile double[][] transformationMatrix = {
@@ -139,9 +210,11 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	/**
 	 * Configures the state of this renderer, by parameters stored in the specified configuration container.
 	 *
-	 * Note that, the changes of the configuration (contains ranges of X/Y/Z axes)
-	 * does not affect to the currently drawn contents (points, lines, quadrangles, and so on).
-	 * To reflect the changes, please clear() and re-draw all contents again.
+	 * Note that, the changes of the ranges of X/Y/Z axes and the colors are reflected to
+	 * the currently drawn contents (points, lines, quadrangles, and so on) when they are rendered next time,
+	 * because the range scaling is folded into the transformation matrix, and the pieces are re-colored when rendered.
+	 * Other changes (e.g.: scale ticks and labels) does not affect to the currently drawn contents.
+	 * To reflect them, please clear() and re-draw all contents again.
 	 *
 	 * @param configuration The container storing configuration parameters.
 	 * @throws IllegalArgumentException
@@ -197,6 +270,9 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 
 		// Updates the ranges of the color gradients, from the updated configuration.
 		this.updateColorGradients();
+
+		// Update the version of the configuration affecting the colors of the geometric pieces, if it has been changed.
+		this.updateColorConfigVersion();
 	}
 
 
@@ -264,6 +340,55 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 		}
 	}
 
+	/**
+	 * Updates the version of the configuration affecting the colors of the geometric pieces,
+	 * if the values of the configuration have been changed since the last time.
+	 *
+	 * Subpart configurations may be modified in-place from the outside,
+	 * so their changes are detected by comparing their values, not their references.
+	 * The ranges of the axes are not collected directly, but they affect the colors
+	 * through the boundary coordinates of the gradients, when the auto boundary ranging is enabled.
+	 */
+	private void updateColorConfigVersion() {
+		List<Object> fingerprint = new ArrayList<Object>();
+
+		// Collect the parameters of the colors of data contents.
+		ColorConfiguration colorConfig = this.config.getColorConfiguration();
+		fingerprint.add(this.toListOrNull(colorConfig.getDataColoringModes()));
+		fingerprint.add(this.toListOrNull(colorConfig.getDataSolidColors()));
+		for (ColorGradient gradient: colorConfig.getDataColorGradients()) {
+			fingerprint.add(gradient.getBackgroundColor());
+			for (ColorGradient.AxisColorGradient axisGradient: gradient.getAxisColorGradients()) {
+				fingerprint.add(axisGradient.getAxis());
+				fingerprint.add(axisGradient.getBlendMode());
+				fingerprint.add(axisGradient.getInterpolationMode());
+				fingerprint.add(axisGradient.getBoundaryMode());
+				fingerprint.add(this.toListOrNull(axisGradient.getBoundaryColors()));
+				fingerprint.add(this.toListOrNull(axisGradient.getBoundaryCoordinates()));
+				fingerprint.add(axisGradient.getMinimumBoundaryCoordinate());
+				fingerprint.add(axisGradient.getMaximumBoundaryCoordinate());
+			}
+		}
+
+		// If any value has been changed, update the version.
+		if (!fingerprint.equals(this.colorConfigFingerprint)) {
+			this.colorConfigFingerprint = fingerprint;
+			this.colorConfigVersion++;
+		}
+	}
+
+
+	/**
+	 * Wraps the specified array into a list, which is comparable by its elements.
+	 *
+	 * @param array The array to be wrapped (may be null).
+	 * @return The list wrapping the array, or null if the array is null.
+	 */
+	private List<Object> toListOrNull(Object[] array) {
+		return array == null ? null : Arrays.asList(array);
+	}
+
+
 	/**
 	 * Updates the camera angle and parameters, from the current camera configuration.
 	 */
@@ -322,11 +447,15 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	@Override
 	public synchronized void dispose() {
 		this.screenImage = null;
+		this.screenBufferImage = null;
 		this.screenGraphics.dispose();
-		this.geometricPieceList.clear();
+		this.frameworkPieceList.clear();
+		this.dataPieceList.clear();
+		this.renderingPieceList.clear();
+		this.geometricPieceArena.release();
+		this.geometryGroupMap.clear();
+		this.endDrawingGeometryGroup();
 		this.transformationMatrix = null;
-
-		System.gc();
 	}
 
 
@@ -337,8 +466,25 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	public synchronized void clear() {
 
 		// Remove all geometric pieces registered by the drawer methods.
-		this.geometricPieceList.clear();
-		System.gc();
+		// The capacities of the lists and the piece instances in the arena are retained, and reused in the next plotting.
+		this.frameworkPieceList.clear();
+		this.dataPieceList.clear();
+		this.renderingPieceList.clear();
+		this.geometricPieceArena.reset();
+		this.dataPieceColorVersion = this.colorConfigVersion;
+
+		// Discard the group of which drawing has not been completed (e.g.: the plotting has been canceled).
+		if (this.drawingGeometryGroup != null) {
+			this.geometryGroupMap.remove(this.drawingGeometryGroup.getKey());
+			this.endDrawingGeometryGroup();
+		}
+
+		// Mark all cached groups as unused. They are marked as used again when they are reused or re-drawn,
+		// and the groups remaining unused are discarded by commitGeometryGroups() after the plotting has completed.
+		// (They are retained if the plotting is canceled, or rendered by another thread before being reused.)
+		for (GeometryGroup group: this.geometryGroupMap.values()) {
+			group.setUsed(false);
+		}
 
 		// Clear the content of the graph screen.
 		this.screenGraphics.setColor(this.config.getColorConfiguration().getBackgroundColor());
@@ -354,40 +500,328 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	 */
 	@Override
 	public synchronized void render() {
+		this.renderPieces(1);
+	}
 
-		// Update the screen dimension.
-		int screenWidth = this.screenImage.getWidth();
-		int screenHeight = this.screenImage.getHeight();
-		int screenOffsetX = this.config.getCameraConfiguration().getHorizontalCenterOffset();
-		int screenOffsetY = this.config.getCameraConfiguration().getVerticalCenterOffset();
-		double magnification = this.config.getCameraConfiguration().getMagnification();
 
-		// Clear the graph screen.
-		this.screenGraphics.setColor(this.config.getColorConfiguration().getBackgroundColor());
-		this.screenGraphics.fillRect(0, 0, screenWidth, screenHeight);
+	/**
+	 * Renders the coarse preview of the graph on the screen,
+	 * in which only a part of data pieces are drawn if there are too many of them.
+	 *
+	 * @return Returns true if all the contents have been rendered, false if some of them have been omitted or the rendering has been canceled.
+	 */
+	@Override
+	public synchronized boolean renderPreview() {
+		int dataPieceCount = this.dataPieceList.size();
+		for (GeometryGroup group: this.geometryGroupMap.values()) {
+			if (group.isCompleted()) {
+				dataPieceCount += group.getPieceList().size();
+			}
+		}
+		int dataPieceStride = Math.max(1, (dataPieceCount + PREVIEW_DATA_PIECE_BUDGET - 1) / PREVIEW_DATA_PIECE_BUDGET);
+		boolean completed = this.renderPieces(dataPieceStride);
+		return completed && dataPieceStride == 1;
+	}
+
 
-		// Transform each geometric piece.
-		for (GeometricPiece piece: this.geometricPieceList) {
-			piece.transform(transformationMatrix);
+	/**
+	 * Cancels the rendering in progress on another thread, if it exists.
+	 *
+	 * This method is not synchronized, because it must be callable while render() is running on another thread.
+	 * The canceled rendering returns at the next chunk boundary, without turning on the screen-updated flag.
+	 * Once the rendering has started drawing on the screen, it is not canceled, for leaving no half-drawn frame on the screen.
+	 *
+	 * @return Returns true if a rendering in progress has been requested to be canceled.
+	 */
+	@Override
+	public boolean cancelRendering() {
+		if (!this.renderingInProgress) {
+			return false;
 		}
+		this.renderingCancellationCounter.incrementAndGet();
+		return true;
+	}
 
-		// Sort the geometric pieces in descending order of their 'depth' values.
-		GeometricDepthComparator comparator = new GeometricDepthComparator();
-		this.geometricPieceList.sort(comparator);
 
-		// Shades the color of each geometric piece.
-		for (GeometricPiece piece: this.geometricPieceList) {
-			piece.shade(this.config.getLightConfiguration());
+	/**
+	 * Reuses the cached group of geometric pieces having the specified key, if its version matches with the specified version.
+	 *
+	 * Changes of the ranges and colors after the group was drawn do not make it unusable,
+	 * because they are reflected to the pieces when they are rendered.
+	 *
+	 * @param groupKey The key identifying the group.
+	 * @param groupVersion The version of the contents of the group.
+	 * @return Returns true if the group has been reused, or false if it must be drawn again.
+	 */
+	@Override
+	public synchronized boolean reuseGeometryGroup(Object groupKey, long groupVersion) {
+		GeometryGroup group = this.geometryGroupMap.get(groupKey);
+		if (group == null || group == this.drawingGeometryGroup || !group.isReusable(groupVersion)) {
+			return false;
 		}
+		group.setUsed(true);
+		return true;
+	}
 
-		// Draw each geometric piece on the screen.
-		for (GeometricPiece piece: this.geometricPieceList) {
-			piece.project(screenWidth, screenHeight, screenOffsetX, screenOffsetY, magnification);
-			piece.draw(this.screenGraphics);
+
+	/**
+	 * Begins drawing the group of geometric pieces having the specified key.
+	 *
+	 * The pieces drawn by the drawing methods until endGeometryGroup() is called are registered to the group.
+	 * If the group had been cached, its pieces are discarded at first.
+	 *
+	 * @param groupKey The key identifying the group.
+	 * @param groupVersion The version of the contents of the group.
+	 */
+	@Override
+	public synchronized void beginGeometryGroup(Object groupKey, long groupVersion) {
+
+		// Discard the group of which drawing has not been completed, if exists.
+		if (this.drawingGeometryGroup != null) {
+			this.geometryGroupMap.remove(this.drawingGeometryGroup.getKey());
+			this.endDrawingGeometryGroup();
 		}
 
-		// Turn on the flag for detecting that the content of the graph screen has been updated.
-		this.screenUpdated = true;
+		// Get the cached group, or create a new group if it does not exist.
+		GeometryGroup group = this.geometryGroupMap.get(groupKey);
+		if (group == null) {
+			group = new GeometryGroup(groupKey);
+			this.geometryGroupMap.put(groupKey, group);
+		}
+
+		// Restart the group, and switch the destination of the drawn pieces to it.
+		group.restart(groupVersion, this.colorConfigVersion);
+		this.drawingGeometryGroup = group;
+		this.drawingPieceList = group.getPieceList();
+		this.drawingPieceArena = group.getPieceArena();
+	}
+
+
+	/**
+	 * Ends drawing the group of geometric pieces, begun by beginGeometryGroup(...).
+	 *
+	 * @throws IllegalStateException Thrown if no group is being drawn.
+	 */
+	@Override
+	public synchronized void endGeometryGroup() {
+		if (this.drawingGeometryGroup == null) {
+			throw new IllegalStateException("No geometry group is being drawn.");
+		}
+		this.drawingGeometryGroup.complete();
+		this.endDrawingGeometryGroup();
+	}
+
+
+	/**
+	 * Switches the destination of the drawn pieces from the drawing group (if exists) to the default list.
+	 */
+	private void endDrawingGeometryGroup() {
+		this.drawingGeometryGroup = null;
+		this.drawingPieceList = this.dataPieceList;
+		this.drawingPieceArena = this.geometricPieceArena;
+	}
+
+
+	/**
+	 * Discards the cached groups which have been neither reused nor re-drawn in the current plotting.
+	 *
+	 * This method is called only when the plotting has completed without being canceled.
+	 */
+	@Override
+	public synchronized void commitGeometryGroups() {
+		Iterator<GeometryGroup> groupIterator = this.geometryGroupMap.values().iterator();
+		while (groupIterator.hasNext()) {
+			if (!groupIterator.next().isUsed()) {
+				groupIterator.remove();
+			}
+		}
+	}
+
+
+	/**
+	 * Renders all framework pieces and the data pieces picked up with the specified stride, on the screen.
+	 *
+	 * @param dataPieceStride The stride for picking up the data pieces to be rendered (specify 1 for rendering all of them).
+	 * @return Returns true if the rendering has completed, or false if it has been canceled.
+	 */
+	private boolean renderPieces(int dataPieceStride) {
+		this.renderingInProgress = true;
+		long cancellationCount = this.renderingCancellationCounter.get();
+		try {
+
+			// Update the screen dimension.
+			int screenWidth = this.screenImage.getWidth();
+			int screenHeight = this.screenImage.getHeight();
+			int screenOffsetX = this.config.getCameraConfiguration().getHorizontalCenterOffset();
+			int screenOffsetY = this.config.getCameraConfiguration().getVerticalCenterOffset();
+			double magnification = this.config.getCameraConfiguration().getMagnification();
+
+			// Update the transformation matrix folding the range scaling, and the ranges for clipping the pieces.
+			this.updateRangeScaling();
+
+			// Re-color the data pieces, if the color configuration has been changed since they were colored.
+			if (this.dataPieceColorVersion != this.colorConfigVersion) {
+				if (!this.recolorPieces(this.dataPieceList, cancellationCount)) {
+					return false;
+				}
+				this.dataPieceColorVersion = this.colorConfigVersion;
+			}
+			for (GeometryGroup group: this.geometryGroupMap.values()) {
+				if (group.isCompleted() && group.getColorVersion() != this.colorConfigVersion) {
+					if (!this.recolorPieces(group.getPieceList(), cancellationCount)) {
+						return false;
+					}
+					group.setColorVersion(this.colorConfigVersion);
+				}
+			}
+
+			// Pick up the geometric pieces to be rendered.
+			List<GeometricPiece> pieceList = this.renderingPieceList;
+			pieceList.clear();
+			pieceList.addAll(this.frameworkPieceList);
+			int dataPieceOffset = this.pickUpPieces(this.dataPieceList, dataPieceStride, 0, pieceList);
+			for (GeometryGroup group: this.geometryGroupMap.values()) {
+				if (group.isCompleted()) {
+					dataPieceOffset = this.pickUpPieces(group.getPieceList(), dataPieceStride, dataPieceOffset, pieceList);
+				}
+			}
+			int pieceCount = pieceList.size();
+
+			// Transform each geometric piece.
+			// The pieces of which coordinates are in the real space are transformed by the matrix folding the range scaling.
+			for (int ipiece=0; ipiece<pieceCount; ipiece++) {
+				if (ipiece % RENDERING_CHUNK_SIZE == 0 && this.isRenderingCanceled(cancellationCount)) {
+					return false;
+				}
+				GeometricPiece piece = pieceList.get(ipiece);
+				piece.transform(piece.isRangeScalingEnabled() ? this.rangeScaledTransformationMatrix : this.transformationMatrix);
+			}
+
+			// Sort the geometric pieces in descending order of their 'depth' values.
+			pieceList.sort(this.depthComparator);
+
+			// Shades the color of each geometric piece.
+			for (int ipiece=0; ipiece<pieceCount; ipiece++) {
+				if (ipiece % RENDERING_CHUNK_SIZE == 0 && this.isRenderingCanceled(cancellationCount)) {
+					return false;
+				}
+				pieceList.get(ipiece).shade(this.config.getLightConfiguration());
+			}
+
+			// Clear the graph screen.
+			// Don't cancel the rendering after here, because the screen image may be read by other threads
+			// (e.g.: getImage() or repainting), and a half-drawn frame should not be left on it.
+			// The expensive phases (transformation, sorting, and shading) have already completed, so this is not so long.
+			this.screenGraphics.setColor(this.config.getColorConfiguration().getBackgroundColor());
+			this.screenGraphics.fillRect(0, 0, screenWidth, screenHeight);
+
+			// Draw each geometric piece on the screen.
+			for (int ipiece=0; ipiece<pieceCount; ipiece++) {
+				GeometricPiece piece = pieceList.get(ipiece);
+				piece.project(screenWidth, screenHeight, screenOffsetX, screenOffsetY, magnification);
+				piece.draw(this.screenGraphics);
+			}
+
+			// Turn on the flag for detecting that the content of the graph screen has been updated.
+			this.screenUpdated = true;
+			return true;
+
+		} finally {
+			this.renderingInProgress = false;
+		}
+	}
+
+
+	/**
+	 * Updates the transformation matrix folding the range scaling, and the ranges for clipping the pieces,
+	 * from the current transformation matrix and the ranges of X/Y/Z axes.
+	 */
+	private void updateRangeScaling() {
+
+		// The range scaling is: scaled[j] = raw[j] * factors[j] + offsets[j], for j = X, Y, Z.
+		// So the matrix folding it is: M * S, where S is the diagonal matrix of the factors with the translation of the offsets.
+		double[] factors = new double[3];
+		double[] offsets = new double[3];
+		for (int axis=X; axis<=Z; axis++) {
+			factors[axis] = this.spaceConverters[axis].getScalingFactor();
+			offsets[axis] = this.spaceConverters[axis].getScalingOffset();
+			this.clippingMinimums[axis] = this.spaceConverters[axis].getMinimumWithMargin();
+			this.clippingMaximums[axis] = this.spaceConverters[axis].getMaximumWithMargin();
+		}
+		double[][] m = this.transformationMatrix;
+		double[][] ms = this.rangeScaledTransformationMatrix;
+		for (int i=0; i<4; i++) {
+			ms[i][0] = m[i][0] * factors[X];
+			ms[i][1] = m[i][1] * factors[Y];
+			ms[i][2] = m[i][2] * factors[Z];
+			ms[i][3] = m[i][0] * offsets[X] + m[i][1] * offsets[Y] + m[i][2] * offsets[Z] + m[i][3];
+		}
+	}
+
+
+	/**
+	 * Re-colors the automatically colored pieces in the specified list, based on the current color configuration.
+	 *
+	 * @param pieceList The list of the pieces to be re-colored.
+	 * @param cancellationCount The value of the cancellation counter when the rendering had started.
+	 * @return Returns true if the re-coloring has completed, or false if it has been canceled.
+	 */
+	private boolean recolorPieces(List<GeometricPiece> pieceList, long cancellationCount) {
+		RinearnGraph3DDrawingParameter parameter = this.recoloringParameter;
+		parameter.setAutoColoringEnabled(true);
+		ColorConfiguration colorConfig = this.config.getColorConfiguration();
+
+		int pieceCount = pieceList.size();
+		for (int ipiece=0; ipiece<pieceCount; ipiece++) {
+			if (ipiece % RENDERING_CHUNK_SIZE == 0 && this.isRenderingCanceled(cancellationCount)) {
+				return false;
+			}
+			GeometricPiece piece = pieceList.get(ipiece);
+			int seriesIndex = piece.getAutoColoringSeriesIndex();
+			if (seriesIndex < 0) {
+				continue;
+			}
+			parameter.setSeriesIndex(seriesIndex);
+			piece.computeRepresentativeCoordinates(this.recoloringCoordinates);
+			piece.setOriginalColor(this.colorMixer.generateColor(this.recoloringCoordinates, parameter, colorConfig));
+		}
+		return true;
+	}
+
+
+	/**
+	 * Picks up the pieces from the source list with the specified stride, and appends them to the destination list.
+	 *
+	 * The pieces out of the ranges of X/Y/Z axes are skipped, if their range clipping is enabled.
+	 *
+	 * @param sourceList The list from which the pieces are picked up.
+	 * @param stride The stride for picking up the pieces.
+	 * @param offset The index of the first piece to be picked up in the source list.
+	 * @param destList The list to which the picked up pieces are appended.
+	 * @return The offset to be passed for picking up the pieces from the next source list.
+	 */
+	private int pickUpPieces(List<GeometricPiece> sourceList, int stride, int offset, List<GeometricPiece> destList) {
+		int sourceSize = sourceList.size();
+		int ipiece = offset;
+		for (; ipiece<sourceSize; ipiece+=stride) {
+			GeometricPiece piece = sourceList.get(ipiece);
+			if (piece.isRangeClippingEnabled() && !piece.isInRange(this.clippingMinimums, this.clippingMaximums)) {
+				continue;
+			}
+			destList.add(piece);
+		}
+		return ipiece - sourceSize;
+	}
+
+
+	/**
+	 * Checks whether the rendering has been canceled after it had started.
+	 *
+	 * @param cancellationCount The value of the cancellation counter when the rendering had started.
+	 * @return Returns true if the rendering has been canceled.
+	 */
+	private boolean isRenderingCanceled(long cancellationCount) {
+		return this.renderingCancellationCounter.get() != cancellationCount;
 	}
 
 
@@ -426,32 +860,18 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	public synchronized void drawPoint(double x, double y, double z,
 			double radius, RinearnGraph3DDrawingParameter parameter) {
 
-		// Check whether the point is in ranges of X/Y/Z axes. If no, draw nothing.
-		if (parameter.isRangeClippingEnabled()) {
-			boolean isInRange =
-					this.spaceConverters[X].containsInRange(x, true) &&
-					this.spaceConverters[Y].containsInRange(y, true) &&
-					this.spaceConverters[Z].containsInRange(z, true);
-
-			if (!isInRange) {
-				return;
-			}
-		}
-
 		// Generates the color based on the current color configuration.
 		double[] colorRepresentCoords = {x, y, z};
 		Color color = this.colorMixer.generateColor(colorRepresentCoords, parameter, this.config.getColorConfiguration());
 
-		// Scale X/Y/Z coordinate values into the range [-1.0, 1.0] (= scaled space).
-		if (parameter.isRangeScalingEnabled()) {
-			x = this.spaceConverters[X].toScaledSpaceCoordinate(x);
-			y = this.spaceConverters[Y].toScaledSpaceCoordinate(y);
-			z = this.spaceConverters[Z].toScaledSpaceCoordinate(z);
-		}
-
 		// Create a point piece and register to the list.
-		PointGeometricPiece point = new PointGeometricPiece(x, y, z, radius, color);
-		this.geometricPieceList.add(point);
+		PointGeometricPiece point = this.drawingPieceArena.allocatePoint();
+		point.initialize(x, y, z, radius, color);
+		point.setRenderingAttributes(
+			parameter.isRangeScalingEnabled(), parameter.isRangeClippingEnabled(),
+			parameter.isAutoColoringEnabled() ? parameter.getSeriesIndex() : -1
+		);
+		this.drawingPieceList.add(point);
 	}
 
 
@@ -484,22 +904,6 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 			double bX, double bY, double bZ,
 			double width, RinearnGraph3DDrawingParameter parameter) {
 
-		// Check whether the line is in ranges of X/Y/Z axes. If no, draw nothing.
-		if (parameter.isRangeClippingEnabled()) {
-			boolean isInRange =
-					this.spaceConverters[X].containsInRange(aX, true) &&
-					this.spaceConverters[Y].containsInRange(aY, true) &&
-					this.spaceConverters[Z].containsInRange(aZ, true) &&
-
-					this.spaceConverters[X].containsInRange(bX, true) &&
-					this.spaceConverters[Y].containsInRange(bY, true) &&
-					this.spaceConverters[Z].containsInRange(bZ, true);
-
-			if (!isInRange) {
-				return;
-			}
-		}
-
 		// Generates the color based on the current color configuration.
 		double[] colorRepresentCoords = {
 				(aX + bX) / 2.0,
@@ -508,20 +912,14 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 		};
 		Color color = this.colorMixer.generateColor(colorRepresentCoords, parameter, this.config.getColorConfiguration());
 
-		// Scale X/Y/Z coordinate values into the range [-1.0, 1.0] (= scaled space).
-		if (parameter.isRangeScalingEnabled()) {
-			aX = this.spaceConverters[X].toScaledSpaceCoordinate(aX);
-			aY = this.spaceConverters[Y].toScaledSpaceCoordinate(aY);
-			aZ = this.spaceConverters[Z].toScaledSpaceCoordinate(aZ);
-
-			bX = this.spaceConverters[X].toScaledSpaceCoordinate(bX);
-			bY = this.spaceConverters[Y].toScaledSpaceCoordinate(bY);
-			bZ = this.spaceConverters[Z].toScaledSpaceCoordinate(bZ);
-		}
-
 		// Create a line piece and register to the list.
-		LineGeometricPiece line = new LineGeometricPiece(aX, aY, aZ, bX, bY, bZ, width, color);
-		this.geometricPieceList.add(line);
+		LineGeometricPiece line = this.drawingPieceArena.allocateLine();
+		line.initialize(aX, aY, aZ, bX, bY, bZ, width, color);
+		line.setRenderingAttributes(
+			parameter.isRangeScalingEnabled(), parameter.isRangeClippingEnabled(),
+			parameter.isAutoColoringEnabled() ? parameter.getSeriesIndex() : -1
+		);
+		this.drawingPieceList.add(line);
 	}
 
 
@@ -588,30 +986,6 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 			double dX, double dY, double dZ,
 			RinearnGraph3DDrawingParameter parameter) {
 
-		// Check whether the line is in ranges of X/Y/Z axes. If no, draw nothing.
-		if (parameter.isRangeClippingEnabled()) {
-			boolean isInRange =
-					this.spaceConverters[X].containsInRange(aX, true) &&
-					this.spaceConverters[Y].containsInRange(aY, true) &&
-					this.spaceConverters[Z].containsInRange(aZ, true) &&
-
-					this.spaceConverters[X].containsInRange(bX, true) &&
-					this.spaceConverters[Y].containsInRange(bY, true) &&
-					this.spaceConverters[Z].containsInRange(bZ, true) &&
-
-					this.spaceConverters[X].containsInRange(cX, true) &&
-					this.spaceConverters[Y].containsInRange(cY, true) &&
-					this.spaceConverters[Z].containsInRange(cZ, true) &&
-
-					this.spaceConverters[X].containsInRange(dX, true) &&
-					this.spaceConverters[Y].containsInRange(dY, true) &&
-					this.spaceConverters[Z].containsInRange(dZ, true);
-
-			if (!isInRange) {
-				return;
-			}
-		}
-
 		// Generates the color based on the current color configuration.
 		double[] colorRepresentCoords = {
 				(aX + bX + cX + dX) / 4.0,
@@ -620,28 +994,14 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 		};
 		Color color = this.colorMixer.generateColor(colorRepresentCoords, parameter, this.config.getColorConfiguration());
 
-		// Scale X/Y/Z coordinate values into the range [-1.0, 1.0] (= scaled space).
-		if (parameter.isRangeScalingEnabled()) {
-			aX = this.spaceConverters[X].toScaledSpaceCoordinate(aX);
-			aY = this.spaceConverters[Y].toScaledSpaceCoordinate(aY);
-			aZ = this.spaceConverters[Z].toScaledSpaceCoordinate(aZ);
-
-			bX = this.spaceConverters[X].toScaledSpaceCoordinate(bX);
-			bY = this.spaceConverters[Y].toScaledSpaceCoordinate(bY);
-			bZ = this.spaceConverters[Z].toScaledSpaceCoordinate(bZ);
-
-			cX = this.spaceConverters[X].toScaledSpaceCoordinate(cX);
-			cY = this.spaceConverters[Y].toScaledSpaceCoordinate(cY);
-			cZ = this.spaceConverters[Z].toScaledSpaceCoordinate(cZ);
-
-			dX = this.spaceConverters[X].toScaledSpaceCoordinate(dX);
-			dY = this.spaceConverters[Y].toScaledSpaceCoordinate(dY);
-			dZ = this.spaceConverters[Z].toScaledSpaceCoordinate(dZ);
-		}
-
 		// Create a quadrangle piece and register to the list.
-		QuadrangleGeometricPiece quad = new QuadrangleGeometricPiece(aX, aY, aZ, bX, bY, bZ, cX, cY, cZ, dX, dY, dZ, color);
-		this.geometricPieceList.add(quad);
+		QuadrangleGeometricPiece quad = this.drawingPieceArena.allocateQuadrangle();
+		quad.initialize(aX, aY, aZ, bX, bY, bZ, cX, cY, cZ, dX, dY, dZ, color);
+		quad.setRenderingAttributes(
+			parameter.isRangeScalingEnabled(), parameter.isRangeClippingEnabled(),
+			parameter.isAutoColoringEnabled() ? parameter.getSeriesIndex() : -1
+		);
+		this.drawingPieceList.add(quad);
 	}
 
 
@@ -666,7 +1026,7 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	 */
 	@Override
 	public synchronized void drawFrame() {
-		this.frameDrawer.drawFrame(this.geometricPieceList);
+		this.frameDrawer.drawFrame(this.frameworkPieceList);
 	}
 
 
@@ -675,7 +1035,7 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	 */
 	@Override
 	public synchronized void drawScale() {
-		this.scaleTickDrawer.drawScaleTicks(this.geometricPieceList);
+		this.scaleTickDrawer.drawScaleTicks(this.frameworkPieceList);
 	}
 
 
@@ -684,7 +1044,7 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	 */
 	@Override
 	public synchronized void drawGrid() {
-		this.frameDrawer.drawGridLines(this.geometricPieceList);
+		this.frameDrawer.drawGridLines(this.frameworkPieceList);
 	}
 
 
@@ -692,27 +1052,48 @@ public final class SimpleRenderer implements RinearnGraph3DRenderer {
 	public synchronized void drawLabel() {
 		this.screenGraphics.setFont(this.config.getFontConfiguration().getTickLabelFont());
 		FontMetrics tickLabelFontMetrics = this.screenGraphics.getFontMetrics();
-		this.labelDrawer.drawAxisLabels(this.geometricPieceList, tickLabelFontMetrics);
+		this.labelDrawer.drawAxisLabels(this.frameworkPieceList, tickLabelFontMetrics);
 	}
 
 
 	/**
 	 * Sets the size of the graph screen.
 	 *
+	 * The backing buffer of the screen is reused when the new size fits in it,
+	 * and is re-allocated (with a margin) only when the screen grows beyond it,
+	 * or the screen shrinks so much that retaining the buffer is wasteful.
+	 *
 	 * @param screenWidth The width (pixels) of the screen.
 	 * @param screenHeight The height (pixels) of the screen.
 	 */
 	private synchronized void setScreenSize(int screenWidth, int screenHeight) {
 
-		// If the image/graphics instances are already allocated, release them.
+		// If the graphics instance is already allocated, release it.
 		if (this.screenGraphics != null) {
 			this.screenGraphics.dispose();
-			this.screenImage = null;
-			System.gc();
 		}
 
-		// Allocate the image/graphics instances.
-		this.screenImage = new BufferedImage(screenWidth, screenHeight, BufferedImage.TYPE_INT_RGB);
+		// Determine whether the current backing buffer is reusable.
+		boolean isBufferReusable = false;
+		if (this.screenBufferImage != null) {
+			int bufferWidth = this.screenBufferImage.getWidth();
+			int bufferHeight = this.screenBufferImage.getHeight();
+			boolean fits = screenWidth <= bufferWidth && screenHeight <= bufferHeight;
+			boolean tooSmall = (long)screenWidth * (long)screenHeight * 4L < (long)bufferWidth * (long)bufferHeight;
+			isBufferReusable = fits && !tooSmall;
+		}
+
+		// Re-allocate the backing buffer with a margin, if necessary.
+		if (!isBufferReusable) {
+			int bufferWidth = (int)(screenWidth * (1.0 + SCREEN_BUFFER_MARGIN_RATIO));
+			int bufferHeight = (int)(screenHeight * (1.0 + SCREEN_BUFFER_MARGIN_RATIO));
+			this.screenBufferImage = new BufferedImage(
+				Math.max(bufferWidth, 1), Math.max(bufferHeight, 1), BufferedImage.TYPE_INT_RGB
+			);
+		}
+
+		// Create the image/graphics instances of the screen, on the region of the backing buffer.
+		this.screenImage = this.screenBufferImage.getSubimage(0, 0, screenWidth, screenHeight);
 		this.screenGraphics = this.screenImage.createGraphics();
 
 		// Turn on the flag for detecting that the graph screen has been resized.
@@ -138,6 +138,51 @@ public final class SpaceConverter {
 	}
 
 
+	/**
+	 * Gets the scaling factor of the conversion into the scaled space.
+	 *
+	 * The conversion performed by toScaledSpaceCoordinate(double) is equivalent to:
+	 * scaled = raw * getScalingFactor() + getScalingOffset(),
+	 * so it can be folded into a transformation matrix.
+	 *
+	 * @return The scaling factor.
+	 */
+	public synchronized double getScalingFactor() {
+		return 2.0 / (this.rangeMaxDoubleValue - this.rangeMinDoubleValue);
+	}
+
+
+	/**
+	 * Gets the offset of the conversion into the scaled space. See also getScalingFactor().
+	 *
+	 * @return The offset.
+	 */
+	public synchronized double getScalingOffset() {
+		double axisLength = this.rangeMaxDoubleValue - this.rangeMinDoubleValue;
+		return -2.0 * this.rangeMinDoubleValue / axisLength - 1.0;
+	}
+
+
+	/**
+	 * Gets the minimum value of the range, with the margin considered by containsInRange(coordinate, true).
+	 *
+	 * @return The minimum value of the range with the margin.
+	 */
+	public synchronized double getMinimumWithMargin() {
+		return this.rangeMinDoubleValue - this.rangeMinDoubleMargin;
+	}
+
+
+	/**
+	 * Gets the maximum value of the range, with the margin considered by containsInRange(coordinate, true).
+	 *
+	 * @return The maximum value of the range with the margin.
+	 */
+	public synchronized double getMaximumWithMargin() {
+		return this.rangeMaxDoubleValue + this.rangeMaxDoubleMargin;
+	}
+
+
 	/**
 	 * Scales the specified coordinate values, into the coordinate values in the "scaled space".
 	 *